@@ -0,0 +1,80 @@
+package com.personalproject.homepage.security;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.personalproject.homepage.config.web.RateLimitConfig;
+
+/********************************************************************************
+    {@link RateLimitFilter}의 요청당 처리 시간을 thread 수를 늘려 측정한다.
+    제한에 걸리지 않도록 capacity를 크게 잡고 bucket 조회, 토큰 꺼내기만 측정한다.
+
+    - distinctClients: thread마다 다른 IP (bucket cache segment 경합)
+    - sameClient: 모든 thread가 같은 IP (한 bucket의 CAS 경합)
+********************************************************************************/
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class RateLimitFilterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class FilterState {
+        RateLimitFilter rateLimitFilter;
+
+        @Setup
+        public void setUp() {
+            RateLimitConfig.Policy policy = new RateLimitConfig.Policy();
+            policy.setName("post-page");
+            policy.setPatterns(List.of("/{postId:\\d+}"));
+            policy.setCapacity(1_000_000);
+            policy.setRefillPerSecond(1_000_000_000);
+
+            RateLimitConfig rateLimitConfig = new RateLimitConfig();
+            rateLimitConfig.setEnabled(true);
+            rateLimitConfig.setIdleSeconds(600);
+            rateLimitConfig.setMaxClients(10_000);
+            rateLimitConfig.setPolicies(List.of(policy));
+            rateLimitFilter = new RateLimitFilter(rateLimitConfig, new ClientIpResolver("127\\.0\\.0\\.1"));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RequestState {
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        MockHttpServletRequest distinctClient;
+
+        MockHttpServletRequest sameClient;
+
+        @Setup
+        public void setUp() {
+            distinctClient = new MockHttpServletRequest("GET", "/1");
+            distinctClient.setRemoteAddr("10.0.0." + SEQUENCE.incrementAndGet());
+            sameClient = new MockHttpServletRequest("GET", "/1");
+            sameClient.setRemoteAddr("10.0.0.0");
+        }
+    }
+
+    @Benchmark
+    public void distinctClients(FilterState filterState, RequestState requestState) throws Exception {
+        filterState.rateLimitFilter.doFilter(requestState.distinctClient, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    @Benchmark
+    public void sameClient(FilterState filterState, RequestState requestState) throws Exception {
+        filterState.rateLimitFilter.doFilter(requestState.sameClient, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
@@ -9,6 +9,10 @@ export const validPost = {
 
 export const oldImages: string[] = [];
 
+// 여러 파일 업로드(/api/files/batch) 한 요청의 최대 파일 수, 크기 합 (application.yml upload.batch)
+const MAX_BATCH_FILES = 50;
+const MAX_BATCH_BYTES = 14 * 1024 * 1024;
+
 export const alertWhenLeave = e => {
   e.preventDefault()
   return e.returnValue = '';
@@ -97,48 +101,60 @@ export default {
       이미지 업로드
       에디터에 base64 형식으로 저장된 이미지 태그의 src를
       서버에 업로드 후 받은 url로 대체한다.
+      한 요청의 파일 수, 크기 합(upload.batch)을 넘지 않도록 나누어 차례로 요청한다.
+      결과는 요청한 파일 순서와 같다.
     ********************************************************************************/
-    const images = this.context.image._infoList;
-    for (let i = 0; i < images.length; ++i) {
-
+    const images = this.context.image._infoList.filter(image => {
       // 게시글 수정 시
       // 저장된 이미지는 제외하고 실행
-      if (oldImages.indexOf(images[i].src) > -1) {
-        oldImages.splice(oldImages.indexOf(images[i].src), 1);
-        continue;
+      if (oldImages.indexOf(image.src) > -1) {
+        oldImages.splice(oldImages.indexOf(image.src), 1);
+        return false;
       }
+      return true;
+    });
+
+    if (images.length > 0) {
+      const blobs = await Promise.all(images.map(image => fetch(image.src).then(res => res.blob())));
+
+      const batches: number[][] = [];
+      let batchBytes = 0;
+      blobs.forEach((blob, i) => {
+        const batch = batches[batches.length - 1];
+        if (!batch || batch.length >= MAX_BATCH_FILES || batchBytes + blob.size > MAX_BATCH_BYTES) {
+          batches.push([i]);
+          batchBytes = blob.size;
+        } else {
+          batch.push(i);
+          batchBytes += blob.size;
+        }
+      });
 
-      const url = await fetch(images[i].src)
-        .then(res => res.blob())
-        .then(async blob => {
-          const fileInfo = {
-            name: images[i].name,
-            type: 'image',
-            format: blob.type.replace('image/', ''),
-          };
-          const infoBlob = new Blob([JSON.stringify(fileInfo)], {
-            type: 'application/json'
+      const results = [];
+      for (const batch of batches) {
+        const fd = new FormData();
+        batch.forEach(i => fd.append('files', blobs[i], images[i].name));
+
+        const batchResults = await fetch('/api/files/batch', {
+          method: 'POST',
+          body: fd
+          })
+          .then(res => res.json())
+          .then(data => data.success ? data.response : [])
+          .catch(err => {
+            console.warn(err);
+            return [];
           });
-          const fd = new FormData();
-          fd.append('file', blob);
-          fd.append('info', infoBlob);
-
-          // return url
-          return fetch('/api/files', {
-            method: 'POST',
-            body: fd
-            })
-            .then(res => res.json())
-            .then(data => {
-              if (data.success) {
-                return data.response.url;
-              }
-            })
-            .catch(err => {
-              console.warn(err);
-            });
-        });
-      images[i].element.setAttribute('src', url);
+        batch.forEach((i, j) => results[i] = batchResults[j]);
+      }
+
+      images.forEach((image, i) => {
+        if (results[i]?.success) {
+          image.element.setAttribute('src', results[i].url);
+        } else {
+          console.warn(results[i]?.error);
+        }
+      });
     }
 
     // json body로 들어갈 객체
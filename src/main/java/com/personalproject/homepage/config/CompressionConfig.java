@@ -0,0 +1,40 @@
+package com.personalproject.homepage.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+
+import com.personalproject.homepage.config.web.CompressionStats;
+import com.personalproject.homepage.config.web.ResponseCompressionFilter;
+
+/********************************************************************************
+    응답 압축 filter를 등록한다.
+    인증 실패 응답과 캐시된 페이지도 압축하도록 SecurityFilterChain 앞에 등록한다.
+    정적 자원은 빌드 시 만든 압축본을 사용한다. (spring.web.resources.chain.compressed)
+********************************************************************************/
+@Configuration
+public class CompressionConfig {
+
+    @Bean
+    public CompressionStats compressionStats() {
+        return new CompressionStats();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCompressionFilter> responseCompressionFilter(
+        CompressionStats compressionStats,
+        @Value("${compression.min-response-size}") int minResponseSize,
+        @Value("${compression.mime-types}") String[] mimeTypes
+    ) {
+        FilterRegistrationBean<ResponseCompressionFilter> registration = new FilterRegistrationBean<>(
+            new ResponseCompressionFilter(compressionStats, minResponseSize, MediaType.parseMediaTypes(List.of(mimeTypes)))
+        );
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,33 @@
+package com.personalproject.homepage.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.personalproject.homepage.config.web.PageCacheFilter;
+import com.personalproject.homepage.service.ContentVersion;
+import com.personalproject.homepage.service.PostHitCounter;
+
+/********************************************************************************
+    익명 사용자 페이지 캐시 filter를 등록한다.
+    role을 확인해야 하므로 SecurityFilterChain 다음 순서로 등록한다.
+    WebConfig에 선언하면 controller slice test에서도 적용되므로 분리한다.
+********************************************************************************/
+@Configuration
+public class PageCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<PageCacheFilter> pageCacheFilter(
+        ContentVersion contentVersion,
+        PostHitCounter postHitCounter,
+        @Value("${page.cache.max-size}") long maxSize
+    ) {
+        FilterRegistrationBean<PageCacheFilter> registration = new FilterRegistrationBean<>(
+            new PageCacheFilter(contentVersion, postHitCounter, maxSize)
+        );
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -1,18 +0,0 @@
-package com.personalproject.homepage.config;
-
-import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Profile;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-
-@Configuration
-@Profile("prod")
-public class ProductionWebConfig implements WebMvcConfigurer {
-
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/static/uploadfile/**")
-            .addResourceLocations(new FileSystemResource(System.getProperty("user.dir") + "/uploadfile/"));
-    }
-}
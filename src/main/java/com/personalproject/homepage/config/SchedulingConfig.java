@@ -0,0 +1,14 @@
+package com.personalproject.homepage.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/********************************************************************************
+    @Scheduled 메소드를 사용하기 위한 설정.
+    HomepageApplication에 선언하면 slice test에서도 적용되므로 분리한다.
+********************************************************************************/
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
@@ -1,5 +1,7 @@
 package com.personalproject.homepage.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,14 +16,22 @@ import org.springframework.security.web.authentication.logout.LogoutFilter;
 import org.springframework.security.web.context.SecurityContextPersistenceFilter;
 
 import com.personalproject.homepage.config.jwt.JwtTokenConfig;
+import com.personalproject.homepage.config.web.RateLimitConfig;
 import com.personalproject.homepage.security.AccessDeniedHandlerImpl;
 import com.personalproject.homepage.security.AuthenticationEntryPointImpl;
+import com.personalproject.homepage.security.ClientIpResolver;
 import com.personalproject.homepage.security.ExceptionResponseFilter;
+import com.personalproject.homepage.security.LoginAttemptLimiter;
+import com.personalproject.homepage.security.LoginPasswordMatcher;
 import com.personalproject.homepage.security.LogoutSuccessHandlerImpl;
+import com.personalproject.homepage.security.RateLimitFilter;
 import com.personalproject.homepage.security.jwt.JwtAssistor;
+import com.personalproject.homepage.security.jwt.JwtAuthenticationCache;
 import com.personalproject.homepage.security.jwt.JwtAuthenticationFilter;
 import com.personalproject.homepage.security.jwt.JwtAuthenticationProvider;
 import com.personalproject.homepage.security.jwt.JwtLogoutFilter;
+import com.personalproject.homepage.security.jwt.JwtLogoutHandler;
+import com.personalproject.homepage.security.jwt.TokenRevocationStore;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,6 +44,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final JwtTokenConfig jwtTokenConfig;
 
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+
+    private final RateLimitConfig rateLimitConfig;
+
+    private final TokenRevocationStore tokenRevocationStore;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${security.trusted-proxies}")
+    private String trustedProxies;
+
     // TODO - CORS 동작 이해 및 필요성 확인후 주석 제거 or 삭제
     // @Bean
     // public CorsConfigurationSource configurationSource() {
@@ -59,14 +80,42 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         return super.authenticationManagerBean();
     }
 
+    // reverse proxy 뒤의 client IP를 찾는다.
     @Bean
-    public JwtAuthenticationProvider jwtAuthenticationProvider() {
-        return new JwtAuthenticationProvider(passwordEncoder());
+    public ClientIpResolver clientIpResolver() {
+        return new ClientIpResolver(trustedProxies);
+    }
+
+    @Bean
+    public LoginPasswordMatcher loginPasswordMatcher(
+        @Value("${security.login.threads}") int threads,
+        @Value("${security.login.queue-size}") int queueSize,
+        @Value("${security.login.timeout-millis}") long timeoutMillis
+    ) {
+        return new LoginPasswordMatcher(passwordEncoder(), threads, queueSize, timeoutMillis);
+    }
+
+    @Bean
+    public LoginAttemptLimiter loginAttemptLimiter(
+        @Value("${security.login.max-failures}") int maxFailures,
+        @Value("${security.login.base-lock-seconds}") long baseLockSeconds,
+        @Value("${security.login.max-lock-seconds}") long maxLockSeconds,
+        @Value("${security.login.reset-seconds}") long resetSeconds
+    ) {
+        return new LoginAttemptLimiter(maxFailures, baseLockSeconds, maxLockSeconds, resetSeconds);
+    }
+
+    @Bean
+    public JwtAuthenticationProvider jwtAuthenticationProvider(
+        LoginPasswordMatcher loginPasswordMatcher,
+        LoginAttemptLimiter loginAttemptLimiter
+    ) {
+        return new JwtAuthenticationProvider(loginPasswordMatcher, loginAttemptLimiter);
     }
 
     @Bean
     public AuthenticationEntryPointImpl authenticationEntryPointImpl() {
-        return new AuthenticationEntryPointImpl();
+        return new AuthenticationEntryPointImpl(clientIpResolver());
     }
 
     @Bean
@@ -79,6 +128,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         return new LogoutSuccessHandlerImpl(jwtTokenConfig.getName());
     }
 
+    // 로그아웃한 토큰을 폐기하고 cache에서 제거한다.
+    @Bean
+    public JwtLogoutHandler jwtLogoutHandler() {
+        return new JwtLogoutHandler(
+            jwtAssistor, jwtAuthenticationCache, tokenRevocationStore, applicationEventPublisher, jwtTokenConfig.getName()
+        );
+    }
+
     // 정적 자원에 대한 불필요한 filter 호출을 막는다.
     @Override
     public void configure(WebSecurity web) throws Exception {
@@ -89,7 +146,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     protected void configure(HttpSecurity http) throws Exception {
         http
             .addFilterBefore(new ExceptionResponseFilter(), SecurityContextPersistenceFilter.class)
-            .addFilterAfter(new JwtAuthenticationFilter(jwtAssistor, jwtTokenConfig.getName()),
+            // 토큰 검증 등 다른 filter의 작업 전에 요청 수를 제한한다.
+            .addFilterBefore(new RateLimitFilter(rateLimitConfig, clientIpResolver()), SecurityContextPersistenceFilter.class)
+            .addFilterAfter(new JwtAuthenticationFilter(jwtAssistor, jwtAuthenticationCache, tokenRevocationStore, jwtTokenConfig.getName()),
                 SecurityContextPersistenceFilter.class)
             .addFilterBefore(new JwtLogoutFilter(), LogoutFilter.class)
             // .cors().configurationSource(configurationSource())
@@ -103,6 +162,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
             .formLogin().disable()
             .logout()
                 .logoutUrl("/api/users/logout")
+                .addLogoutHandler(jwtLogoutHandler())
                 .logoutSuccessHandler(logoutSuccessHandlerImpl())
                 .and()
             .exceptionHandling()
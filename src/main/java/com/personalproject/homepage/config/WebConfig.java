@@ -12,8 +12,10 @@ import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.personalproject.homepage.config.web.CursorPageableHandlerMethodArgumentResolver;
 import com.personalproject.homepage.config.web.SimplePageableHandlerMethodArgumentResolver;
 import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.config.web.UploadFileSender;
 import com.personalproject.homepage.config.web.ViewPageModelHandlerInterceptor;
 
 @Configuration
@@ -22,6 +24,9 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${spring.profiles.active}")
     private String activeProfiles;
 
+    @Value("${post.page-size}")
+    private int pageSize;
+
     @Override
     public void configurePathMatch(PathMatchConfigurer configurer) {
         /********************************************************************************
@@ -52,11 +57,18 @@ public class WebConfig implements WebMvcConfigurer {
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         // org.springframework.data.domain.Pageable에 대한 argument resolver를 등록한다.
         resolvers.add(simplePageaHandlerMethodArgumentResolver());
+        // after, before 커서에 대한 argument resolver를 등록한다.
+        resolvers.add(cursorPageableHandlerMethodArgumentResolver());
     }
 
     @Bean
     public HandlerMethodArgumentResolver simplePageaHandlerMethodArgumentResolver() {
-        return new SimplePageableHandlerMethodArgumentResolver();
+        return new SimplePageableHandlerMethodArgumentResolver(pageSize);
+    }
+
+    @Bean
+    public HandlerMethodArgumentResolver cursorPageableHandlerMethodArgumentResolver() {
+        return new CursorPageableHandlerMethodArgumentResolver(pageSize);
     }
 
     @Bean
@@ -68,4 +80,9 @@ public class WebConfig implements WebMvcConfigurer {
     public UploadFilePathResolver uploadFilePathResolver() {
         return new UploadFilePathResolver(activeProfiles);
     }
+
+    @Bean
+    public UploadFileSender uploadFileSender() {
+        return new UploadFileSender();
+    }
 }
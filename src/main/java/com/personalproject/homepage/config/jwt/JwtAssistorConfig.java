@@ -4,6 +4,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import com.personalproject.homepage.security.jwt.JwtAssistor;
+import com.personalproject.homepage.security.jwt.JwtAuthenticationCache;
+import com.personalproject.homepage.security.jwt.TokenRevocationStore;
 
 @Configuration
 public class JwtAssistorConfig {
@@ -17,4 +19,17 @@ public class JwtAssistorConfig {
             jwtTokenConfig.getExpirySeconds()
         );
     }
+
+    @Bean
+    public JwtAuthenticationCache jwtAuthenticationCache(JwtTokenConfig jwtTokenConfig) {
+        return new JwtAuthenticationCache(
+            jwtTokenConfig.getCacheMaxSize(),
+            jwtTokenConfig.getCacheMaxTtlSeconds()
+        );
+    }
+
+    @Bean
+    public TokenRevocationStore tokenRevocationStore(JwtTokenConfig jwtTokenConfig) {
+        return new TokenRevocationStore(jwtTokenConfig.getRevocationExpectedInsertions());
+    }
 }
@@ -21,4 +21,10 @@ public class JwtTokenConfig {
     private String issuer;
 
     private int expirySeconds;
+
+    private long cacheMaxSize;
+
+    private long cacheMaxTtlSeconds;
+
+    private int revocationExpectedInsertions;
 }
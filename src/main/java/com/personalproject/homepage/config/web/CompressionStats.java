@@ -0,0 +1,65 @@
+package com.personalproject.homepage.config.web;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import com.personalproject.homepage.dto.CompressionStatsDto;
+
+/********************************************************************************
+    {@link ResponseCompressionFilter}가 경로 pattern별로 센 응답 수와 byte 수.
+    key는 controller mapping pattern이므로 개수가 정해져 있다.
+********************************************************************************/
+public class CompressionStats {
+
+    private final ConcurrentMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    /**
+     * 압축 대상 응답 하나를 기록한다.
+     * @param route 경로 pattern
+     * @param compressed 압축하여 보냈는지 여부
+     * @param originalBytes 압축 전 본문 byte 수
+     * @param sentBytes 실제 보낸 본문 byte 수
+     */
+    public void record(String route, boolean compressed, long originalBytes, long sentBytes) {
+        RouteStats stats = routes.computeIfAbsent(route, key -> new RouteStats());
+        stats.responses.increment();
+        if (compressed) {
+            stats.compressedResponses.increment();
+        }
+        stats.originalBytes.add(originalBytes);
+        stats.sentBytes.add(sentBytes);
+    }
+
+    /**
+     * 경로 pattern별 통계, 줄인 byte 수가 많은 순
+     * @return {@link CompressionStatsDto} 목록
+     */
+    public List<CompressionStatsDto> getStats() {
+        return routes.entrySet().stream()
+            .map(entry -> entry.getValue().toDto(entry.getKey()))
+            .sorted(Comparator.comparingLong(CompressionStatsDto::getSavedBytes).reversed())
+            .collect(Collectors.toList());
+    }
+
+    private static class RouteStats {
+        private final LongAdder responses = new LongAdder();
+
+        private final LongAdder compressedResponses = new LongAdder();
+
+        private final LongAdder originalBytes = new LongAdder();
+
+        private final LongAdder sentBytes = new LongAdder();
+
+        CompressionStatsDto toDto(String route) {
+            long original = originalBytes.sum();
+            long sent = sentBytes.sum();
+            return new CompressionStatsDto(
+                route, responses.sum(), compressedResponses.sum(), original, sent, original - sent
+            );
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.personalproject.homepage.config.web;
+
+import com.personalproject.homepage.dto.CursorPageable;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/********************************************************************************
+    after, before 쿼리 파라미터를 {@link CursorPageable}로 변환한다.
+    두 파라미터가 모두 없으면 null을 반환하여 page 파라미터를 사용하도록 한다.
+    after의 값이 비어 있으면 첫 페이지로 취급한다.
+********************************************************************************/
+public class CursorPageableHandlerMethodArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String AFTER_PARAMETER = "after";
+    private static final String BEFORE_PARAMETER = "before";
+
+    private final int size;
+
+    /**
+     * @param size 페이지 크기 (post.page-size)
+     */
+    public CursorPageableHandlerMethodArgumentResolver(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CursorPageable.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+
+        String after = webRequest.getParameter(AFTER_PARAMETER);
+        String before = webRequest.getParameter(BEFORE_PARAMETER);
+
+        if (after == null && before == null) {
+            return null;
+        }
+
+        if (after != null && before != null) {
+            throw new ApiException(ErrorMessage.INVALID_PARAM_INFO, "after, before", "둘 중 하나");
+        }
+
+        if (after != null) {
+            return after.isEmpty()
+                ? CursorPageable.first(size)
+                : CursorPageable.of(after, false, size);
+        }
+        return CursorPageable.of(before, true, size);
+    }
+}
@@ -0,0 +1,162 @@
+package com.personalproject.homepage.config.web;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.personalproject.homepage.service.ContentVersion;
+import com.personalproject.homepage.service.PostHitCounter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/********************************************************************************
+    익명 사용자에게 보내는 페이지(/, /category/**, /{postId}) HTML을 캐시하는 filter.
+    캐시된 페이지는 controller, DB, template 렌더링 없이 바로 응답한다.
+
+    - key: 경로 + page 파라미터. 그 외 파라미터(after, before 등)가 있으면 캐시하지 않는다.
+    - 관리자(ADMIN)는 비공개 포스트와 관리 메뉴를 보므로 캐시를 사용하지 않는다.
+      SecurityFilterChain 이후에 실행되어야 role을 확인할 수 있다.
+    - 렌더링 시작 시점의 {@link ContentVersion}을 함께 저장하고,
+      현재 버전과 다른 페이지는 사용하지 않는다.
+    - 200 text/html 응답만 저장한다.
+    - 캐시된 포스트 페이지를 응답해도 조회수는 증가시킨다.
+    - controller가 설정한 ETag, Last-Modified, Cache-Control을 함께 저장하고
+      캐시된 페이지로 응답할 때도 If-None-Match를 확인하여 304로 응답한다.
+    - 렌더링할 때의 mapping pattern을 저장하여 캐시된 페이지로 응답할 때도
+      request attribute로 설정한다. (경로별 응답 통계)
+********************************************************************************/
+public class PageCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("^/(category(/[^/]+)*|\\d+)?$");
+
+    private static final Pattern POST_PATH = Pattern.compile("^/\\d+$");
+
+    private static final String PAGE_PARAMETER = "page";
+
+    private static final Set<String> CACHEABLE_PARAMETERS = Set.of(PAGE_PARAMETER);
+
+    private static final List<String> VALIDATOR_HEADERS = List.of(
+        HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL
+    );
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final ContentVersion contentVersion;
+
+    private final PostHitCounter postHitCounter;
+
+    private final Cache<String, CachedPage> cache;
+
+    public PageCacheFilter(ContentVersion contentVersion, PostHitCounter postHitCounter, long maxSize) {
+        this.contentVersion = contentVersion;
+        this.postHitCounter = postHitCounter;
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        String key = cacheKeyOf(request, path);
+        if (key == null || request.isUserInRole("ADMIN")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // 렌더링 중 변경되면 저장된 페이지는 다음 요청에서 버려진다.
+        long version = contentVersion.get();
+
+        CachedPage cachedPage = cache.getIfPresent(key);
+        if (cachedPage != null && cachedPage.getVersion() == version) {
+            if (POST_PATH.matcher(path).matches()) {
+                postHitCounter.increment(Long.parseLong(path.substring(1)));
+            }
+            if (cachedPage.getRoute() != null) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, cachedPage.getRoute());
+            }
+            cachedPage.getValidatorHeaders().forEach(response::setHeader);
+            String etag = cachedPage.getValidatorHeaders().get(HttpHeaders.ETAG);
+            if (etag != null && new ServletWebRequest(request, response).checkNotModified(etag)) {
+                return;
+            }
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(cachedPage.getContentType());
+            response.setContentLength(cachedPage.getBody().length);
+            response.getOutputStream().write(cachedPage.getBody());
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, responseWrapper);
+
+        String contentType = responseWrapper.getContentType();
+        if (responseWrapper.getStatus() == HttpStatus.OK.value()
+                && contentType != null && contentType.startsWith("text/html")) {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            cache.put(key, new CachedPage(
+                version,
+                route == null ? null : route.toString(),
+                contentType,
+                validatorHeadersOf(responseWrapper),
+                responseWrapper.getContentAsByteArray()
+            ));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    // 캐시 대상이 아니면 null
+    private String cacheKeyOf(HttpServletRequest request, String path) {
+        if (!"GET".equals(request.getMethod()) || !CACHEABLE_PATH.matcher(path).matches()) {
+            return null;
+        }
+        if (!CACHEABLE_PARAMETERS.containsAll(request.getParameterMap().keySet())) {
+            return null;
+        }
+        String page = request.getParameter(PAGE_PARAMETER);
+        return page == null ? path : path + "?" + PAGE_PARAMETER + "=" + page;
+    }
+
+    private Map<String, String> validatorHeadersOf(HttpServletResponse response) {
+        Map<String, String> headers = new HashMap<>();
+        for (String name : VALIDATOR_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) headers.put(name, value);
+        }
+        return headers;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedPage {
+        private final long version;
+
+        private final String route;
+
+        private final String contentType;
+
+        private final Map<String, String> validatorHeaders;
+
+        private final byte[] body;
+    }
+}
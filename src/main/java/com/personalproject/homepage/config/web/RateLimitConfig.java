@@ -0,0 +1,44 @@
+package com.personalproject.homepage.config.web;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/********************************************************************************
+    경로 그룹별 요청 수 제한 설정. policies는 위에서부터 먼저 일치하는 것을 사용하며
+    일치하는 policy가 없는 요청은 제한하지 않는다.
+********************************************************************************/
+@Component
+@ConfigurationProperties("rate-limit")
+@Getter
+@Setter
+public class RateLimitConfig {
+
+    private boolean enabled;
+
+    // 이 시간 동안 요청이 없는 client의 bucket은 제거한다. bucket이 다시 가득 차는 시간보다 길어야 한다.
+    private long idleSeconds;
+
+    private long maxClients;
+
+    private List<Policy> policies = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        private String name;
+
+        // AntPathMatcher pattern
+        private List<String> patterns = new ArrayList<>();
+
+        private long capacity;
+
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,438 @@
+package com.personalproject.homepage.config.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
+
+import com.google.common.io.CountingOutputStream;
+
+/********************************************************************************
+    HTML, JSON 등 설정된 content type의 응답을 gzip으로 압축하는 filter.
+
+    - 응답 본문이 min-response-size보다 커지면 그때부터 압축하며 전체를 모아 두지 않는다.
+      더 작은 응답은 압축하지 않고 Content-Length와 함께 그대로 보낸다.
+    - Accept-Encoding에 gzip이 없는 요청, HEAD 요청, 200이 아닌 응답,
+      이미 Content-Encoding이 있는 응답(미리 압축된 정적 자원), Range 응답은 압축하지 않는다.
+      이미지는 설정된 content type이 아니므로 그대로 보낸다.
+    - 압축한 응답의 strong ETag는 weak ETag로 바꾼다.
+    - 압축 대상 content type의 응답은 경로 pattern별로 원본, 전송 byte 수를 센다.
+      ({@link CompressionStats})
+    - 비동기 요청은 압축 여부를 정하기 전이면 압축하지 않고 그대로 보낸다.
+      이미 압축을 시작했으면 마지막 async dispatch가 끝날 때 압축을 마친다.
+      WriteListener, isReady는 원래 응답의 stream에 위임한다.
+********************************************************************************/
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private static final String UNMATCHED_ROUTE = "(unmatched)";
+
+    private final CompressionStats compressionStats;
+
+    private final int minResponseSize;
+
+    private final List<MediaType> mimeTypes;
+
+    public ResponseCompressionFilter(CompressionStats compressionStats, int minResponseSize, List<MediaType> mimeTypes) {
+        this.compressionStats = compressionStats;
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = mimeTypes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return HttpMethod.HEAD.matches(request.getMethod())
+            || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    // async dispatch에서도 처음 만든 wrapper로 응답을 마친다.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CompressingResponseWrapper responseWrapper = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+        if (responseWrapper == null) {
+            responseWrapper = new CompressingResponseWrapper(response);
+        }
+        try {
+            chain.doFilter(request, responseWrapper);
+        } finally {
+            if (request.isAsyncStarted()) {
+                responseWrapper.startAsync();
+            } else {
+                responseWrapper.finish();
+            }
+        }
+        if (!request.isAsyncStarted() && responseWrapper.isCompressible()) {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            compressionStats.record(
+                route == null ? UNMATCHED_ROUTE : route.toString(),
+                responseWrapper.isCompressed(),
+                responseWrapper.getOriginalBytes(),
+                responseWrapper.getSentBytes()
+            );
+        }
+    }
+
+    // gzip;q=0 은 gzip을 받지 않는다는 의미이다.
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.trim().split(";");
+            if (!GZIP.equalsIgnoreCase(parameters[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].replace(" ", "");
+                if (parameter.startsWith("q=") && isZero(parameter.substring(2))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isZero(String qvalue) {
+        try {
+            return Double.parseDouble(qvalue) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private enum State { UNDECIDED, PASSTHROUGH, COMPRESS }
+
+    /**
+     * 본문을 min-response-size까지 모은 뒤 압축 여부를 정한다.
+     * 정하기 전에 설정된 Content-Length는 그대로 보낼 때만 전달한다.
+     */
+    private class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+        private State state = State.UNDECIDED;
+
+        private Boolean compressible;
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private long contentLength = -1;
+
+        private CountingOutputStream sent;
+
+        private OutputStream target;
+
+        private long originalBytes;
+
+        private ServletOutputStream outputStream;
+
+        private PrintWriter writer;
+
+        CompressingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        boolean isCompressible() {
+            return Boolean.TRUE.equals(compressible);
+        }
+
+        boolean isCompressed() {
+            return state == State.COMPRESS;
+        }
+
+        long getOriginalBytes() {
+            return originalBytes;
+        }
+
+        long getSentBytes() {
+            return sent == null ? 0 : sent.getCount();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CompressingOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            setContentLengthLong(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            if (state == State.UNDECIDED) {
+                contentLength = length;
+            } else if (state == State.PASSTHROUGH) {
+                super.setContentLengthLong(length);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+            } else {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (state == State.UNDECIDED) {
+                // 아직 작은 응답을 먼저 보내야 하면 압축하지 않는다.
+                passthrough();
+            }
+            if (target != null) {
+                target.flush();
+            }
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            discard();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            discard();
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            discard();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (state == State.UNDECIDED) {
+                buffer.reset();
+                originalBytes = 0;
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (state == State.UNDECIDED) {
+                buffer.reset();
+                originalBytes = 0;
+                contentLength = -1;
+                compressible = null;
+            }
+        }
+
+        // 정하기 전이면 압축하지 않는다. 비동기로 쓰는 본문은 모아 두지 않는다.
+        void startAsync() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (state == State.UNDECIDED) {
+                compressible = false;
+                passthrough();
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (state == State.UNDECIDED) {
+                if (buffer.size() > 0) {
+                    contentLength = buffer.size();
+                }
+                passthrough();
+            }
+            if (state == State.COMPRESS) {
+                ((GZIPOutputStream) target).finish();
+            }
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            originalBytes += length;
+            if (state == State.UNDECIDED) {
+                if (!compressible() || (contentLength >= 0 && contentLength < minResponseSize)) {
+                    passthrough();
+                } else {
+                    buffer.write(bytes, offset, length);
+                    if (buffer.size() >= minResponseSize) {
+                        compress();
+                    }
+                    return;
+                }
+            }
+            if (target == null) {
+                // 본문 없이 압축하지 않기로 정한 뒤 처음 쓰는 경우
+                sent = new CountingOutputStream(super.getOutputStream());
+                target = sent;
+            }
+            target.write(bytes, offset, length);
+        }
+
+        private boolean compressible() {
+            if (compressible == null) {
+                compressible = getStatus() == HttpStatus.OK.value()
+                    && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                    && getHeader(HttpHeaders.CONTENT_RANGE) == null
+                    && isCompressibleType(getContentType());
+                if (compressible) {
+                    super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                }
+            }
+            return compressible;
+        }
+
+        private boolean isCompressibleType(String contentType) {
+            if (contentType == null) {
+                return false;
+            }
+            MediaType mediaType;
+            try {
+                mediaType = MediaType.parseMediaType(contentType);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            return mimeTypes.stream().anyMatch(type -> type.includes(mediaType));
+        }
+
+        private void compress() throws IOException {
+            state = State.COMPRESS;
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            String etag = getHeader(HttpHeaders.ETAG);
+            if (etag != null && !etag.startsWith("W/")) {
+                super.setHeader(HttpHeaders.ETAG, "W/" + etag);
+            }
+            sent = new CountingOutputStream(super.getOutputStream());
+            target = new GZIPOutputStream(sent, 8192);
+            buffer.writeTo(target);
+            buffer = null;
+        }
+
+        private void passthrough() throws IOException {
+            state = State.PASSTHROUGH;
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+            if (buffer.size() > 0 || outputStream != null) {
+                sent = new CountingOutputStream(super.getOutputStream());
+                target = sent;
+                buffer.writeTo(target);
+            }
+            buffer = null;
+        }
+
+        // 오류 응답은 container가 본문을 다시 쓴다.
+        private void discard() {
+            if (state == State.UNDECIDED) {
+                state = State.PASSTHROUGH;
+                buffer = null;
+                originalBytes = 0;
+            }
+        }
+
+        private class CompressingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                CompressingResponseWrapper.this.write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                CompressingResponseWrapper.this.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                // 압축 여부를 정하기 전에는 모아 둔다.
+                if (target != null) {
+                    target.flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                try {
+                    return getResponse().getOutputStream().isReady();
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+
+            // non-blocking으로 쓰는 본문은 모아 두지 않는다.
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    if (state == State.UNDECIDED) {
+                        compressible = false;
+                        passthrough();
+                    }
+                    getResponse().getOutputStream().setWriteListener(writeListener);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+}
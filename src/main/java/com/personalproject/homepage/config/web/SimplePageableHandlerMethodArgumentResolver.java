@@ -18,10 +18,18 @@ public class SimplePageableHandlerMethodArgumentResolver implements HandlerMetho
     private static final String DEFAULT_PAGE_PARAMETER = "page";
     // private static final String DEFAULT_SIZE_PARAMETER = "size";
     private static final int DEFAULT_PAGE = 0;
-    private static final int DEFAULT_SIZE = 8;
     private static final String DEFAULT_SORT_PROPS = "createAt";
     private static final Direction DEFAULT_SORT_DIRECTION = Direction.DESC;
 
+    private final int size;
+
+    /**
+     * @param size 페이지 크기 (post.page-size)
+     */
+    public SimplePageableHandlerMethodArgumentResolver(int size) {
+        this.size = size;
+    }
+
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
         return Pageable.class.equals(parameter.getParameterType());
@@ -32,7 +40,6 @@ public class SimplePageableHandlerMethodArgumentResolver implements HandlerMetho
             NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
 
         int page = DEFAULT_PAGE;
-        int size = DEFAULT_SIZE;
         Sort sort = Sort.by(DEFAULT_SORT_DIRECTION, DEFAULT_SORT_PROPS);
 
         String pageStr = webRequest.getParameter(DEFAULT_PAGE_PARAMETER);
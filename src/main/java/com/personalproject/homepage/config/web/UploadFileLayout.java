@@ -0,0 +1,90 @@
+package com.personalproject.homepage.config.web;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/********************************************************************************
+    업로드 디렉토리 안에서 파일이 저장되는 위치를 정한다.
+
+    - 파일은 이름의 앞 2글자, 다음 2글자로 만든 두 단계 디렉토리에 저장한다.
+      예) abcdef....png -> ab/cd/abcdef....png
+      이름이 내용의 해시이므로 디렉토리마다 파일 수가 고르게 나뉜다.
+    - url은 디렉토리와 상관없이 파일 이름만 사용한다. (/static/uploadfile/{파일 이름})
+    - 디렉토리를 나누기 전에 저장된 파일은 업로드 디렉토리 바로 아래에 있으며
+      옮겨지기 전까지 그 위치에서 찾는다.
+********************************************************************************/
+public class UploadFileLayout {
+
+    private static final Pattern FILE_NAME = Pattern.compile("^[\\w-]{4,}\\.\\w+$");
+
+    private final Path root;
+
+    public UploadFileLayout(Path root) {
+        this.root = root;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * 업로드 파일 이름으로 사용할 수 있는지 확인한다. 경로 문자는 허용하지 않는다.
+     * @param fileName 파일 이름
+     * @return 사용할 수 있으면 {@code true}
+     */
+    public static boolean isValidName(String fileName) {
+        return fileName != null && FILE_NAME.matcher(fileName).matches();
+    }
+
+    /**
+     * 업로드 디렉토리 바로 아래에서 파일이 저장될 경로
+     * @param fileName 파일 이름
+     * @return 경로
+     */
+    public Path pathOf(String fileName) {
+        return pathOf(root, fileName);
+    }
+
+    /**
+     * dir 아래에서 파일이 저장될 경로
+     * @param dir 업로드 디렉토리 또는 그 하위 디렉토리(축소본 등)
+     * @param fileName 파일 이름
+     * @return dir/앞 2글자/다음 2글자/파일 이름
+     */
+    public Path pathOf(Path dir, String fileName) {
+        return dir.resolve(fileName.substring(0, 2)).resolve(fileName.substring(2, 4)).resolve(fileName);
+    }
+
+    /**
+     * 업로드 디렉토리 바로 아래에서 파일을 찾는다.
+     * @param fileName 파일 이름
+     * @return 파일 경로, 없으면 empty
+     */
+    public Optional<Path> find(String fileName) {
+        return find(root, fileName);
+    }
+
+    /**
+     * dir 아래에서 파일을 찾는다. 나누어진 위치, 이전 위치 순으로 찾는다.
+     * 이전 위치에서 옮기는 중이면 나누어진 위치를 한 번 더 확인한다.
+     * @param dir 업로드 디렉토리 또는 그 하위 디렉토리
+     * @param fileName 파일 이름
+     * @return 파일 경로, 없거나 잘못된 이름이면 empty
+     */
+    public Optional<Path> find(Path dir, String fileName) {
+        if (!isValidName(fileName)) {
+            return Optional.empty();
+        }
+        Path sharded = pathOf(dir, fileName);
+        if (Files.isRegularFile(sharded)) {
+            return Optional.of(sharded);
+        }
+        Path legacy = dir.resolve(fileName);
+        if (Files.isRegularFile(legacy)) {
+            return Optional.of(legacy);
+        }
+        return Files.isRegularFile(sharded) ? Optional.of(sharded) : Optional.empty();
+    }
+}
@@ -0,0 +1,190 @@
+package com.personalproject.homepage.config.web;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.personalproject.homepage.dto.FileServeStatsDto;
+import com.personalproject.homepage.util.ImageType;
+
+/********************************************************************************
+    업로드 파일을 응답한다.
+
+    - 내용의 해시로 이름 지어진 파일은 내용이 바뀌지 않으므로 1년간 재검증 없이 캐시한다.
+      그 외(이전에 UUID로 저장된 파일)는 매번 ETag, Last-Modified로 재검증한다.
+    - If-None-Match, If-Modified-Since가 일치하면 304로 응답한다.
+    - 하나의 Range 요청은 206으로 응답한다. 여러 구간은 전체를 200으로 응답한다.
+    - 본문은 Tomcat sendfile을 사용할 수 있으면 sendfile로,
+      없으면 FileChannel.transferTo로 보내 heap buffer를 거치지 않는다.
+    - 요청 수, 304 응답 수, 206 응답 수, 보낸 byte 수를 센다.
+********************************************************************************/
+public class UploadFileSender {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("^[0-9a-f]{64}\\.\\w+$");
+
+    private static final String IMMUTABLE = "max-age=31536000, public, immutable";
+
+    private static final String REVALIDATE = CacheControl.noCache().getHeaderValue();
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder notModified = new LongAdder();
+
+    private final LongAdder partial = new LongAdder();
+
+    private final LongAdder bytesServed = new LongAdder();
+
+    /**
+     * 파일을 응답한다.
+     * @param path 파일 경로
+     * @param request {@link HttpServletRequest}
+     * @param response {@link HttpServletResponse}
+     * @throws IOException 파일을 읽거나 응답을 쓰지 못한 경우
+     */
+    public void send(Path path, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        requests.increment();
+
+        String fileName = path.getFileName().toString();
+        long size = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        boolean contentAddressed = CONTENT_ADDRESSED.matcher(fileName).matches();
+        String etag = contentAddressed
+            ? "\"" + fileName + "\""
+            : "\"" + fileName + "-" + size + "-" + lastModified + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, contentAddressed ? IMMUTABLE : REVALIDATE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            // If-Match 등이 일치하지 않은 412도 여기서 응답된다.
+            if (response.getStatus() == HttpStatus.NOT_MODIFIED.value()) {
+                notModified.increment();
+            }
+            return;
+        }
+
+        response.setContentType(contentTypeOf(path));
+
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = rangeOf(request, etag, lastModified);
+        if (range != null) {
+            start = range.getRangeStart(size);
+            end = range.getRangeEnd(size);
+            if (size == 0 || start >= size || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            partial.increment();
+        }
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답이 끝난 뒤 Tomcat이 직접 파일을 보낸다.
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+        } else {
+            transfer(path, start, length, response);
+        }
+        bytesServed.add(length);
+    }
+
+    /**
+     * 응답 통계
+     * @return {@link FileServeStatsDto}
+     */
+    public FileServeStatsDto getStats() {
+        return new FileServeStatsDto(requests.sum(), notModified.sum(), partial.sum(), bytesServed.sum());
+    }
+
+    // 확장자를 신뢰하지 않고 이미지는 파일 내용으로 판별한다.
+    private String contentTypeOf(Path path) throws IOException {
+        Optional<ImageType> imageType = ImageType.detect(path);
+        if (imageType.isPresent()) {
+            return imageType.get().getContentType();
+        }
+        return MediaTypeFactory.getMediaType(new FileSystemResource(path))
+            .orElse(MediaType.APPLICATION_OCTET_STREAM)
+            .toString();
+    }
+
+    // 하나의 구간만 요청했고 If-Range가 현재 파일과 일치하는 경우에만 반환한다.
+    private HttpRange rangeOf(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !isIfRangeMatched(request, etag, lastModified)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private boolean isIfRangeMatched(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void transfer(Path path, long start, long length, HttpServletResponse response) throws IOException {
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = source.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    // 보내는 중 파일이 줄어든 경우
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.personalproject.homepage.api.ApiResult;
 import com.personalproject.homepage.dto.CategoryDto;
@@ -20,7 +21,9 @@ import com.personalproject.homepage.error.ApiException;
 import com.personalproject.homepage.error.ErrorMessage;
 import com.personalproject.homepage.mapper.CategoryMapper;
 import com.personalproject.homepage.service.CategoryService;
+import com.personalproject.homepage.service.ContentVersion;
 import com.personalproject.homepage.util.AppUtils;
+import com.personalproject.homepage.util.ConditionalRequests;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,15 +34,22 @@ public class CategoryRestController {
 
     private final CategoryService categoryService;
 
+    private final ContentVersion contentVersion;
+
     /**
-     * 모든 카테고리를 반환한다.
+     * 모든 카테고리를 반환한다. 변경이 없으면 304로 응답한다.
+     * @param webRequest {@link ServletWebRequest}
      * @return {@link CategoryDto.Res} List
      */
     @GetMapping("")
-    public ApiResult<List<CategoryDto.Res>> getCategories() {
+    public ApiResult<List<CategoryDto.Res>> getCategories(ServletWebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+
         List<CategoryDto.Res> dtoList = categoryService.getAllCategories()
             .stream()
-            .map(CategoryMapper::entityToResDto)
+            .map(CategoryMapper::nodeToResDto)
             .collect(Collectors.toList());
 
         return ApiResult.success(dtoList);
@@ -49,17 +59,23 @@ public class CategoryRestController {
      * 모든 카테고리를 등록된 게시글 수와 함께 반환한다.
      * @param count query parameter, required
      * @param strVisible query parameter
+     * @param webRequest {@link ServletWebRequest}
      * @return {@link CategoryDto.ResWithPostsCount}
      */
     @GetMapping(path = "", params = "count")
     public ApiResult<List<CategoryDto.ResWithPostsCount>> getCategoriesWithCount(
         @RequestParam String count,
-        @RequestParam(value = "visible", required = false) String strVisible
+        @RequestParam(value = "visible", required = false) String strVisible,
+        ServletWebRequest webRequest
     ) {
         // post의 count
         if ("post".equals(count)) {
-            List<Category.WithPostsCount> entityList = categoryService.getAllCategoriesWithPostsCount(AppUtils.parseBoolean(strVisible));
-            List<CategoryDto.ResWithPostsCount> dtoList = CategoryMapper.entityWithPostsCountListToResDtoWithPostsCountList(entityList);
+            if (isNotModified(webRequest)) {
+                return null;
+            }
+            List<CategoryDto.ResWithPostsCount> dtoList = CategoryMapper.treeToResDtoWithPostsCountList(
+                categoryService.getCategoryTree(), AppUtils.parseBoolean(strVisible)
+            );
             return ApiResult.success(dtoList);
 
         // 아닐 경우 throw
@@ -103,4 +119,14 @@ public class CategoryRestController {
     public ApiResult<Boolean> deleteCategory(@PathVariable String id) {
         return ApiResult.success(categoryService.deleteCategory(AppUtils.parseParamId(id)));
     }
+
+    // 카테고리와 포스트 수는 포스트, 카테고리 변경 시 올라가는 전역 버전으로 ETag를 만든다.
+    private boolean isNotModified(ServletWebRequest webRequest) {
+        return ConditionalRequests.checkNotModified(
+            webRequest,
+            ConditionalRequests.versionEtag("categories", contentVersion.getTag()),
+            null,
+            webRequest.isUserInRole("ADMIN")
+        );
+    }
 }
@@ -1,15 +1,34 @@
 package com.personalproject.homepage.controller;
 
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.personalproject.homepage.api.ApiResult;
+import com.personalproject.homepage.config.web.UploadFileSender;
+import com.personalproject.homepage.dto.FileBatchResultDto;
 import com.personalproject.homepage.dto.FileResponseDto;
+import com.personalproject.homepage.dto.FileServeStatsDto;
+import com.personalproject.homepage.dto.ImageOptimizeStatsDto;
+import com.personalproject.homepage.dto.UploadSessionDto;
+import com.personalproject.homepage.dto.UploadGcReportDto;
+import com.personalproject.homepage.service.FileBatchUploader;
 import com.personalproject.homepage.service.FileService;
+import com.personalproject.homepage.service.ImageOptimizer;
+import com.personalproject.homepage.service.UploadGarbageCollector;
+import com.personalproject.homepage.service.UploadSessionService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -20,11 +39,100 @@ public class FileRestController {
 
     private final FileService fileService;
 
+    private final FileBatchUploader fileBatchUploader;
+
+    private final UploadFileSender uploadFileSender;
+
+    private final UploadGarbageCollector uploadGarbageCollector;
+
+    private final ImageOptimizer imageOptimizer;
+
+    private final UploadSessionService uploadSessionService;
+
     @PostMapping("")
     public ApiResult<FileResponseDto> uploadFile(MultipartFile file) {
         return ApiResult.success(fileService.save(file));
     }
 
+    /**
+     * 여러 파일을 한 번에 업로드한다. 결과는 요청한 파일 순서와 같다.
+     */
+    @PostMapping("/batch")
+    public ApiResult<List<FileBatchResultDto>> uploadFiles(List<MultipartFile> files) {
+        return ApiResult.success(fileBatchUploader.saveAll(files));
+    }
+
+    /**
+     * 이어 올리기 세션을 만든다.
+     * @param req RequestBody {@link UploadSessionDto.Req}
+     */
+    @PostMapping("/sessions")
+    public ApiResult<UploadSessionDto.Res> createUploadSession(@RequestBody(required = false) UploadSessionDto.Req req) {
+        return ApiResult.success(uploadSessionService.create(req));
+    }
+
+    /**
+     * 이어 올리기 세션의 받은 크기를 조회한다.
+     */
+    @GetMapping("/sessions/{id}")
+    public ApiResult<UploadSessionDto.Res> getUploadSession(@PathVariable String id) {
+        return ApiResult.success(uploadSessionService.get(id));
+    }
+
+    /**
+     * 요청 본문(application/octet-stream)을 offset 위치부터 쓴다.
+     */
+    @PutMapping("/sessions/{id}")
+    public ApiResult<UploadSessionDto.Res> writeUploadSession(
+        @PathVariable String id,
+        @RequestParam long offset,
+        HttpServletRequest request
+    ) throws IOException {
+        return ApiResult.success(uploadSessionService.write(id, offset, request.getInputStream()));
+    }
+
+    /**
+     * 받은 파일의 sha256을 확인하고 업로드 파일로 저장한다.
+     */
+    @PostMapping("/sessions/{id}/complete")
+    public ApiResult<FileResponseDto> completeUploadSession(@PathVariable String id) {
+        return ApiResult.success(uploadSessionService.complete(id));
+    }
+
+    @DeleteMapping("/sessions/{id}")
+    public ApiResult<Boolean> deleteUploadSession(@PathVariable String id) {
+        return ApiResult.success(uploadSessionService.delete(id));
+    }
+
+    @GetMapping("/stats")
+    public ApiResult<FileServeStatsDto> getServeStats() {
+        return ApiResult.success(uploadFileSender.getStats());
+    }
+
+    /**
+     * 업로드 이미지 최적화로 줄인 byte 수
+     */
+    @GetMapping("/optimization")
+    public ApiResult<ImageOptimizeStatsDto> getOptimizeStats() {
+        return ApiResult.success(imageOptimizer.getStats());
+    }
+
+    /**
+     * 참조되지 않는 업로드 파일을 조회만 한다. (dry run)
+     */
+    @GetMapping("/orphans")
+    public ApiResult<UploadGcReportDto> getOrphans() {
+        return ApiResult.success(uploadGarbageCollector.collect(true));
+    }
+
+    /**
+     * 참조되지 않는 업로드 파일을 정리한다.
+     */
+    @DeleteMapping("/orphans")
+    public ApiResult<UploadGcReportDto> deleteOrphans() {
+        return ApiResult.success(uploadGarbageCollector.collect(false));
+    }
+
     @DeleteMapping("/{fileName}")
     public ApiResult<FileResponseDto> deleteFile(@PathVariable String fileName) {
         return ApiResult.success(fileService.delete(fileName));
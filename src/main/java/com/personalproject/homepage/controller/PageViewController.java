@@ -1,27 +1,39 @@
 package com.personalproject.homepage.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.ModelAndView;
 
 import com.personalproject.homepage.config.web.PageType;
 import com.personalproject.homepage.config.web.ViewName;
 import com.personalproject.homepage.dto.CategoryDto;
+import com.personalproject.homepage.dto.CursorPageable;
 import com.personalproject.homepage.dto.PostDto;
+import com.personalproject.homepage.dto.PostsCursorDto;
 import com.personalproject.homepage.dto.PostsPaginationDto;
+import com.personalproject.homepage.entity.Post;
 import com.personalproject.homepage.error.PageNotFoundException;
 import com.personalproject.homepage.mapper.CategoryMapper;
 import com.personalproject.homepage.mapper.PostMapper;
 import com.personalproject.homepage.service.CategoryService;
+import com.personalproject.homepage.service.CategoryTree;
+import com.personalproject.homepage.service.ContentVersion;
 import com.personalproject.homepage.service.PostService;
+import com.personalproject.homepage.util.ConditionalRequests;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,42 +46,63 @@ public class PageViewController {
 
     private static final boolean VISIBLE = true;
 
-    private static final int PAGE_SIZE = 8;
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
 
     private final PostService postService;
 
     private final CategoryService categoryService;
 
+    private final ContentVersion contentVersion;
+
+    // page, 커서 argument resolver와 같은 페이지 크기
+    @Value("${post.page-size}")
+    private int pageSize;
+
     @GetMapping({"/", "/category"})
-    public ModelAndView pageIndex(Pageable pageable) {
+    public ModelAndView pageIndex(Pageable pageable, CursorPageable cursorPageable, ServletWebRequest webRequest) {
+        // 변경이 없으면 조회, 렌더링 없이 304
+        if (isListNotModified(webRequest)) {
+            return null;
+        }
+
         ModelAndView mv = new ModelAndView(ViewName.INDEX);
 
         // get post dto list
-        List<PostDto.Res> postList = postService.getPostsByVisible(VISIBLE, pageable)
-            .stream()
-            .map(PostMapper::entityToResDto)
-            .collect(Collectors.toList());
+        // after, before 쿼리가 있으면 커서로, 없으면 page로 조회한다.
+        CategoryTree categoryTree = categoryService.getCategoryTree();
+        PostsCursorDto cursor = cursorPageable == null
+            ? null
+            : PostMapper.summarySliceToCursorDto(postService.getPostsByCursor(VISIBLE, (Long) null, cursorPageable), categoryTree);
+        List<PostDto.Summary> postList = cursor != null
+            ? cursor.getPostList()
+            : postService.getPostsByVisible(VISIBLE, pageable)
+                .stream()
+                .map(summary -> PostMapper.summaryToSummaryDto(summary, categoryTree))
+                .collect(Collectors.toList());
 
         // out of bound page request -> 404
-        if (postList.isEmpty() && pageable.getPageNumber() != 0) {
+        if (postList.isEmpty() && !isFirstPage(pageable, cursorPageable)) {
             log.info("포스트가 없는 페이지 요청. page: '{}'", pageable.getPageNumber());
             throw new PageNotFoundException();
         }
 
         // get category dto list
-        List<CategoryDto.ResWithPostsCount> postsCountList = CategoryMapper.entityWithPostsCountListToResDtoWithPostsCountList(
-            categoryService.getAllCategoriesWithPostsCount(VISIBLE)
+        List<CategoryDto.ResWithPostsCount> postsCountList = CategoryMapper.treeToResDtoWithPostsCountList(
+            categoryTree, VISIBLE
         );
 
         // pagination
         Long totalPostsCount = postsCountList.stream().mapToLong(pc -> pc.getPostsCount()).sum();
-        PostsPaginationDto postsPagination = new PostsPaginationDto(
-            pageable.getPageNumber() + 1,
-            (totalPostsCount.intValue() - 1) / PAGE_SIZE + 1
-        );
+        PostsPaginationDto postsPagination = cursor != null
+            ? null
+            : new PostsPaginationDto(
+                pageable.getPageNumber() + 1,
+                (totalPostsCount.intValue() - 1) / pageSize + 1
+            );
 
         mv.addObject("selectedCategory", null);
         mv.addObject("postList", postList);
+        mv.addObject("cursor", cursor);
         mv.addObject("postsCountList", postsCountList);
         mv.addObject("totalPostsCount", totalPostsCount);
         mv.addObject("pagination", postsPagination);
@@ -80,7 +113,8 @@ public class PageViewController {
     @GetMapping("/{postId}")
     public ModelAndView pagePost(
         @PathVariable String postId,
-        HttpServletRequest request
+        HttpServletRequest request,
+        ServletWebRequest webRequest
     ) {
 
         // check id format
@@ -89,20 +123,39 @@ public class PageViewController {
             throw new PageNotFoundException();
         }
 
+        Long id = Long.parseLong(postId);
+        boolean isAdmin = request.isUserInRole("ADMIN");
+
+        // 변경이 없으면 본문 조회, 렌더링 없이 304. 비공개 포스트는 아래에서 404로 응답한다.
+        // 페이지에는 카테고리 목록(포스트 수)도 포함되므로 전역 버전을 ETag에 함께 사용한다.
+        // Last-Modified도 같은 이유로 포스트의 수정 시간과 전역 버전의 변경 시간 중 늦은 시간을 사용한다.
+        Post.LastModified lastModified = postService.getPostLastModified(id);
+        if ((lastModified.getVisible() || isAdmin) && ConditionalRequests.checkNotModified(
+            webRequest,
+            ConditionalRequests.versionEtag(
+                ConditionalRequests.postEtag(id, lastModified.getLastModifiedAt()), contentVersion.getTag()
+            ),
+            latest(lastModified.getLastModifiedAt(), contentVersion.getChangedAt()),
+            isAdmin
+        )) {
+            postService.increaseHit(id);
+            return null;
+        }
+
         ModelAndView mv = new ModelAndView(ViewName.INDEX);
 
         // get post dto
-        PostDto.Res post = PostMapper.entityToResDto(postService.getPost(Long.parseLong(postId)));
+        PostDto.Res post = PostMapper.entityToResDto(postService.getPost(id));
 
         // invisible post -> 404
-        if (!post.getVisible() && !request.isUserInRole("ADMIN")) {
+        if (!post.getVisible() && !isAdmin) {
             log.info("비공개 포스트 요청. postId: '{}'", postId);
             throw new PageNotFoundException();
         }
 
         // get category dto list
-        List<CategoryDto.ResWithPostsCount> postsCountList = CategoryMapper.entityWithPostsCountListToResDtoWithPostsCountList(
-            categoryService.getAllCategoriesWithPostsCount(VISIBLE)
+        List<CategoryDto.ResWithPostsCount> postsCountList = CategoryMapper.treeToResDtoWithPostsCountList(
+            categoryService.getCategoryTree(), VISIBLE
         );
         Long totalPostsCount = postsCountList.stream().mapToLong(pc -> pc.getPostsCount()).sum();
 
@@ -114,64 +167,71 @@ public class PageViewController {
         return mv;
     }
 
-    @GetMapping({"/category/{name}", "/category/{parent}/{name}"})
+    @GetMapping("/category/**")
     public ModelAndView pageCategory(
         Pageable pageable,
-        @PathVariable(required = false) String parent,
-        @PathVariable String name
+        CursorPageable cursorPageable,
+        HttpServletRequest request,
+        ServletWebRequest webRequest
     ) {
+        // 변경이 없으면 조회, 렌더링 없이 304
+        if (isListNotModified(webRequest)) {
+            return null;
+        }
+
+        // /category 이후의 주소를 최상위부터의 카테고리 이름 목록으로 사용한다.
+        List<String> path = categoryPathOf(request);
+        if (path.isEmpty()) {
+            log.info("카테고리 이름이 없는 요청. uri: '{}'", request.getRequestURI());
+            throw new PageNotFoundException();
+        }
+
         ModelAndView mv = new ModelAndView(ViewName.INDEX);
 
         // create req dto used by service
         CategoryDto.NameReq categoryDto = CategoryDto.NameReq.builder()
-            .name(name)
-            .parent(parent)
+            .path(path)
             .build();
 
         // get post dto list
-        List<PostDto.Res> postList = postService.getPostsByVisibleAndCategory(VISIBLE , categoryDto, pageable)
-            .stream()
-            .map(PostMapper::entityToResDto)
-            .collect(Collectors.toList());
+        CategoryTree categoryTree = categoryService.getCategoryTree();
+        PostsCursorDto cursor = cursorPageable == null
+            ? null
+            : PostMapper.summarySliceToCursorDto(postService.getPostsByCursor(VISIBLE, categoryDto, cursorPageable), categoryTree);
+        List<PostDto.Summary> postList = cursor != null
+            ? cursor.getPostList()
+            : postService.getPostsByVisibleAndCategory(VISIBLE , categoryDto, pageable)
+                .stream()
+                .map(summary -> PostMapper.summaryToSummaryDto(summary, categoryTree))
+                .collect(Collectors.toList());
 
         // out ot bound page request -> 404
-        if (postList.isEmpty() && pageable.getPageNumber() != 0) {
+        if (postList.isEmpty() && !isFirstPage(pageable, cursorPageable)) {
             log.info("포스트가 없는 페이지 요청. page: '{}'", pageable.getPageNumber());
             throw new PageNotFoundException();
         }
 
         // get category dto list
-        List<CategoryDto.ResWithPostsCount> postsCountList = CategoryMapper.entityWithPostsCountListToResDtoWithPostsCountList(
-            categoryService.getAllCategoriesWithPostsCount(VISIBLE)
+        List<CategoryDto.ResWithPostsCount> postsCountList = CategoryMapper.treeToResDtoWithPostsCountList(
+            categoryTree, VISIBLE
         );
 
         // pagination
         Long totalPostsCount = postsCountList.stream().mapToLong(pc -> pc.getPostsCount()).sum();
-        Long paginationPostsCount = 0l;
-        for (CategoryDto.ResWithPostsCount pc : postsCountList) {
-            // parent == null -> name과 비교
-            if (parent == null) {
-                if (name.equals(pc.getName())) {
-                    paginationPostsCount = pc.getPostsCount();
-                    break;
-                }
-
-            // parnet != null, parent == name -> parent, name과 비교
-            } else if (parent.equals(pc.getName())) {
-                // child list loop
-                for (CategoryDto.ResWithPostsCount cpc : pc.getChildList()) {
-                    if (name.equals(cpc.getName())) {
-                        paginationPostsCount = cpc.getPostsCount();
-                        break;
-                    }
-                }
-                break;
-            }
-        }
-        PostsPaginationDto postsPagination = new PostsPaginationDto(pageable.getPageNumber() + 1, (paginationPostsCount.intValue() - 1) / PAGE_SIZE + 1);
+        Long paginationPostsCount = postsCountOf(postsCountList, path);
+        PostsPaginationDto postsPagination = cursor != null
+            ? null
+            : new PostsPaginationDto(pageable.getPageNumber() + 1, (paginationPostsCount.intValue() - 1) / pageSize + 1);
+
+        CategoryDto.Res selectedCategory = CategoryDto.Res.builder()
+            .name(path.get(path.size() - 1))
+            .parent(path.size() < 2 ? null : path.get(path.size() - 2))
+            .path(path)
+            .build();
 
-        mv.addObject("selectedCategory", CategoryDto.Res.builder().name(name).parent(parent).build());
+        mv.addObject("selectedCategory", selectedCategory);
         mv.addObject("postList", postList);
+        mv.addObject("cursor", cursor);
         mv.addObject("postsCountList", postsCountList);
         mv.addObject("pagination", postsPagination);
         mv.addObject("totalPostsCount", totalPostsCount);
@@ -189,4 +249,50 @@ public class PageViewController {
         ModelAndView mv = new ModelAndView(ViewName.ADMIN);
         return mv;
     }
+
+    // 목록 페이지는 전역 버전으로 ETag를 만든다. page, 커서는 URL에 포함되므로 ETag에서 구분하지 않는다.
+    private boolean isListNotModified(ServletWebRequest webRequest) {
+        return ConditionalRequests.checkNotModified(
+            webRequest,
+            ConditionalRequests.versionEtag("page", contentVersion.getTag()),
+            null,
+            webRequest.isUserInRole("ADMIN")
+        );
+    }
+
+    // mapping 이후의 주소(decode 된)를 '/'로 나눈다. 빈 이름은 무시한다.
+    private List<String> categoryPathOf(HttpServletRequest request) {
+        String pathWithinMapping = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        String bestPattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String categoryPath = PATH_MATCHER.extractPathWithinPattern(bestPattern, pathWithinMapping);
+        return List.of(StringUtils.tokenizeToStringArray(categoryPath, "/"));
+    }
+
+    // path를 따라 하위 카테고리로 내려가며 포스트 수(하위 카테고리 포함)를 찾는다. 없으면 0
+    private long postsCountOf(List<CategoryDto.ResWithPostsCount> postsCountList, List<String> path) {
+        List<CategoryDto.ResWithPostsCount> siblings = postsCountList;
+        CategoryDto.ResWithPostsCount found = null;
+        for (String name : path) {
+            found = siblings.stream()
+                .filter(pc -> name.equals(pc.getName()))
+                .findFirst()
+                .orElse(null);
+            if (found == null) {
+                return 0l;
+            }
+            siblings = found.getChildList();
+        }
+        return found == null ? 0l : found.getPostsCount();
+    }
+
+    private LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    // 첫 페이지가 아닌데 포스트가 없으면 범위를 벗어난 요청이다.
+    private boolean isFirstPage(Pageable pageable, CursorPageable cursorPageable) {
+        return cursorPageable == null
+            ? pageable.getPageNumber() == 0
+            : cursorPageable.isFirst();
+    }
 }
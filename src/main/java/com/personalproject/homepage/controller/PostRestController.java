@@ -13,13 +13,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.personalproject.homepage.api.ApiResult;
+import com.personalproject.homepage.dto.CursorPageable;
 import com.personalproject.homepage.dto.PostDto;
+import com.personalproject.homepage.dto.PostsCursorDto;
 import com.personalproject.homepage.entity.Post;
 import com.personalproject.homepage.mapper.PostMapper;
+import com.personalproject.homepage.service.CategoryService;
+import com.personalproject.homepage.service.CategoryTree;
 import com.personalproject.homepage.service.PostService;
 import com.personalproject.homepage.util.AppUtils;
+import com.personalproject.homepage.util.ConditionalRequests;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,37 +36,79 @@ public class PostRestController {
 
     private final PostService postService;
 
+    private final CategoryService categoryService;
+
     /**
      * 모든 포스트를 요청에 맞게 반환한다.
      * @param pageable 페이지
      * @param strCategoryId 등록된 카테고리 아이디
      * @param strVisible 공개 여부
-     * @return {@link PostDto.Res} List
+     * @return {@link PostDto.Summary} List
      */
     @GetMapping("")
-    public ApiResult<List<PostDto.Res>> getPosts(
+    public ApiResult<List<PostDto.Summary>> getPosts(
         Pageable pageable,
         @RequestParam(value = "categoryid", required = false) String strCategoryId,
         @RequestParam(value = "visible", required = false) String strVisible
     ) {
         Long categoryId = strCategoryId == null ? null : AppUtils.parseParamId(strCategoryId);
         Boolean visible = AppUtils.parseBoolean(strVisible);
-        List<Post> entityList = null;
+        List<Post.Summary> summaryList = null;
         if (visible == null) {
-            entityList = categoryId == null
+            summaryList = categoryId == null
                 ? postService.getPosts(pageable)
                 : postService.getPostsByCategory(categoryId, pageable);
         } else {
-            entityList = categoryId == null
+            summaryList = categoryId == null
                 ? postService.getPostsByVisible(visible, pageable)
                 : postService.getPostsByVisibleAndCategory(visible, categoryId, pageable);
         }
-        List<PostDto.Res> dtoList = entityList.stream()
-            .map(PostMapper::entityToResDto)
+        CategoryTree categoryTree = categoryService.getCategoryTree();
+        List<PostDto.Summary> dtoList = summaryList.stream()
+            .map(summary -> PostMapper.summaryToSummaryDto(summary, categoryTree))
             .collect(Collectors.toList());
         return ApiResult.success(dtoList);
     }
 
+    /**
+     * after 커서 이후(더 오래된) 포스트를 반환한다. after가 비어있으면 가장 최신 포스트부터 반환한다.
+     * @param cursorPageable after 커서
+     * @param strCategoryId 등록된 카테고리 아이디
+     * @param strVisible 공개 여부
+     * @return {@link PostsCursorDto}
+     */
+    @GetMapping(path = "", params = "after")
+    public ApiResult<PostsCursorDto> getPostsAfter(
+        CursorPageable cursorPageable,
+        @RequestParam(value = "categoryid", required = false) String strCategoryId,
+        @RequestParam(value = "visible", required = false) String strVisible
+    ) {
+        return getPostsByCursor(cursorPageable, strCategoryId, strVisible);
+    }
+
+    /**
+     * before 커서 이전(더 최신) 포스트를 반환한다.
+     * @param cursorPageable before 커서
+     * @param strCategoryId 등록된 카테고리 아이디
+     * @param strVisible 공개 여부
+     * @return {@link PostsCursorDto}
+     */
+    @GetMapping(path = "", params = {"before", "!after"})
+    public ApiResult<PostsCursorDto> getPostsBefore(
+        CursorPageable cursorPageable,
+        @RequestParam(value = "categoryid", required = false) String strCategoryId,
+        @RequestParam(value = "visible", required = false) String strVisible
+    ) {
+        return getPostsByCursor(cursorPageable, strCategoryId, strVisible);
+    }
+
+    private ApiResult<PostsCursorDto> getPostsByCursor(CursorPageable cursorPageable, String strCategoryId, String strVisible) {
+        Long categoryId = strCategoryId == null ? null : AppUtils.parseParamId(strCategoryId);
+        Boolean visible = AppUtils.parseBoolean(strVisible);
+        return ApiResult.success(PostMapper.summarySliceToCursorDto(
+            postService.getPostsByCursor(visible, categoryId, cursorPageable), categoryService.getCategoryTree()));
+    }
+
     /**
      * 포스트를 생성하고 결과를 반환한다.
      * @param post {@link PostDto.Req}
@@ -73,13 +121,27 @@ public class PostRestController {
     }
 
     /**
-     * id에 맞는 포스트를 반환한다.
+     * id에 맞는 포스트를 반환한다. 포스트가 변경되지 않았으면 본문을 읽지 않고 304로 응답한다.
      * @param id 포스트 id
+     * @param webRequest {@link ServletWebRequest}
      * @return {@link PostDto.Res}
      */
     @GetMapping("/{id}")
-    public ApiResult<PostDto.Res> getPost(@PathVariable String id) {
-        Post entity = postService.getPost(AppUtils.parseParamId(id));
+    public ApiResult<PostDto.Res> getPost(@PathVariable String id, ServletWebRequest webRequest) {
+        Long postId = AppUtils.parseParamId(id);
+
+        Post.LastModified lastModified = postService.getPostLastModified(postId);
+        if (ConditionalRequests.checkNotModified(
+            webRequest,
+            ConditionalRequests.postEtag(postId, lastModified.getLastModifiedAt()),
+            lastModified.getLastModifiedAt(),
+            webRequest.isUserInRole("ADMIN")
+        )) {
+            postService.increaseHit(postId);
+            return null;
+        }
+
+        Post entity = postService.getPost(postId);
         return ApiResult.success(PostMapper.entityToResDto(entity));
     }
 
@@ -0,0 +1,29 @@
+package com.personalproject.homepage.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.personalproject.homepage.api.ApiResult;
+import com.personalproject.homepage.config.web.CompressionStats;
+import com.personalproject.homepage.dto.CompressionStatsDto;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatsRestController {
+
+    private final CompressionStats compressionStats;
+
+    /**
+     * 경로 pattern별 응답 압축으로 줄인 byte 수
+     */
+    @GetMapping("/compression")
+    public ApiResult<List<CompressionStatsDto>> getCompressionStats() {
+        return ApiResult.success(compressionStats.getStats());
+    }
+}
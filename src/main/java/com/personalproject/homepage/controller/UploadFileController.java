@@ -0,0 +1,58 @@
+package com.personalproject.homepage.controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.personalproject.homepage.config.web.UploadFileSender;
+import com.personalproject.homepage.service.FileService;
+import com.personalproject.homepage.service.ImageDerivativeService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 업로드 파일과 축소본을 응답한다.
+ * static resource handler보다 먼저 mapping 되며 캐시, Range 처리는 {@link UploadFileSender}가 한다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class UploadFileController {
+
+    private final FileService fileService;
+
+    private final ImageDerivativeService imageDerivativeService;
+
+    private final UploadFileSender uploadFileSender;
+
+    @GetMapping("/static/uploadfile/{fileName:.+}")
+    public void uploadFile(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        send(fileService.find(fileName), request, response);
+    }
+
+    /**
+     * 업로드한 이미지의 축소본. 없으면 만들어서 응답한다.
+     */
+    @GetMapping("/static/uploadfile/w{width:\\d+}/{fileName:.+}")
+    public void imageDerivative(@PathVariable int width, @PathVariable String fileName,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        send(imageDerivativeService.derivative(width, fileName), request, response);
+    }
+
+    private void send(Optional<Path> path, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (path.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        uploadFileSender.send(path.get(), request, response);
+    }
+}
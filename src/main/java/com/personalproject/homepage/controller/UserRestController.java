@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import java.time.Duration;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.http.HttpHeaders;
@@ -21,6 +22,7 @@ import com.personalproject.homepage.config.jwt.JwtTokenConfig;
 import com.personalproject.homepage.dto.LoginRequestDto;
 import com.personalproject.homepage.dto.LoginResultDto;
 import com.personalproject.homepage.entity.User;
+import com.personalproject.homepage.security.ClientIpResolver;
 import com.personalproject.homepage.security.jwt.JwtAssistor;
 import com.personalproject.homepage.security.jwt.JwtAuthenticationToken;
 
@@ -38,18 +40,24 @@ public class UserRestController {
 
     private final JwtTokenConfig jwtTokenConfig;
 
+    private final ClientIpResolver clientIpResolver;
+
     // 로그인 시 토큰을 쿠키에 저장하고 유저 정보를 반환한다.
     @PostMapping("/login")
     public ApiResult<LoginResultDto> login(
         @RequestBody(required = false) LoginRequestDto loginRequest,
+        HttpServletRequest request,
         HttpServletResponse response
     ) {
         checkArgument(loginRequest != null && StringUtils.hasText(loginRequest.getId()) && StringUtils.hasText(loginRequest.getPw()),
             "아이디, 비밀번호를 입력해주세요.");
 
         // 인증을 위해 JwtAuthenticationProvider의 authentication이 호출 된다.
-        Authentication authentication = authenticationManager.authenticate(
-            new JwtAuthenticationToken(loginRequest.getId(), loginRequest.getPw()));
+        // 로그인 실패 횟수를 IP별로 기록하기 위해 요청 정보를 details에 저장한다.
+        // proxy 뒤의 요청이므로 remote address는 proxy가 아닌 client IP로 저장한다.
+        JwtAuthenticationToken authenticationToken = new JwtAuthenticationToken(loginRequest.getId(), loginRequest.getPw());
+        authenticationToken.setDetails(clientIpResolver.buildDetails(request));
+        Authentication authentication = authenticationManager.authenticate(authenticationToken);
         User user = (User) authentication.getDetails();
 
         Claims claims = jwtAssistor.createClaims(user.getId(), user.getRoles());
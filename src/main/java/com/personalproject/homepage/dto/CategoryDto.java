@@ -29,8 +29,8 @@ public class CategoryDto {
     @Builder
     @AllArgsConstructor(access = AccessLevel.PRIVATE)
     public static class NameReq {
-        private String name;
-        private String parent;
+        // 최상위부터의 카테고리 이름 목록
+        private List<String> path;
     }
 
     /**
@@ -42,6 +42,8 @@ public class CategoryDto {
     public static class Res {
         private String name;
         private String parent;
+        // 최상위부터의 카테고리 이름 목록, 페이지 주소(/category/{path})에 사용한다.
+        private List<String> path;
     }
 
     /**
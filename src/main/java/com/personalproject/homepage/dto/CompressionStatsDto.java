@@ -0,0 +1,21 @@
+package com.personalproject.homepage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CompressionStatsDto {
+
+    private String route;
+
+    private long responses;
+
+    private long compressedResponses;
+
+    private long originalBytes;
+
+    private long sentBytes;
+
+    private long savedBytes;
+}
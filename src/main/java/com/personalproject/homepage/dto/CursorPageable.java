@@ -0,0 +1,88 @@
+package com.personalproject.homepage.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+import lombok.Getter;
+
+/********************************************************************************
+    (createAt, idx) 위치를 기준으로 포스트를 조회하기 위한 페이지 정보.
+    OFFSET 없이 커서 이후(after) 또는 이전(before)의 포스트를 size만큼 조회하므로
+    페이지가 깊어져도 조회 비용이 일정하다.
+
+    커서는 "createAt,idx"를 base64url로 인코딩한 문자열로, 클라이언트에겐 의미 없는 값이다.
+********************************************************************************/
+@Getter
+public class CursorPageable {
+
+    private static final String DELIMITER = ",";
+
+    /** 커서 포스트의 작성 시간, null이면 첫 페이지 */
+    private final LocalDateTime createAt;
+
+    /** 커서 포스트의 아이디, null이면 첫 페이지 */
+    private final Long idx;
+
+    /** true면 커서보다 최신 포스트를 조회한다. */
+    private final boolean backward;
+
+    private final int size;
+
+    private CursorPageable(LocalDateTime createAt, Long idx, boolean backward, int size) {
+        this.createAt = createAt;
+        this.idx = idx;
+        this.backward = backward;
+        this.size = size;
+    }
+
+    /**
+     * 가장 최신 포스트부터 조회하는 첫 페이지
+     * @param size 페이지 크기
+     * @return {@link CursorPageable}
+     */
+    public static CursorPageable first(int size) {
+        return new CursorPageable(null, null, false, size);
+    }
+
+    /**
+     * 커서 문자열을 해석한다.
+     * @param token 커서 문자열
+     * @param backward true면 before, false면 after 커서
+     * @param size 페이지 크기
+     * @return {@link CursorPageable}
+     */
+    public static CursorPageable of(String token, boolean backward, int size) {
+        String paramName = backward ? "before" : "after";
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] keys = decoded.split(DELIMITER);
+            if (keys.length != 2) {
+                throw new ApiException(ErrorMessage.INVALID_PARAM, paramName);
+            }
+            return new CursorPageable(LocalDateTime.parse(keys[0]), Long.parseLong(keys[1]), backward, size);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException은 IllegalArgumentException을 상속한다.
+            throw new ApiException(ErrorMessage.INVALID_PARAM, paramName);
+        }
+    }
+
+    /**
+     * 포스트 위치를 커서 문자열로 변환한다.
+     * @param createAt 포스트 작성 시간
+     * @param idx 포스트 아이디
+     * @return 커서 문자열
+     */
+    public static String encode(LocalDateTime createAt, Long idx) {
+        String raw = createAt.toString() + DELIMITER + idx;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return createAt == null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.personalproject.homepage.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * {@link CursorPageable}로 조회한 결과. content는 최신순으로 정렬되어 있다.
+ */
+@AllArgsConstructor
+public class CursorSlice<T> {
+
+    @Getter
+    private final List<T> content;
+
+    /** content보다 오래된 포스트가 있는지 여부 */
+    private final boolean hasNext;
+
+    /** content보다 최신 포스트가 있는지 여부 */
+    private final boolean hasPrevious;
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public boolean hasPrevious() {
+        return hasPrevious;
+    }
+}
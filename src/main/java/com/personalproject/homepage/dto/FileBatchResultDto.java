@@ -0,0 +1,26 @@
+package com.personalproject.homepage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FileBatchResultDto {
+
+    private boolean success;
+
+    private String savedName;
+
+    private String url;
+
+    // 실패한 경우의 메시지
+    private String error;
+
+    public static FileBatchResultDto success(FileResponseDto file) {
+        return new FileBatchResultDto(true, file.getSavedName(), file.getUrl(), null);
+    }
+
+    public static FileBatchResultDto failure(String error) {
+        return new FileBatchResultDto(false, null, null, error);
+    }
+}
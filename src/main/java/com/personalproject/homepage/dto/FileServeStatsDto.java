@@ -0,0 +1,17 @@
+package com.personalproject.homepage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FileServeStatsDto {
+
+    private long requests;
+
+    private long notModified;
+
+    private long partial;
+
+    private long bytesServed;
+}
@@ -0,0 +1,24 @@
+package com.personalproject.homepage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImageOptimizeStatsDto {
+
+    // 최적화하여 바꾼 파일 수
+    private long optimized;
+
+    // 줄어들지 않아 그대로 둔 파일 수
+    private long skipped;
+
+    // 대기열이 가득 차 다시 대기한 파일 수
+    private long rejected;
+
+    private long originalBytes;
+
+    private long optimizedBytes;
+
+    private long savedBytes;
+}
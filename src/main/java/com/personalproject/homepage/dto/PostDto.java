@@ -36,6 +36,31 @@ public class PostDto {
         private String title;
         private String content;
         private String desc;
+        private String excerpt;
+        private Integer wordCount;
+        private Integer readingMinutes;
+        private String firstImage;
+        private String thumbnail;
+        private Long hit;
+        private Boolean visible;
+        private LocalDateTime postAt;
+        private LocalDateTime updateAt;
+    }
+
+    /**
+     * 포스트 목록 응답에 사용되는 DTO 내부 클래스. 본문(content)을 포함하지 않는다.
+     */
+    @Getter
+    @Builder
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Summary {
+        private Long id;
+        private CategoryDto.Res category;
+        private String title;
+        private String desc;
+        private String excerpt;
+        private Integer readingMinutes;
+        private String thumbnail;
         private Long hit;
         private Boolean visible;
         private LocalDateTime postAt;
@@ -0,0 +1,20 @@
+package com.personalproject.homepage.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** 커서로 조회한 포스트 목록과 이전, 다음 페이지의 커서를 담은 객체 */
+@Getter
+@AllArgsConstructor
+public class PostsCursorDto {
+
+    private final List<PostDto.Summary> postList;
+
+    /** 다음(더 오래된) 페이지 커서, 없으면 null */
+    private final String after;
+
+    /** 이전(더 최신) 페이지 커서, 없으면 null */
+    private final String before;
+}
@@ -0,0 +1,24 @@
+package com.personalproject.homepage.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UploadGcReportDto {
+
+    private boolean dryRun;
+
+    // 검사한 파일 수
+    private int scannedFiles;
+
+    // 참조되지 않고 유예 기간이 지난 파일 수
+    private int orphanFiles;
+
+    private long orphanBytes;
+
+    // 업로드 디렉토리 기준 경로, 최대 개수까지만 포함한다.
+    private List<String> orphans;
+}
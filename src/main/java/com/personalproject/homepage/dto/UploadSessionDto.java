@@ -0,0 +1,34 @@
+package com.personalproject.homepage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 이어 올리기(upload session)에 대응하는 DTO 클래스
+ */
+public class UploadSessionDto {
+
+    /**
+     * 세션 생성 요청에 사용되는 DTO 내부 클래스
+     */
+    @Getter
+    public static class Req {
+        // 전체 파일 크기 (byte)
+        private Long size;
+
+        // 전체 파일 내용의 SHA-256 (16진수)
+        private String sha256;
+    }
+
+    /**
+     * 세션 상태 응답에 사용되는 DTO 내부 클래스
+     * received부터 이어서 보내면 된다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Res {
+        private String id;
+        private long size;
+        private long received;
+    }
+}
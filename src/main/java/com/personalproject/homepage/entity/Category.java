@@ -4,6 +4,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
@@ -29,13 +30,13 @@ public class Category extends CommonEntity {
     private String name;
 
     /********************************************************************************
-        자기 참조 외래키로서, 계층이 깊어질 수도 있다.
-        idx로 find하지 않기에 원하는 entity를 찾기 위해 재귀적 탐색이 필요하다.
-        불필요하게 복잡해지는 프로세스를 막기 위해
-        최상위(parentCategory == null)
-        하위(parentCategory != null)인 두 종류의 entity만 입력받을 수 있게 한다.
+        자기 참조 외래키로서, 계층의 깊이에 제한이 없다.
+        하위 카테고리 전체를 찾을 때는 재귀적 탐색 대신
+        {@link CategoryClosure}의 (조상, 자손) 쌍을 사용한다.
+        parentCategory가 바뀌면 closure도 같은 트랜잭션에서 갱신해야 한다.
+        지연 로딩이므로 상위 카테고리가 필요한 조회는 repository에서 함께 fetch 한다.
     ********************************************************************************/
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_category_idx")
     private Category parentCategory;
 
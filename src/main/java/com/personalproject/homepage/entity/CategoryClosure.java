@@ -0,0 +1,55 @@
+package com.personalproject.homepage.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import com.personalproject.homepage.repository.CategoryClosureRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/********************************************************************************
+    카테고리 계층의 closure table entity.
+    모든 (조상, 자손) 쌍과 그 사이의 깊이를 저장하며 자기 자신과의 쌍(depth = 0)도 포함한다.
+    깊이에 상관없이 하위 카테고리 전체를 ancestor_idx 하나로 찾을 수 있으므로
+    재귀 쿼리나 재귀 탐색 없이 join 한 번으로 하위 카테고리의 포스트를 조회한다.
+    값은 {@link CategoryClosureRepository}의 native query로만 변경한다.
+********************************************************************************/
+@Entity
+@Table(name = "category_closure")
+@IdClass(CategoryClosure.Key.class)
+@Getter
+public class CategoryClosure {
+
+    @Id
+    @Column(name = "ancestor_idx")
+    private Long ancestorIdx;
+
+    @Id
+    @Column(name = "descendant_idx")
+    private Long descendantIdx;
+
+    private Integer depth;
+
+    CategoryClosure() {/** empty */}
+
+    /**
+     * (ancestor_idx, descendant_idx) 복합키
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long ancestorIdx;
+
+        private Long descendantIdx;
+    }
+}
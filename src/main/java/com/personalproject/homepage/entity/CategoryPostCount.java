@@ -0,0 +1,53 @@
+package com.personalproject.homepage.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import com.personalproject.homepage.repository.CategoryPostCountRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/********************************************************************************
+    카테고리별, 공개 여부별 포스트 수를 저장하는 counter entity.
+    포스트 생성, 수정, 삭제 시 같은 트랜잭션에서 증감되며
+    사이드바를 그릴 때 post 테이블을 GROUP BY 하지 않고 이 테이블만 읽는다.
+    값은 {@link CategoryPostCountRepository}의 native query로만 변경한다.
+********************************************************************************/
+@Entity
+@Table(name = "category_post_count")
+@IdClass(CategoryPostCount.Key.class)
+@Getter
+public class CategoryPostCount {
+
+    @Id
+    @Column(name = "category_idx")
+    private Long categoryIdx;
+
+    @Id
+    private Boolean visible;
+
+    private Long postsCount;
+
+    CategoryPostCount() {/** empty */}
+
+    /**
+     * (category_idx, visible) 복합키
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long categoryIdx;
+
+        private Boolean visible;
+    }
+}
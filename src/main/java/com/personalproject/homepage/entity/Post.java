@@ -2,8 +2,11 @@ package com.personalproject.homepage.entity;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.time.LocalDateTime;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 
@@ -11,7 +14,9 @@ import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
 
 import com.personalproject.homepage.error.ErrorMessage;
+import com.personalproject.homepage.repository.PostRepository;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -21,7 +26,11 @@ import lombok.Getter;
 @DynamicInsert
 public class Post extends CommonEntity {
 
-    @ManyToOne
+    /********************************************************************************
+        목록은 {@link Summary}로, 단건은 fetch join으로 카테고리를 함께 읽으므로
+        지연 로딩으로 두어 포스트 row마다 카테고리를 따로 조회하지 않게 한다.
+    ********************************************************************************/
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_idx")
     private Category category;
 
@@ -36,6 +45,21 @@ public class Post extends CommonEntity {
 
     private Boolean visible;
 
+    /********************************************************************************
+        본문 저장 시 계산되는 값. 조회 시 본문을 다시 파싱하지 않도록 함께 저장한다.
+        이 값들이 추가되기 전에 작성된 포스트는 다시 저장할 때까지 null이다.
+    ********************************************************************************/
+    private String excerpt;
+
+    private Integer wordCount;
+
+    private Integer readingMinutes;
+
+    private String firstImage;
+
+    // 업로드한 첫 번째 이미지의 축소본 주소
+    private String thumbnail;
+
     Post() {/** empty */}
 
     @Builder
@@ -61,6 +85,28 @@ public class Post extends CommonEntity {
         if (category != null) setCategory(category);
     }
 
+    /**
+     * 정리된 본문과 본문에서 계산된 값을 함께 변경한다.
+     * @param content {@link Content}
+     */
+    public void changeContent(Content content) {
+        checkArgument(content != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("content"));
+        this.content = content.getHtml();
+        this.excerpt = content.getExcerpt();
+        this.wordCount = content.getWordCount();
+        this.readingMinutes = content.getReadingMinutes();
+        this.firstImage = content.getFirstImage();
+        this.thumbnail = content.getThumbnail();
+    }
+
+    /**
+     * 썸네일만 변경한다. 썸네일이 추가되기 전에 작성된 포스트를 채울 때 사용한다.
+     * @param thumbnail 썸네일 주소
+     */
+    public void changeThumbnail(String thumbnail) {
+        this.thumbnail = thumbnail;
+    }
+
     private void setCategory(Category category) {
         if (this.category != null) {
             this.category.getPostsOfCategory().remove(this);
@@ -69,7 +115,83 @@ public class Post extends CommonEntity {
         this.category.getPostsOfCategory().add(this);
     }
 
-    public void addHit() {
-        ++this.hit;
+    /**
+     * 목록 조회 쿼리에 매핑될 entity 내부 클래스.
+     * 목록에는 본문이 필요 없으므로 content(TEXT) 컬럼을 읽지 않는다.
+     * @see PostRepository#findAllSummary(org.springframework.data.domain.Pageable)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Summary {
+        private Long idx;
+
+        private String title;
+
+        private String desc;
+
+        private String excerpt;
+
+        private Integer readingMinutes;
+
+        private String thumbnail;
+
+        private Long hit;
+
+        private Boolean visible;
+
+        private LocalDateTime createAt;
+
+        private LocalDateTime updateAt;
+
+        private Long categoryIdx;
+
+        private String categoryName;
+
+        private String parentCategoryName;
+    }
+
+    /**
+     * 조건부 요청(ETag, Last-Modified) 확인에 사용될 entity 내부 클래스.
+     * 본문을 읽지 않고 수정 시간과 공개 여부만 조회한다.
+     * @see PostRepository#findLastModifiedById(Long)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class LastModified {
+        private Long idx;
+
+        private LocalDateTime createAt;
+
+        private LocalDateTime updateAt;
+
+        private Boolean visible;
+
+        /**
+         * 수정된 적이 없으면 작성 시간
+         * @return 마지막 수정 시간
+         */
+        public LocalDateTime getLastModifiedAt() {
+            return updateAt == null ? createAt : updateAt;
+        }
+    }
+
+    /**
+     * 저장 전 처리된 본문과 본문에서 계산된 값.
+     * @see com.personalproject.homepage.service.PostContentProcessor
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Content {
+        private String html;
+
+        private String excerpt;
+
+        private Integer wordCount;
+
+        private Integer readingMinutes;
+
+        private String firstImage;
+
+        private String thumbnail;
     }
 }
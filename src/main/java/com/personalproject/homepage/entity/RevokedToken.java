@@ -0,0 +1,32 @@
+package com.personalproject.homepage.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.Getter;
+
+/********************************************************************************
+    로그아웃된 토큰의 jti entity.
+    토큰의 만료 시간까지만 저장하며 서버 시작 시 메모리로 읽어
+    요청마다 DB를 조회하지 않고 폐기 여부를 확인한다.
+********************************************************************************/
+@Entity
+@Table(name = "revoked_token")
+@Getter
+public class RevokedToken {
+
+    @Id
+    private String jti;
+
+    private LocalDateTime expireAt;
+
+    RevokedToken() {/** empty */}
+
+    public RevokedToken(String jti, LocalDateTime expireAt) {
+        this.jti = jti;
+        this.expireAt = expireAt;
+    }
+}
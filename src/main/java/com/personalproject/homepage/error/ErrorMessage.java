@@ -13,13 +13,16 @@ public enum ErrorMessage {
     ALREADY_EXISTENT("이미 존재하는 %입니다.", HttpStatus.BAD_REQUEST),
     NO_CHANGES("수정할 변경 사항이 없습니다.", HttpStatus.BAD_REQUEST),
     NOT_REMOVEABLE_CATEGORY("카테고리에 속한 포스트가 있어 삭제할 수 없습니다.", HttpStatus.BAD_REQUEST),
+    NOT_REMOVEABLE_FILE("포스트에서 사용 중인 파일이라 삭제할 수 없습니다.", HttpStatus.BAD_REQUEST),
     NOT_CHANGE_TO_TOPLEVEL_CATEGORY("카테고리에 속한 포스트가 있어 최상위 카테고리로 변경할 수 없습니다.", HttpStatus.BAD_REQUEST),
+    NOT_ALLOWED_DESCENDANT_PARENT("자기 자신이나 하위 카테고리를 상위 카테고리로 지정할 수 없습니다.", HttpStatus.BAD_REQUEST),
     NOT_ALLOWED_TOPLEVEL_POST("최상위 카테고리에 포스트를 추가할 수 없습니다.", HttpStatus.BAD_REQUEST),
     EMPTY_STRING("%이(가) 비어있습니다.", HttpStatus.BAD_REQUEST),
     INVALID_PARAM_INFO("%의 값이 유효하지 않습니다. 유효한 값: %", HttpStatus.BAD_REQUEST),
     INVALID_PARAM("%의 값이 유효하지 않습니다", HttpStatus.BAD_REQUEST),
     JWT_EXPIERD("만료된 토큰입니다.", HttpStatus.BAD_REQUEST),
     JWT_INVALID("유효하지 않은 토큰입니다.", HttpStatus.BAD_REQUEST),
+    JWT_REVOKED("로그아웃된 토큰입니다.", HttpStatus.BAD_REQUEST),
 
     // 401
     UNAUTHORIZED("인증이 필요한 서비스입니다.", HttpStatus.UNAUTHORIZED),
@@ -33,6 +36,10 @@ public enum ErrorMessage {
     // 405
     METHOD_NOT_ALLOWED("%메소드는 지원하지 않습니다. 지원하는 메소드: %", HttpStatus.METHOD_NOT_ALLOWED),
 
+    // 429
+    TOO_MANY_REQUESTS("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", HttpStatus.TOO_MANY_REQUESTS),
+    LOGIN_LOCKED("로그인 실패가 반복되어 잠겼습니다. %초 후 다시 시도해주세요.", HttpStatus.TOO_MANY_REQUESTS),
+
     // 500
     INTERNAL_SERVER_ERROR("알 수 없는 오류가 발생했습니다.", HttpStatus.INTERNAL_SERVER_ERROR),
     ;
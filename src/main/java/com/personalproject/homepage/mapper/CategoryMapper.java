@@ -3,11 +3,13 @@ package com.personalproject.homepage.mapper;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
 
 import com.personalproject.homepage.dto.CategoryDto;
 import com.personalproject.homepage.entity.Category;
 import com.personalproject.homepage.error.ErrorMessage;
+import com.personalproject.homepage.service.CategoryTree;
 
 /**
  * Category Entity <--> DTO 객체 변환을 위한 클래스
@@ -24,62 +26,76 @@ public class CategoryMapper {
         String name = entity.getName();
         Category parentCategory = entity.getParentCategory();
 
+        // 상위로 올라가며 최상위부터의 이름 목록을 만든다.
+        LinkedList<String> path = new LinkedList<>();
+        for (Category category = entity; category != null; category = category.getParentCategory()) {
+            path.addFirst(category.getName());
+        }
+
         return CategoryDto.Res.builder()
             .name(name)
             .parent(parentCategory == null ? null : parentCategory.getName())
+            .path(List.copyOf(path))
             .build();
     }
 
     /**
-     * @param entity {@link Category.WithPostsCount}
-     * @return {@link CategoryDto.ResWithPostsCount}
+     * @param node {@link CategoryTree.Node}
+     * @return {@link CategoryDto.Res}
      */
-    public static CategoryDto.ResWithPostsCount entityWithPostsCountToResDtoWithPostsCount(Category.WithPostsCount entity) {
-        checkArgument(entity != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("CategoryWithPostsCount Entity"));
+    public static CategoryDto.Res nodeToResDto(CategoryTree.Node node) {
+        checkArgument(node != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("CategoryTree.Node"));
+
+        return CategoryDto.Res.builder()
+            .name(node.getName())
+            .parent(node.getParentName())
+            .path(node.getPath())
+            .build();
+    }
 
-        Category categoryEntity = entity.getCategory();
-        Long parentCategoryId = categoryEntity.getParentCategory() == null
-            ? null
-            : categoryEntity.getParentCategory().getIdx();
+    /**
+     * @param node {@link CategoryTree.Node}
+     * @param visible 포스트 공개 여부, null이면 전부
+     * @return {@link CategoryDto.ResWithPostsCount}
+     */
+    public static CategoryDto.ResWithPostsCount nodeToResDtoWithPostsCount(CategoryTree.Node node, Boolean visible) {
+        checkArgument(node != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("CategoryTree.Node"));
 
         return CategoryDto.ResWithPostsCount.builder()
-            .categoryId(categoryEntity.getIdx())
-            .name(categoryEntity.getName())
-            .parentId(parentCategoryId)
-            .postsCount(entity.getPostsCount())
+            .categoryId(node.getIdx())
+            .name(node.getName())
+            .parentId(node.getParentIdx())
+            .postsCount(node.getPostsCount(visible))
             .build();
     }
 
     /**
-     * @param entityList {@link Category.WithPostsCount} List
+     * 최상위 카테고리 아래에 하위 카테고리를 깊이에 상관없이 담은 목록으로 변환한다.
+     * 상위 카테고리의 postsCount는 모든 하위 카테고리의 postsCount를 포함한다.
+     * @param tree {@link CategoryTree}
+     * @param visible 포스트 공개 여부, null이면 전부
      * @return {@link CategoryDto.ResWithPostsCount} List
      */
-    public static List<CategoryDto.ResWithPostsCount> entityWithPostsCountListToResDtoWithPostsCountList(List<Category.WithPostsCount> entityList) {
-        checkArgument(entityList != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("Category.WithPostsCount EntityList"));
+    public static List<CategoryDto.ResWithPostsCount> treeToResDtoWithPostsCountList(CategoryTree tree, Boolean visible) {
+        checkArgument(tree != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("CategoryTree"));
 
         List<CategoryDto.ResWithPostsCount> dtoList = new ArrayList<>();
-        // entity loop
-        for (Category.WithPostsCount entity : entityList) {
-            Long parentId = entity.getCategory().getParentCategory() == null
-                ? null
-                : entity.getCategory().getParentCategory().getIdx();
-
-            // if parentId == null -> 상위 카테고리
-            if (parentId == null) {
-                dtoList.add(CategoryMapper.entityWithPostsCountToResDtoWithPostsCount(entity));
-
-            // if parentId != null -> 하위 카테고리
-            } else {
-                // child loop
-                for (CategoryDto.ResWithPostsCount dto : dtoList) {
-                    if (dto.getCategoryId() == parentId) {
-                        dto.addChild(CategoryMapper.entityWithPostsCountToResDtoWithPostsCount(entity));
-                        break;
-                    }
-                }
+        // 최상위 카테고리 loop
+        for (CategoryTree.Node node : tree.getNodes()) {
+            if (node.isTopLevel()) {
+                dtoList.add(CategoryMapper.subtreeToResDtoWithPostsCount(tree, node, visible));
             }
         }
 
         return dtoList;
     }
+
+    // 하위 카테고리를 먼저 만들어 addChild로 포스트 수를 누적한다.
+    private static CategoryDto.ResWithPostsCount subtreeToResDtoWithPostsCount(CategoryTree tree, CategoryTree.Node node, Boolean visible) {
+        CategoryDto.ResWithPostsCount dto = CategoryMapper.nodeToResDtoWithPostsCount(node, visible);
+        for (Long childIdx : node.getChildIdxList()) {
+            dto.addChild(CategoryMapper.subtreeToResDtoWithPostsCount(tree, tree.getNode(childIdx), visible));
+        }
+        return dto;
+    }
 }
@@ -2,9 +2,18 @@ package com.personalproject.homepage.mapper;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.personalproject.homepage.dto.CategoryDto;
+import com.personalproject.homepage.dto.CursorPageable;
+import com.personalproject.homepage.dto.CursorSlice;
 import com.personalproject.homepage.dto.PostDto;
+import com.personalproject.homepage.dto.PostsCursorDto;
 import com.personalproject.homepage.entity.Post;
 import com.personalproject.homepage.error.ErrorMessage;
+import com.personalproject.homepage.service.CategoryTree;
 
 /**
  * Post Entity <--> DTO 객체 변환을 위한 클래스
@@ -24,10 +33,88 @@ public class PostMapper {
             .title(entity.getTitle())
             .content(entity.getContent())
             .desc(entity.getDesc())
+            .excerpt(entity.getExcerpt())
+            .wordCount(entity.getWordCount())
+            .readingMinutes(entity.getReadingMinutes())
+            .firstImage(entity.getFirstImage())
+            .thumbnail(entity.getThumbnail())
             .hit(entity.getHit())
             .visible(entity.getVisible())
             .postAt(entity.getCreateAt())
             .updateAt(entity.getUpdateAt())
             .build();
     }
+
+    /**
+     * @param summary {@link Post.Summary}
+     * @return {@link PostDto.Summary}
+     */
+    public static PostDto.Summary summaryToSummaryDto(Post.Summary summary) {
+        return PostMapper.summaryToSummaryDto(summary, null);
+    }
+
+    /**
+     * 카테고리는 {@link CategoryTree}에서 찾아 최상위부터의 이름 목록(path)을 채운다.
+     * tree가 null이거나 tree에 없는 카테고리면 조회한 카테고리, 상위 카테고리 이름으로 만든다.
+     * @param summary {@link Post.Summary}
+     * @param tree {@link CategoryTree}
+     * @return {@link PostDto.Summary}
+     */
+    public static PostDto.Summary summaryToSummaryDto(Post.Summary summary, CategoryTree tree) {
+        checkArgument(summary != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("Post Summary"));
+
+        CategoryDto.Res category = summary.getCategoryName() == null
+            ? null
+            : Optional.ofNullable(tree)
+                .flatMap(t -> t.findById(summary.getCategoryIdx()))
+                .map(CategoryMapper::nodeToResDto)
+                .orElseGet(() -> CategoryDto.Res.builder()
+                    .name(summary.getCategoryName())
+                    .parent(summary.getParentCategoryName())
+                    .path(summary.getParentCategoryName() == null
+                        ? List.of(summary.getCategoryName())
+                        : List.of(summary.getParentCategoryName(), summary.getCategoryName()))
+                    .build());
+
+        return PostDto.Summary.builder()
+            .id(summary.getIdx())
+            .category(category)
+            .title(summary.getTitle())
+            .desc(summary.getDesc())
+            .excerpt(summary.getExcerpt())
+            .readingMinutes(summary.getReadingMinutes())
+            .thumbnail(summary.getThumbnail())
+            .hit(summary.getHit())
+            .visible(summary.getVisible())
+            .postAt(summary.getCreateAt())
+            .updateAt(summary.getUpdateAt())
+            .build();
+    }
+
+    /**
+     * 커서로 조회한 포스트 목록에 이전, 다음 페이지 커서를 붙여 변환한다.
+     * @param slice {@link Post.Summary} {@link CursorSlice}
+     * @param tree {@link CategoryTree}
+     * @return {@link PostsCursorDto}
+     */
+    public static PostsCursorDto summarySliceToCursorDto(CursorSlice<Post.Summary> slice, CategoryTree tree) {
+        checkArgument(slice != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("Post Slice"));
+
+        List<Post.Summary> summaryList = slice.getContent();
+        List<PostDto.Summary> dtoList = summaryList.stream()
+            .map(summary -> PostMapper.summaryToSummaryDto(summary, tree))
+            .collect(Collectors.toList());
+
+        if (summaryList.isEmpty()) {
+            return new PostsCursorDto(dtoList, null, null);
+        }
+
+        Post.Summary first = summaryList.get(0);
+        Post.Summary last = summaryList.get(summaryList.size() - 1);
+        return new PostsCursorDto(
+            dtoList,
+            slice.hasNext() ? CursorPageable.encode(last.getCreateAt(), last.getIdx()) : null,
+            slice.hasPrevious() ? CursorPageable.encode(first.getCreateAt(), first.getIdx()) : null
+        );
+    }
 }
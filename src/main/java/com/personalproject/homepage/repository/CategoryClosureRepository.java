@@ -0,0 +1,121 @@
+package com.personalproject.homepage.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import com.personalproject.homepage.entity.CategoryClosure;
+
+/********************************************************************************
+    복합키를 사용하므로 findById(Long)이 선언된 CommonRepository를 상속하지 않는다.
+    MySQL은 DELETE의 subquery에서 같은 테이블을 읽을 수 없으므로
+    하위 카테고리 아이디를 먼저 조회한 뒤 parameter로 넘긴다.
+********************************************************************************/
+public interface CategoryClosureRepository extends Repository<CategoryClosure, CategoryClosure.Key> {
+
+    boolean existsByAncestorIdxAndDescendantIdx(Long ancestorIdx, Long descendantIdx);
+
+    /**
+     * 자기 자신을 포함한 하위 카테고리의 아이디를 조회한다.
+     * @param idx 카테고리 아이디
+     * @return 하위 카테고리 아이디 List
+     */
+    @Query("SELECT cc.descendantIdx FROM CategoryClosure cc WHERE cc.ancestorIdx = :pIdx")
+    List<Long> findDescendantIdxList(@Param("pIdx") Long idx);
+
+    /**
+     * 자기 자신을 포함한 하위 카테고리에 속한 포스트 수를 조회한다.
+     * @param idx 카테고리 아이디
+     * @return 포스트 수
+     */
+    @Query(
+        value = "SELECT COUNT(*) FROM category_closure cc" +
+            " JOIN post p ON p.category_idx = cc.descendant_idx" +
+            " WHERE cc.ancestor_idx = :pIdx",
+        nativeQuery = true
+    )
+    long countPostsInSubtree(@Param("pIdx") Long idx);
+
+    /**
+     * 새 카테고리의 자기 자신 row(depth = 0)를 추가한다.
+     * @param idx 카테고리 아이디
+     * @return 추가된 row 수
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO category_closure (ancestor_idx, descendant_idx, depth) VALUES (:pIdx, :pIdx, 0)",
+        nativeQuery = true
+    )
+    int insertSelf(@Param("pIdx") Long idx);
+
+    /**
+     * 하위 트리(idx와 그 자손)를 parentIdx와 그 조상 아래에 연결한다.
+     * 새 카테고리는 자손이 없으므로 parent의 조상 row만 추가된다.
+     * @param idx 카테고리 아이디
+     * @param parentIdx 상위 카테고리 아이디
+     * @return 추가된 row 수
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO category_closure (ancestor_idx, descendant_idx, depth)" +
+            " SELECT a.ancestor_idx, d.descendant_idx, a.depth + d.depth + 1" +
+            " FROM category_closure a" +
+            " JOIN category_closure d ON d.ancestor_idx = :pIdx" +
+            " WHERE a.descendant_idx = :pParentIdx",
+        nativeQuery = true
+    )
+    int insertSubtreeUnder(@Param("pIdx") Long idx, @Param("pParentIdx") Long parentIdx);
+
+    /**
+     * 하위 트리를 기존 조상에서 분리한다. 하위 트리 내부의 row는 유지한다.
+     * @param subtreeIdxList {@link #findDescendantIdxList(Long)}의 결과
+     * @return 삭제된 row 수
+     */
+    @Modifying
+    @Query(
+        value = "DELETE FROM category_closure" +
+            " WHERE descendant_idx IN (:pSubtree)" +
+            " AND ancestor_idx NOT IN (:pSubtree)",
+        nativeQuery = true
+    )
+    int deleteSubtreeFromAncestors(@Param("pSubtree") List<Long> subtreeIdxList);
+
+    /**
+     * 모든 row를 삭제한다. 재구성 시 같은 트랜잭션에서 호출한다.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM category_closure", nativeQuery = true)
+    void deleteAllClosure();
+
+    /**
+     * 모든 카테고리의 자기 자신 row(depth = 0)를 추가한다.
+     * @return 추가된 row 수
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO category_closure (ancestor_idx, descendant_idx, depth)" +
+            " SELECT idx, idx, 0 FROM category",
+        nativeQuery = true
+    )
+    int insertSelfFromCategory();
+
+    /**
+     * depth의 row로부터 한 단계 아래(depth + 1)의 row를 추가한다.
+     * depth 0부터 추가된 row가 없을 때까지 반복하면 closure가 재구성된다.
+     * @param depth 기준 깊이
+     * @return 추가된 row 수
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO category_closure (ancestor_idx, descendant_idx, depth)" +
+            " SELECT cc.ancestor_idx, c.idx, cc.depth + 1" +
+            " FROM category c" +
+            " JOIN category_closure cc ON cc.descendant_idx = c.parent_category_idx" +
+            " WHERE cc.depth = :pDepth",
+        nativeQuery = true
+    )
+    int insertNextDepthFromCategory(@Param("pDepth") int depth);
+}
@@ -0,0 +1,70 @@
+package com.personalproject.homepage.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import com.personalproject.homepage.entity.CategoryPostCount;
+
+/********************************************************************************
+    복합키를 사용하므로 findById(Long)이 선언된 CommonRepository를 상속하지 않는다.
+********************************************************************************/
+public interface CategoryPostCountRepository extends Repository<CategoryPostCount, CategoryPostCount.Key> {
+
+    List<CategoryPostCount> findAll();
+
+    /**
+     * 카테고리의 공개 여부별 포스트 수를 delta만큼 증감한다. row가 없으면 생성한다.
+     * @param categoryIdx 카테고리 아이디
+     * @param visible 포스트 공개 여부
+     * @param delta 증감량
+     * @return 변경된 row 수
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO category_post_count (category_idx, visible, posts_count)" +
+            " VALUES (:pCategoryIdx, :pVisible, :pDelta)" +
+            " ON DUPLICATE KEY UPDATE posts_count = posts_count + :pDelta",
+        nativeQuery = true
+    )
+    int addPostsCount(
+        @Param("pCategoryIdx") Long categoryIdx,
+        @Param("pVisible") Boolean visible,
+        @Param("pDelta") long delta
+    );
+
+    /**
+     * 포스트가 없는 (카테고리, 공개 여부)의 counter를 삭제한다.
+     * @return 삭제된 row 수
+     */
+    @Modifying
+    @Query(
+        value = "DELETE FROM category_post_count" +
+            " WHERE NOT EXISTS (" +
+                " SELECT 1 FROM post p" +
+                " WHERE p.category_idx = category_post_count.category_idx" +
+                " AND p.visible = category_post_count.visible" +
+            ")",
+        nativeQuery = true
+    )
+    int deleteEmptyPostsCount();
+
+    /**
+     * post 테이블을 집계하여 counter를 덮어쓴다. row가 없으면 생성한다.
+     * 전체를 지우고 다시 만들지 않으므로 재집계 중에도 counter가 비지 않는다.
+     * @return 변경된 row 수
+     */
+    @Modifying
+    @Query(
+        value = "INSERT INTO category_post_count (category_idx, visible, posts_count)" +
+            " SELECT category_idx, visible, COUNT(*) FROM post" +
+            " WHERE category_idx IS NOT NULL" +
+            " GROUP BY category_idx, visible" +
+            " ON DUPLICATE KEY UPDATE posts_count = VALUES(posts_count)",
+        nativeQuery = true
+    )
+    int upsertPostsCountFromPost();
+}
@@ -3,30 +3,48 @@ package com.personalproject.homepage.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.personalproject.homepage.entity.Category;
+import com.personalproject.homepage.entity.CategoryPostCount;
 
 public interface CategoryRepository extends CommonRepository<Category, Long> {
 
+    /********************************************************************************
+        parentCategory는 지연 로딩이므로 상위 카테고리 이름이 필요한 조회는
+        self join으로 함께 읽는다.
+    ********************************************************************************/
+    @Override
+    @EntityGraph(attributePaths = "parentCategory")
+    Optional<Category> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "parentCategory")
+    List<Category> findAll();
+
+    @EntityGraph(attributePaths = "parentCategory")
     Optional<Category> findByNameAndParentCategory(String name, Category parentCategory);
 
     boolean existsByNameAndParentCategory(String name, Category parentCategory);
 
     /**
      * 카테고리 정보와 등록된 포스트 수를 {@code visible}에 따라 조회한다.
+     * post 테이블이 아닌 {@link CategoryPostCount}를 읽으므로 포스트 수와 무관하게
+     * 카테고리 수(x2)만큼의 row만 읽는다.
      * @param visible 포스트 공개 여부, null이면 전부
      * @return {@link Category.WithPostsCount}
      */
     @Query(
         "SELECT new com.personalproject.homepage.entity.Category$WithPostsCount(" +
-            "c, SUM(CASE WHEN (:pVisible IS NULL OR p.visible = :pVisible) AND p IS NOT NULL THEN 1 ELSE 0 END)" +
+            "c, COALESCE(SUM(CASE WHEN :pVisible IS NULL OR pc.visible = :pVisible THEN pc.postsCount ELSE 0 END), 0)" +
         ")" +
         " FROM Category c" +
-        " LEFT JOIN Post p" +
-        " ON c = p.category" +
-        " GROUP BY c"
+        " LEFT JOIN CategoryPostCount pc" +
+        " ON c.idx = pc.categoryIdx" +
+        " GROUP BY c" +
+        " ORDER BY c.idx"
     )
     List<Category.WithPostsCount> allCategoriesWithPostsCount(@Param("pVisible") Boolean visible);
 }
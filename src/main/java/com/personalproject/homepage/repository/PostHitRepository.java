@@ -0,0 +1,39 @@
+package com.personalproject.homepage.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/********************************************************************************
+    포스트 조회수를 일괄 반영하기 위한 repository.
+    JPA의 bulk update는 row마다 쿼리가 실행되므로
+    JdbcTemplate의 batchUpdate로 하나의 batch statement를 전송한다.
+********************************************************************************/
+@Repository
+@RequiredArgsConstructor
+public class PostHitRepository {
+
+    private static final String ADD_HIT_SQL = "UPDATE post SET hit = hit + ? WHERE idx = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 포스트별 증가분을 조회수에 더한다.
+     * @param hitsByPostId key: 포스트 아이디, value: 증가분
+     */
+    public void addHits(Map<Long, Long> hitsByPostId) {
+        if (hitsByPostId.isEmpty()) return;
+
+        List<Object[]> args = hitsByPostId.entrySet()
+            .stream()
+            .map(e -> new Object[]{ e.getValue(), e.getKey() })
+            .collect(Collectors.toList());
+
+        jdbcTemplate.batchUpdate(ADD_HIT_SQL, args);
+    }
+}
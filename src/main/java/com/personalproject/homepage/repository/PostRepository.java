@@ -1,41 +1,231 @@
 package com.personalproject.homepage.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-import com.personalproject.homepage.entity.Category;
+import com.personalproject.homepage.entity.CategoryClosure;
 import com.personalproject.homepage.entity.Post;
 
 public interface PostRepository extends CommonRepository<Post, Long> {
 
     // TODO - validation for creating post
 
-    List<Post> findAll(Pageable pageable);
+    /********************************************************************************
+        category, parentCategory는 지연 로딩이므로 entity를 DTO로 변환하는 조회는
+        카테고리와 상위 카테고리를 한 번의 쿼리에서 함께 읽는다.
+    ********************************************************************************/
+    @Override
+    @EntityGraph(attributePaths = { "category", "category.parentCategory" })
+    Optional<Post> findById(Long id);
 
-    List<Post> findAllByVisible(Boolean visible, Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = { "category", "category.parentCategory" })
+    List<Post> findAll();
 
-    List<Post> findAllByCategory(Category category, Pageable pageable);
+    /**
+     * 포스트의 수정 시간과 공개 여부만 조회한다.
+     * @param id 포스트 아이디
+     * @return {@link Post.LastModified} Optional
+     */
+    @Query(
+        "SELECT new com.personalproject.homepage.entity.Post$LastModified(p.idx, p.createAt, p.updateAt, p.visible)" +
+        " FROM Post p WHERE p.idx = ?1"
+    )
+    Optional<Post.LastModified> findLastModifiedById(Long id);
+
+    /**
+     * 썸네일이 없고 업로드한 이미지가 있을 수 있는 포스트를 아이디 순으로 조회한다.
+     * 썸네일이 추가되기 전에 작성된 포스트를 채울 때 사용한다.
+     * @param afterIdx 이 아이디보다 큰 포스트부터
+     * @param limit 조회할 개수, {@code PageRequest.of(0, limit)}
+     * @return {@link Post} List
+     */
+    @Query(
+        "SELECT p FROM Post p" +
+        " WHERE p.idx > ?1 AND p.thumbnail IS NULL AND p.content LIKE '%/static/uploadfile/%'" +
+        " ORDER BY p.idx"
+    )
+    List<Post> findAllWithoutThumbnail(Long afterIdx, Pageable limit);
+
+    /**
+     * 모든 포스트의 본문을 fetch size만큼씩 읽는 stream으로 조회한다.
+     * 본문 전체를 메모리에 올리지 않으며 transaction 안에서 사용하고 닫아야 한다.
+     * MySQL은 jdbc url에 useCursorFetch=true가 있어야 fetch size만큼씩 읽는다.
+     * @return 본문 {@link Stream}
+     */
+    @Query("SELECT p.content FROM Post p")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<String> streamAllContent();
 
-    List<Post> findAllByVisibleAndCategory(Boolean visible, Category category, Pageable pageable);
+    /********************************************************************************
+        목록 조회는 {@link Post.Summary}로 필요한 컬럼만 읽는다.
+        content(TEXT)를 읽지 않으며 카테고리, 상위 카테고리 이름은 같은 쿼리에서 join 한다.
+    ********************************************************************************/
+    String SELECT_SUMMARY =
+        "SELECT new com.personalproject.homepage.entity.Post$Summary(" +
+            "p.idx, p.title, p.desc, p.excerpt, p.readingMinutes, p.thumbnail, p.hit, p.visible, p.createAt, p.updateAt, c.idx, c.name, pc.name" +
+        ")" +
+        " FROM Post p" +
+        " LEFT JOIN p.category c" +
+        " LEFT JOIN c.parentCategory pc";
 
     /**
-     * parameter category 및 하위 category에 속한 포스트를 페이지에 맞게 조회한다.
-     * @param category {@link Category}
+     * 포스트 목록을 페이지에 맞게 조회한다.
      * @param pageable 페이지
-     * @return {@link Post} List
+     * @return {@link Post.Summary} List
      */
-    @Query("SELECT p from Post p WHERE p.category = ?1 OR p.category.parentCategory = ?1")
-    List<Post> findAllIncludeChildCategory(Category category, Pageable pageable);
+    @Query(SELECT_SUMMARY)
+    List<Post.Summary> findAllSummary(Pageable pageable);
 
     /**
-     * parameter category 및 하위 category에 속한 포스트를 visible, 페이지에 맞게 조회한다.
+     * 포스트 목록을 visible, 페이지에 맞게 조회한다.
      * @param visible 공개 여부
-     * @param category {@link Category}
      * @param pageable 페이지
-     * @return {@link Post} List
+     * @return {@link Post.Summary} List
+     */
+    @Query(SELECT_SUMMARY + " WHERE p.visible = ?1")
+    List<Post.Summary> findAllSummaryByVisible(Boolean visible, Pageable pageable);
+
+    /**
+     * parameter category 및 깊이에 상관없이 모든 하위 category에 속한 포스트를 페이지에 맞게 조회한다.
+     * {@link CategoryClosure}와 join 한 번으로 하위 카테고리를 찾는다.
+     * 카테고리는 아이디만 받으므로 호출 전에 카테고리 entity를 읽지 않아도 된다.
+     * @param categoryId 카테고리 아이디
+     * @param pageable 페이지
+     * @return {@link Post.Summary} List
+     */
+    @Query(
+        SELECT_SUMMARY +
+        " JOIN CategoryClosure cc ON cc.descendantIdx = c.idx" +
+        " WHERE cc.ancestorIdx = ?1"
+    )
+    List<Post.Summary> findAllIncludeChildCategory(Long categoryId, Pageable pageable);
+
+    /**
+     * parameter category 및 모든 하위 category에 속한 포스트를 visible, 페이지에 맞게 조회한다.
+     * @param visible 공개 여부
+     * @param categoryId 카테고리 아이디
+     * @param pageable 페이지
+     * @return {@link Post.Summary} List
+     */
+    @Query(
+        SELECT_SUMMARY +
+        " JOIN CategoryClosure cc ON cc.descendantIdx = c.idx" +
+        " WHERE cc.ancestorIdx = ?2 AND p.visible = ?1"
+    )
+    List<Post.Summary> findAllVisibleIncludeChildCategory(boolean visible, Long categoryId, Pageable pageable);
+
+    /********************************************************************************
+        (createAt, idx) 커서 조회는 OFFSET 없이 (create_at, idx) 인덱스를 탐색하므로
+        페이지 깊이와 무관하게 비용이 일정하다.
+        조건이 null인지에 따라 분기하면 인덱스를 탐색하지 못하므로 카테고리 유무에 따라 나누고
+        첫 페이지는 모든 포스트보다 최신인 커서({@link #FIRST_CURSOR_CREATE_AT})로 조회한다.
+    ********************************************************************************/
+    LocalDateTime FIRST_CURSOR_CREATE_AT = LocalDateTime.of(9000, 1, 1, 0, 0);
+
+    Long FIRST_CURSOR_IDX = Long.MAX_VALUE;
+
+    /**
+     * (createAt, idx) 커서보다 오래된 포스트를 최신순으로 조회한다.
+     * @param visible 공개 여부, null이면 전부
+     * @param createAt 커서 포스트의 작성 시간
+     * @param idx 커서 포스트의 아이디
+     * @param limit 조회할 개수, {@code PageRequest.of(0, limit)}
+     * @return {@link Post.Summary} List
+     */
+    @Query(
+        SELECT_SUMMARY +
+        " WHERE (p.createAt, p.idx) < (:pCreateAt, :pIdx)" +
+        " AND (:pVisible IS NULL OR p.visible = :pVisible)" +
+        " ORDER BY p.createAt DESC, p.idx DESC"
+    )
+    List<Post.Summary> findAllAfterCursor(
+        @Param("pVisible") Boolean visible,
+        @Param("pCreateAt") LocalDateTime createAt,
+        @Param("pIdx") Long idx,
+        Pageable limit
+    );
+
+    /**
+     * parameter category 및 모든 하위 category에 속한 포스트 중
+     * (createAt, idx) 커서보다 오래된 포스트를 최신순으로 조회한다.
+     * @param visible 공개 여부, null이면 전부
+     * @param categoryId 카테고리 아이디
+     * @param createAt 커서 포스트의 작성 시간
+     * @param idx 커서 포스트의 아이디
+     * @param limit 조회할 개수, {@code PageRequest.of(0, limit)}
+     * @return {@link Post.Summary} List
+     */
+    @Query(
+        SELECT_SUMMARY +
+        " JOIN CategoryClosure cc ON cc.descendantIdx = c.idx" +
+        " WHERE cc.ancestorIdx = :pCategoryId" +
+        " AND (p.createAt, p.idx) < (:pCreateAt, :pIdx)" +
+        " AND (:pVisible IS NULL OR p.visible = :pVisible)" +
+        " ORDER BY p.createAt DESC, p.idx DESC"
+    )
+    List<Post.Summary> findAllAfterCursorIncludeChildCategory(
+        @Param("pVisible") Boolean visible,
+        @Param("pCategoryId") Long categoryId,
+        @Param("pCreateAt") LocalDateTime createAt,
+        @Param("pIdx") Long idx,
+        Pageable limit
+    );
+
+    /**
+     * (createAt, idx) 커서보다 최신 포스트를 오래된 순으로 조회한다.
+     * @param visible 공개 여부, null이면 전부
+     * @param createAt 커서 포스트의 작성 시간
+     * @param idx 커서 포스트의 아이디
+     * @param limit 조회할 개수, {@code PageRequest.of(0, limit)}
+     * @return {@link Post.Summary} List
+     */
+    @Query(
+        SELECT_SUMMARY +
+        " WHERE (p.createAt, p.idx) > (:pCreateAt, :pIdx)" +
+        " AND (:pVisible IS NULL OR p.visible = :pVisible)" +
+        " ORDER BY p.createAt ASC, p.idx ASC"
+    )
+    List<Post.Summary> findAllBeforeCursor(
+        @Param("pVisible") Boolean visible,
+        @Param("pCreateAt") LocalDateTime createAt,
+        @Param("pIdx") Long idx,
+        Pageable limit
+    );
+
+    /**
+     * parameter category 및 모든 하위 category에 속한 포스트 중
+     * (createAt, idx) 커서보다 최신 포스트를 오래된 순으로 조회한다.
+     * @param visible 공개 여부, null이면 전부
+     * @param categoryId 카테고리 아이디
+     * @param createAt 커서 포스트의 작성 시간
+     * @param idx 커서 포스트의 아이디
+     * @param limit 조회할 개수, {@code PageRequest.of(0, limit)}
+     * @return {@link Post.Summary} List
      */
-    @Query("SELECT p from Post p WHERE p.visible = ?1 AND (p.category = ?2 OR p.category.parentCategory = ?2)")
-    List<Post> findAllVisibleIncludeChildCategory(boolean visible, Category category, Pageable pageable);
+    @Query(
+        SELECT_SUMMARY +
+        " JOIN CategoryClosure cc ON cc.descendantIdx = c.idx" +
+        " WHERE cc.ancestorIdx = :pCategoryId" +
+        " AND (p.createAt, p.idx) > (:pCreateAt, :pIdx)" +
+        " AND (:pVisible IS NULL OR p.visible = :pVisible)" +
+        " ORDER BY p.createAt ASC, p.idx ASC"
+    )
+    List<Post.Summary> findAllBeforeCursorIncludeChildCategory(
+        @Param("pVisible") Boolean visible,
+        @Param("pCategoryId") Long categoryId,
+        @Param("pCreateAt") LocalDateTime createAt,
+        @Param("pIdx") Long idx,
+        Pageable limit
+    );
 }
@@ -0,0 +1,32 @@
+package com.personalproject.homepage.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import com.personalproject.homepage.entity.RevokedToken;
+
+public interface RevokedTokenRepository extends Repository<RevokedToken, String> {
+
+    RevokedToken save(RevokedToken revokedToken);
+
+    /**
+     * 아직 만료되지 않은 폐기 토큰을 조회한다.
+     * @param now 현재 시간
+     * @return {@link RevokedToken} List
+     */
+    List<RevokedToken> findAllByExpireAtAfter(LocalDateTime now);
+
+    /**
+     * 만료된 폐기 토큰을 삭제한다. 만료된 토큰은 검증에서 거절되므로 더 기록할 필요가 없다.
+     * @param now 현재 시간
+     * @return 삭제된 row 수
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken rt WHERE rt.expireAt <= :pNow")
+    int deleteExpired(@Param("pNow") LocalDateTime now);
+}
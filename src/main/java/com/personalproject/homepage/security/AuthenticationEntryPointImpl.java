@@ -13,11 +13,15 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import com.personalproject.homepage.error.ApiException;
 import com.personalproject.homepage.error.ErrorMessage;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
+@RequiredArgsConstructor
 public class AuthenticationEntryPointImpl implements AuthenticationEntryPoint {
 
+    private final ClientIpResolver clientIpResolver;
+
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) throws IOException, ServletException {
 
@@ -28,8 +32,7 @@ public class AuthenticationEntryPointImpl implements AuthenticationEntryPoint {
                 - SEC-112: Clear the SecurityContextHolder's Authentication, as the
                 existing Authentication is no longer considered valid
         ********************************************************************************/
-        String remoteIp = request.getHeader("X-Forwarded-For");
-        if (remoteIp == null) remoteIp = request.getRemoteAddr();
+        String remoteIp = clientIpResolver.resolve(request);
         log.info("Unauthorized, URI: {}, IP: {}", request.getRequestURI(), remoteIp);
 
         // TODO: method is 'GET' -> response error page
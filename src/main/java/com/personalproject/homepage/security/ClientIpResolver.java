@@ -0,0 +1,88 @@
+package com.personalproject.homepage.security;
+
+import java.util.regex.Pattern;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.util.StringUtils;
+
+/********************************************************************************
+    reverse proxy 뒤에서 요청한 client의 IP를 찾는다.
+    요청 수 제한({@link RateLimitFilter}), 로그인 실패 기록({@link LoginAttemptLimiter})에 사용한다.
+
+    - 요청을 보낸 주소가 신뢰하는 proxy(security.trusted-proxies)일 때만 X-Forwarded-For를 읽는다.
+      그 외의 요청은 client가 보낸 X-Forwarded-For를 무시하고 remote address를 사용한다.
+    - X-Forwarded-For는 오른쪽(가장 가까운 proxy가 추가한 값)부터 읽으며
+      신뢰하는 proxy가 아닌 첫 주소를 client IP로 사용한다.
+      모두 신뢰하는 proxy면 가장 왼쪽 주소를 사용한다.
+********************************************************************************/
+public class ClientIpResolver {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final Pattern trustedProxies;
+
+    /**
+     * @param trustedProxies 신뢰하는 proxy 주소의 정규식
+     */
+    public ClientIpResolver(String trustedProxies) {
+        this.trustedProxies = Pattern.compile(trustedProxies);
+    }
+
+    /**
+     * @param request 요청
+     * @return client IP
+     */
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(X_FORWARDED_FOR);
+        if (!StringUtils.hasText(forwardedFor) || !isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String[] forwarded = StringUtils.commaDelimitedListToStringArray(forwardedFor);
+        String clientIp = remoteAddr;
+        for (int i = forwarded.length - 1; i >= 0; --i) {
+            String ip = forwarded[i].trim();
+            if (ip.isEmpty()) {
+                continue;
+            }
+            clientIp = ip;
+            if (!isTrusted(ip)) {
+                break;
+            }
+        }
+        return clientIp;
+    }
+
+    /**
+     * 로그인 요청의 details를 만든다. remote address는 client IP이다.
+     * @param request 요청
+     * @return {@link WebAuthenticationDetails}
+     */
+    public WebAuthenticationDetails buildDetails(HttpServletRequest request) {
+        return new ClientAuthenticationDetails(request, resolve(request));
+    }
+
+    private boolean isTrusted(String ip) {
+        return ip != null && trustedProxies.matcher(ip).matches();
+    }
+
+    private static class ClientAuthenticationDetails extends WebAuthenticationDetails {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String clientIp;
+
+        ClientAuthenticationDetails(HttpServletRequest request, String clientIp) {
+            super(request);
+            this.clientIp = clientIp;
+        }
+
+        @Override
+        public String getRemoteAddress() {
+            return clientIp;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.personalproject.homepage.security;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+/********************************************************************************
+    IP, 아이디별 연속 로그인 실패 횟수를 기록하고 실패가 반복되면 로그인을 잠근다.
+    잠긴 요청은 비밀번호 검증(BCrypt) 전에 429로 거절한다.
+
+    - max-failures번 연속 실패하면 base-lock-seconds 동안 잠그고,
+      이후 실패할 때마다 잠금 시간을 2배로 늘린다. (최대 max-lock-seconds)
+    - 마지막 실패 후 reset-seconds가 지나면 기록을 제거한다.
+    - 로그인에 성공하면 해당 IP, 아이디의 기록을 제거한다.
+    - 기록은 변경하지 않는 객체로 교체하므로 조회 시 lock이 필요 없다.
+********************************************************************************/
+public class LoginAttemptLimiter {
+
+    private static final long MAX_TRACKED_KEYS = 10_000;
+
+    private final int maxFailures;
+
+    private final long baseLockMillis;
+
+    private final long maxLockMillis;
+
+    private final Cache<String, Attempts> attempts;
+
+    public LoginAttemptLimiter(int maxFailures, long baseLockSeconds, long maxLockSeconds, long resetSeconds) {
+        this.maxFailures = maxFailures;
+        this.baseLockMillis = TimeUnit.SECONDS.toMillis(baseLockSeconds);
+        this.maxLockMillis = TimeUnit.SECONDS.toMillis(maxLockSeconds);
+        this.attempts = CacheBuilder.newBuilder()
+            .maximumSize(MAX_TRACKED_KEYS)
+            .expireAfterWrite(resetSeconds, TimeUnit.SECONDS)
+            .build();
+    }
+
+    /**
+     * IP 또는 아이디가 잠겨 있으면 429 예외를 던진다.
+     * @param ip 요청 IP, 없으면 null
+     * @param id 로그인 아이디
+     */
+    public void checkAllowed(String ip, String id) {
+        long now = System.currentTimeMillis();
+        long lockedUntil = Math.max(lockedUntilOf(ipKey(ip)), lockedUntilOf(idKey(id)));
+        if (lockedUntil > now) {
+            long seconds = TimeUnit.MILLISECONDS.toSeconds(lockedUntil - now) + 1;
+            throw new ApiException(ErrorMessage.LOGIN_LOCKED, String.valueOf(seconds));
+        }
+    }
+
+    /**
+     * 로그인 실패를 기록한다.
+     * @param ip 요청 IP, 없으면 null
+     * @param id 로그인 아이디
+     */
+    public void recordFailure(String ip, String id) {
+        long now = System.currentTimeMillis();
+        for (String key : new String[] {ipKey(ip), idKey(id)}) {
+            if (key == null) continue;
+            attempts.asMap().compute(key, (k, prev) -> {
+                int failures = prev == null ? 1 : prev.failures + 1;
+                return new Attempts(failures, now + lockMillisOf(failures));
+            });
+        }
+    }
+
+    /**
+     * 로그인 성공 시 실패 기록을 제거한다.
+     * @param ip 요청 IP, 없으면 null
+     * @param id 로그인 아이디
+     */
+    public void recordSuccess(String ip, String id) {
+        if (ip != null) attempts.invalidate(ipKey(ip));
+        if (id != null) attempts.invalidate(idKey(id));
+    }
+
+    private long lockedUntilOf(String key) {
+        Attempts a = key == null ? null : attempts.getIfPresent(key);
+        return a == null ? 0 : a.lockedUntil;
+    }
+
+    // 허용 횟수 이하면 잠그지 않는다.
+    private long lockMillisOf(int failures) {
+        if (failures < maxFailures) {
+            return 0;
+        }
+        int shift = Math.min(failures - maxFailures, 30);
+        return Math.min(baseLockMillis << shift, maxLockMillis);
+    }
+
+    private String ipKey(String ip) {
+        return ip == null ? null : "ip:" + ip;
+    }
+
+    private String idKey(String id) {
+        return id == null ? null : "id:" + id;
+    }
+
+    private static class Attempts {
+        private final int failures;
+
+        private final long lockedUntil;
+
+        private Attempts(int failures, long lockedUntil) {
+            this.failures = failures;
+            this.lockedUntil = lockedUntil;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.personalproject.homepage.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+/********************************************************************************
+    로그인 비밀번호 검증(BCrypt)을 전용 thread pool에서 실행한다.
+    로그인 요청이 몰려도 비밀번호 검증은 threads개의 core만 사용하므로
+    페이지 렌더링 등 다른 요청의 처리가 밀리지 않는다.
+
+    - 대기열(queue-size)이 가득 차면 검증하지 않고 429로 거절한다.
+    - timeout-millis 안에 검증되지 않으면 취소하고 429로 응답한다.
+********************************************************************************/
+public class LoginPasswordMatcher {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMillis;
+
+    public LoginPasswordMatcher(PasswordEncoder passwordEncoder, int threads, int queueSize, long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(
+            threads, threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            new ThreadFactoryBuilder().setNameFormat("login-password-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * 전용 thread pool에서 비밀번호를 검증하고 결과를 기다린다.
+     * @param rawPassword 입력된 비밀번호
+     * @param encodedPassword 저장된 비밀번호
+     * @return 일치하면 {@code true}
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException ree) {
+            throw new ApiException(ErrorMessage.TOO_MANY_REQUESTS);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException te) {
+            future.cancel(true);
+            throw new ApiException(ErrorMessage.TOO_MANY_REQUESTS);
+        } catch (InterruptedException ie) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ApiException(ErrorMessage.INTERNAL_SERVER_ERROR);
+        } catch (ExecutionException ee) {
+            throw new IllegalStateException(ee.getCause());
+        }
+    }
+
+    /**
+     * 종료 시 thread pool을 정리한다.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,97 @@
+package com.personalproject.homepage.security;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.GenericFilterBean;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.personalproject.homepage.config.web.RateLimitConfig;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+/********************************************************************************
+    client IP별로 경로 그룹({@link RateLimitConfig.Policy})마다 요청 수를 제한하는 filter.
+    제한을 넘은 요청은 controller, DB에 도달하기 전에 429로 응답한다.
+
+    - bucket은 policy 이름 + client IP로 구분하며 {@link TokenBucket}을 사용한다.
+      proxy 뒤의 client IP는 {@link ClientIpResolver}로 찾는다.
+    - bucket 저장소는 segment로 나뉜 cache를 사용하고
+      idle-seconds 동안 요청이 없는 bucket은 제거한다.
+    - rate-limit.enabled가 false면 모든 요청을 통과시킨다.
+    - ApiException을 던지므로 {@link ExceptionResponseFilter} 뒤에 위치해야 ApiResult 형식으로 응답한다.
+********************************************************************************/
+public class RateLimitFilter extends GenericFilterBean {
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<RateLimitConfig.Policy> policies;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final ClientIpResolver clientIpResolver;
+
+    public RateLimitFilter(RateLimitConfig rateLimitConfig, ClientIpResolver clientIpResolver) {
+        this.clientIpResolver = clientIpResolver;
+        this.policies = rateLimitConfig.isEnabled() ? List.copyOf(rateLimitConfig.getPolicies()) : List.of();
+        this.buckets = CacheBuilder.newBuilder()
+            .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+            .maximumSize(rateLimitConfig.getMaxClients())
+            .expireAfterAccess(rateLimitConfig.getIdleSeconds(), TimeUnit.SECONDS)
+            .build();
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+
+        RateLimitConfig.Policy policy = policyOf(URL_PATH_HELPER.getPathWithinApplication(request));
+        if (policy != null) {
+            long waitNanos = bucketOf(policy, clientIpResolver.resolve(request)).tryAcquire();
+            if (waitNanos > 0) {
+                long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1;
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                throw new ApiException(ErrorMessage.TOO_MANY_REQUESTS);
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    // 먼저 일치하는 policy, 없으면 null
+    private RateLimitConfig.Policy policyOf(String path) {
+        for (RateLimitConfig.Policy policy : policies) {
+            for (String pattern : policy.getPatterns()) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return policy;
+                }
+            }
+        }
+        return null;
+    }
+
+    private TokenBucket bucketOf(RateLimitConfig.Policy policy, String ip) {
+        try {
+            return buckets.get(policy.getName() + ":" + ip,
+                () -> new TokenBucket(policy.getCapacity(), policy.getRefillPerSecond()));
+        } catch (ExecutionException ee) {
+            throw new IllegalStateException(ee.getCause());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.personalproject.homepage.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/********************************************************************************
+    lock 없이 CAS로 동작하는 token bucket.
+    토큰 수 대신 "다음 토큰을 꺼낼 수 있게 되는 이론상 시각"(tat) 하나만 저장하므로
+    토큰 수와 마지막 충전 시각을 함께 바꿀 필요 없이 long 하나의 CAS로 꺼낼 수 있다. (GCRA)
+
+    - capacity: 한 번에 꺼낼 수 있는 최대 토큰 수
+    - refillPerSecond: 초당 채워지는 토큰 수
+********************************************************************************/
+public class TokenBucket {
+
+    // 토큰 1개가 채워지는 시간
+    private final long intervalNanos;
+
+    // 가득 찬 bucket을 비우는 데 필요한 시간
+    private final long burstNanos;
+
+    private final AtomicLong tat;
+
+    public TokenBucket(long capacity, double refillPerSecond) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstNanos = intervalNanos * capacity;
+        this.tat = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 토큰 1개를 꺼낸다.
+     * @return 꺼냈으면 0, 토큰이 없으면 다음 토큰이 채워질 때까지 남은 시간(nanos)
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long waitNanos = next - now - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.security.Key;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.UUID;
 
 import com.personalproject.homepage.security.jwt.JwtVerification.JwtStatus;
 
@@ -72,6 +73,7 @@ public class JwtAssistor {
     public Claims createClaims(String id, String roles) {
         Date now = new Date();
         Claims claims = Jwts.claims()
+            .setId(UUID.randomUUID().toString()) // 로그아웃 시 폐기할 토큰을 구분한다.
             .setIssuedAt(now)
             .setIssuer(issuer)
             .setExpiration(new Date(now.getTime() + expirySeconds * 1000l));
@@ -0,0 +1,101 @@
+package com.personalproject.homepage.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import lombok.Getter;
+
+/********************************************************************************
+    검증된 토큰의 아이디와 권한 목록을 저장하여
+    같은 토큰으로 다시 요청하면 서명 검증, claims 파싱 없이 인증한다.
+
+    - key: 토큰의 SHA-256. 토큰 원문은 메모리에 남기지 않는다.
+    - 저장된 값은 토큰의 만료 시간(exp)이 지나면 사용하지 않고 제거한다.
+      만료 전이라도 max-ttl-seconds가 지나면 다시 검증한다.
+    - 로그아웃 시 {@link #evict(String)}로 제거한다.
+    - 폐기 여부는 저장된 jti로 요청마다 {@link TokenRevocationStore}에서 확인한다.
+********************************************************************************/
+public class JwtAuthenticationCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public JwtAuthenticationCache(long maxSize, long maxTtlSeconds) {
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(maxTtlSeconds, TimeUnit.SECONDS)
+            .build();
+    }
+
+    /**
+     * 토큰으로 저장된 인증 정보를 조회한다.
+     * @param token 토큰
+     * @return {@link VerifiedToken}, 없거나 만료되었으면 null
+     */
+    public VerifiedToken get(String token) {
+        String key = keyOf(token);
+        VerifiedToken verifiedToken = cache.getIfPresent(key);
+        if (verifiedToken != null && verifiedToken.isExpired(System.currentTimeMillis())) {
+            cache.invalidate(key);
+            return null;
+        }
+        return verifiedToken;
+    }
+
+    /**
+     * 검증된 토큰의 인증 정보를 저장한다.
+     * @param token 토큰
+     * @param principal 아이디
+     * @param authorities 권한 목록
+     * @param jti 토큰 아이디, 없으면 null
+     * @param expiresAtMillis 토큰 만료 시간(epoch millis)
+     * @return 저장된 {@link VerifiedToken}
+     */
+    public VerifiedToken put(String token, String principal, Collection<? extends GrantedAuthority> authorities, String jti, long expiresAtMillis) {
+        VerifiedToken verifiedToken = new VerifiedToken(principal, List.copyOf(authorities), jti, expiresAtMillis);
+        cache.put(keyOf(token), verifiedToken);
+        return verifiedToken;
+    }
+
+    /**
+     * 토큰의 인증 정보를 제거한다. 제거된 토큰은 다음 요청에서 다시 검증된다.
+     * @param token 토큰
+     */
+    public void evict(String token) {
+        cache.invalidate(keyOf(token));
+    }
+
+    private String keyOf(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    }
+
+    @Getter
+    public static class VerifiedToken {
+        private final String principal;
+
+        private final List<GrantedAuthority> authorities;
+
+        // 폐기 여부 확인에 사용한다.
+        private final String jti;
+
+        private final long expiresAtMillis;
+
+        private VerifiedToken(String principal, List<GrantedAuthority> authorities, String jti, long expiresAtMillis) {
+            this.principal = principal;
+            this.authorities = authorities;
+            this.jti = jti;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
@@ -47,6 +47,10 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
 
     private final JwtAssistor jwtAssistor;
 
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+
+    private final TokenRevocationStore tokenRevocationStore;
+
     private final String jwtName;
 
     @Override
@@ -56,38 +60,29 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
             1. request cookie에서 token 정보를 얻는다.
             2. token이 없는 경우 로직을 수행하지 않으며 결국 authentication은 anonymous가 된다.
             3. token이 있는 경우 토근을 검증하여 authentication을 SecurityContext에 저장한다.
+               검증 결과는 {@link JwtAuthenticationCache}에 저장하여 같은 token은 다시 검증하지 않는다.
+            4. 로그아웃으로 폐기된 token이면 cookie를 삭제하고 예외를 던진다.
         ********************************************************************************/
         HttpServletRequest request = (HttpServletRequest) req;
         HttpServletResponse response = (HttpServletResponse) res;
 
         String authorizationToken = obtainAuthorizationToken(request);
         if (authorizationToken != null) {
-            JwtVerification jwtVerification = jwtAssistor.verifyToken(authorizationToken);
-            JwtStatus jwtStatus = jwtVerification.getJwtStatus();
-            // jwtStatus != OK이면 토큰 쿠키를 삭제한다.
-            if (jwtStatus != JwtStatus.OK) {
-                ResponseCookie jwtCookie = ResponseCookie
-                    .from(jwtName, null)
-                    .maxAge(0)
-                    .path("/")
-                    .build();
-                response.setHeader(HttpHeaders.SET_COOKIE, jwtCookie.toString());
-                if (jwtStatus == JwtStatus.EXPIERD) {
-                    throw new ApiException(ErrorMessage.JWT_EXPIERD);
-                } else if (jwtStatus == JwtStatus.INVALID) {
-                    throw new ApiException(ErrorMessage.JWT_INVALID);
-                }
+            // 이미 검증된 토큰이면 서명 검증, claims 파싱을 생략한다.
+            JwtAuthenticationCache.VerifiedToken verifiedToken = jwtAuthenticationCache.get(authorizationToken);
+            if (verifiedToken == null) {
+                verifiedToken = verifyToken(authorizationToken, response);
+            }
+            // 로그아웃된 토큰. 대부분 Bloom filter 확인 한 번으로 끝난다.
+            if (tokenRevocationStore.isRevoked(verifiedToken.getJti())) {
+                deleteTokenCookie(response);
+                throw new ApiException(ErrorMessage.JWT_REVOKED);
             }
-            Claims claims = jwtVerification.getClaims();
-            String principal = claims.get("id", String.class);
-
-            @SuppressWarnings("unchecked")
-            List<String> roleList = claims.get("roles", new ArrayList<String>().getClass());
-            List<GrantedAuthority> authorities = roleList.isEmpty() ? AuthorityUtils.NO_AUTHORITIES
-                : roleList.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
 
             // custom authentication 등록
-            JwtAuthenticationToken authentication = new JwtAuthenticationToken(principal, null, authorities);
+            JwtAuthenticationToken authentication = new JwtAuthenticationToken(
+                verifiedToken.getPrincipal(), null, verifiedToken.getAuthorities()
+            );
             authentication.setDetails(new WebAuthenticationDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
@@ -96,6 +91,39 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
     }
 
 
+    // 토큰을 검증하고 인증 정보를 cache에 저장한다.
+    private JwtAuthenticationCache.VerifiedToken verifyToken(String authorizationToken, HttpServletResponse response) {
+        JwtVerification jwtVerification = jwtAssistor.verifyToken(authorizationToken);
+        JwtStatus jwtStatus = jwtVerification.getJwtStatus();
+        // jwtStatus != OK이면 토큰 쿠키를 삭제한다.
+        if (jwtStatus != JwtStatus.OK) {
+            deleteTokenCookie(response);
+            if (jwtStatus == JwtStatus.EXPIERD) {
+                throw new ApiException(ErrorMessage.JWT_EXPIERD);
+            } else if (jwtStatus == JwtStatus.INVALID) {
+                throw new ApiException(ErrorMessage.JWT_INVALID);
+            }
+        }
+        Claims claims = jwtVerification.getClaims();
+        String principal = claims.get("id", String.class);
+
+        @SuppressWarnings("unchecked")
+        List<String> roleList = claims.get("roles", new ArrayList<String>().getClass());
+        List<GrantedAuthority> authorities = roleList.isEmpty() ? AuthorityUtils.NO_AUTHORITIES
+            : roleList.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+
+        return jwtAuthenticationCache.put(authorizationToken, principal, authorities, claims.getId(), claims.getExpiration().getTime());
+    }
+
+    private void deleteTokenCookie(HttpServletResponse response) {
+        ResponseCookie jwtCookie = ResponseCookie
+            .from(jwtName, null)
+            .maxAge(0)
+            .path("/")
+            .build();
+        response.setHeader(HttpHeaders.SET_COOKIE, jwtCookie.toString());
+    }
+
     private String obtainAuthorizationToken(HttpServletRequest request) {
         String token = null;
         Cookie[] cookies = request.getCookies();
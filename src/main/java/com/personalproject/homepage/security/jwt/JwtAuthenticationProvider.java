@@ -7,9 +7,11 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.authority.AuthorityUtils;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
 
 import com.personalproject.homepage.entity.User;
+import com.personalproject.homepage.security.LoginAttemptLimiter;
+import com.personalproject.homepage.security.LoginPasswordMatcher;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,7 +27,9 @@ public class JwtAuthenticationProvider implements AuthenticationProvider {
     @Value("${security.admin.roles}")
     private String adminRoles;
 
-    private final PasswordEncoder passwordEncoder;
+    private final LoginPasswordMatcher loginPasswordMatcher;
+
+    private final LoginAttemptLimiter loginAttemptLimiter;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
@@ -37,8 +41,19 @@ public class JwtAuthenticationProvider implements AuthenticationProvider {
         // 현재 유저는 admin뿐이므로 service layer를 거치지 않고 적합한 지를 판단한다.
         String id = authenticationToken.getName();
         String pw = authenticationToken.getCredentials();
-
-        checkArgument(adminId.equals(id) && passwordEncoder.matches(pw, adminPw), "아이디, 비밀번호를 확인해주세요.");
+        // details의 remote address는 ClientIpResolver로 찾은 client IP이다. (UserRestController)
+        String ip = authenticationToken.getDetails() instanceof WebAuthenticationDetails
+            ? ((WebAuthenticationDetails) authenticationToken.getDetails()).getRemoteAddress()
+            : null;
+
+        // 실패가 반복된 IP, 아이디는 비밀번호를 검증하지 않고 429
+        loginAttemptLimiter.checkAllowed(ip, id);
+        boolean matched = adminId.equals(id) && loginPasswordMatcher.matches(pw, adminPw);
+        if (!matched) {
+            loginAttemptLimiter.recordFailure(ip, id);
+        }
+        checkArgument(matched, "아이디, 비밀번호를 확인해주세요.");
+        loginAttemptLimiter.recordSuccess(ip, id);
         User user = new User(id, pw, adminRoles);
 
         JwtAuthenticationToken authenticated = new JwtAuthenticationToken(
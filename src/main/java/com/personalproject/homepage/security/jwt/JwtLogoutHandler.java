@@ -0,0 +1,55 @@
+package com.personalproject.homepage.security.jwt;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.web.util.WebUtils;
+
+import com.personalproject.homepage.security.jwt.JwtVerification.JwtStatus;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+
+/********************************************************************************
+    로그아웃한 토큰을 폐기한다. 쿠키를 복사해 둔 토큰도 만료 전까지 사용할 수 없다.
+    메모리({@link TokenRevocationStore})에는 바로 반영하고,
+    DB 저장은 {@link TokenRevokedEvent}를 받는 service에서 한다.
+    검증 결과 cache에서도 제거하여 다음 요청에서 다시 확인되도록 한다.
+********************************************************************************/
+@RequiredArgsConstructor
+public class JwtLogoutHandler implements LogoutHandler {
+
+    private final JwtAssistor jwtAssistor;
+
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+
+    private final TokenRevocationStore tokenRevocationStore;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final String jwtName;
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        Cookie tokenCookie = WebUtils.getCookie(request, jwtName);
+        if (tokenCookie == null || tokenCookie.getValue() == null) {
+            return;
+        }
+        String token = tokenCookie.getValue();
+        jwtAuthenticationCache.evict(token);
+
+        // 만료, 위조된 토큰과 jti가 없는 토큰은 폐기할 필요가 없다.
+        JwtVerification jwtVerification = jwtAssistor.verifyToken(token);
+        if (jwtVerification.getJwtStatus() != JwtStatus.OK || jwtVerification.getClaims().getId() == null) {
+            return;
+        }
+        Claims claims = jwtVerification.getClaims();
+        long expiresAtMillis = claims.getExpiration().getTime();
+        tokenRevocationStore.revoke(claims.getId(), expiresAtMillis);
+        applicationEventPublisher.publishEvent(new TokenRevokedEvent(claims.getId(), expiresAtMillis));
+    }
+}
@@ -0,0 +1,79 @@
+package com.personalproject.homepage.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+/********************************************************************************
+    로그아웃된 토큰의 jti를 메모리에 저장하고 요청마다 폐기 여부를 확인한다.
+    대부분의 요청은 폐기되지 않은 토큰이므로 Bloom filter 확인 한 번으로 끝나고,
+    Bloom filter가 있다고 답한 경우에만 정확한 set을 확인하여 오탐을 거른다.
+
+    - 폐기는 드물게 발생하므로 추가와 재구성은 lock으로 보호하고 확인은 lock 없이 한다.
+    - Bloom filter는 삭제할 수 없으므로 {@link #removeExpired()}에서 만료된 jti를 뺀 set으로 다시 만든다.
+    - DB 저장과 서버 시작 시 복원은 TokenRevocationService에서 한다.
+********************************************************************************/
+public class TokenRevocationStore {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final int expectedInsertions;
+
+    // jti -> 토큰 만료 시간(epoch millis)
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private final Object writeLock = new Object();
+
+    private volatile BloomFilter<CharSequence> bloomFilter;
+
+    public TokenRevocationStore(int expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+        this.bloomFilter = newBloomFilter(expectedInsertions);
+    }
+
+    /**
+     * @param jti 토큰 아이디, jti가 없는 토큰은 폐기할 수 없으므로 {@code false}
+     * @return 폐기된 토큰이면 {@code true}
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * 토큰을 폐기한다.
+     * @param jti 토큰 아이디
+     * @param expiresAtMillis 토큰 만료 시간(epoch millis)
+     */
+    public void revoke(String jti, long expiresAtMillis) {
+        synchronized (writeLock) {
+            // set에 먼저 추가해야 Bloom filter를 통과한 확인이 set에서 찾을 수 있다.
+            revoked.put(jti, expiresAtMillis);
+            bloomFilter.put(jti);
+        }
+    }
+
+    /**
+     * 만료된 jti를 제거하고 Bloom filter를 다시 만든다.
+     * @return 남은 jti 수
+     */
+    public int removeExpired() {
+        synchronized (writeLock) {
+            long now = System.currentTimeMillis();
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+            BloomFilter<CharSequence> rebuilt = newBloomFilter(Math.max(expectedInsertions, revoked.size() * 2));
+            revoked.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+            return revoked.size();
+        }
+    }
+
+    private BloomFilter<CharSequence> newBloomFilter(int insertions) {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), insertions, FALSE_POSITIVE_PROBABILITY);
+    }
+}
@@ -0,0 +1,16 @@
+package com.personalproject.homepage.security.jwt;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 로그아웃으로 토큰이 폐기되었을 때 발행되는 event. DB 저장에 사용한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TokenRevokedEvent {
+
+    private final String jti;
+
+    private final long expiresAtMillis;
+}
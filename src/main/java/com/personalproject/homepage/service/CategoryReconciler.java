@@ -0,0 +1,40 @@
+package com.personalproject.homepage.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    카테고리 closure와 카테고리별 포스트 수 counter를
+    category, post 테이블 기준으로 다시 맞춘다.
+    서버 시작 시, 그리고 category.posts-count.reconcile-cron 주기로 실행된다.
+
+    - 카테고리 생성, 이동은 같은 트랜잭션에서 closure를 함께 바꾸므로
+      여기서는 직접 수정한 데이터 등 어긋난 경우만 바로잡는다.
+    - 시작 시에는 모든 bean이 만들어진 뒤, 웹 서버가 요청을 받기 전에 실행한다.
+      closure를 join 하는 목록 조회가 재구성 전에 빈 결과를 반환하지 않는다.
+********************************************************************************/
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryReconciler implements SmartInitializingSingleton {
+
+    private final CategoryService categoryService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${category.posts-count.reconcile-cron}")
+    public void reconcile() {
+        int closureRows = categoryService.reconcileClosure();
+        log.info("카테고리 closure 재구성. rows: '{}'", closureRows);
+
+        int counters = categoryService.reconcilePostsCount();
+        log.info("카테고리별 포스트 수 재집계. counters: '{}'", counters);
+    }
+}
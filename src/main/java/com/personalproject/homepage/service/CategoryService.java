@@ -3,6 +3,7 @@ package com.personalproject.homepage.service;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.util.List;
+import java.util.Objects;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +13,8 @@ import com.personalproject.homepage.dto.CategoryDto;
 import com.personalproject.homepage.entity.Category;
 import com.personalproject.homepage.error.ApiException;
 import com.personalproject.homepage.error.ErrorMessage;
+import com.personalproject.homepage.repository.CategoryClosureRepository;
+import com.personalproject.homepage.repository.CategoryPostCountRepository;
 import com.personalproject.homepage.repository.CategoryRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -26,6 +29,14 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
 
+    private final CategoryPostCountRepository categoryPostCountRepository;
+
+    private final CategoryClosureRepository categoryClosureRepository;
+
+    private final CategoryTreeHolder categoryTreeHolder;
+
+    private final ContentVersion contentVersion;
+
     /**
      * 카테고리를 생성한다.
      * @param dto {@link CategoryDto.Req}
@@ -53,50 +64,82 @@ public class CategoryService {
             .parentCategory(parentEntity)
             .build();
 
-        // save and return
-        return categoryRepository.save(entity);
+        // save
+        Category savedEntity = categoryRepository.save(entity);
+
+        // closure에 자기 자신과 상위 카테고리의 조상들을 연결
+        categoryClosureRepository.insertSelf(savedEntity.getIdx());
+        if (parentEntity != null) {
+            categoryClosureRepository.insertSubtreeUnder(savedEntity.getIdx(), parentEntity.getIdx());
+        }
+
+        // commit 후 snapshot 교체, 페이지 캐시 무효화
+        categoryTreeHolder.refreshAfterCommit();
+        contentVersion.increaseAfterCommit();
+        return savedEntity;
     }
 
     /**
-     * 이름으로 카테고리를 조회한다.
-     * @param name 카테고리 이름
-     * @param parent 상위 카테고리 이름
-     * @return {@link Category}
+     * 최상위부터의 이름 목록으로 카테고리를 조회한다. DB가 아닌 {@link CategoryTree} snapshot에서 찾는다.
+     * @param path 최상위부터의 카테고리 이름 목록
+     * @return {@link CategoryTree.Node}
      */
-    @Transactional(readOnly = true)
-    public Category getCategory(String name, String parent) {
-        // find parent entity
-        Category parentEntity = parent == null
-            ? null
-            : categoryRepository.findByNameAndParentCategory(parent, null)
-                .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "상위 카테고리"));
-
-        // find entity
-        Category entity = categoryRepository.findByNameAndParentCategory(name, parentEntity)
-            .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "카테고리"));
-
-        return entity;
+    public CategoryTree.Node getCategory(List<String> path) {
+        return categoryTreeHolder.get().getNode(path);
     }
 
     /**
      * 모든 카테고리를 조회한다.
-     * @return {@link Category} List
+     * @return {@link CategoryTree.Node} List
      */
-    @Transactional(readOnly = true)
-    public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+    public List<CategoryTree.Node> getAllCategories() {
+        return categoryTreeHolder.get().getNodes();
     }
 
     /**
-     * 모든 카테고리를 등록된 게시글 수를 포함하여 조회한다.
-     * @param visible 포스트 공개 여부, null이면 전부
-     * @return {@link Category.WithPostsCount} List
+     * 포스트 수를 포함한 카테고리 snapshot을 반환한다.
+     * @return {@link CategoryTree}
      */
-    @Transactional(readOnly = true)
-    public List<Category.WithPostsCount> getAllCategoriesWithPostsCount(Boolean visible) {
-        return categoryRepository.allCategoriesWithPostsCount(visible);
+    public CategoryTree getCategoryTree() {
+        return categoryTreeHolder.get();
     }
 
+    /**
+     * post 테이블을 집계하여 카테고리별 포스트 수 counter를 바로잡는다.
+     * counter가 어긋난 경우(직접 수정한 데이터 등)를 바로잡기 위해 주기적으로 호출한다.
+     * 포스트가 없는 counter만 삭제하고 나머지는 덮어쓴다.
+     * @return 삭제되거나 변경된 counter row 수
+     */
+    @Transactional
+    public int reconcilePostsCount() {
+        int counters = categoryPostCountRepository.deleteEmptyPostsCount();
+        counters += categoryPostCountRepository.upsertPostsCountFromPost();
+
+        categoryTreeHolder.refreshAfterCommit();
+        contentVersion.increaseAfterCommit();
+        return counters;
+    }
+
+    /**
+     * category 테이블의 parent_category_idx로 closure를 다시 만든다.
+     * 자기 자신 row부터 한 단계씩 아래로 내려가며 추가하므로 트리의 깊이만큼 INSERT 한다.
+     * @return 생성된 closure row 수
+     */
+    @Transactional
+    public int reconcileClosure() {
+        categoryClosureRepository.deleteAllClosure();
+        int categories = categoryClosureRepository.insertSelfFromCategory();
+
+        int rows = categories;
+        // 깊이는 카테고리 수를 넘을 수 없다.
+        for (int depth = 0; depth < categories; ++depth) {
+            int inserted = categoryClosureRepository.insertNextDepthFromCategory(depth);
+            if (inserted == 0) break;
+            rows += inserted;
+        }
+        contentVersion.increaseAfterCommit();
+        return rows;
+    }
 
     /**
      * 카테고리 정보를 수정한다.
@@ -120,6 +163,15 @@ public class CategoryService {
             : categoryRepository.findById(dto.getParentId())
                 .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "상위 카테고리"));
 
+        // 자기 자신이나 하위 카테고리의 하위로 옮기면 순환이 생긴다.
+        Long prevParentId = entity.getParentCategory() == null ? null : entity.getParentCategory().getIdx();
+        Long newParentId = parentEntity == null ? null : parentEntity.getIdx();
+        boolean isParentChanged = !Objects.equals(prevParentId, newParentId);
+        if (isParentChanged && newParentId != null
+                && categoryClosureRepository.existsByAncestorIdxAndDescendantIdx(categoryId, newParentId)) {
+            throw new ApiException(ErrorMessage.NOT_ALLOWED_DESCENDANT_PARENT);
+        }
+
         // 중복 체크
         // dto.name == null 인 경우 entity.name으로 검색한다.
         String name = dto.getName() == null ? entity.getName() : dto.getName();
@@ -130,6 +182,17 @@ public class CategoryService {
         // update entity
         entity.updateInfo(dto.getName(), parentEntity);
 
+        // 하위 트리를 기존 조상에서 떼어 새 상위 카테고리 아래에 붙인다.
+        if (isParentChanged) {
+            List<Long> subtreeIdxList = categoryClosureRepository.findDescendantIdxList(categoryId);
+            categoryClosureRepository.deleteSubtreeFromAncestors(subtreeIdxList);
+            if (newParentId != null) {
+                categoryClosureRepository.insertSubtreeUnder(categoryId, newParentId);
+            }
+        }
+        categoryTreeHolder.refreshAfterCommit();
+        contentVersion.increaseAfterCommit();
+
         // return entity
         return entity;
     }
@@ -147,13 +210,14 @@ public class CategoryService {
             .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "카테고리"));
 
         // check having posts
-        checkArgument(entity.getPostsOfCategory().size() == 0, ErrorMessage.NOT_REMOVEABLE_CATEGORY.getMessage());
-        for (Category childEntity : entity.getCategoriesOfCategory()) {
-            checkArgument(childEntity.getPostsOfCategory().size() == 0, ErrorMessage.NOT_REMOVEABLE_CATEGORY.getMessage());
-        }
+        // 하위 카테고리는 FK에 의해 함께 삭제되므로 깊이에 상관없이 하위 트리 전체를 확인한다.
+        checkArgument(categoryClosureRepository.countPostsInSubtree(entity.getIdx()) == 0,
+            ErrorMessage.NOT_REMOVEABLE_CATEGORY.getMessage());
 
         // delete
         categoryRepository.delete(entity);
+        categoryTreeHolder.refreshAfterCommit();
+        contentVersion.increaseAfterCommit();
         return true;
     }
 }
@@ -0,0 +1,218 @@
+package com.personalproject.homepage.service;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.personalproject.homepage.entity.Category;
+import com.personalproject.homepage.entity.CategoryPostCount;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+import lombok.Getter;
+
+/********************************************************************************
+    카테고리 전체를 메모리에 올린 불변 snapshot.
+    카테고리는 적고 거의 바뀌지 않으므로 읽기 경로는 DB 대신 이 객체에서 카테고리를 찾는다.
+    변경 시에는 새 snapshot을 만들어 통째로 교체(copy-on-write)하며
+    교체는 {@link CategoryTreeHolder}가 담당한다.
+
+    - nodeById: 아이디 -> node, idx 오름차순
+    - idByPath: 최상위부터의 이름 목록(path) -> 아이디
+********************************************************************************/
+@Getter
+public final class CategoryTree {
+
+    private final long version;
+
+    private final Map<Long, Node> nodeById;
+
+    private final Map<List<String>, Long> idByPath;
+
+    private CategoryTree(long version, Map<Long, Node> nodeById, Map<List<String>, Long> idByPath) {
+        this.version = version;
+        this.nodeById = Collections.unmodifiableMap(nodeById);
+        this.idByPath = Collections.unmodifiableMap(idByPath);
+    }
+
+    /**
+     * 카테고리 entity와 포스트 수 counter로 snapshot을 만든다.
+     * @param version snapshot 버전
+     * @param categories {@link Category} List
+     * @param postsCounts {@link CategoryPostCount} List
+     * @return {@link CategoryTree}
+     */
+    public static CategoryTree of(long version, List<Category> categories, List<CategoryPostCount> postsCounts) {
+        List<Category> sorted = new ArrayList<>(categories);
+        sorted.sort(Comparator.comparing(Category::getIdx));
+
+        // 아이디 -> entity, 아이디 -> 하위 카테고리 아이디
+        Map<Long, Category> categoryById = new HashMap<>();
+        Map<Long, List<Long>> childIdsById = new HashMap<>();
+        for (Category category : sorted) {
+            categoryById.put(category.getIdx(), category);
+            childIdsById.put(category.getIdx(), new ArrayList<>());
+        }
+        for (Category category : sorted) {
+            Long parentIdx = parentIdxOf(category);
+            if (parentIdx != null && childIdsById.containsKey(parentIdx)) {
+                childIdsById.get(parentIdx).add(category.getIdx());
+            }
+        }
+
+        // 아이디 -> (공개, 비공개) 포스트 수
+        Map<Long, long[]> countsById = new HashMap<>();
+        for (CategoryPostCount postsCount : postsCounts) {
+            long[] counts = countsById.computeIfAbsent(postsCount.getCategoryIdx(), k -> new long[2]);
+            counts[Boolean.TRUE.equals(postsCount.getVisible()) ? 0 : 1] += postsCount.getPostsCount();
+        }
+
+        Map<Long, Node> nodeById = new LinkedHashMap<>();
+        Map<List<String>, Long> idByPath = new HashMap<>();
+        for (Category category : sorted) {
+            List<String> path = pathOf(category, categoryById);
+            long[] counts = countsById.getOrDefault(category.getIdx(), new long[2]);
+            Node node = new Node(
+                category.getIdx(),
+                category.getName(),
+                parentIdxOf(category),
+                path,
+                childIdsById.get(category.getIdx()),
+                counts[0],
+                counts[1]
+            );
+            nodeById.put(node.getIdx(), node);
+            idByPath.put(path, node.getIdx());
+        }
+
+        return new CategoryTree(version, nodeById, idByPath);
+    }
+
+    /**
+     * 모든 카테고리를 idx 순으로 반환한다.
+     * @return {@link Node} List
+     */
+    public List<Node> getNodes() {
+        return new ArrayList<>(nodeById.values());
+    }
+
+    /**
+     * 아이디로 카테고리를 찾는다.
+     * @param idx 카테고리 아이디
+     * @return {@link Node} Optional
+     */
+    public Optional<Node> findById(Long idx) {
+        return Optional.ofNullable(nodeById.get(idx));
+    }
+
+    /**
+     * 최상위부터의 이름 목록으로 카테고리를 찾는다.
+     * @param path 최상위부터의 카테고리 이름 목록
+     * @return {@link Node} Optional
+     */
+    public Optional<Node> findByPath(List<String> path) {
+        return Optional.ofNullable(idByPath.get(path)).map(nodeById::get);
+    }
+
+    /**
+     * 아이디로 카테고리를 찾고 없으면 throw 한다.
+     * @param idx 카테고리 아이디
+     * @return {@link Node}
+     */
+    public Node getNode(Long idx) {
+        return findById(idx)
+            .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "카테고리"));
+    }
+
+    /**
+     * 최상위부터의 이름 목록으로 카테고리를 찾고 없으면 throw 한다.
+     * @param path 최상위부터의 카테고리 이름 목록
+     * @return {@link Node}
+     */
+    public Node getNode(List<String> path) {
+        checkArgument(path != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("path"));
+
+        if (path.size() > 1 && !idByPath.containsKey(path.subList(0, path.size() - 1))) {
+            throw new ApiException(ErrorMessage.NON_EXISTENT, "상위 카테고리");
+        }
+        return findByPath(path)
+            .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "카테고리"));
+    }
+
+    private static Long parentIdxOf(Category category) {
+        return category.getParentCategory() == null ? null : category.getParentCategory().getIdx();
+    }
+
+    // 상위로 올라가며 이름을 모은다. 순환 참조가 있어도 카테고리 수 이상 올라가지 않는다.
+    private static List<String> pathOf(Category category, Map<Long, Category> categoryById) {
+        LinkedList<String> path = new LinkedList<>();
+        Category current = category;
+        while (current != null && path.size() <= categoryById.size()) {
+            path.addFirst(current.getName());
+            Long parentIdx = parentIdxOf(current);
+            current = parentIdx == null ? null : categoryById.get(parentIdx);
+        }
+        return List.copyOf(path);
+    }
+
+    /**
+     * snapshot의 카테고리 하나. 생성 후 변경되지 않는다.
+     */
+    @Getter
+    public static final class Node {
+        private final Long idx;
+
+        private final String name;
+
+        private final Long parentIdx;
+
+        private final List<String> path;
+
+        private final List<Long> childIdxList;
+
+        private final long visiblePostsCount;
+
+        private final long invisiblePostsCount;
+
+        private Node(Long idx, String name, Long parentIdx, List<String> path, List<Long> childIdxList,
+                long visiblePostsCount, long invisiblePostsCount) {
+            this.idx = idx;
+            this.name = name;
+            this.parentIdx = parentIdx;
+            this.path = path;
+            this.childIdxList = List.copyOf(childIdxList);
+            this.visiblePostsCount = visiblePostsCount;
+            this.invisiblePostsCount = invisiblePostsCount;
+        }
+
+        public boolean isTopLevel() {
+            return parentIdx == null;
+        }
+
+        /**
+         * 상위 카테고리 이름, 최상위 카테고리면 null
+         * @return 상위 카테고리 이름
+         */
+        public String getParentName() {
+            return path.size() < 2 ? null : path.get(path.size() - 2);
+        }
+
+        /**
+         * 하위 카테고리를 제외한 이 카테고리의 포스트 수
+         * @param visible 포스트 공개 여부, null이면 전부
+         * @return 포스트 수
+         */
+        public long getPostsCount(Boolean visible) {
+            if (visible == null) return visiblePostsCount + invisiblePostsCount;
+            return visible ? visiblePostsCount : invisiblePostsCount;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.personalproject.homepage.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.personalproject.homepage.repository.CategoryPostCountRepository;
+import com.personalproject.homepage.repository.CategoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    현재 {@link CategoryTree} snapshot을 들고 있다가 변경 시 새 snapshot으로 교체한다.
+    읽기는 AtomicReference 한 번으로 끝나고 lock을 잡지 않는다.
+    카테고리나 포스트 수를 바꾼 트랜잭션이 commit된 뒤에 다시 읽으므로
+    rollback된 변경은 snapshot에 반영되지 않는다.
+********************************************************************************/
+@Component
+@Slf4j
+public class CategoryTreeHolder {
+
+    private final CategoryRepository categoryRepository;
+
+    private final CategoryPostCountRepository categoryPostCountRepository;
+
+    // commit 이후(afterCommit)에는 기존 트랜잭션에 참여할 수 없으므로 새 트랜잭션에서 읽는다.
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private final AtomicReference<CategoryTree> current = new AtomicReference<>();
+
+    public CategoryTreeHolder(
+        CategoryRepository categoryRepository,
+        CategoryPostCountRepository categoryPostCountRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.categoryPostCountRepository = categoryPostCountRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 현재 snapshot을 반환한다. 아직 없으면 DB에서 읽어 만든다.
+     * @return {@link CategoryTree}
+     */
+    public CategoryTree get() {
+        CategoryTree tree = current.get();
+        return tree != null ? tree : refresh();
+    }
+
+    /**
+     * DB에서 카테고리와 포스트 수를 다시 읽어 snapshot을 교체한다.
+     * 동시에 호출되어도 나중에 읽은 snapshot이 나중에 교체되도록 순서대로 실행한다.
+     * @return 새 {@link CategoryTree}
+     */
+    public synchronized CategoryTree refresh() {
+        CategoryTree tree = readOnlyTransaction.execute(status -> CategoryTree.of(
+            versionSequence.incrementAndGet(),
+            categoryRepository.findAll(),
+            categoryPostCountRepository.findAll()
+        ));
+        current.set(tree);
+        log.debug("카테고리 snapshot 교체. version: '{}'", tree.getVersion());
+        return tree;
+    }
+
+    /**
+     * 현재 트랜잭션이 commit되면 snapshot을 교체한다. 트랜잭션 밖이면 바로 교체한다.
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh();
+            }
+        });
+    }
+}
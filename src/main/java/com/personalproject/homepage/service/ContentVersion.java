@@ -0,0 +1,75 @@
+package com.personalproject.homepage.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/********************************************************************************
+    포스트, 카테고리의 변경 횟수.
+    페이지 캐시는 렌더링 시작 시점의 버전을 함께 저장하고
+    현재 버전과 다르면 사용하지 않으므로 변경 시 버전만 올리면 전부 무효화된다.
+
+    - 변경한 트랜잭션이 commit된 뒤에 올린다. rollback된 변경은 캐시를 비우지 않는다.
+    - {@link CategoryTreeHolder#refreshAfterCommit()}보다 나중에 호출해야
+      snapshot 교체 전의 카테고리로 렌더링된 페이지가 새 버전으로 저장되지 않는다.
+    - 버전은 재시작 시 0부터 다시 시작하므로 클라이언트에 보내는 ETag에는
+      시작 시간을 붙인 {@link #getTag()}를 사용한다.
+    - 마지막으로 버전을 올린 시간({@link #getChangedAt()})을 Last-Modified에 사용한다.
+      재시작 전의 변경 시간은 알 수 없으므로 시작 시간부터 시작한다.
+********************************************************************************/
+@Component
+public class ContentVersion {
+
+    private final long startedAt = System.currentTimeMillis();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile LocalDateTime changedAt = LocalDateTime.now();
+
+    /**
+     * @return 현재 버전
+     */
+    public long get() {
+        return version.get();
+    }
+
+    /**
+     * 재시작 이후에도 겹치지 않는 현재 버전 문자열
+     * @return 시작 시간-버전
+     */
+    public String getTag() {
+        return Long.toHexString(startedAt) + "-" + version.get();
+    }
+
+    /**
+     * @return 마지막으로 버전을 올린 시간, 올린 적이 없으면 시작 시간
+     */
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    /**
+     * 현재 트랜잭션이 commit되면 버전을 올린다. 트랜잭션 밖이면 바로 올린다.
+     */
+    public void increaseAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increase();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increase();
+            }
+        });
+    }
+
+    // 새 버전을 읽은 요청이 이전 변경 시간을 보내지 않도록 시간을 먼저 바꾼다.
+    private void increase() {
+        changedAt = LocalDateTime.now();
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,142 @@
+package com.personalproject.homepage.service;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.personalproject.homepage.dto.FileBatchResultDto;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+/********************************************************************************
+    여러 파일을 한 요청으로 받아 {@link FileService#save(MultipartFile)}로 동시에 저장한다.
+
+    - 파일은 I/O worker pool(upload.batch.threads)에서 저장한다.
+      대기열이 가득 차면 요청 thread가 직접 저장하여 속도를 맞춘다.
+    - 결과는 요청한 파일 순서대로 반환하며 실패한 파일은 그 자리에 오류 메시지를 담는다.
+    - 한 요청의 파일 수와 크기 합을 제한하고, 저장 중인 모든 batch의 크기 합이
+      upload.batch.max-in-flight-bytes를 넘으면 wait-millis까지 기다린 뒤 429로 응답한다.
+      큰 batch 하나가 worker와 디스크를 오래 차지하지 않도록 한다.
+    - multipart 요청 크기 제한(spring.servlet.multipart.max-request-size)은 모든 경로에 같이 적용되므로
+      max-batch-bytes는 그보다 작게 두고, 더 많은 파일은 client가 나누어 요청한다.
+********************************************************************************/
+@Component
+public class FileBatchUploader {
+
+    private static final String UPLOAD_ERROR = "이미지 파일만 업로드 할 수 있습니다.";
+
+    private static final int BYTES_PER_PERMIT = 1024;
+
+    private final FileService fileService;
+
+    private final int maxFiles;
+
+    private final long maxBatchBytes;
+
+    private final long waitMillis;
+
+    private final Semaphore inFlightBudget;
+
+    private final ThreadPoolExecutor executor;
+
+    public FileBatchUploader(
+        FileService fileService,
+        @Value("${upload.batch.max-files}") int maxFiles,
+        @Value("${upload.batch.max-batch-bytes}") long maxBatchBytes,
+        @Value("${upload.batch.max-in-flight-bytes}") long maxInFlightBytes,
+        @Value("${upload.batch.wait-millis}") long waitMillis,
+        @Value("${upload.batch.threads}") int threads,
+        @Value("${upload.batch.queue-size}") int queueSize
+    ) {
+        checkArgument(maxBatchBytes <= maxInFlightBytes, "max-batch-bytes는 max-in-flight-bytes보다 클 수 없습니다.");
+        this.fileService = fileService;
+        this.maxFiles = maxFiles;
+        this.maxBatchBytes = maxBatchBytes;
+        this.waitMillis = waitMillis;
+        this.inFlightBudget = new Semaphore(permitsOf(maxInFlightBytes));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "upload-batch-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * 파일들을 동시에 저장한다.
+     * @param files 업로드 파일 목록
+     * @return 요청 순서대로의 {@link FileBatchResultDto} 목록
+     */
+    public List<FileBatchResultDto> saveAll(List<MultipartFile> files) {
+        checkArgument(files != null && !files.isEmpty(), UPLOAD_ERROR);
+        checkArgument(files.size() <= maxFiles, "한 번에 " + maxFiles + "개까지 업로드 할 수 있습니다.");
+        long batchBytes = files.stream().mapToLong(MultipartFile::getSize).sum();
+        checkArgument(batchBytes <= maxBatchBytes, "한 번에 " + maxBatchBytes / (1024 * 1024) + "MB까지 업로드 할 수 있습니다.");
+
+        int permits = permitsOf(batchBytes);
+        acquire(permits);
+        try {
+            List<CompletableFuture<FileBatchResultDto>> results = new ArrayList<>(files.size());
+            for (MultipartFile file : files) {
+                results.add(CompletableFuture
+                    .supplyAsync(() -> FileBatchResultDto.success(fileService.save(file)), executor)
+                    .exceptionally(FileBatchUploader::failureOf));
+            }
+            List<FileBatchResultDto> responses = new ArrayList<>(files.size());
+            for (CompletableFuture<FileBatchResultDto> result : results) {
+                responses.add(result.join());
+            }
+            return responses;
+        } finally {
+            inFlightBudget.release(permits);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void acquire(int permits) {
+        try {
+            if (!inFlightBudget.tryAcquire(permits, waitMillis, TimeUnit.MILLISECONDS)) {
+                throw new ApiException(ErrorMessage.TOO_MANY_REQUESTS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ErrorMessage.TOO_MANY_REQUESTS);
+        }
+    }
+
+    private static FileBatchResultDto failureOf(Throwable t) {
+        Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        if (cause instanceof IllegalArgumentException || cause instanceof ApiException) {
+            return FileBatchResultDto.failure(cause.getMessage());
+        }
+        return FileBatchResultDto.failure(ErrorMessage.INTERNAL_SERVER_ERROR.getMessage());
+    }
+
+    private static int permitsOf(long bytes) {
+        return (int) Math.max(1, (bytes + BYTES_PER_PERMIT - 1) / BYTES_PER_PERMIT);
+    }
+}
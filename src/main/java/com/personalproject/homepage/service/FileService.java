@@ -3,65 +3,234 @@ package com.personalproject.homepage.service;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.google.common.io.BaseEncoding;
+import com.personalproject.homepage.config.web.UploadFileLayout;
 import com.personalproject.homepage.config.web.UploadFilePathResolver;
 import com.personalproject.homepage.dto.FileResponseDto;
 import com.personalproject.homepage.error.ApiException;
 import com.personalproject.homepage.error.ErrorMessage;
+import com.personalproject.homepage.util.ImageType;
 
+/********************************************************************************
+    업로드 파일을 내용의 SHA-256으로 이름 지어 저장한다.
+
+    - 업로드 stream을 digest와 함께 임시 파일에 쓰고, 끝나면 해시 이름으로 atomic move 한다.
+      쓰는 중인 파일이 해시 이름으로 보이지 않는다.
+    - 같은 내용의 파일이 이미 있으면 쓰지 않고 기존 url을 반환한다.
+      포스트를 저장할 때마다 같은 이미지를 다시 업로드해도 파일이 늘지 않는다.
+      이때 수정 시간을 갱신하여 {@link UploadGarbageCollector}의 유예 기간을 다시 시작한다.
+    - 파일 타입은 Content-Type이 아닌 stream 앞부분의 magic bytes로 판별한다.
+    - 새 이미지는 업로드한 내용의 해시 이름으로 바로 저장하고 {@link ImageOptimizer}가 따로 최적화한다.
+      저장한 파일의 내용은 바꾸지 않는다.
+      최적화가 끝난 이미지를 다시 업로드하면 최적화한 파일 이름을 반환한다.
+    - 새로 저장한 이미지는 크기를 기록({@link ImageMetadataIndex})하고 축소본을 미리 만든다.
+    - 저장 위치는 {@link UploadFileLayout}을 따른다.
+    - 같은 파일을 여러 포스트가 사용할 수 있으므로 포스트가 참조하는 파일은 지우지 않는다.
+      참조 여부는 {@link UploadGarbageCollector}로 확인한다.
+********************************************************************************/
 @Service
 public class FileService {
 
-    private final String uploadPath;
+    private final UploadFileLayout uploadFileLayout;
+
+    private final ImageOptimizer imageOptimizer;
+
+    private final ImageMetadataIndex imageMetadataIndex;
+
+    private final ImageDerivativeService imageDerivativeService;
+
+    private final UploadGarbageCollector uploadGarbageCollector;
 
     private static final String UPLOAD_RESPONSE_DIR = "/static/uploadfile/";
 
-    public FileService(UploadFilePathResolver uploadFilePathResolver) {
-        uploadPath = uploadFilePathResolver.getUploadPath();
-        if (!Files.exists(Paths.get(uploadPath))) {
+    private static final String TEMP_FILE_PREFIX = ".upload-";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public FileService(
+        UploadFilePathResolver uploadFilePathResolver,
+        ImageOptimizer imageOptimizer,
+        ImageMetadataIndex imageMetadataIndex,
+        ImageDerivativeService imageDerivativeService,
+        UploadGarbageCollector uploadGarbageCollector
+    ) {
+        this.imageOptimizer = imageOptimizer;
+        this.imageMetadataIndex = imageMetadataIndex;
+        this.imageDerivativeService = imageDerivativeService;
+        this.uploadGarbageCollector = uploadGarbageCollector;
+        Path uploadPath = Paths.get(uploadFilePathResolver.getUploadPath());
+        uploadFileLayout = new UploadFileLayout(uploadPath);
+        if (!Files.exists(uploadPath)) {
             try {
-                Files.createDirectories(Paths.get(uploadPath));
-            } catch (IOException ioe) {/** TODO: handle exception */}
+                Files.createDirectories(uploadPath);
+            } catch (IOException ioe) {
+                // 업로드 디렉토리가 없으면 업로드, 응답 모두 할 수 없으므로 시작하지 않는다.
+                throw new IllegalStateException("업로드 디렉토리를 만들지 못했습니다. path: " + uploadPath, ioe);
+            }
         }
     }
 
     public FileResponseDto save(MultipartFile file) {
-        String contentType = file.getContentType();
-        // TODO - 다른 타입의 파일 업로드 처리
-        // 이미지가 아닌 경우
-        checkArgument(contentType != null && contentType.startsWith("image/"),
-            "이미지 파일만 업로드 할 수 있습니다.");
-
-        String exe = contentType.split("/")[1];
-        String newName = UUID.randomUUID().toString() + "." + exe;
-        Path path = Paths.get(uploadPath, newName);
-        while (Files.exists(path)) {
-            newName = UUID.randomUUID().toString() + "." + exe;
-            path = Paths.get(uploadPath, newName);
+        checkArgument(file != null && !file.isEmpty(), "이미지 파일만 업로드 할 수 있습니다.");
+
+        // 같은 디렉토리의 임시 파일이어야 move가 atomic 하다.
+        Path temp = null;
+        try (PushbackInputStream in = new PushbackInputStream(file.getInputStream(), ImageType.PREFIX_LENGTH)) {
+            ImageType imageType = detectImageType(in);
+
+            temp = Files.createTempFile(uploadFileLayout.getRoot(), TEMP_FILE_PREFIX, null);
+            String hash = copyWithDigest(in, temp);
+
+            return place(temp, hash, imageType);
+        } catch (IOException ioe) {
+            throw new ApiException(ErrorMessage.INTERNAL_SERVER_ERROR);
+        } finally {
+            deleteQuietly(temp);
         }
+    }
 
+    /**
+     * 업로드 디렉토리에 다 쓰여진 파일을 해시 이름으로 옮긴다. ({@link UploadSessionService})
+     * 같은 내용의 파일이 이미 있으면 옮기지 않으며 남은 파일은 호출한 쪽에서 지운다.
+     * @param file 업로드 디렉토리 안의 임시 파일
+     * @param hash 파일 내용의 SHA-256 (소문자 16진수)
+     * @return {@link FileResponseDto}
+     */
+    public FileResponseDto store(Path file, String hash) {
         try {
-            Files.copy(file.getInputStream(), path);
-        } catch (IOException ioe) {/** TODO: handle exception */}
-        return new FileResponseDto(newName, UPLOAD_RESPONSE_DIR + newName);
+            ImageType imageType = ImageType.detect(file)
+                .orElseThrow(() -> new IllegalArgumentException("이미지 파일만 업로드 할 수 있습니다."));
+            return place(file, hash, imageType);
+        } catch (IOException ioe) {
+            throw new ApiException(ErrorMessage.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 업로드 파일의 경로를 조회한다.
+     * @param fileName 파일 이름
+     * @return 파일 경로, 없거나 잘못된 이름이면 empty
+     */
+    public Optional<Path> find(String fileName) {
+        return uploadFileLayout.find(fileName);
     }
 
     public FileResponseDto delete(String fileName) {
         checkArgument(StringUtils.hasText(fileName), "fileName을 입력해주세요.");
         try {
-            Path filePath = Paths.get(uploadPath, fileName);
+            Path filePath = find(fileName).orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "파일"));
+            if (uploadGarbageCollector.isReferenced(fileName)) {
+                throw new ApiException(ErrorMessage.NOT_REMOVEABLE_FILE);
+            }
             Files.delete(filePath);
         } catch (IOException e) {
             throw new ApiException(ErrorMessage.NON_EXISTENT, "파일");
         }
         return new FileResponseDto(fileName, UPLOAD_RESPONSE_DIR + fileName);
     }
+
+    private FileResponseDto place(Path temp, String hash, ImageType imageType) throws IOException {
+        String uploadedName = hash + "." + imageType.getExtension();
+        Optional<String> optimizedName = imageOptimizer.optimizedNameOf(uploadedName);
+        if (optimizedName.isPresent() && touch(optimizedName.get())) {
+            return response(optimizedName.get());
+        }
+        if (!touch(uploadedName)) {
+            moveIfAbsent(temp, uploadedName);
+        }
+        // 최적화 중이거나 대기 중이면 다시 넣지 않는다.
+        imageOptimizer.optimizeAsync(uploadedName);
+        return response(uploadedName);
+    }
+
+    // 이미 저장된 파일이면 수정 시간을 갱신하여 GC 유예 기간을 다시 시작한다.
+    private boolean touch(String fileName) throws IOException {
+        Optional<Path> existing = uploadFileLayout.find(fileName);
+        if (existing.isPresent()) {
+            Files.setLastModifiedTime(existing.get(), FileTime.fromMillis(System.currentTimeMillis()));
+        }
+        return existing.isPresent();
+    }
+
+    // 해시 이름으로 옮긴 뒤 크기를 기록하고 축소본을 미리 만든다.
+    private void moveIfAbsent(Path temp, String fileName) throws IOException {
+        try {
+            Path path = uploadFileLayout.pathOf(fileName);
+            Files.createDirectories(path.getParent());
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            imageMetadataIndex.refresh(fileName);
+            imageDerivativeService.generateAsync(fileName);
+        } catch (FileAlreadyExistsException e) {
+            // 같은 내용이 동시에 업로드 된 경우
+        }
+    }
+
+    private FileResponseDto response(String fileName) {
+        return new FileResponseDto(fileName, UPLOAD_RESPONSE_DIR + fileName);
+    }
+
+    // 읽은 앞부분은 stream에 되돌려 파일 내용에 포함시킨다.
+    private ImageType detectImageType(PushbackInputStream in) throws IOException {
+        byte[] prefix = new byte[ImageType.PREFIX_LENGTH];
+        int length = in.readNBytes(prefix, 0, prefix.length);
+        in.unread(prefix, 0, length);
+        return ImageType.detect(prefix, length)
+            .orElseThrow(() -> new IllegalArgumentException("이미지 파일만 업로드 할 수 있습니다."));
+    }
+
+    // stream을 파일에 쓰면서 SHA-256을 계산한다.
+    private String copyWithDigest(InputStream in, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel sink = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    sink.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return BaseEncoding.base16().lowerCase().encode(digest.digest());
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {/** 남은 임시 파일은 다음 업로드에 영향을 주지 않는다. */}
+    }
 }
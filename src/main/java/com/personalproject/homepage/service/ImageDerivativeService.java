@@ -0,0 +1,281 @@
+package com.personalproject.homepage.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.personalproject.homepage.config.web.UploadFileLayout;
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+import com.personalproject.homepage.util.ImageDecoder;
+import com.personalproject.homepage.util.ImageType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    업로드한 이미지의 축소본(derivative)을 설정된 너비(upload.image.widths)로 만든다.
+
+    - 축소본은 업로드 디렉토리의 w{너비} 아래에 원본과 같은 구조({@link UploadFileLayout})로
+      저장하고 다시 만들지 않는다. url은 /static/uploadfile/w{너비}/{파일 이름}이다.
+    - 업로드 직후 모든 너비의 축소본을 worker pool에서 미리 만든다.
+      pool의 대기열이 가득 차면 미리 만들지 않고 처음 요청될 때 만든다.
+    - 같은 축소본에 대한 동시 요청은 한 번만 만들고 나머지는 그 결과를 기다린다.
+    - 원본이 요청한 너비보다 좁거나 읽을 수 없는 타입(webp, 움직이는 gif)이면 원본을 사용한다.
+    - pixel 수가 upload.image.max-pixels를 넘는 원본은 decode 하지 않고 원본을 사용한다.
+********************************************************************************/
+@Component
+@Slf4j
+public class ImageDerivativeService {
+
+    private static final String DERIVATIVE_DIR_PREFIX = "w";
+
+    private final UploadFileLayout uploadFileLayout;
+
+    private final int[] widths;
+
+    private final long maxPixels;
+
+    private final long waitMillis;
+
+    private final ThreadPoolExecutor executor;
+
+    // 만들고 있는 축소본. key: 너비/파일 이름
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public ImageDerivativeService(
+        UploadFilePathResolver uploadFilePathResolver,
+        @Value("${upload.image.widths}") int[] widths,
+        @Value("${upload.image.max-pixels}") long maxPixels,
+        @Value("${upload.image.threads}") int threads,
+        @Value("${upload.image.queue-size}") int queueSize,
+        @Value("${upload.image.wait-millis}") long waitMillis
+    ) {
+        this.uploadFileLayout = new UploadFileLayout(Paths.get(uploadFilePathResolver.getUploadPath()));
+        this.widths = Arrays.stream(widths).sorted().toArray();
+        this.maxPixels = maxPixels;
+        this.waitMillis = waitMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-derivative-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * 설정된 너비 목록
+     * @return 오름차순 너비 목록
+     */
+    public int[] getWidths() {
+        return widths.clone();
+    }
+
+    /**
+     * 축소본의 url
+     * @param width 너비
+     * @param fileName 원본 파일 이름
+     * @return url
+     */
+    public static String urlOf(int width, String fileName) {
+        return "/static/uploadfile/" + DERIVATIVE_DIR_PREFIX + width + "/" + fileName;
+    }
+
+    /**
+     * 모든 너비의 축소본을 worker pool에서 만든다. 요청 thread는 기다리지 않는다.
+     * @param fileName 원본 파일 이름
+     */
+    public void generateAsync(String fileName) {
+        for (int width : widths) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        derivative(width, fileName);
+                    } catch (RuntimeException e) {
+                        log.warn("축소본을 만들지 못했습니다. width: {}, file: {}", width, fileName, e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 처음 요청될 때 만든다.
+                log.debug("축소본 대기열이 가득 찼습니다. width: {}, file: {}", width, fileName);
+            }
+        }
+    }
+
+    /**
+     * 축소본 파일을 조회하고 없으면 만든다.
+     * @param width 너비, 설정된 너비여야 한다.
+     * @param fileName 원본 파일 이름
+     * @return 축소본 또는 원본 파일 경로. 지원하지 않는 너비이거나 원본이 없으면 empty
+     */
+    public Optional<Path> derivative(int width, String fileName) {
+        if (Arrays.binarySearch(widths, width) < 0) {
+            return Optional.empty();
+        }
+        Optional<Path> original = uploadFileLayout.find(fileName);
+        if (original.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Path> existing = uploadFileLayout.find(derivativeDir(width), fileName);
+        if (existing.isPresent()) {
+            return existing;
+        }
+        Path target = uploadFileLayout.pathOf(derivativeDir(width), fileName);
+
+        String key = width + "/" + fileName;
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return Optional.of(await(running));
+        }
+        try {
+            future.complete(render(original.get(), target, width));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+        return Optional.of(future.join());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Path derivativeDir(int width) {
+        return uploadFileLayout.getRoot().resolve(DERIVATIVE_DIR_PREFIX + width);
+    }
+
+    private Path await(CompletableFuture<Path> running) {
+        try {
+            return running.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ErrorMessage.TOO_MANY_REQUESTS);
+        } catch (TimeoutException e) {
+            throw new ApiException(ErrorMessage.TOO_MANY_REQUESTS);
+        } catch (ExecutionException e) {
+            throw new ApiException(ErrorMessage.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // 축소할 수 없으면 원본 경로를 반환한다.
+    private Path render(Path original, Path target, int width) {
+        try {
+            // 확장자가 아닌 파일 내용으로 판별한다.
+            Optional<ImageType> imageType = ImageType.detect(original);
+            if (imageType.isEmpty() || imageType.get() == ImageType.GIF) {
+                return original;
+            }
+            // 원본이 좁으면 전체를 decode 하지 않는다.
+            if (widthOf(original) <= width) {
+                return original;
+            }
+            BufferedImage source = decode(original);
+            if (source == null) {
+                return original;
+            }
+            int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+            BufferedImage resized = downscale(source, width, height, imageType.get() == ImageType.PNG);
+
+            // 쓰는 중인 파일이 축소본으로 사용되지 않도록 임시 파일에 쓰고 옮긴다.
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".derivative-", null);
+            try {
+                if (!ImageIO.write(resized, imageType.get().getExtension(), temp.toFile())) {
+                    return original;
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return target;
+        } catch (IOException e) {
+            throw new ApiException(ErrorMessage.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 한 번에 크게 줄이면 bilinear 보간에서 건너뛰는 pixel이 생겨 품질이 떨어지므로
+     * 목표 크기의 2배가 될 때까지 절반씩 줄인 뒤 마지막에 목표 크기로 줄인다.
+     */
+    private BufferedImage downscale(BufferedImage source, int width, int height, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    // max-pixels를 넘거나 읽을 수 없으면 null
+    private BufferedImage decode(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            return ImageDecoder.decode(in, maxPixels);
+        }
+    }
+
+    // header만 읽는다. 읽을 수 없으면 0
+    private int widthOf(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return 0;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return reader.getWidth(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.personalproject.homepage.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.personalproject.homepage.config.web.UploadFileLayout;
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.util.ExifOrientation;
+import com.personalproject.homepage.util.ImageType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    업로드한 이미지의 타입과 표시 크기(너비, 높이)를 파일 이름으로 찾는다.
+    포스트를 저장할 때 img 태그에 크기를 넣기 위해 사용한다. ({@link PostContentProcessor})
+
+    - 업로드한 파일을 해시 이름으로 저장한 뒤 {@link #refresh}로 기록한다. ({@link FileService})
+    - 기록되지 않은 파일(재시작, 이전에 업로드한 파일)은 처음 찾을 때 header만 읽어 기록한다.
+      pixel은 decode 하지 않는다.
+    - 크기는 EXIF 방향을 적용하여 브라우저가 표시하는 크기로 기록한다.
+      최적화 전에 찾더라도 최적화 후와 같은 크기이다.
+    - upload.image.metadata-cache-size개까지 기록하고 오래 사용하지 않은 것부터 지운다.
+********************************************************************************/
+@Component
+@Slf4j
+public class ImageMetadataIndex {
+
+    private final UploadFileLayout uploadFileLayout;
+
+    private final Cache<String, ImageMetadata> cache;
+
+    public ImageMetadataIndex(
+        UploadFilePathResolver uploadFilePathResolver,
+        @Value("${upload.image.metadata-cache-size}") long maxSize
+    ) {
+        this.uploadFileLayout = new UploadFileLayout(Paths.get(uploadFilePathResolver.getUploadPath()));
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    /**
+     * 이미지 정보를 찾는다. 기록되지 않았으면 파일의 header를 읽어 기록한다.
+     * @param fileName 파일 이름
+     * @return {@link ImageMetadata}, 파일이 없거나 읽을 수 없는 이미지이면 empty
+     */
+    public Optional<ImageMetadata> find(String fileName) {
+        ImageMetadata metadata = cache.getIfPresent(fileName);
+        return metadata != null ? Optional.of(metadata) : refresh(fileName);
+    }
+
+    /**
+     * 파일의 header를 다시 읽어 기록한다. 파일 내용이 바뀐 뒤 호출한다.
+     * @param fileName 파일 이름
+     * @return {@link ImageMetadata}, 파일이 없거나 읽을 수 없는 이미지이면 empty
+     */
+    public Optional<ImageMetadata> refresh(String fileName) {
+        Optional<ImageMetadata> metadata = Optional.empty();
+        Optional<Path> path = uploadFileLayout.find(fileName);
+        if (path.isPresent()) {
+            try {
+                metadata = read(path.get());
+            } catch (IOException e) {
+                log.warn("이미지 정보를 읽지 못했습니다. file: {}", fileName, e);
+            }
+        }
+        if (metadata.isPresent()) {
+            cache.put(fileName, metadata.get());
+        } else {
+            cache.invalidate(fileName);
+        }
+        return metadata;
+    }
+
+    private Optional<ImageMetadata> read(Path path) throws IOException {
+        Optional<ImageType> imageType = ImageType.detect(path);
+        if (imageType.isEmpty()) {
+            return Optional.empty();
+        }
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            int width;
+            int height;
+            try {
+                reader.setInput(in, true, true);
+                width = reader.getWidth(0);
+                height = reader.getHeight(0);
+            } catch (IOException e) {
+                // header가 잘못된 파일
+                return Optional.empty();
+            } finally {
+                reader.dispose();
+            }
+            if (imageType.get() == ImageType.JPEG && ExifOrientation.isTransposed(orientationOf(path))) {
+                return Optional.of(new ImageMetadata(imageType.get(), height, width));
+            }
+            return Optional.of(new ImageMetadata(imageType.get(), width, height));
+        }
+    }
+
+    private int orientationOf(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return ExifOrientation.of(in.readNBytes(ExifOrientation.PREFIX_LENGTH));
+        }
+    }
+
+    /**
+     * 업로드한 이미지의 타입과 표시 크기
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ImageMetadata {
+        private ImageType type;
+
+        private int width;
+
+        private int height;
+    }
+}
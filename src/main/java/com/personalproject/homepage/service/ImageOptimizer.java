@@ -0,0 +1,516 @@
+package com.personalproject.homepage.service;
+
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.personalproject.homepage.config.web.UploadFileLayout;
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.dto.ImageOptimizeStatsDto;
+import com.personalproject.homepage.util.ExifOrientation;
+import com.personalproject.homepage.util.ImageDecoder;
+import com.personalproject.homepage.util.ImageType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    업로드한 이미지를 더 작은 파일로 바꿔 새 해시 이름으로 저장한다. ({@link FileService})
+
+    - JPEG: EXIF 등 메타데이터를 제거하고 upload.optimize.jpeg-quality로 다시 압축한다.
+      EXIF 방향(orientation)은 pixel에 적용한 뒤 제거한다. 좌우 반전된 방향은 건너뛴다.
+    - PNG: 이미지와 상관없는 chunk(tEXt, zTXt, iTXt, tIME, eXIf)를 무손실로 제거한다.
+      투명한 pixel이 없고 색이 다양한 사진이면 JPEG로도 압축해 보고 더 작은 쪽을 사용한다.
+    - min-saving-ratio 이상 줄어든 경우에만 바꾼다.
+    - 업로드 요청은 기다리지 않는다. 업로드한 내용의 해시 이름으로 저장된 뒤 worker pool에서 최적화한다.
+      이미 해시 이름으로 저장된 파일(immutable로 cache 된다)의 내용은 바꾸지 않고
+      최적화한 내용을 그 내용의 해시와 바뀐 타입의 확장자로 따로 저장한다.
+    - 업로드한 파일 이름 -> 최적화한 파일 이름을 업로드 디렉토리의 .optimized 아래에 기록한다.
+      포스트를 저장할 때 본문의 업로드 이미지 주소를 최적화한 파일 주소로 바꾼다. ({@link PostContentProcessor})
+      줄어들지 않았으면 자기 자신의 이름을 기록하여 다시 최적화하지 않는다.
+    - 원본은 업로드 디렉토리의 originals 아래에 최적화한 파일과 같은 이름,
+      같은 구조({@link UploadFileLayout})로 보관한다.
+    - 대기열이 가득 차면 버리지 않고 다시 대기시킨 뒤 retry-millis마다 대기열에 넣는다.
+    - 최적화한 파일 수, 줄인 byte 수를 센다.
+********************************************************************************/
+@Component
+@Slf4j
+public class ImageOptimizer {
+
+    private static final String ORIGINAL_DIR = "originals";
+
+    private static final String OPTIMIZED_NAME_DIR = ".optimized";
+
+    private static final String TEMP_FILE_PREFIX = ".optimize-";
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+
+    private static final Set<String> PNG_METADATA_CHUNKS = Set.of("tEXt", "zTXt", "iTXt", "tIME", "eXIf");
+
+    // 사진 여부를 판별할 때 확인하는 pixel 수와 그중 서로 다른 색의 최소 비율
+    private static final int PHOTO_SAMPLE_SIZE = 10_000;
+    private static final double PHOTO_MIN_DISTINCT_RATIO = 0.25;
+
+    private final UploadFileLayout uploadFileLayout;
+
+    private final ImageMetadataIndex imageMetadataIndex;
+
+    private final ImageDerivativeService imageDerivativeService;
+
+    private final boolean enabled;
+
+    private final float jpegQuality;
+
+    private final double minSavingRatio;
+
+    private final long maxPixels;
+
+    private final ThreadPoolExecutor executor;
+
+    // 대기열에 있거나 최적화 중인 파일, 같은 파일을 두 번 최적화하지 않는다.
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+
+    // 대기열이 가득 차 다시 넣을 파일
+    private final Queue<String> retryQueue = new ConcurrentLinkedQueue<>();
+
+    // 업로드한 파일 이름 -> 최적화한 파일 이름
+    private final Cache<String, String> optimizedNames;
+
+    private final LongAdder optimized = new LongAdder();
+
+    private final LongAdder skipped = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder originalBytes = new LongAdder();
+
+    private final LongAdder optimizedBytes = new LongAdder();
+
+    public ImageOptimizer(
+        UploadFilePathResolver uploadFilePathResolver,
+        ImageMetadataIndex imageMetadataIndex,
+        ImageDerivativeService imageDerivativeService,
+        @Value("${upload.optimize.enabled}") boolean enabled,
+        @Value("${upload.optimize.jpeg-quality}") float jpegQuality,
+        @Value("${upload.optimize.min-saving-ratio}") double minSavingRatio,
+        @Value("${upload.image.max-pixels}") long maxPixels,
+        @Value("${upload.optimize.threads}") int threads,
+        @Value("${upload.optimize.queue-size}") int queueSize,
+        @Value("${upload.optimize.name-cache-size}") long nameCacheSize
+    ) {
+        this.uploadFileLayout = new UploadFileLayout(Paths.get(uploadFilePathResolver.getUploadPath()));
+        this.imageMetadataIndex = imageMetadataIndex;
+        this.imageDerivativeService = imageDerivativeService;
+        this.enabled = enabled;
+        this.jpegQuality = jpegQuality;
+        this.minSavingRatio = minSavingRatio;
+        this.maxPixels = maxPixels;
+        this.optimizedNames = CacheBuilder.newBuilder()
+            .maximumSize(nameCacheSize)
+            .build();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-optimizer-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * 해시 이름으로 저장된 업로드 파일을 worker pool에서 최적화한다. 기다리지 않는다.
+     * 대기열이 가득 차면 다시 대기시킨다.
+     * @param fileName 업로드 파일 이름
+     */
+    public void optimizeAsync(String fileName) {
+        if (!enabled || !scheduled.add(fileName)) {
+            return;
+        }
+        if (!submit(fileName)) {
+            rejected.increment();
+            retryQueue.add(fileName);
+            log.debug("최적화 대기열이 가득 차 다시 대기합니다. file: {}", fileName);
+        }
+    }
+
+    /**
+     * 대기열이 가득 차 다시 대기한 파일을 대기열에 넣는다. 다시 가득 차면 다음 주기에 넣는다.
+     */
+    @Scheduled(fixedDelayString = "${upload.optimize.retry-millis}")
+    public void retryRejected() {
+        for (int remaining = retryQueue.size(); remaining > 0; --remaining) {
+            String fileName = retryQueue.poll();
+            if (fileName == null) {
+                return;
+            }
+            if (!submit(fileName)) {
+                retryQueue.add(fileName);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 최적화한 파일 이름을 조회한다.
+     * @param fileName 업로드 파일 이름
+     * @return 최적화한 파일 이름, 줄어들지 않았으면 업로드 파일 이름.
+     *         최적화하지 않았거나 최적화한 파일이 없으면 empty
+     */
+    public Optional<String> optimizedNameOf(String fileName) {
+        if (!UploadFileLayout.isValidName(fileName)) {
+            return Optional.empty();
+        }
+        String optimizedName = optimizedNames.getIfPresent(fileName);
+        if (optimizedName == null) {
+            optimizedName = readOptimizedName(fileName);
+        }
+        if (optimizedName == null || uploadFileLayout.find(optimizedName).isEmpty()) {
+            return Optional.empty();
+        }
+        optimizedNames.put(fileName, optimizedName);
+        return Optional.of(optimizedName);
+    }
+
+    /**
+     * 최적화 통계
+     * @return {@link ImageOptimizeStatsDto}
+     */
+    public ImageOptimizeStatsDto getStats() {
+        long original = originalBytes.sum();
+        long result = optimizedBytes.sum();
+        return new ImageOptimizeStatsDto(
+            optimized.sum(), skipped.sum(), rejected.sum(), original, result, original - result
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 업로드 파일을 최적화하여 저장하고 최적화한 파일 이름을 기록한다.
+     * worker thread에서 실행하며 테스트에서는 직접 호출한다.
+     * @param fileName 업로드 파일 이름
+     */
+    void optimize(String fileName) {
+        try {
+            Optional<Path> file = uploadFileLayout.find(fileName);
+            if (file.isEmpty()) {
+                return;
+            }
+            Optional<OptimizedImage> result = record(compress(file.get()));
+            String optimizedName = result.isPresent() ? store(file.get(), result.get()) : fileName;
+            writeOptimizedName(fileName, optimizedName);
+            optimizedNames.put(fileName, optimizedName);
+        } catch (IOException | RuntimeException e) {
+            log.warn("이미지를 최적화하지 못했습니다. file: {}", fileName, e);
+        } finally {
+            scheduled.remove(fileName);
+        }
+    }
+
+    private boolean submit(String fileName) {
+        try {
+            executor.execute(() -> optimize(fileName));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    // 최적화한 내용을 해시 이름으로 저장하고 원본을 보관한다. 크기를 기록하고 축소본을 미리 만든다.
+    private String store(Path file, OptimizedImage image) throws IOException {
+        byte[] content = image.getContent();
+        String optimizedName = Hashing.sha256().hashBytes(content) + "." + image.getType().getExtension();
+        keepOriginal(file, optimizedName);
+        if (uploadFileLayout.find(optimizedName).isPresent()) {
+            return optimizedName;
+        }
+        Path target = uploadFileLayout.pathOf(optimizedName);
+        Files.createDirectories(target.getParent());
+        // 같은 디렉토리의 임시 파일이어야 move가 atomic 하다.
+        Path temp = Files.createTempFile(uploadFileLayout.getRoot(), TEMP_FILE_PREFIX, null);
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            imageMetadataIndex.refresh(optimizedName);
+            imageDerivativeService.generateAsync(optimizedName);
+        } catch (FileAlreadyExistsException e) {
+            // 같은 내용이 동시에 저장된 경우
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return optimizedName;
+    }
+
+    // 최적화 전의 원본을 보관한다. 이미 있으면 그대로 둔다.
+    private void keepOriginal(Path file, String optimizedName) throws IOException {
+        Path original = uploadFileLayout.pathOf(uploadFileLayout.getRoot().resolve(ORIGINAL_DIR), optimizedName);
+        if (Files.exists(original)) {
+            return;
+        }
+        Files.createDirectories(original.getParent());
+        try {
+            Files.createLink(original, file);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(file, original, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private String readOptimizedName(String fileName) {
+        Path path = uploadFileLayout.pathOf(uploadFileLayout.getRoot().resolve(OPTIMIZED_NAME_DIR), fileName);
+        try {
+            String optimizedName = Files.readString(path, StandardCharsets.US_ASCII).trim();
+            return UploadFileLayout.isValidName(optimizedName) ? optimizedName : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("최적화한 파일 이름을 읽지 못했습니다. file: {}", fileName, e);
+            return null;
+        }
+    }
+
+    // 읽는 쪽이 쓰는 중인 내용을 보지 않도록 임시 파일에 쓰고 옮긴다.
+    private void writeOptimizedName(String fileName, String optimizedName) throws IOException {
+        Path path = uploadFileLayout.pathOf(uploadFileLayout.getRoot().resolve(OPTIMIZED_NAME_DIR), fileName);
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), TEMP_FILE_PREFIX, null);
+        try {
+            Files.writeString(temp, optimizedName, StandardCharsets.US_ASCII);
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 파일을 읽어 최적화한다.
+    private Optional<OptimizedImage> compress(Path file) throws IOException {
+        Optional<ImageType> imageType = ImageType.detect(file);
+        byte[] original = Files.readAllBytes(file);
+
+        byte[] result = null;
+        if (imageType.isPresent() && imageType.get() == ImageType.JPEG) {
+            result = optimizeJpeg(original);
+        } else if (imageType.isPresent() && imageType.get() == ImageType.PNG) {
+            result = optimizePng(original);
+        }
+        if (result == null || result.length > original.length * (1 - minSavingRatio)) {
+            return Optional.empty();
+        }
+        ImageType resultType = ImageType.detect(result, result.length).orElse(imageType.get());
+        return Optional.of(new OptimizedImage(resultType, result, original.length));
+    }
+
+    private Optional<OptimizedImage> record(Optional<OptimizedImage> result) {
+        if (result.isEmpty()) {
+            skipped.increment();
+            return result;
+        }
+        OptimizedImage image = result.get();
+        optimized.increment();
+        originalBytes.add(image.getOriginalSize());
+        optimizedBytes.add(image.getContent().length);
+        log.info("업로드 이미지 최적화. type: '{}', bytes: '{}' -> '{}'",
+            image.getType(), image.getOriginalSize(), image.getContent().length);
+        return result;
+    }
+
+    private byte[] optimizeJpeg(byte[] original) throws IOException {
+        int orientation = ExifOrientation.of(original);
+        if (orientation == 2 || orientation == 4 || orientation == 5 || orientation == 7) {
+            return null;
+        }
+        BufferedImage image = decode(original);
+        if (image == null) {
+            return null;
+        }
+        return encodeJpeg(rotate(toRgb(image), orientation));
+    }
+
+    private byte[] optimizePng(byte[] original) throws IOException {
+        byte[] best = stripPngMetadata(original);
+        BufferedImage image = decode(original);
+        if (image != null && isPhotographic(image)) {
+            byte[] jpeg = encodeJpeg(toRgb(image));
+            if (jpeg.length < best.length) {
+                best = jpeg;
+            }
+        }
+        return best;
+    }
+
+    private BufferedImage decode(byte[] content) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            return ImageDecoder.decode(in, maxPixels);
+        }
+    }
+
+    // 메타데이터 없이 progressive JPEG로 쓴다.
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    // EXIF orientation 3(180도), 6(시계 방향 90도), 8(반시계 방향 90도)을 적용한다.
+    private BufferedImage rotate(BufferedImage image, int orientation) {
+        if (orientation != 3 && orientation != 6 && orientation != 8) {
+            return image;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        AffineTransform transform = new AffineTransform();
+        if (orientation == 3) {
+            transform.translate(width, height);
+            transform.rotate(Math.PI);
+        } else if (orientation == 6) {
+            transform.translate(height, 0);
+            transform.rotate(Math.PI / 2);
+        } else {
+            transform.translate(0, width);
+            transform.rotate(-Math.PI / 2);
+        }
+        boolean swap = orientation != 3;
+        BufferedImage rotated = new BufferedImage(swap ? height : width, swap ? width : height, image.getType());
+        Graphics2D g = rotated.createGraphics();
+        try {
+            g.drawImage(image, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return rotated;
+    }
+
+    /**
+     * 투명한 pixel이 없고 일정 간격으로 확인한 pixel 중 서로 다른 색이 많으면 사진으로 본다.
+     * 스크린샷은 같은 색이 넓게 반복되므로 JPEG로 바꾸지 않는다.
+     */
+    private boolean isPhotographic(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (image.getColorModel().hasAlpha()) {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    if ((image.getRGB(x, y) >>> 24) != 0xFF) {
+                        return false;
+                    }
+                }
+            }
+        }
+        int step = Math.max(1, (int) Math.sqrt((double) width * height / PHOTO_SAMPLE_SIZE));
+        Set<Integer> colors = new HashSet<>();
+        int samples = 0;
+        for (int y = 0; y < height; y += step) {
+            for (int x = 0; x < width; x += step) {
+                colors.add(image.getRGB(x, y) & 0xFFFFFF);
+                samples++;
+            }
+        }
+        return colors.size() >= samples * PHOTO_MIN_DISTINCT_RATIO;
+    }
+
+    // 형식이 잘못되었으면 원본을 반환한다.
+    private byte[] stripPngMetadata(byte[] png) {
+        ByteBuffer in = ByteBuffer.wrap(png);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length);
+        out.write(png, 0, PNG_SIGNATURE.length);
+        in.position(PNG_SIGNATURE.length);
+        while (in.remaining() >= 12) {
+            int start = in.position();
+            int length = in.getInt();
+            if (length < 0 || length > in.remaining() - 8) {
+                return png;
+            }
+            String type = new String(png, start + 4, 4, StandardCharsets.US_ASCII);
+            int chunkSize = 12 + length;
+            if (!PNG_METADATA_CHUNKS.contains(type)) {
+                out.write(png, start, chunkSize);
+            }
+            in.position(start + chunkSize);
+        }
+        return in.hasRemaining() ? png : out.toByteArray();
+    }
+
+    /**
+     * 최적화한 내용과 그 타입
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class OptimizedImage {
+        private ImageType type;
+
+        private byte[] content;
+
+        // 최적화 전 크기
+        private long originalSize;
+    }
+}
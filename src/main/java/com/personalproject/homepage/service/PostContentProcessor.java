@@ -0,0 +1,283 @@
+package com.personalproject.homepage.service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.personalproject.homepage.entity.Post;
+import com.personalproject.homepage.service.ImageMetadataIndex.ImageMetadata;
+import com.personalproject.homepage.util.ImageType;
+
+/********************************************************************************
+    포스트 본문(HTML)을 저장 전에 한 번만 파싱하여 정리하고 파생 값을 계산한다.
+    조회 시에는 저장된 값을 그대로 사용하므로 요청마다 본문을 파싱하지 않는다.
+
+    - 허용 목록({@link #SAFELIST})에 없는 태그, 속성, 프로토콜은 제거한다.
+      post-detail.html은 본문을 th:utext로 출력하므로 저장된 본문은 안전해야 한다.
+    - 에디터가 넣는 속성은 유지한다.
+      h3, h4의 id(북마크), 새 창 링크(target="_blank", rel="noopener noreferrer"),
+      글꼴, 색, 정렬, 들여쓰기 등의 style({@link #STYLE_PROPERTIES}에 있는 속성만)
+    - 업로드한 이미지 중 최적화가 끝난 이미지는 최적화한 파일 주소로 바꾼다. ({@link ImageOptimizer})
+      최적화가 끝나기 전에 저장한 포스트는 다음에 수정할 때 바뀐다.
+    - 정리된 본문의 텍스트로 요약, 단어 수, 읽는 시간을 계산한다.
+    - 정리된 본문의 첫 번째 이미지 주소를 저장한다.
+    - 업로드한 첫 번째 이미지(/static/uploadfile/)의 축소본 주소를 썸네일로 저장한다.
+      업로드 시 미리 만들어진 축소본을 사용하므로 목록에서 원본을 내려받지 않는다.
+    - 이미지에 decoding="async"를, 첫 번째를 제외한 이미지에 loading="lazy"를 넣는다.
+      첫 번째 이미지는 화면 처음에 보일 수 있으므로 바로 내려받는다.
+    - 업로드한 이미지에는 {@link ImageMetadataIndex}로 찾은 크기(width, height)와
+      원본보다 좁은 축소본으로 만든 srcset, sizes를 넣는다.
+      크기를 미리 알 수 있으므로 이미지를 내려받는 동안 본문이 밀리지 않는다.
+      작성자가 정한 width, height는 유지하고 하나만 정했으면 나머지를 비율로 계산한다.
+********************************************************************************/
+@Component
+public class PostContentProcessor {
+
+    static final int EXCERPT_LENGTH = 200;
+
+    static final int WORDS_PER_MINUTE = 200;
+
+    private static final String ELLIPSIS = "...";
+
+    private static final String UPLOAD_IMAGE_URL = "/static/uploadfile/";
+
+    private static final Pattern UPLOAD_IMAGE = Pattern.compile("^" + UPLOAD_IMAGE_URL + "([\\w-]+\\.\\w+)$");
+
+    private static final Pattern PIXELS = Pattern.compile("^(\\d{1,5})(?:px)?$");
+
+    /**
+     * 에디터가 만드는 태그와 코드 하이라이트용 class를 허용한다.
+     * 업로드한 이미지(/static/uploadfile/)처럼 상대 경로인 링크는 유지한다.
+     */
+    private static final Safelist SAFELIST = Safelist.relaxed()
+        .addTags("hr", "del", "s", "figure", "figcaption")
+        .addAttributes(":all", "class", "style")
+        .addAttributes("h3", "id")
+        .addAttributes("h4", "id")
+        .addAttributes("a", "target")
+        .preserveRelativeLinks(true);
+
+    /**
+     * 에디터의 글꼴, 크기, 색, 정렬, 들여쓰기, 이미지 크기 버튼이 사용하는 style 속성
+     */
+    private static final Set<String> STYLE_PROPERTIES = Set.of(
+        "color", "background-color", "font-family", "font-size", "font-weight", "font-style",
+        "text-decoration", "text-align", "margin-left", "width", "height"
+    );
+
+    // url(), expression(), 주석, escape 등은 허용하지 않는다.
+    private static final Pattern STYLE_VALUE = Pattern.compile("^[\\w\\s#.,%'\"()-]+$");
+
+    private static final Pattern STYLE_FUNCTION = Pattern.compile("(?i)(url|expression|image-set|var)\\s*\\(");
+
+    // 상대 경로 링크의 프로토콜 검사에만 사용된다. 본문에 추가되지 않는다.
+    private static final String BASE_URI = "http://localhost/";
+
+    private final ImageMetadataIndex imageMetadataIndex;
+
+    private final ImageOptimizer imageOptimizer;
+
+    private final int[] widths;
+
+    private final int thumbnailWidth;
+
+    public PostContentProcessor(
+        ImageMetadataIndex imageMetadataIndex,
+        ImageOptimizer imageOptimizer,
+        @Value("${upload.image.widths}") int[] widths,
+        @Value("${upload.image.thumbnail-width}") int thumbnailWidth
+    ) {
+        this.imageMetadataIndex = imageMetadataIndex;
+        this.imageOptimizer = imageOptimizer;
+        this.widths = Arrays.stream(widths).sorted().toArray();
+        this.thumbnailWidth = thumbnailWidth;
+    }
+
+    /**
+     * 본문을 정리하고 파생 값을 계산한다.
+     * @param html 작성된 본문
+     * @return {@link Post.Content}
+     */
+    public Post.Content process(String html) {
+        Document dirty = Jsoup.parseBodyFragment(html, BASE_URI);
+        Document clean = new Cleaner(SAFELIST).clean(dirty);
+        clean.outputSettings().prettyPrint(false);
+        filterStyles(clean.body());
+        secureLinks(clean.body());
+        useOptimizedImages(clean.body());
+        decorateImages(clean.body());
+
+        String text = clean.body().text();
+        int wordCount = text.isBlank() ? 0 : text.split("\\s+").length;
+        Element firstImage = clean.body().selectFirst("img[src]");
+
+        return new Post.Content(
+            clean.body().html(),
+            excerptOf(text),
+            wordCount,
+            (wordCount + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE,
+            firstImage == null ? null : firstImage.attr("src"),
+            thumbnailOf(clean.body())
+        );
+    }
+
+    /**
+     * 저장된 본문에서 썸네일 주소를 찾는다. 본문은 다시 정리하지 않는다.
+     * @param html 저장된 본문
+     * @return 썸네일 주소, 업로드한 이미지가 없으면 null
+     */
+    public String thumbnailOf(String html) {
+        return thumbnailOf(Jsoup.parseBodyFragment(html).body());
+    }
+
+    private String thumbnailOf(Element body) {
+        for (Element image : body.select("img[src]")) {
+            Matcher matcher = UPLOAD_IMAGE.matcher(image.attr("src"));
+            if (matcher.matches()) {
+                return ImageDerivativeService.urlOf(thumbnailWidth, matcher.group(1));
+            }
+        }
+        return null;
+    }
+
+    // 허용한 style 속성만 남긴다. 남은 속성이 없으면 style을 제거한다.
+    private void filterStyles(Element body) {
+        for (Element element : body.select("[style]")) {
+            StringJoiner style = new StringJoiner("; ");
+            for (String declaration : element.attr("style").split(";")) {
+                int colon = declaration.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                String property = declaration.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+                String value = declaration.substring(colon + 1).trim();
+                if (STYLE_PROPERTIES.contains(property)
+                        && STYLE_VALUE.matcher(value).matches()
+                        && !STYLE_FUNCTION.matcher(value).find()) {
+                    style.add(property + ": " + value);
+                }
+            }
+            if (style.length() == 0) {
+                element.removeAttr("style");
+            } else {
+                element.attr("style", style + ";");
+            }
+        }
+    }
+
+    // 새 창 링크만 허용하고 열린 페이지가 window.opener에 접근하지 못하게 한다.
+    private void secureLinks(Element body) {
+        for (Element link : body.select("a[target]")) {
+            if ("_blank".equals(link.attr("target"))) {
+                link.attr("rel", "noopener noreferrer");
+            } else {
+                link.removeAttr("target");
+            }
+        }
+    }
+
+    private void useOptimizedImages(Element body) {
+        for (Element image : body.select("img[src]")) {
+            Matcher matcher = UPLOAD_IMAGE.matcher(image.attr("src"));
+            if (matcher.matches()) {
+                imageOptimizer.optimizedNameOf(matcher.group(1))
+                    .ifPresent(optimizedName -> image.attr("src", UPLOAD_IMAGE_URL + optimizedName));
+            }
+        }
+    }
+
+    // 허용 목록에 없는 속성이므로 정리한 뒤 넣는다. 수정할 때마다 다시 계산된다.
+    private void decorateImages(Element body) {
+        boolean first = true;
+        for (Element image : body.select("img[src]")) {
+            image.attr("decoding", "async");
+            if (!first) {
+                image.attr("loading", "lazy");
+            }
+            first = false;
+
+            Matcher matcher = UPLOAD_IMAGE.matcher(image.attr("src"));
+            if (matcher.matches()) {
+                imageMetadataIndex.find(matcher.group(1))
+                    .ifPresent(metadata -> decorateUploadImage(image, matcher.group(1), metadata));
+            }
+        }
+    }
+
+    private void decorateUploadImage(Element image, String fileName, ImageMetadata metadata) {
+        boolean hasWidth = image.hasAttr("width");
+        boolean hasHeight = image.hasAttr("height");
+        Optional<Integer> width = pixelsOf(image.attr("width"));
+        Optional<Integer> height = pixelsOf(image.attr("height"));
+        if ((hasWidth && width.isEmpty()) || (hasHeight && height.isEmpty())) {
+            // % 등 크기를 계산할 수 없는 값
+            return;
+        }
+        int displayWidth;
+        if (!hasWidth && !hasHeight) {
+            displayWidth = metadata.getWidth();
+            image.attr("width", String.valueOf(metadata.getWidth()));
+            image.attr("height", String.valueOf(metadata.getHeight()));
+        } else if (!hasHeight) {
+            displayWidth = width.get();
+            image.attr("height", String.valueOf(scale(width.get(), metadata.getHeight(), metadata.getWidth())));
+        } else if (!hasWidth) {
+            displayWidth = scale(height.get(), metadata.getWidth(), metadata.getHeight());
+            image.attr("width", String.valueOf(displayWidth));
+        } else {
+            displayWidth = width.get();
+        }
+
+        // 축소본을 만들 수 없는 타입은 원본과 같은 내용이다.
+        if (metadata.getType() != ImageType.JPEG && metadata.getType() != ImageType.PNG) {
+            return;
+        }
+        StringJoiner srcset = new StringJoiner(", ");
+        for (int derivativeWidth : widths) {
+            if (derivativeWidth < metadata.getWidth()) {
+                srcset.add(ImageDerivativeService.urlOf(derivativeWidth, fileName) + " " + derivativeWidth + "w");
+            }
+        }
+        if (srcset.length() == 0) {
+            return;
+        }
+        srcset.add(image.attr("src") + " " + metadata.getWidth() + "w");
+        image.attr("srcset", srcset.toString());
+        image.attr("sizes", "(max-width: " + displayWidth + "px) 100vw, " + displayWidth + "px");
+    }
+
+    // 양의 정수(px 단위 포함)만 크기로 사용한다.
+    private Optional<Integer> pixelsOf(String value) {
+        Matcher matcher = PIXELS.matcher(value.trim());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        int pixels = Integer.parseInt(matcher.group(1));
+        return pixels > 0 ? Optional.of(pixels) : Optional.empty();
+    }
+
+    private int scale(int value, int numerator, int denominator) {
+        return Math.max(1, (int) Math.round((double) value * numerator / denominator));
+    }
+
+    // 단어 중간에서 자르지 않는다.
+    private String excerptOf(String text) {
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int end = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, end > 0 ? end : EXCERPT_LENGTH) + ELLIPSIS;
+    }
+}
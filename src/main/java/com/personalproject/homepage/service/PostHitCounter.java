@@ -0,0 +1,153 @@
+package com.personalproject.homepage.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.personalproject.homepage.repository.PostHitRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    포스트 조회수를 메모리에 모아 두었다가 주기적으로 DB에 반영한다.
+    조회 요청마다 UPDATE + commit이 발생하지 않도록 하며,
+    같은 포스트에 대한 동시 요청도 LongAdder의 cell에 나뉘어 누적되므로 경합이 적다.
+
+    - post.hit.flush-interval-millis 주기로 flush 한다.
+    - 반영 대기중인 포스트 수가 post.hit.max-buffer-size를 넘으면 즉시 flush 한다.
+      즉시 flush는 전용 thread 하나에서 실행하며 대기중인 즉시 flush는 최대 하나이다.
+    - 종료 시(@PreDestroy) 남은 조회수를 flush 한다.
+********************************************************************************/
+@Component
+@Slf4j
+public class PostHitCounter {
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+    private final PostHitRepository postHitRepository;
+
+    private final int maxBufferSize;
+
+    // 한 번 만든 adder는 제거하지 않는다. key는 존재하는 포스트 아이디이므로 포스트 수를 넘지 않는다.
+    private final ConcurrentHashMap<Long, LongAdder> buffer = new ConcurrentHashMap<>();
+
+    // 마지막 flush 이후 조회된 포스트. 즉시 flush 여부를 판단하는 데만 사용한다.
+    private final Set<Long> dirtyPosts = ConcurrentHashMap.newKeySet();
+
+    // scheduler, 버퍼 초과, 종료 시의 flush가 겹치지 않도록 한다.
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // 즉시 flush가 대기중이면 true. 요청이 몰려도 flush를 하나만 예약한다.
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+
+    // 요청 thread, 공용 pool에서 DB 작업을 하지 않는다.
+    private final ExecutorService earlyFlushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-hit-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PostHitCounter(
+        PostHitRepository postHitRepository,
+        @Value("${post.hit.max-buffer-size}") int maxBufferSize
+    ) {
+        this.postHitRepository = postHitRepository;
+        this.maxBufferSize = maxBufferSize;
+    }
+
+    /**
+     * 포스트의 조회수를 1 증가시킨다. DB에는 flush 시 반영된다.
+     * @param postId 포스트 아이디
+     */
+    public void increment(Long postId) {
+        buffer.computeIfAbsent(postId, k -> new LongAdder()).increment();
+        dirtyPosts.add(postId);
+
+        if (dirtyPosts.size() > maxBufferSize && earlyFlushScheduled.compareAndSet(false, true)) {
+            earlyFlushExecutor.execute(() -> {
+                // flush 중에 다시 넘으면 다음 flush를 하나 더 예약할 수 있다.
+                earlyFlushScheduled.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 조회수를 반환한다.
+     * @param postId 포스트 아이디
+     * @return 반영 대기중인 조회수
+     */
+    public long pendingHits(Long postId) {
+        LongAdder adder = buffer.get(postId);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * 버퍼에 쌓인 조회수를 하나의 batch update로 DB에 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${post.hit.flush-interval-millis}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> hits = drain();
+            if (hits.isEmpty()) return;
+
+            try {
+                postHitRepository.addHits(hits);
+            } catch (RuntimeException e) {
+                // 반영하지 못한 조회수는 다음 flush 때 다시 시도한다.
+                log.warn("조회수 반영 실패. posts: '{}'", hits.size(), e);
+                hits.forEach((postId, count) -> {
+                    buffer.computeIfAbsent(postId, k -> new LongAdder()).add(count);
+                    dirtyPosts.add(postId);
+                });
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        // 예약된 즉시 flush를 마친 뒤 남은 조회수를 반영한다.
+        earlyFlushExecutor.shutdown();
+        try {
+            earlyFlushExecutor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /********************************************************************************
+        sumThenReset은 cell 단위로 getAndSet 하므로 읽는 도중 들어온 증가분은
+        이번 또는 다음 flush에 포함되며 유실되지 않는다.
+        adder를 map에서 제거하면 제거 직전에 가져간 adder에 더해진 증가분이 유실될 수 있으므로
+        0으로 초기화만 한다.
+        dirtyPosts는 읽기 전에 비우므로 읽는 도중 조회된 포스트는 다시 표시된다.
+    ********************************************************************************/
+    private Map<Long, Long> drain() {
+        dirtyPosts.clear();
+        Map<Long, Long> hits = new HashMap<>();
+        buffer.forEach((postId, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                hits.put(postId, count);
+            }
+        });
+        return hits;
+    }
+}
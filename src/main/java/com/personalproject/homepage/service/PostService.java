@@ -2,18 +2,27 @@ package com.personalproject.homepage.service;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.personalproject.homepage.dto.CategoryDto;
+import com.personalproject.homepage.dto.CursorPageable;
+import com.personalproject.homepage.dto.CursorSlice;
 import com.personalproject.homepage.dto.PostDto;
 import com.personalproject.homepage.entity.Category;
 import com.personalproject.homepage.entity.Post;
 import com.personalproject.homepage.error.ApiException;
 import com.personalproject.homepage.error.ErrorMessage;
+import com.personalproject.homepage.repository.CategoryPostCountRepository;
 import com.personalproject.homepage.repository.CategoryRepository;
 import com.personalproject.homepage.repository.PostRepository;
 
@@ -30,8 +39,19 @@ public class PostService {
 
     private final CategoryRepository categoryRepository;
 
+    private final PostHitCounter postHitCounter;
+
+    private final CategoryPostCountRepository categoryPostCountRepository;
+
+    private final CategoryTreeHolder categoryTreeHolder;
+
+    private final ContentVersion contentVersion;
+
+    private final PostContentProcessor postContentProcessor;
+
     /**
      * 포스트를 생성한다.
+     * 본문은 {@link PostContentProcessor}로 정리하고 요약, 읽는 시간 등을 함께 저장한다.
      * @param postDto {@link PostDto.Req}
      * @return {@link Post}
      */
@@ -52,21 +72,29 @@ public class PostService {
         Post entity = Post.builder()
             .category(category)
             .title(postDto.getTitle())
-            .content(postDto.getContent())
             .desc(postDto.getDesc())
             .visible(postDto.getVisible())
             .build();
+        entity.changeContent(postContentProcessor.process(postDto.getContent()));
+
+        // save
+        Post savedEntity = postRepository.save(entity);
 
-        // save and return
-        return postRepository.save(entity);
+        // 카테고리의 포스트 수 증가
+        categoryPostCountRepository.addPostsCount(category.getIdx(), savedEntity.getVisible(), 1);
+        categoryTreeHolder.refreshAfterCommit();
+        contentVersion.increaseAfterCommit();
+
+        return savedEntity;
     }
 
     /**
      * id로 포스트를 조회한다.
+     * 조회수는 {@link PostHitCounter}에 모아 두었다가 일괄 반영한다.
      * @param id 포스트 아이디
      * @return {@link Post}
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public Post getPost(Long id) {
         checkArgument(id != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("id"));
 
@@ -75,35 +103,56 @@ public class PostService {
             () -> new ApiException(ErrorMessage.NON_EXISTENT, "포스트")
         );
 
-        entity.addHit(); // 단순 요청 시 조회수 +1
+        postHitCounter.increment(id); // 단순 요청 시 조회수 +1
         return entity;
     }
 
+    /**
+     * id로 포스트의 수정 시간과 공개 여부를 조회한다.
+     * 조건부 요청을 확인할 때 본문을 포함한 entity를 읽지 않기 위해 사용한다. 조회수는 증가시키지 않는다.
+     * @param id 포스트 아이디
+     * @return {@link Post.LastModified}
+     */
+    @Transactional(readOnly = true)
+    public Post.LastModified getPostLastModified(Long id) {
+        checkArgument(id != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("id"));
+
+        return postRepository.findLastModifiedById(id).orElseThrow(
+            () -> new ApiException(ErrorMessage.NON_EXISTENT, "포스트")
+        );
+    }
+
+    /**
+     * 포스트를 읽지 않고 조회수만 1 증가시킨다. 304 응답 등 본문 없이 조회된 경우에 사용한다.
+     * @param id 포스트 아이디
+     */
+    public void increaseHit(Long id) {
+        checkArgument(id != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("id"));
+        postHitCounter.increment(id);
+    }
+
     /**
      * 포스트를 페이지에 맞게 조회한다.
      * @param pageable 페이지
-     * @return {@link Post} List
+     * @return {@link Post.Summary} List
      */
     @Transactional(readOnly = true)
-    public List<Post> getPosts(Pageable pageable) {
-        return postRepository.findAll(pageable);
+    public List<Post.Summary> getPosts(Pageable pageable) {
+        return postRepository.findAllSummary(pageable);
     }
 
     /**
-     * 포스트를 카테고리, 페이지에 맞게 조회한다.
+     * 포스트를 카테고리(하위 카테고리 포함), 페이지에 맞게 조회한다.
      * @param categoryId 카테고리 아이디
      * @param pageable 페이지
-     * @return {@link Post} List
+     * @return {@link Post.Summary} List
      */
     @Transactional(readOnly = true)
-    public List<Post> getPostsByCategory(Long categoryId, Pageable pageable) {
-        // find category entity
-        Category categoryEntity = categoryRepository.findById(categoryId)
-            .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "카테고리"));
+    public List<Post.Summary> getPostsByCategory(Long categoryId, Pageable pageable) {
+        // find category node
+        CategoryTree.Node category = categoryTreeHolder.get().getNode(categoryId);
 
-        return categoryEntity.getParentCategory() == null
-            ? postRepository.findAllIncludeChildCategory(categoryEntity, pageable)
-            : postRepository.findAllByCategory(categoryEntity, pageable);
+        return postRepository.findAllIncludeChildCategory(category.getIdx(), pageable);
     }
 
 
@@ -111,59 +160,120 @@ public class PostService {
      * 포스트를 공개 여부, 페이지에 맞게 조회한다.
      * @param visible 공개 여부
      * @param pageable 페이지
-     * @return {@link Post} List
+     * @return {@link Post.Summary} List
      */
     @Transactional(readOnly = true)
-    public List<Post> getPostsByVisible(Boolean visible, Pageable pageable) {
+    public List<Post.Summary> getPostsByVisible(Boolean visible, Pageable pageable) {
         checkArgument(visible != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("visible"));
-        return postRepository.findAllByVisible(visible, pageable);
+        return postRepository.findAllSummaryByVisible(visible, pageable);
     }
 
     /**
-     * 포스트를 카테고리, 공개 여부, 페이지에 맞게 조회한다.
+     * 포스트를 카테고리(하위 카테고리 포함), 공개 여부, 페이지에 맞게 조회한다.
      * @param visible 공개 여부
      * @param categoryId 카테고리 아이디
      * @param pageable 페이지
-     * @return {@link Post} List
+     * @return {@link Post.Summary} List
      */
     @Transactional(readOnly = true)
-    public List<Post> getPostsByVisibleAndCategory(Boolean visible, Long categoryId, Pageable pageable) {
+    public List<Post.Summary> getPostsByVisibleAndCategory(Boolean visible, Long categoryId, Pageable pageable) {
         checkArgument(visible != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("visible"));
 
-        // find category entity
-        Category categoryEntity = categoryRepository.findById(categoryId)
-            .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "카테고리"));
+        // find category node
+        CategoryTree.Node category = categoryTreeHolder.get().getNode(categoryId);
 
-        return categoryEntity.getParentCategory() == null
-            ? postRepository.findAllVisibleIncludeChildCategory(visible, categoryEntity, pageable)
-            : postRepository.findAllByVisibleAndCategory(visible, categoryEntity, pageable);
+        return postRepository.findAllVisibleIncludeChildCategory(visible, category.getIdx(), pageable);
     }
 
     /**
-     * 포스트를 카테고리, 공개 여부, 페이지에 맞게 조회한다.
+     * 포스트를 카테고리(하위 카테고리 포함), 공개 여부, 페이지에 맞게 조회한다.
      * @param visible 공개 여부
      * @param categoryDto {@link CategoryDto.NameReq}
      * @param pageable 페이지
-     * @return {@link Post} List
+     * @return {@link Post.Summary} List
      */
     @Transactional(readOnly = true)
-    public List<Post> getPostsByVisibleAndCategory(Boolean visible, CategoryDto.NameReq categoryDto, Pageable pageable) {
+    public List<Post.Summary> getPostsByVisibleAndCategory(Boolean visible, CategoryDto.NameReq categoryDto, Pageable pageable) {
         checkArgument(visible != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("visible"));
 
-        Category parentCategoryEntity = categoryDto.getParent() == null
-            ? null
-            : categoryRepository.findByNameAndParentCategory(categoryDto.getParent(), null)
-                .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "상위 카테고리"));
-        Category categoryEntity = categoryRepository.findByNameAndParentCategory(categoryDto.getName(), parentCategoryEntity)
-            .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "카테고리"));
+        // find category node
+        CategoryTree.Node category = categoryTreeHolder.get().getNode(categoryDto.getPath());
 
-        return categoryEntity.getParentCategory() == null
-                ? postRepository.findAllVisibleIncludeChildCategory(visible, categoryEntity, pageable)
-                : postRepository.findAllByVisibleAndCategory(visible, categoryEntity, pageable);
+        return postRepository.findAllVisibleIncludeChildCategory(visible, category.getIdx(), pageable);
     }
 
     /**
-     * 포스트를 수정한다.
+     * 포스트를 공개 여부, 카테고리, 커서에 맞게 조회한다.
+     * @param visible 공개 여부, null이면 전부
+     * @param categoryId 카테고리 아이디, null이면 전부
+     * @param cursorPageable {@link CursorPageable}
+     * @return {@link Post.Summary} {@link CursorSlice}
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<Post.Summary> getPostsByCursor(Boolean visible, Long categoryId, CursorPageable cursorPageable) {
+        checkArgument(cursorPageable != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("cursor"));
+
+        // check category node
+        if (categoryId != null) {
+            categoryTreeHolder.get().getNode(categoryId);
+        }
+
+        return sliceByCursor(visible, categoryId, cursorPageable);
+    }
+
+    /**
+     * 포스트를 공개 여부, 카테고리, 커서에 맞게 조회한다.
+     * @param visible 공개 여부
+     * @param categoryDto {@link CategoryDto.NameReq}
+     * @param cursorPageable {@link CursorPageable}
+     * @return {@link Post.Summary} {@link CursorSlice}
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<Post.Summary> getPostsByCursor(Boolean visible, CategoryDto.NameReq categoryDto, CursorPageable cursorPageable) {
+        checkArgument(visible != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("visible"));
+        checkArgument(cursorPageable != null, ErrorMessage.NOT_ALLOWED_NULL.getMessage("cursor"));
+
+        // find category node
+        CategoryTree.Node category = categoryTreeHolder.get().getNode(categoryDto.getPath());
+
+        return sliceByCursor(visible, category.getIdx(), cursorPageable);
+    }
+
+    /********************************************************************************
+        size + 1개를 조회하여 커서 방향으로 더 조회할 포스트가 있는지 확인한다.
+        첫 페이지는 {@link PostRepository#FIRST_CURSOR_CREATE_AT} 커서 이후로 조회한다.
+        before 커서는 오래된 순으로 조회되므로 뒤집어서 최신순으로 맞춘다.
+    ********************************************************************************/
+    private CursorSlice<Post.Summary> sliceByCursor(Boolean visible, Long categoryId, CursorPageable cursorPageable) {
+        int size = cursorPageable.getSize();
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        LocalDateTime createAt = cursorPageable.isFirst() ? PostRepository.FIRST_CURSOR_CREATE_AT : cursorPageable.getCreateAt();
+        Long idx = cursorPageable.isFirst() ? PostRepository.FIRST_CURSOR_IDX : cursorPageable.getIdx();
+
+        List<Post.Summary> postList;
+        if (cursorPageable.isBackward()) {
+            postList = categoryId == null
+                ? postRepository.findAllBeforeCursor(visible, createAt, idx, limit)
+                : postRepository.findAllBeforeCursorIncludeChildCategory(visible, categoryId, createAt, idx, limit);
+        } else {
+            postList = categoryId == null
+                ? postRepository.findAllAfterCursor(visible, createAt, idx, limit)
+                : postRepository.findAllAfterCursorIncludeChildCategory(visible, categoryId, createAt, idx, limit);
+        }
+
+        boolean hasMore = postList.size() > size;
+        List<Post.Summary> content = new ArrayList<>(hasMore ? postList.subList(0, size) : postList);
+
+        if (cursorPageable.isBackward()) {
+            Collections.reverse(content);
+            return new CursorSlice<>(content, true, hasMore);
+        }
+        return new CursorSlice<>(content, hasMore, !cursorPageable.isFirst());
+    }
+
+    /**
+     * 포스트를 수정한다. 본문이 변경되면 다시 정리하고 파생 값을 계산한다.
      * @param id 포스트 아이디
      * @param dto PostDto.Req
      * @return Post
@@ -184,8 +294,25 @@ public class PostService {
             : categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ApiException(ErrorMessage.NON_EXISTENT, "카테고리"));
 
+        // 변경 전 카테고리, 공개 여부
+        Long prevCategoryId = entity.getCategory().getIdx();
+        Boolean prevVisible = entity.getVisible();
+
         // update
-        entity.updateInfo(category, dto.getTitle(), dto.getContent(), dto.getDesc(), dto.getVisible());
+        entity.updateInfo(category, dto.getTitle(), null, dto.getDesc(), dto.getVisible());
+        if (dto.getContent() != null) {
+            entity.changeContent(postContentProcessor.process(dto.getContent()));
+        }
+
+        // 카테고리 또는 공개 여부가 바뀐 경우 포스트 수 이동
+        Long newCategoryId = entity.getCategory().getIdx();
+        Boolean newVisible = entity.getVisible();
+        if (!prevCategoryId.equals(newCategoryId) || !prevVisible.equals(newVisible)) {
+            categoryPostCountRepository.addPostsCount(prevCategoryId, prevVisible, -1);
+            categoryPostCountRepository.addPostsCount(newCategoryId, newVisible, 1);
+            categoryTreeHolder.refreshAfterCommit();
+        }
+        contentVersion.increaseAfterCommit();
 
         // return
         return entity;
@@ -207,6 +334,50 @@ public class PostService {
 
         // delete
         postRepository.delete(entity);
+
+        // 카테고리의 포스트 수 감소
+        categoryPostCountRepository.addPostsCount(entity.getCategory().getIdx(), entity.getVisible(), -1);
+        categoryTreeHolder.refreshAfterCommit();
+        contentVersion.increaseAfterCommit();
         return true;
     }
+
+    /**
+     * 썸네일이 추가되기 전에 작성된 포스트의 썸네일을 저장된 본문에서 찾아 채운다.
+     * 한 번에 batchSize개씩 처리하며 다음 호출에는 반환된 아이디를 넘긴다.
+     * @param afterIdx 이 아이디보다 큰 포스트부터
+     * @param batchSize 한 번에 처리할 포스트 수
+     * @return 마지막으로 처리한 포스트 아이디, 처리할 포스트가 없으면 null
+     */
+    @Transactional
+    public Long fillThumbnails(Long afterIdx, int batchSize) {
+        List<Post> posts = postRepository.findAllWithoutThumbnail(afterIdx, PageRequest.of(0, batchSize));
+        if (posts.isEmpty()) {
+            return null;
+        }
+
+        boolean changed = false;
+        for (Post post : posts) {
+            String thumbnail = postContentProcessor.thumbnailOf(post.getContent());
+            if (thumbnail != null) {
+                post.changeThumbnail(thumbnail);
+                changed = true;
+            }
+        }
+        if (changed) {
+            contentVersion.increaseAfterCommit();
+        }
+        return posts.get(posts.size() - 1).getIdx();
+    }
+
+    /**
+     * 모든 포스트의 본문을 하나씩 읽어 consumer에 넘긴다. 본문을 모아 두지 않는다.
+     * @param consumer 본문 consumer
+     */
+    @Transactional(readOnly = true)
+    public void forEachContent(Consumer<String> consumer) {
+        try (Stream<String> contents = postRepository.streamAllContent()) {
+            contents.forEach(consumer);
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package com.personalproject.homepage.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    썸네일이 추가되기 전에 작성된 포스트의 썸네일을 서버 시작 시 채운다.
+    포스트를 아이디 순으로 나누어 batch마다 commit 하므로
+    중간에 종료되어도 다음 시작 시 남은 포스트부터 다시 채운다.
+********************************************************************************/
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostThumbnailBackfill {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final PostService postService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long batches = 0;
+        Long lastIdx = 0L;
+        while ((lastIdx = postService.fillThumbnails(lastIdx, BATCH_SIZE)) != null) {
+            batches++;
+        }
+        if (batches > 0) {
+            log.info("포스트 썸네일 채우기. batches: '{}'", batches);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.personalproject.homepage.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.personalproject.homepage.entity.RevokedToken;
+import com.personalproject.homepage.repository.RevokedTokenRepository;
+import com.personalproject.homepage.security.jwt.TokenRevocationStore;
+import com.personalproject.homepage.security.jwt.TokenRevokedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    폐기된 토큰을 DB에 저장하고 서버 시작 시 {@link TokenRevocationStore}로 복원한다.
+    요청마다의 폐기 확인은 메모리에서만 하므로 이 클래스는 로그아웃, 시작, 정리 시에만 DB를 사용한다.
+
+    - 요청을 받기 전에 복원되도록 @PostConstruct에서 읽는다.
+    - security.jwt.token.revocation-cleanup-cron 주기로 만료된 토큰을 DB와 메모리에서 제거한다.
+********************************************************************************/
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final TokenRevocationStore tokenRevocationStore;
+
+    @PostConstruct
+    public void load() {
+        List<RevokedToken> revokedTokens = revokedTokenRepository.findAllByExpireAtAfter(LocalDateTime.now());
+        for (RevokedToken revokedToken : revokedTokens) {
+            tokenRevocationStore.revoke(revokedToken.getJti(), toEpochMilli(revokedToken.getExpireAt()));
+        }
+        log.info("폐기된 토큰 복원. tokens: '{}'", revokedTokens.size());
+    }
+
+    /**
+     * 폐기된 토큰을 저장한다. 로그아웃 요청 안에서 실행된다.
+     * @param event {@link TokenRevokedEvent}
+     */
+    @EventListener
+    @Transactional
+    public void save(TokenRevokedEvent event) {
+        LocalDateTime expireAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getExpiresAtMillis()), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(event.getJti(), expireAt));
+    }
+
+    @Scheduled(cron = "${security.jwt.token.revocation-cleanup-cron}")
+    @Transactional
+    public void removeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        int remaining = tokenRevocationStore.removeExpired();
+        log.info("만료된 폐기 토큰 삭제. deleted: '{}', remaining: '{}'", deleted, remaining);
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
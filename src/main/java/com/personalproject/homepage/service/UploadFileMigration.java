@@ -0,0 +1,136 @@
+package com.personalproject.homepage.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.personalproject.homepage.config.web.UploadFileLayout;
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    디렉토리를 나누기 전에 업로드 디렉토리(와 축소본 디렉토리) 바로 아래에 저장된 파일을
+    {@link UploadFileLayout}의 위치로 옮긴다.
+
+    - 서버 시작 후 별도 thread에서 실행되며 옮기는 동안에도 파일은 계속 응답된다.
+      파일은 atomic move로 옮기고, 조회는 새 위치와 이전 위치를 모두 확인한다.
+    - 진행 상태를 따로 저장하지 않는다. 남아 있는 파일이 곧 남은 작업이므로
+      중간에 종료되어도 다음 시작 시 이어서 옮긴다.
+    - batch-size개의 파일을 옮길 때마다 batch-pause-millis만큼 쉰다.
+********************************************************************************/
+@Component
+@Slf4j
+public class UploadFileMigration {
+
+    private static final Pattern DERIVATIVE_DIR = Pattern.compile("^w\\d+$");
+
+    private final UploadFileLayout uploadFileLayout;
+
+    private final int batchSize;
+
+    private final long batchPauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public UploadFileMigration(
+        UploadFilePathResolver uploadFilePathResolver,
+        @Value("${upload.migration.batch-size}") int batchSize,
+        @Value("${upload.migration.batch-pause-millis}") long batchPauseMillis
+    ) {
+        this.uploadFileLayout = new UploadFileLayout(Paths.get(uploadFilePathResolver.getUploadPath()));
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::migrate, "upload-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 이전 위치의 파일을 모두 옮긴다. 이미 실행 중이면 바로 반환한다.
+     * @return 옮긴 파일 수
+     */
+    public int migrate() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        int moved = 0;
+        try {
+            for (Path dir : migrationDirs()) {
+                moved += migrateDir(dir, moved);
+            }
+            if (moved > 0) {
+                log.info("업로드 파일 디렉토리 이동. moved: '{}'", moved);
+            }
+        } catch (IOException e) {
+            log.warn("업로드 파일 디렉토리 이동 중단. moved: '{}'", moved, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+        return moved;
+    }
+
+    // 업로드 디렉토리와 축소본 디렉토리
+    private List<Path> migrationDirs() throws IOException {
+        Path root = uploadFileLayout.getRoot();
+        List<Path> dirs = new ArrayList<>();
+        dirs.add(root);
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root,
+                entry -> Files.isDirectory(entry) && DERIVATIVE_DIR.matcher(entry.getFileName().toString()).matches())) {
+            entries.forEach(dirs::add);
+        }
+        return dirs;
+    }
+
+    private int migrateDir(Path dir, int movedBefore) throws IOException, InterruptedException {
+        int moved = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir,
+                entry -> Files.isRegularFile(entry) && UploadFileLayout.isValidName(entry.getFileName().toString()))) {
+            for (Path file : files) {
+                if (move(dir, file)) {
+                    moved++;
+                    if ((movedBefore + moved) % batchSize == 0 && batchPauseMillis > 0) {
+                        Thread.sleep(batchPauseMillis);
+                    }
+                }
+            }
+        }
+        return moved;
+    }
+
+    private boolean move(Path dir, Path file) throws IOException {
+        Path target = uploadFileLayout.pathOf(dir, file.getFileName().toString());
+        try {
+            Files.createDirectories(target.getParent());
+            if (Files.exists(target)) {
+                // 해시 이름이 같으면 내용도 같다.
+                Files.delete(file);
+            } else {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            // 그 사이 정리된 파일
+            return false;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.personalproject.homepage.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.personalproject.homepage.config.web.UploadFileLayout;
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.dto.UploadGcReportDto;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    어떤 포스트에서도 참조하지 않는 업로드 파일과 그 축소본을 정리한다.
+    upload.gc.cron 주기로 실행되며 관리자는 dry run으로 대상만 조회할 수 있다.
+
+    - 업로드 디렉토리 아래의 모든 파일({@link UploadFileLayout}으로 나누어진 파일, 축소본 포함)을 검사한다.
+    - 포스트 본문을 fetch size만큼씩 읽으며 참조된 파일 이름을 Bloom filter에 넣는다.
+      본문과 이름 목록을 메모리에 모아 두지 않는다.
+      오탐은 참조되지 않은 파일을 남기는 쪽이므로 참조된 파일이 지워지지 않는다.
+    - 마지막 수정 시간이 유예 기간(upload.gc.grace-hours) 안인 파일은 건드리지 않는다.
+      업로드 후 아직 저장되지 않은 포스트의 이미지를 보호한다.
+      같은 파일을 다시 업로드하면 수정 시간이 갱신된다.
+    - upload.gc.quarantine이 true이면 삭제하지 않고 .trash 디렉토리로 옮긴다.
+    - batch-size개의 파일마다 batch-pause-millis만큼 쉬어 디스크 I/O를 독점하지 않는다.
+    - 파일 하나를 지우기 전에 참조 여부를 확인할 때도 같은 방법으로 본문을 읽는다. ({@link FileService#delete})
+********************************************************************************/
+@Component
+@Slf4j
+public class UploadGarbageCollector {
+
+    private static final Pattern UPLOAD_REFERENCE = Pattern.compile("/static/uploadfile/(?:w\\d+/)?([\\w-]+\\.\\w+)");
+
+    private static final String TRASH_DIR = ".trash";
+
+    private static final int MAX_REPORTED_ORPHANS = 1_000;
+
+    private final PostService postService;
+
+    private final Path uploadPath;
+
+    private final long graceMillis;
+
+    private final boolean quarantine;
+
+    private final int batchSize;
+
+    private final long batchPauseMillis;
+
+    private final int expectedReferences;
+
+    // scheduler와 관리자 요청이 겹치지 않도록 한다.
+    private final ReentrantLock collectLock = new ReentrantLock();
+
+    public UploadGarbageCollector(
+        PostService postService,
+        UploadFilePathResolver uploadFilePathResolver,
+        @Value("${upload.gc.grace-hours}") long graceHours,
+        @Value("${upload.gc.quarantine}") boolean quarantine,
+        @Value("${upload.gc.batch-size}") int batchSize,
+        @Value("${upload.gc.batch-pause-millis}") long batchPauseMillis,
+        @Value("${upload.gc.expected-references}") int expectedReferences
+    ) {
+        this.postService = postService;
+        this.uploadPath = Paths.get(uploadFilePathResolver.getUploadPath());
+        this.graceMillis = TimeUnit.HOURS.toMillis(graceHours);
+        this.quarantine = quarantine;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+        this.expectedReferences = expectedReferences;
+    }
+
+    @Scheduled(cron = "${upload.gc.cron}")
+    public void scheduledCollect() {
+        UploadGcReportDto report = collect(false);
+        log.info("참조되지 않는 업로드 파일 정리. scanned: '{}', removed: '{}', bytes: '{}'",
+            report.getScannedFiles(), report.getOrphanFiles(), report.getOrphanBytes());
+    }
+
+    /**
+     * 참조되지 않는 업로드 파일을 정리한다.
+     * @param dryRun true이면 대상만 조회하고 파일은 그대로 둔다.
+     * @return {@link UploadGcReportDto}
+     */
+    public UploadGcReportDto collect(boolean dryRun) {
+        if (!collectLock.tryLock()) {
+            throw new ApiException(ErrorMessage.TOO_MANY_REQUESTS);
+        }
+        try {
+            // 본문을 읽기 전 시간 기준. 읽는 중 업로드된 파일은 유예 기간 안에 있다.
+            long threshold = System.currentTimeMillis() - graceMillis;
+            BloomFilter<String> references = referencedUploads();
+            Sweep sweep = new Sweep(dryRun, threshold, references);
+            Files.walkFileTree(uploadPath, sweep);
+            return sweep.toReport();
+        } catch (IOException e) {
+            throw new ApiException(ErrorMessage.INTERNAL_SERVER_ERROR);
+        } finally {
+            collectLock.unlock();
+        }
+    }
+
+    /**
+     * 포스트 본문이 파일(축소본 포함)을 참조하는지 확인한다.
+     * 같은 내용을 업로드한 여러 포스트가 한 파일을 함께 사용하므로 지우기 전에 확인한다.
+     * @param fileName 파일 이름
+     * @return 참조하는 포스트가 있으면 {@code true}
+     */
+    public boolean isReferenced(String fileName) {
+        AtomicBoolean referenced = new AtomicBoolean();
+        postService.forEachContent(content -> {
+            if (referenced.get() || !content.contains(fileName)) {
+                return;
+            }
+            Matcher matcher = UPLOAD_REFERENCE.matcher(content);
+            while (matcher.find()) {
+                if (matcher.group(1).equals(fileName)) {
+                    referenced.set(true);
+                    return;
+                }
+            }
+        });
+        return referenced.get();
+    }
+
+    private BloomFilter<String> referencedUploads() {
+        BloomFilter<String> references = BloomFilter.create(
+            Funnels.stringFunnel(StandardCharsets.UTF_8), expectedReferences, 0.001
+        );
+        postService.forEachContent(content -> {
+            Matcher matcher = UPLOAD_REFERENCE.matcher(content);
+            while (matcher.find()) {
+                references.put(matcher.group(1));
+            }
+        });
+        return references;
+    }
+
+    /**
+     * 업로드 디렉토리 전체(나누어진 디렉토리, 축소본 디렉토리 포함)를 순회한다.
+     * 축소본은 원본과 이름이 같으므로 원본 이름으로 참조 여부를 확인한다.
+     * .으로 시작하는 파일(쓰는 중인 임시 파일)과 디렉토리(.trash)는 제외한다.
+     */
+    private class Sweep extends SimpleFileVisitor<Path> {
+        private final boolean dryRun;
+
+        private final long threshold;
+
+        private final BloomFilter<String> references;
+
+        private final List<String> orphans = new ArrayList<>();
+
+        private int scannedFiles;
+
+        private int orphanFiles;
+
+        private long orphanBytes;
+
+        Sweep(boolean dryRun, long threshold, BloomFilter<String> references) {
+            this.dryRun = dryRun;
+            this.threshold = threshold;
+            this.references = references;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+            return !dir.equals(uploadPath) && isHidden(dir)
+                ? FileVisitResult.SKIP_SUBTREE
+                : FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+            if (!isHidden(file) && attributes.isRegularFile()) {
+                pauseEveryBatch();
+                visit(file, attributes);
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+            // 순회 중 업로드, 옮기기 등으로 사라진 파일
+            return FileVisitResult.CONTINUE;
+        }
+
+        private void visit(Path file, BasicFileAttributes attributes) throws IOException {
+            if (attributes.lastModifiedTime().toMillis() > threshold
+                    || references.mightContain(file.getFileName().toString())) {
+                return;
+            }
+
+            String relativePath = uploadPath.relativize(file).toString();
+            orphanFiles++;
+            orphanBytes += attributes.size();
+            if (orphans.size() < MAX_REPORTED_ORPHANS) {
+                orphans.add(relativePath);
+            }
+            if (!dryRun) {
+                remove(file, relativePath);
+            }
+        }
+
+        private void pauseEveryBatch() throws InterruptedIOException {
+            if (++scannedFiles % batchSize != 0 || batchPauseMillis <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(batchPauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+
+        private boolean isHidden(Path path) {
+            return path.getFileName().toString().startsWith(".");
+        }
+
+        UploadGcReportDto toReport() {
+            return new UploadGcReportDto(dryRun, scannedFiles, orphanFiles, orphanBytes, orphans);
+        }
+
+        private void remove(Path file, String relativePath) throws IOException {
+            if (!quarantine) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            Path target = uploadPath.resolve(TRASH_DIR).resolve(relativePath);
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.personalproject.homepage.service;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.google.common.io.BaseEncoding;
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.dto.FileResponseDto;
+import com.personalproject.homepage.dto.UploadSessionDto;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/********************************************************************************
+    큰 파일을 여러 조각으로 나누어 올리는 세션을 관리한다.
+    연결이 끊겨도 받은 위치부터 이어서 올릴 수 있다.
+
+    - 세션을 만들 때 전체 크기의 파일을 업로드 디렉토리에 미리 만든다. (.session-{id})
+    - 조각은 요청 본문을 읽는 대로 FileChannel의 위치 지정 쓰기로 파일에 쓴다.
+      multipart를 사용하지 않으므로 조각 전체를 메모리나 임시 파일에 모으지 않는다.
+    - 조각의 offset은 받은 크기(received) 이하여야 한다. 중간에 끊긴 조각도
+      쓰여진 만큼 received에 반영되므로 그 위치부터 다시 보내면 된다.
+    - 완료 시 파일 전체의 SHA-256을 세션 생성 시 받은 값과 비교한 뒤
+      {@link FileService#store(Path, String)}로 해시 이름으로 옮긴다.
+    - 한 세션에는 한 번에 하나의 요청만 쓸 수 있다.
+    - 마지막 요청 후 ttl이 지난 세션과 서버 재시작으로 남은 세션 파일은 정리한다.
+********************************************************************************/
+@Service
+@Slf4j
+public class UploadSessionService {
+
+    private static final String SESSION_FILE_PREFIX = ".session-";
+
+    private static final Pattern SHA256 = Pattern.compile("^[0-9a-fA-F]{64}$");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileService fileService;
+
+    private final Path uploadPath;
+
+    private final long maxSize;
+
+    private final int maxSessions;
+
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public UploadSessionService(
+        FileService fileService,
+        UploadFilePathResolver uploadFilePathResolver,
+        @Value("${upload.session.max-size}") long maxSize,
+        @Value("${upload.session.max-sessions}") int maxSessions,
+        @Value("${upload.session.ttl-minutes}") long ttlMinutes
+    ) {
+        this.fileService = fileService;
+        this.uploadPath = Paths.get(uploadFilePathResolver.getUploadPath());
+        this.maxSize = maxSize;
+        this.maxSessions = maxSessions;
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+    }
+
+    /**
+     * 세션을 만들고 전체 크기의 파일을 미리 만든다.
+     * @param req {@link UploadSessionDto.Req}
+     * @return {@link UploadSessionDto.Res}
+     */
+    public UploadSessionDto.Res create(UploadSessionDto.Req req) {
+        checkArgument(req != null && req.getSize() != null && req.getSize() > 0 && req.getSize() <= maxSize,
+            "파일 크기는 1byte 이상 " + maxSize / (1024 * 1024) + "MB 이하여야 합니다.");
+        checkArgument(req.getSha256() != null && SHA256.matcher(req.getSha256()).matches(),
+            ErrorMessage.INVALID_PARAM.getMessage("sha256"));
+        if (sessions.size() >= maxSessions) {
+            throw new ApiException(ErrorMessage.TOO_MANY_REQUESTS);
+        }
+
+        String id = UUID.randomUUID().toString().replace("-", "");
+        Path path = uploadPath.resolve(SESSION_FILE_PREFIX + id);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            // 마지막 byte를 써서 전체 크기를 미리 할당한다.
+            channel.write(ByteBuffer.wrap(new byte[1]), req.getSize() - 1);
+        } catch (IOException e) {
+            deleteQuietly(path);
+            throw new ApiException(ErrorMessage.INTERNAL_SERVER_ERROR);
+        }
+        UploadSession session = new UploadSession(id, path, req.getSize(), req.getSha256().toLowerCase(Locale.ROOT));
+        sessions.put(id, session);
+        return session.toDto();
+    }
+
+    /**
+     * 세션 상태를 조회한다. 이어 올릴 위치를 확인할 때 사용한다.
+     * @param id 세션 id
+     * @return {@link UploadSessionDto.Res}
+     */
+    public UploadSessionDto.Res get(String id) {
+        return find(id).toDto();
+    }
+
+    /**
+     * 조각을 offset 위치부터 쓴다. 본문은 읽는 대로 파일에 쓴다.
+     * @param id 세션 id
+     * @param offset 조각의 시작 위치, 받은 크기 이하
+     * @param body 조각 내용
+     * @return 쓴 후의 {@link UploadSessionDto.Res}
+     */
+    public UploadSessionDto.Res write(String id, long offset, InputStream body) {
+        UploadSession session = find(id);
+        lock(session);
+        try {
+            checkArgument(offset >= 0 && offset <= session.received,
+                ErrorMessage.INVALID_PARAM_INFO.getMessage("offset", "0 ~ " + session.received));
+
+            long position = offset;
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try (ReadableByteChannel source = Channels.newChannel(body);
+                 FileChannel sink = FileChannel.open(session.path, StandardOpenOption.WRITE)) {
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    checkArgument(position + buffer.remaining() <= session.size, "파일 크기를 넘는 조각입니다.");
+                    while (buffer.hasRemaining()) {
+                        position += sink.write(buffer, position);
+                    }
+                    buffer.clear();
+                }
+            } catch (IOException e) {
+                // 연결이 끊긴 경우에도 쓴 만큼은 남긴다.
+                throw new ApiException(ErrorMessage.INTERNAL_SERVER_ERROR);
+            } finally {
+                session.received = Math.max(session.received, position);
+                session.touch();
+            }
+            return session.toDto();
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * 모든 조각을 받은 파일의 SHA-256을 확인하고 업로드 파일로 저장한다.
+     * 받지 않은 조각이 없으면 결과와 상관없이 세션을 지운다.
+     * @param id 세션 id
+     * @return {@link FileResponseDto}
+     */
+    public FileResponseDto complete(String id) {
+        UploadSession session = find(id);
+        lock(session);
+        try {
+            checkArgument(session.received == session.size,
+                "아직 받지 않은 조각이 있습니다. 받은 크기: " + session.received);
+            String hash = sha256Of(session.path);
+            if (!hash.equals(session.sha256)) {
+                remove(session);
+                throw new IllegalArgumentException("파일 내용이 sha256과 일치하지 않습니다.");
+            }
+            try {
+                return fileService.store(session.path, hash);
+            } finally {
+                remove(session);
+            }
+        } catch (IOException e) {
+            throw new ApiException(ErrorMessage.INTERNAL_SERVER_ERROR);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * 세션과 받은 파일을 지운다.
+     * @param id 세션 id
+     * @return 지운 경우 {@code true}
+     */
+    public boolean delete(String id) {
+        UploadSession session = find(id);
+        lock(session);
+        try {
+            remove(session);
+            return true;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * ttl이 지난 세션과 서버 재시작 전의 세션 파일을 지운다.
+     */
+    @Scheduled(fixedDelayString = "${upload.session.cleanup-interval-millis}")
+    public void cleanup() {
+        long threshold = System.currentTimeMillis() - ttlMillis;
+        sessions.values().stream()
+            .filter(session -> session.lastAccess < threshold)
+            .forEach(session -> {
+                if (session.lock.tryLock()) {
+                    try {
+                        remove(session);
+                    } finally {
+                        session.lock.unlock();
+                    }
+                }
+            });
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadPath, SESSION_FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                String id = file.getFileName().toString().substring(SESSION_FILE_PREFIX.length());
+                if (!sessions.containsKey(id) && Files.getLastModifiedTime(file).toMillis() < threshold) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("업로드 세션 파일을 정리하지 못했습니다.", e);
+        }
+    }
+
+    private UploadSession find(String id) {
+        UploadSession session = sessions.get(id);
+        if (session == null) {
+            throw new ApiException(ErrorMessage.NON_EXISTENT, "업로드 세션");
+        }
+        return session;
+    }
+
+    // 같은 세션에 동시에 쓰지 않는다.
+    private void lock(UploadSession session) {
+        if (!session.lock.tryLock()) {
+            throw new ApiException(ErrorMessage.TOO_MANY_REQUESTS);
+        }
+        if (sessions.get(session.id) != session) {
+            session.lock.unlock();
+            throw new ApiException(ErrorMessage.NON_EXISTENT, "업로드 세션");
+        }
+    }
+
+    private void remove(UploadSession session) {
+        sessions.remove(session.id, session);
+        deleteQuietly(session.path);
+    }
+
+    private String sha256Of(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return BaseEncoding.base16().lowerCase().encode(digest.digest());
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {/** 남은 파일은 다음 정리 때 지운다. */}
+    }
+
+    private static class UploadSession {
+        private final String id;
+
+        private final Path path;
+
+        private final long size;
+
+        private final String sha256;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // lock을 잡은 thread만 변경한다.
+        private volatile long received;
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        UploadSession(String id, Path path, long size, String sha256) {
+            this.id = id;
+            this.path = path;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        UploadSessionDto.Res toDto() {
+            return new UploadSessionDto.Res(id, size, received);
+        }
+    }
+}
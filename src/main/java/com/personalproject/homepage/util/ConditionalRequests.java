@@ -0,0 +1,58 @@
+package com.personalproject.homepage.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * ETag, Last-Modified를 이용한 조건부 요청(If-None-Match, If-Modified-Since)을 처리하는 클래스.
+ * controller는 entity 조회나 렌더링 전에 호출하고, true를 반환하면 null을 반환하여 304로 응답한다.
+ */
+public class ConditionalRequests {
+
+    /**
+     * 포스트 단건의 ETag. 포스트 아이디와 마지막 수정 시간으로 만든다.
+     * @param id 포스트 아이디
+     * @param lastModifiedAt 마지막 수정 시간
+     * @return ETag
+     */
+    public static String postEtag(Long id, LocalDateTime lastModifiedAt) {
+        return "post-" + id + "-" + toEpochMilli(lastModifiedAt);
+    }
+
+    /**
+     * 전역 버전으로 만든 ETag. 목록처럼 여러 포스트, 카테고리가 포함된 응답에 사용한다.
+     * @param name 응답 이름
+     * @param versionTag 전역 버전
+     * @return ETag
+     */
+    public static String versionEtag(String name, String versionTag) {
+        return name + "-" + versionTag;
+    }
+
+    /**
+     * 캐시 검증 헤더를 설정하고 클라이언트의 캐시가 최신인지 확인한다.
+     * 관리자 응답은 다른 사용자와 공유되지 않도록 private으로 설정하고 ETag를 구분한다.
+     * @param webRequest {@link ServletWebRequest}
+     * @param etag ETag
+     * @param lastModifiedAt 마지막 수정 시간, 없으면 null
+     * @param isAdmin 관리자 여부
+     * @return 변경되지 않았으면 {@code true} - 304
+     */
+    public static boolean checkNotModified(ServletWebRequest webRequest, String etag, LocalDateTime lastModifiedAt, boolean isAdmin) {
+        CacheControl cacheControl = isAdmin ? CacheControl.noCache().cachePrivate() : CacheControl.noCache();
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+
+        String adminEtag = isAdmin ? etag + "-admin" : etag;
+        return lastModifiedAt == null
+            ? webRequest.checkNotModified(adminEtag)
+            : webRequest.checkNotModified(adminEtag, toEpochMilli(lastModifiedAt));
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,87 @@
+package com.personalproject.homepage.util;
+
+/**
+ * JPEG의 EXIF 방향(orientation)을 읽는 클래스.
+ * APP1 Exif segment의 IFD0만 확인하며 형식이 잘못되었으면 1(회전 없음)로 본다.
+ * 앞부분만 읽은 byte 배열을 넘겨도 된다. (APP1 segment는 최대 64KB)
+ */
+public class ExifOrientation {
+
+    /**
+     * orientation을 찾기 위해 읽어야 하는 앞부분의 최대 byte 수
+     */
+    public static final int PREFIX_LENGTH = 2 + 65_536 + 2;
+
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    /**
+     * JPEG의 EXIF orientation을 읽는다.
+     * @param jpeg JPEG 파일 전체 또는 앞부분
+     * @return orientation(1 ~ 8), 없으면 1
+     */
+    public static int of(byte[] jpeg) {
+        int position = 2;
+        while (position + 4 <= jpeg.length && (jpeg[position] & 0xFF) == 0xFF) {
+            int marker = jpeg[position + 1] & 0xFF;
+            if (marker == 0xDA || marker == 0xD9) {
+                break;
+            }
+            int segmentLength = readUnsignedShort(jpeg, position + 2, false);
+            int end = Math.min(jpeg.length, position + 2 + segmentLength);
+            if (marker == 0xE1 && isExifHeader(jpeg, position + 4)) {
+                return tiffOrientation(jpeg, position + 10, end);
+            }
+            position += 2 + segmentLength;
+        }
+        return 1;
+    }
+
+    /**
+     * 가로, 세로가 바뀌는 방향인지 확인한다. 브라우저는 방향을 적용하여 표시한다.
+     * @param orientation EXIF orientation
+     * @return 5 ~ 8이면 {@code true}
+     */
+    public static boolean isTransposed(int orientation) {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    private static boolean isExifHeader(byte[] jpeg, int position) {
+        return position + 6 <= jpeg.length
+            && jpeg[position] == 'E' && jpeg[position + 1] == 'x' && jpeg[position + 2] == 'i'
+            && jpeg[position + 3] == 'f' && jpeg[position + 4] == 0 && jpeg[position + 5] == 0;
+    }
+
+    private static int tiffOrientation(byte[] jpeg, int tiff, int end) {
+        if (tiff + 8 > end) {
+            return 1;
+        }
+        boolean littleEndian = jpeg[tiff] == 'I' && jpeg[tiff + 1] == 'I';
+        long ifd = tiff + readUnsignedInt(jpeg, tiff + 4, littleEndian);
+        if (ifd + 2 > end) {
+            return 1;
+        }
+        int count = readUnsignedShort(jpeg, (int) ifd, littleEndian);
+        for (int i = 0; i < count; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                break;
+            }
+            if (readUnsignedShort(jpeg, entry, littleEndian) == ORIENTATION_TAG) {
+                return readUnsignedShort(jpeg, entry + 8, littleEndian);
+            }
+        }
+        return 1;
+    }
+
+    private static long readUnsignedInt(byte[] bytes, int position, boolean littleEndian) {
+        long first = readUnsignedShort(bytes, position, littleEndian);
+        long second = readUnsignedShort(bytes, position + 2, littleEndian);
+        return littleEndian ? second << 16 | first : first << 16 | second;
+    }
+
+    private static int readUnsignedShort(byte[] bytes, int position, boolean littleEndian) {
+        int first = bytes[position] & 0xFF;
+        int second = bytes[position + 1] & 0xFF;
+        return littleEndian ? second << 8 | first : first << 8 | second;
+    }
+}
@@ -0,0 +1,42 @@
+package com.personalproject.homepage.util;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * 업로드한 이미지를 decode 하는 클래스.
+ * header로 크기를 먼저 확인하여 너무 큰 이미지는 decode 하지 않는다. (upload.image.max-pixels)
+ */
+public class ImageDecoder {
+
+    /**
+     * @param in 이미지
+     * @param maxPixels 최대 pixel 수(너비 x 높이)
+     * @return decode한 이미지, 읽을 수 없거나 maxPixels를 넘으면 null
+     * @throws IOException stream을 읽을 수 없는 경우
+     */
+    public static BufferedImage decode(ImageInputStream in, long maxPixels) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(in, true, true);
+            if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                return null;
+            }
+            return reader.read(0);
+        } catch (IOException e) {
+            // CMYK JPEG 등 읽을 수 없는 형식
+            return null;
+        } finally {
+            reader.dispose();
+        }
+    }
+}
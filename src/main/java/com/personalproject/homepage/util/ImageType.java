@@ -0,0 +1,99 @@
+package com.personalproject.homepage.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 업로드할 수 있는 이미지 타입.
+ * 클라이언트가 보낸 Content-Type 대신 파일 앞부분의 magic bytes로 타입을 판별한다.
+ * 스크립트를 포함할 수 있는 svg는 허용하지 않는다.
+ */
+public enum ImageType {
+    PNG("png", "image/png", new int[] {0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A}),
+    JPEG("jpeg", "image/jpeg", new int[] {0xFF, 0xD8, 0xFF}),
+    GIF("gif", "image/gif", new int[] {'G', 'I', 'F', '8'}),
+    // RIFF....WEBP, 4~7번째 byte는 파일 크기
+    WEBP("webp", "image/webp", new int[] {'R', 'I', 'F', 'F', -1, -1, -1, -1, 'W', 'E', 'B', 'P'}),
+    BMP("bmp", "image/bmp", new int[] {'B', 'M'}),
+    ;
+
+    /**
+     * 타입 판별에 필요한 앞부분의 byte 수
+     */
+    public static final int PREFIX_LENGTH = 12;
+
+    private final String extension;
+
+    private final String contentType;
+
+    // -1은 어떤 값이든 일치한다.
+    private final int[] magic;
+
+    private ImageType(String extension, String contentType, int[] magic) {
+        this.extension = extension;
+        this.contentType = contentType;
+        this.magic = magic;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 파일 앞부분으로 이미지 타입을 판별한다.
+     * @param prefix 파일 앞부분
+     * @param length prefix에서 읽은 byte 수
+     * @return 판별된 {@link ImageType}, 이미지가 아니면 empty
+     */
+    public static Optional<ImageType> detect(byte[] prefix, int length) {
+        return Arrays.stream(values())
+            .filter(type -> type.matches(prefix, length))
+            .findFirst();
+    }
+
+    /**
+     * 파일 앞부분을 읽어 이미지 타입을 판별한다.
+     * 저장된 파일은 확장자를 신뢰하지 않고 이 방법으로 판별한다.
+     * @param path 파일 경로
+     * @return 판별된 {@link ImageType}, 이미지가 아니면 empty
+     * @throws IOException 파일을 읽지 못한 경우
+     */
+    public static Optional<ImageType> detect(Path path) throws IOException {
+        byte[] prefix = new byte[PREFIX_LENGTH];
+        try (InputStream in = Files.newInputStream(path)) {
+            return detect(prefix, in.readNBytes(prefix, 0, prefix.length));
+        }
+    }
+
+    /**
+     * 확장자로 이미지 타입을 찾는다. jpg는 jpeg로 찾는다.
+     * @param extension 확장자
+     * @return {@link ImageType}, 없으면 empty
+     */
+    public static Optional<ImageType> fromExtension(String extension) {
+        String normalized = "jpg".equalsIgnoreCase(extension) ? JPEG.extension : extension;
+        return Arrays.stream(values())
+            .filter(type -> type.extension.equalsIgnoreCase(normalized))
+            .findFirst();
+    }
+
+    private boolean matches(byte[] prefix, int length) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (magic[i] != -1 && (prefix[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
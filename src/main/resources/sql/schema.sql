@@ -1,3 +1,6 @@
+DROP TABLE IF EXISTS revoked_token;
+DROP TABLE IF EXISTS category_closure;
+DROP TABLE IF EXISTS category_post_count;
 DROP TABLE IF EXISTS post;
 DROP TABLE IF EXISTS category;
 
@@ -16,6 +19,11 @@ CREATE TABLE post (
   title VARCHAR(100) NOT NULL,
   content TEXT NOT NULL,
   description VARCHAR(500) NOT NULL,
+  excerpt VARCHAR(300),
+  word_count INT,
+  reading_minutes INT,
+  first_image VARCHAR(500),
+  thumbnail VARCHAR(500),
   hit BIGINT NOT NULL DEFAULT 0,
   visible BIT(1) NOT NULL,
   create_at DATETIME NOT NULL DEFAULT NOW(),
@@ -23,9 +31,52 @@ CREATE TABLE post (
   PRIMARY KEY (idx)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- 카테고리별, 공개 여부별 포스트 수 counter
+CREATE TABLE category_post_count (
+  category_idx BIGINT NOT NULL,
+  visible BIT(1) NOT NULL,
+  posts_count BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (category_idx, visible)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 카테고리 계층의 closure table, 자기 자신(depth = 0)을 포함한 모든 (조상, 자손) 쌍
+CREATE TABLE category_closure (
+  ancestor_idx BIGINT NOT NULL,
+  descendant_idx BIGINT NOT NULL,
+  depth INT NOT NULL,
+  PRIMARY KEY (ancestor_idx, descendant_idx)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 로그아웃된 토큰의 jti, 토큰이 만료되면 삭제한다.
+CREATE TABLE revoked_token (
+  jti VARCHAR(36) NOT NULL,
+  expire_at DATETIME NOT NULL,
+  PRIMARY KEY (jti)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 ALTER TABLE category ADD CONSTRAINT fk_category_parent_category_idx FOREIGN KEY (parent_category_idx) REFERENCES category (idx)
 ON DELETE CASCADE;
 
 ALTER TABLE category ADD UNIQUE unique_category_name_and_parent_category_idx (name, parent_category_idx);
 
 ALTER TABLE post ADD CONSTRAINT fk_post_category_idx FOREIGN KEY (category_idx) REFERENCES category (idx);
+
+ALTER TABLE category_post_count ADD CONSTRAINT fk_category_post_count_category_idx FOREIGN KEY (category_idx) REFERENCES category (idx)
+ON DELETE CASCADE;
+
+ALTER TABLE category_closure ADD CONSTRAINT fk_category_closure_ancestor_idx FOREIGN KEY (ancestor_idx) REFERENCES category (idx)
+ON DELETE CASCADE;
+
+ALTER TABLE category_closure ADD CONSTRAINT fk_category_closure_descendant_idx FOREIGN KEY (descendant_idx) REFERENCES category (idx)
+ON DELETE CASCADE;
+
+-- 조상 목록 조회, 하위 트리 이동을 위한 인덱스
+CREATE INDEX idx_category_closure_descendant_ancestor ON category_closure (descendant_idx, ancestor_idx);
+
+-- 커서(create_at, idx) 페이지 조회를 위한 인덱스
+CREATE INDEX idx_post_create_at_idx ON post (create_at, idx);
+CREATE INDEX idx_post_visible_create_at_idx ON post (visible, create_at, idx);
+CREATE INDEX idx_post_category_create_at_idx ON post (category_idx, create_at, idx);
+
+-- 만료된 토큰 삭제를 위한 인덱스
+CREATE INDEX idx_revoked_token_expire_at ON revoked_token (expire_at);
@@ -9,11 +9,12 @@ import org.springframework.context.annotation.Import;
 
 import com.personalproject.homepage.config.jwt.JwtAssistorConfig;
 import com.personalproject.homepage.config.jwt.JwtTokenConfig;
+import com.personalproject.homepage.config.web.RateLimitConfig;
 
 /********************************************************************************
     단위 테스트 시 SecurityConfig에서 필요한 의존성을 명시적으로 설정 한다.
 ********************************************************************************/
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
-@Import({ JwtAssistorConfig.class, JwtTokenConfig.class})
+@Import({ JwtAssistorConfig.class, JwtTokenConfig.class, RateLimitConfig.class })
 public @interface CustomUnitTestSecurityConfig { }
@@ -0,0 +1,166 @@
+package com.personalproject.homepage.config.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.service.ContentVersion;
+import com.personalproject.homepage.service.PostHitCounter;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class PageCacheFilterTest {
+
+    private static final String TEST_HTML = "<html>page</html>";
+
+    private static final String TEST_ETAG = "\"page-1\"";
+
+    @Mock private ContentVersion contentVersion;
+    @Mock private PostHitCounter postHitCounter;
+
+    private PageCacheFilter pageCacheFilter;
+
+    // controller 대신 렌더링 횟수를 센다.
+    private AtomicInteger renderCount;
+    private FilterChain renderChain;
+
+    @BeforeEach
+    void setUp() {
+        pageCacheFilter = new PageCacheFilter(contentVersion, postHitCounter, 10);
+        renderCount = new AtomicInteger();
+        renderChain = (req, res) -> {
+            renderCount.incrementAndGet();
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, TEST_ETAG);
+            res.setContentType("text/html;charset=UTF-8");
+            res.getWriter().write(TEST_HTML);
+        };
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        pageCacheFilter.doFilter(request, response, renderChain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("성공: 같은 경로, 페이지의 두 번째 요청은 렌더링 없이 캐시로 응답한다.")
+    void Success_SamePageTwice_RenderOnce() throws Exception {
+        // given
+        given(contentVersion.get()).willReturn(1L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/category/name");
+        request.setParameter("page", "2");
+
+        // when
+        get(request);
+        MockHttpServletResponse cachedResponse = get(request);
+
+        // then
+        assertThat(renderCount.get()).isEqualTo(1);
+        assertThat(cachedResponse.getContentAsString()).isEqualTo(TEST_HTML);
+        assertThat(cachedResponse.getContentType()).startsWith("text/html");
+    }
+
+    @Test
+    @DisplayName("성공: 깊이에 상관없이 카테고리 페이지를 캐시한다.")
+    void Success_DeepCategoryPageTwice_RenderOnce() throws Exception {
+        // given
+        given(contentVersion.get()).willReturn(1L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/category/top/parent/name");
+
+        // when
+        get(request);
+        MockHttpServletResponse cachedResponse = get(request);
+
+        // then
+        assertThat(renderCount.get()).isEqualTo(1);
+        assertThat(cachedResponse.getContentAsString()).isEqualTo(TEST_HTML);
+    }
+
+    @Test
+    @DisplayName("성공: 캐시된 페이지의 ETag와 If-None-Match가 같으면 304로 응답한다.")
+    void Success_CachedPageNotModified_304() throws Exception {
+        // given
+        given(contentVersion.get()).willReturn(1L);
+        get(new MockHttpServletRequest("GET", "/"));
+        MockHttpServletRequest conditionalRequest = new MockHttpServletRequest("GET", "/");
+        conditionalRequest.addHeader(HttpHeaders.IF_NONE_MATCH, TEST_ETAG);
+
+        // when
+        MockHttpServletResponse response = get(conditionalRequest);
+
+        // then
+        assertThat(renderCount.get()).isEqualTo(1);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(TEST_ETAG);
+        assertThat(response.getContentLength()).isZero();
+    }
+
+    @Test
+    @DisplayName("성공: 버전이 바뀌면 다시 렌더링한다.")
+    void Success_VersionIncreased_RenderAgain() throws Exception {
+        // given
+        given(contentVersion.get()).willReturn(1L, 2L);
+
+        // when
+        get(new MockHttpServletRequest("GET", "/"));
+        get(new MockHttpServletRequest("GET", "/"));
+
+        // then
+        assertThat(renderCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("성공: 캐시된 포스트 페이지로 응답해도 조회수를 증가시킨다.")
+    void Success_CachedPostPage_IncrementHit() throws Exception {
+        // given
+        given(contentVersion.get()).willReturn(1L);
+
+        // when
+        get(new MockHttpServletRequest("GET", "/99"));
+        get(new MockHttpServletRequest("GET", "/99"));
+
+        // then
+        assertThat(renderCount.get()).isEqualTo(1);
+        verify(postHitCounter).increment(99L);
+    }
+
+    @Test
+    @DisplayName("성공: 관리자와 커서 요청은 캐시하지 않는다.")
+    void Success_AdminOrCursorRequest_Bypass() throws Exception {
+        // given
+        MockHttpServletRequest adminRequest = new MockHttpServletRequest("GET", "/");
+        adminRequest.addUserRole("ADMIN");
+        MockHttpServletRequest cursorRequest = new MockHttpServletRequest("GET", "/");
+        cursorRequest.setParameter("after", "cursor");
+
+        // when
+        get(adminRequest);
+        get(adminRequest);
+        get(cursorRequest);
+        get(cursorRequest);
+
+        // then
+        assertThat(renderCount.get()).isEqualTo(4);
+        verify(contentVersion, never()).get();
+        verify(postHitCounter, never()).increment(anyLong());
+    }
+}
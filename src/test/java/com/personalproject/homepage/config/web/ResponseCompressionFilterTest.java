@@ -0,0 +1,168 @@
+package com.personalproject.homepage.config.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.personalproject.homepage.dto.CompressionStatsDto;
+
+@ActiveProfiles("test")
+public class ResponseCompressionFilterTest {
+
+    private static final int TEST_MIN_RESPONSE_SIZE = 100;
+
+    private static final String TEST_ROUTE = "/{postId}";
+
+    private CompressionStats compressionStats;
+
+    private ResponseCompressionFilter responseCompressionFilter;
+
+    @BeforeEach
+    void setUp() {
+        compressionStats = new CompressionStats();
+        responseCompressionFilter = new ResponseCompressionFilter(
+            compressionStats, TEST_MIN_RESPONSE_SIZE, List.of(MediaType.TEXT_HTML, MediaType.APPLICATION_JSON)
+        );
+    }
+
+    private MockHttpServletRequest gzipRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/1");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, TEST_ROUTE);
+        return request;
+    }
+
+    private FilterChain render(String contentType, String body) {
+        return (req, res) -> {
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"page\"");
+            res.setContentType(contentType);
+            res.getWriter().write(body);
+        };
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseCompressionFilter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("성공: 기준보다 큰 HTML은 gzip으로 압축하고 경로별로 기록한다.")
+    void Success_LargeHtml_Compress() throws Exception {
+        // given
+        String html = "<p>content</p>".repeat(100);
+
+        // when
+        MockHttpServletResponse response = filter(gzipRequest(), render("text/html;charset=UTF-8", html));
+
+        // then
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"page\"");
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(html);
+        assertThat(compressionStats.getStats()).hasSize(1).first()
+            .extracting(CompressionStatsDto::getRoute, CompressionStatsDto::getCompressedResponses,
+                CompressionStatsDto::getOriginalBytes, CompressionStatsDto::getSentBytes)
+            .containsExactly(TEST_ROUTE, 1L, (long) html.length(), (long) response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("성공: 기준보다 작은 응답은 압축하지 않고 Content-Length와 함께 보낸다.")
+    void Success_SmallJson_Passthrough() throws Exception {
+        // when
+        MockHttpServletResponse response = filter(gzipRequest(), render("application/json", "{\"success\":true}"));
+
+        // then
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentLength()).isEqualTo(16);
+        assertThat(response.getContentAsString()).isEqualTo("{\"success\":true}");
+    }
+
+    @Test
+    @DisplayName("성공: 이미지는 크기와 상관없이 압축하지 않고 기록하지 않는다.")
+    void Success_Image_Passthrough() throws Exception {
+        // given
+        byte[] image = new byte[TEST_MIN_RESPONSE_SIZE * 2];
+
+        // when
+        MockHttpServletResponse response = filter(gzipRequest(), (req, res) -> {
+            res.setContentType("image/png");
+            res.setContentLength(image.length);
+            res.getOutputStream().write(image);
+        });
+
+        // then
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentLength()).isEqualTo(image.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(image);
+        assertThat(compressionStats.getStats()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("성공: 비동기 응답은 압축하지 않고 그대로 보내며 stream 상태는 원래 응답을 따른다.")
+    void Success_AsyncResponse_Passthrough() throws Exception {
+        // given
+        String html = "<p>content</p>".repeat(100);
+        MockHttpServletRequest request = gzipRequest();
+        request.setAsyncSupported(true);
+        AtomicBoolean ready = new AtomicBoolean();
+        FilterChain chain = (req, res) -> {
+            req.startAsync(req, res);
+            res.setContentType("text/html;charset=UTF-8");
+            ServletOutputStream out = res.getOutputStream();
+            ready.set(out.isReady());
+            out.write(html.getBytes(StandardCharsets.UTF_8));
+        };
+
+        // when
+        MockHttpServletResponse response = filter(request, chain);
+
+        // then
+        assertThat(request.isAsyncStarted()).isTrue();
+        assertThat(ready.get()).isTrue();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(html);
+        assertThat(compressionStats.getStats()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("성공: gzip을 받지 않는 요청은 압축하지 않는다.")
+    void Success_NoAcceptEncoding_Passthrough() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/1");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity");
+        String html = "<p>content</p>".repeat(100);
+
+        // when
+        MockHttpServletResponse response = filter(request, render("text/html", html));
+
+        // then
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(html);
+    }
+
+    private String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.personalproject.homepage.config.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.dto.FileServeStatsDto;
+
+@ActiveProfiles("test")
+public class UploadFileSenderTest {
+
+    private static final String TEST_CONTENT = "0123456789";
+
+    private static final String TEST_HASH_NAME = "a".repeat(64) + ".png";
+
+    @TempDir Path uploadDir;
+
+    private UploadFileSender uploadFileSender;
+
+    private Path hashFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        uploadFileSender = new UploadFileSender();
+        hashFile = Files.write(uploadDir.resolve(TEST_HASH_NAME), TEST_CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletResponse send(Path path, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        uploadFileSender.send(path, request, response);
+        return response;
+    }
+
+    @Test
+    @DisplayName("성공: 해시 이름의 파일은 immutable로 캐시하도록 응답한다.")
+    void Success_ContentAddressed_Immutable() throws Exception {
+        // when
+        MockHttpServletResponse response = send(hashFile, new MockHttpServletRequest("GET", "/"));
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=31536000, public, immutable");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + TEST_HASH_NAME + "\"");
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getContentAsString()).isEqualTo(TEST_CONTENT);
+    }
+
+    @Test
+    @DisplayName("성공: 해시 이름이 아닌 파일은 매번 재검증하도록 응답한다.")
+    void Success_LegacyName_Revalidate() throws Exception {
+        // given
+        Path legacyFile = Files.write(uploadDir.resolve("legacy-uuid.png"), TEST_CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        // when
+        MockHttpServletResponse response = send(legacyFile, new MockHttpServletRequest("GET", "/"));
+
+        // then
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+        assertThat(response.getContentAsString()).isEqualTo(TEST_CONTENT);
+    }
+
+    @Test
+    @DisplayName("성공: If-None-Match가 일치하면 본문 없이 304로 응답한다.")
+    void Success_MatchedEtag_NotModified() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + TEST_HASH_NAME + "\"");
+
+        // when
+        MockHttpServletResponse response = send(hashFile, request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(uploadFileSender.getStats())
+            .extracting(FileServeStatsDto::getRequests, FileServeStatsDto::getNotModified, FileServeStatsDto::getBytesServed)
+            .containsExactly(1L, 1L, 0L);
+    }
+
+    @Test
+    @DisplayName("성공: 하나의 Range는 해당 구간만 206으로 응답한다.")
+    void Success_SingleRange_PartialContent() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+
+        // when
+        MockHttpServletResponse response = send(hashFile, request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-4/10");
+        assertThat(response.getContentAsString()).isEqualTo("234");
+        assertThat(uploadFileSender.getStats())
+            .extracting(FileServeStatsDto::getPartial, FileServeStatsDto::getBytesServed)
+            .containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("성공: If-Range가 일치하지 않으면 전체를 200으로 응답한다.")
+    void Success_ChangedIfRange_FullContent() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+        // when
+        MockHttpServletResponse response = send(hashFile, request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).isEqualTo(TEST_CONTENT);
+    }
+
+    @Test
+    @DisplayName("실패: 파일 크기를 벗어난 Range는 416으로 응답한다.")
+    void Fail_UnsatisfiableRange_RangeNotSatisfiable() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+
+        // when
+        MockHttpServletResponse response = send(hashFile, request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+}
@@ -8,7 +8,6 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.ResultMatcher.matchAll;
@@ -45,6 +44,8 @@ import com.personalproject.homepage.error.ErrorMessage;
 import com.personalproject.homepage.helper.DtoCreator;
 import com.personalproject.homepage.helper.EntityCreator;
 import com.personalproject.homepage.service.CategoryService;
+import com.personalproject.homepage.service.CategoryTree;
+import com.personalproject.homepage.service.ContentVersion;
 
 @WebMvcTest(CategoryRestController.class)
 @CustomUnitTestSecurityConfig
@@ -65,6 +66,8 @@ public class CategoryRestControllerTest {
 
     @MockBean private CategoryService categoryService;
 
+    @MockBean private ContentVersion contentVersion;
+
     @BeforeEach
     void resetMember() {
 
@@ -87,7 +90,7 @@ public class CategoryRestControllerTest {
         @DisplayName("성공: 모든 카테고리를 조회한다")
         void Success_GetCategories_ReturnApiResultOfDtoList() throws Exception {
             // given - allCategoryTestList
-            given(categoryService.getAllCategories()).willReturn(allCategoryTestList);
+            given(categoryService.getAllCategories()).willReturn(CategoryTree.of(1l, allCategoryTestList, List.of()).getNodes());
 
             // when
             ResultActions result = mockMvc.perform(get(ROOT));
@@ -112,13 +115,14 @@ public class CategoryRestControllerTest {
         @DisplayName("성공: 모든 카테고리를 포스트 개수와 함께 조회한다.")
         void Success_GetCategoriesWithPostsCount_ReturnApiResultOfDtoList() throws Exception {
             // given - topCategoryTestList
-            Boolean visible = null;
-            Category.WithPostsCount pc = new Category.WithPostsCount(testTopLevelCategory, 3l);
-            List<Category.WithPostsCount> entityList = List.of(
-                pc,
-                new Category.WithPostsCount(testSubCategory, 5l)
+            CategoryTree tree = CategoryTree.of(1l,
+                List.of(testTopLevelCategory, testSubCategory),
+                List.of(
+                    EntityCreator.categoryPostCount(testTopLevelCategory.getIdx(), true, 3l),
+                    EntityCreator.categoryPostCount(testSubCategory.getIdx(), false, 5l)
+                )
             );
-            given(categoryService.getAllCategoriesWithPostsCount(eq(visible))).willReturn(entityList);
+            given(categoryService.getCategoryTree()).willReturn(tree);
 
             // when
             ResultActions result = mockMvc.perform(get(ROOT)
@@ -126,7 +130,7 @@ public class CategoryRestControllerTest {
             );
 
             // then
-            verify(categoryService).getAllCategoriesWithPostsCount(eq(visible));
+            verify(categoryService).getCategoryTree();
             result.andExpect(matchAll(
                 status().isOk(),
                 handler().handlerType(CategoryRestController.class),
@@ -138,6 +142,7 @@ public class CategoryRestControllerTest {
                 jsonPath("$.response.length()", is(1)),
                 jsonPath("$.response[?(@.categoryId == null)]", is(empty())),
                 jsonPath("$.response[?(@.postsCount == null)]", is(empty())),
+                jsonPath("$.response[0].postsCount", is(8)),
                 jsonPath("$.response[0].childList.length()", is(1))
             ));
         }
@@ -7,22 +7,28 @@ import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.ResultMatcher.matchAll;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.handler;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.List;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -30,10 +36,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import com.personalproject.homepage.config.CustomUnitTestSecurityConfig;
+import com.personalproject.homepage.dto.FileBatchResultDto;
 import com.personalproject.homepage.dto.FileResponseDto;
+import com.personalproject.homepage.dto.ImageOptimizeStatsDto;
+import com.personalproject.homepage.dto.UploadGcReportDto;
+import com.personalproject.homepage.dto.UploadSessionDto;
 import com.personalproject.homepage.error.ApiException;
 import com.personalproject.homepage.error.ErrorMessage;
+import com.personalproject.homepage.service.FileBatchUploader;
 import com.personalproject.homepage.service.FileService;
+import com.personalproject.homepage.service.ImageOptimizer;
+import com.personalproject.homepage.service.UploadGarbageCollector;
+import com.personalproject.homepage.service.UploadSessionService;
 
 @WebMvcTest(FileRestController.class)
 @CustomUnitTestSecurityConfig
@@ -47,6 +61,14 @@ public class FileRestControllerTest {
 
     @MockBean FileService fileService;
 
+    @MockBean FileBatchUploader fileBatchUploader;
+
+    @MockBean UploadGarbageCollector uploadGarbageCollector;
+
+    @MockBean ImageOptimizer imageOptimizer;
+
+    @MockBean UploadSessionService uploadSessionService;
+
 
     @Nested
     @DisplayName("POST /api/files")
@@ -110,6 +132,73 @@ public class FileRestControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/files/batch")
+    class Test_Upload_Files {
+        @Test
+        @DisplayName("성공: 여러 파일을 업로드하고 요청 순서대로 결과를 반환한다.")
+        void Success_ImageFiles_ReturnApiResultOfDtosInOrder() throws Exception {
+            // given
+            given(fileBatchUploader.saveAll(any())).willReturn(List.of(
+                FileBatchResultDto.success(new FileResponseDto("first.png", "/static/uploadfile/first.png")),
+                FileBatchResultDto.failure("이미지 파일만 업로드 할 수 있습니다.")
+            ));
+
+            // when
+            ResultActions result = mockMvc.perform(multipart("/api/files/batch")
+                .file(new MockMultipartFile("files", "first.png", "image/png", "content".getBytes()))
+                .file(new MockMultipartFile("files", "second.txt", "text/plain", "content".getBytes()))
+            );
+
+            // then
+            verify(fileBatchUploader).saveAll(any());
+            result.andExpect(matchAll(
+                status().isOk(),
+                handler().handlerType(FileRestController.class),
+                handler().methodName("uploadFiles"),
+                content().contentType(JSON_CONTENT_TYPE),
+                jsonPath("$.success", is(true)),
+                jsonPath("$.response[0].success", is(true)),
+                jsonPath("$.response[0].url", is("/static/uploadfile/first.png")),
+                jsonPath("$.response[1].success", is(false)),
+                jsonPath("$.response[1].error", is("이미지 파일만 업로드 할 수 있습니다."))
+            ));
+        }
+    }
+
+    @Nested
+    @DisplayName("PUT /api/files/sessions/{id}")
+    class Test_Write_Upload_Session {
+        @Test
+        @DisplayName("성공: 요청 본문을 offset 위치부터 쓰고 받은 크기를 반환한다.")
+        void Success_Chunk_ReturnApiResultOfSession() throws Exception {
+            // given
+            given(uploadSessionService.write(eq("session"), eq(8L), any())).willReturn(
+                new UploadSessionDto.Res("session", 20, 15)
+            );
+
+            // when
+            ResultActions result = mockMvc.perform(put("/api/files/sessions/session")
+                .param("offset", "8")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content("chunk".getBytes())
+            );
+
+            // then
+            verify(uploadSessionService).write(eq("session"), eq(8L), any());
+            result.andExpect(matchAll(
+                status().isOk(),
+                handler().handlerType(FileRestController.class),
+                handler().methodName("writeUploadSession"),
+                content().contentType(JSON_CONTENT_TYPE),
+                jsonPath("$.success", is(true)),
+                jsonPath("$.response.id", is("session")),
+                jsonPath("$.response.size", is(20)),
+                jsonPath("$.response.received", is(15))
+            ));
+        }
+    }
+
     @Nested
     @DisplayName("DELETE /api/files")
     class Test_Delete_File {
@@ -166,4 +255,83 @@ public class FileRestControllerTest {
             ));
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/files/stats")
+    class Test_Serve_Stats {
+        @Test
+        @DisplayName("성공: 업로드 파일 응답 통계를 반환한다.")
+        void Success_Stats_ReturnApiResultOfDto() throws Exception {
+            // when
+            ResultActions result = mockMvc.perform(get("/api/files/stats"));
+
+            // then
+            result.andExpect(matchAll(
+                status().isOk(),
+                handler().handlerType(FileRestController.class),
+                handler().methodName("getServeStats"),
+                content().contentType(JSON_CONTENT_TYPE),
+                jsonPath("$.success", is(true)),
+                jsonPath("$.error", is(nullValue())),
+                jsonPath("$.response.requests", is(0)),
+                jsonPath("$.response.notModified", is(0)),
+                jsonPath("$.response.partial", is(0)),
+                jsonPath("$.response.bytesServed", is(0))
+            ));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/files/optimization")
+    class Test_Optimize_Stats {
+        @Test
+        @DisplayName("성공: 업로드 이미지 최적화 통계를 반환한다.")
+        void Success_Stats_ReturnApiResultOfDto() throws Exception {
+            // given
+            given(imageOptimizer.getStats()).willReturn(new ImageOptimizeStatsDto(2, 1, 0, 3_000, 1_000, 2_000));
+
+            // when
+            ResultActions result = mockMvc.perform(get("/api/files/optimization"));
+
+            // then
+            result.andExpect(matchAll(
+                status().isOk(),
+                handler().handlerType(FileRestController.class),
+                handler().methodName("getOptimizeStats"),
+                content().contentType(JSON_CONTENT_TYPE),
+                jsonPath("$.success", is(true)),
+                jsonPath("$.response.optimized", is(2)),
+                jsonPath("$.response.savedBytes", is(2_000))
+            ));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/files/orphans")
+    class Test_Orphans {
+        @Test
+        @DisplayName("성공: 참조되지 않는 파일을 정리하지 않고 조회한다.")
+        void Success_DryRun_ReturnApiResultOfReport() throws Exception {
+            // given
+            given(uploadGarbageCollector.collect(eq(true))).willReturn(
+                new UploadGcReportDto(true, 3, 1, 10L, List.of("orphan.png"))
+            );
+
+            // when
+            ResultActions result = mockMvc.perform(get("/api/files/orphans"));
+
+            // then
+            verify(uploadGarbageCollector).collect(eq(true));
+            result.andExpect(matchAll(
+                status().isOk(),
+                handler().handlerType(FileRestController.class),
+                handler().methodName("getOrphans"),
+                content().contentType(JSON_CONTENT_TYPE),
+                jsonPath("$.success", is(true)),
+                jsonPath("$.response.dryRun", is(true)),
+                jsonPath("$.response.orphanFiles", is(1)),
+                jsonPath("$.response.orphans[0]", is("orphan.png"))
+            ));
+        }
+    }
 }
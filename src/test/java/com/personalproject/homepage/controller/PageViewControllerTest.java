@@ -1,21 +1,28 @@
 package com.personalproject.homepage.controller;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.ResultMatcher.matchAll;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.handler;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,6 +36,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
@@ -47,7 +55,10 @@ import com.personalproject.homepage.error.ApiException;
 import com.personalproject.homepage.error.ErrorMessage;
 import com.personalproject.homepage.helper.EntityCreator;
 import com.personalproject.homepage.service.CategoryService;
+import com.personalproject.homepage.service.CategoryTree;
+import com.personalproject.homepage.service.ContentVersion;
 import com.personalproject.homepage.service.PostService;
+import com.personalproject.homepage.util.ConditionalRequests;
 
 @WebMvcTest(PageViewController.class)
 @CustomUnitTestSecurityConfig
@@ -64,22 +75,38 @@ public class PageViewControllerTest {
     private static final Category testChildCategory = EntityCreator.category(100l, "child", testParentCategory);
     private static final Category testChildCategory2 = EntityCreator.category(101l, "child2", testParentCategory);
 
+    private static final LocalDateTime TEST_CREATE_AT = LocalDateTime.of(2021, 7, 1, 12, 0);
+
     private static final Post testPost = EntityCreator.post(99l, testChildCategory, "title", "content", "desc", TEST_VISIBLE);
-    private static final List<Post> testPostList = LongStream.rangeClosed(1, 7)
+    private static final List<Post.Summary> testPostList = LongStream.rangeClosed(1, 7)
         .mapToObj(id -> EntityCreator.post(id, id <= 4 ? testChildCategory : testChildCategory2, "title", "content", "desc", TEST_VISIBLE))
+        .map(EntityCreator::postSummary)
         .collect(Collectors.toList());
 
-    private static final List<Post> testChildCategoryPostList = new ArrayList<>(testPostList.subList(0, 5));
-    private static final List<Category.WithPostsCount> testPostsCountList = List.of(
-        new Category.WithPostsCount(testParentCategory, 0l),
-        new Category.WithPostsCount(testChildCategory, 4l),
-        new Category.WithPostsCount(testChildCategory2, 3l)
+    private static final List<Post.Summary> testChildCategoryPostList = new ArrayList<>(testPostList.subList(0, 5));
+    private static final CategoryTree testCategoryTree = CategoryTree.of(1l,
+        List.of(testParentCategory, testChildCategory, testChildCategory2),
+        List.of(
+            EntityCreator.categoryPostCount(testChildCategory.getIdx(), TEST_VISIBLE, 4l),
+            EntityCreator.categoryPostCount(testChildCategory2.getIdx(), TEST_VISIBLE, 3l)
+        )
     );
 
     // client로 보낼 dto 및 object
-    private static final CategoryDto.Res testParentCategoryResult = CategoryDto.Res.builder().name("parent").build();
-    private static final CategoryDto.Res testChildCategoryResult = CategoryDto.Res.builder().name("child").parent("parent").build();
-    private static final CategoryDto.Res testChildCategory2Result = CategoryDto.Res.builder().name("child2").parent("parent").build();
+    private static final CategoryDto.Res testParentCategoryResult = CategoryDto.Res.builder()
+        .name("parent")
+        .path(List.of("parent"))
+        .build();
+    private static final CategoryDto.Res testChildCategoryResult = CategoryDto.Res.builder()
+        .name("child")
+        .parent("parent")
+        .path(List.of("parent", "child"))
+        .build();
+    private static final CategoryDto.Res testChildCategory2Result = CategoryDto.Res.builder()
+        .name("child2")
+        .parent("parent")
+        .path(List.of("parent", "child2"))
+        .build();
 
     private static final PostDto.Res testPostResult = PostDto.Res.builder()
         .id(99l)
@@ -90,19 +117,18 @@ public class PageViewControllerTest {
         .visible(TEST_VISIBLE)
         .hit(0l)
         .build();
-    private static final List<PostDto.Res> testPostListResult = LongStream.rangeClosed(1, 7)
-        .mapToObj(id -> PostDto.Res.builder()
+    private static final List<PostDto.Summary> testPostListResult = LongStream.rangeClosed(1, 7)
+        .mapToObj(id -> PostDto.Summary.builder()
             .id(id)
             .category(id <= 4 ? testChildCategoryResult : testChildCategory2Result)
             .title("title")
-            .content("content")
             .desc("desc")
             .visible(TEST_VISIBLE)
             .hit(0l)
             .build())
         .collect(Collectors.toList());
 
-    private static final List<PostDto.Res> testChildCategoryPostListResult = new ArrayList<>(testPostListResult.subList(0, 5));
+    private static final List<PostDto.Summary> testChildCategoryPostListResult = new ArrayList<>(testPostListResult.subList(0, 5));
     private static final List<CategoryDto.ResWithPostsCount> testPostsCountListResult = new ArrayList<>();
     private static final long totalPostsCount = 7l;
     private static final PostsPaginationDto testPostsPagination = new PostsPaginationDto(1, 1);
@@ -138,6 +164,8 @@ public class PageViewControllerTest {
 
     @MockBean CategoryService categoryService;
 
+    @MockBean ContentVersion contentVersion;
+
     @Nested
     @DisplayName("GET / and /category - indexPage")
     class Test_Get_IndexPage {
@@ -179,14 +207,14 @@ public class PageViewControllerTest {
         // 인덱스 페이지 요청 성공
         void successIndexPageReturnModelAndView(final String uri) throws Exception {
             given(postService.getPostsByVisible(eq(TEST_VISIBLE), any(Pageable.class))).willReturn(testPostList);
-            given(categoryService.getAllCategoriesWithPostsCount(eq(TEST_VISIBLE))).willReturn(testPostsCountList);
+            given(categoryService.getCategoryTree()).willReturn(testCategoryTree);
 
             // when
             ResultActions result = mockMvc.perform(get(uri));
 
             // then
             verify(postService).getPostsByVisible(eq(TEST_VISIBLE), any(Pageable.class));
-            verify(categoryService).getAllCategoriesWithPostsCount(eq(TEST_VISIBLE));
+            verify(categoryService).getCategoryTree();
             result.andExpect(matchAll(
                 status().isOk(),
                 handler().handlerType(PageViewController.class),
@@ -251,15 +279,20 @@ public class PageViewControllerTest {
         @DisplayName("성공: postId에 맞는 포스트 페이지 요청")
         void Success_PostPage_ReturnModelAndView() throws Exception {
             // given
+            given(postService.getPostLastModified(anyLong())).willReturn(
+                new Post.LastModified(testPost.getIdx(), TEST_CREATE_AT, null, TEST_VISIBLE)
+            );
             given(postService.getPost(anyLong())).willReturn(testPost);
-            given(categoryService.getAllCategoriesWithPostsCount(eq(TEST_VISIBLE))).willReturn(testPostsCountList);
+            given(categoryService.getCategoryTree()).willReturn(testCategoryTree);
+            given(contentVersion.getTag()).willReturn("1");
+            given(contentVersion.getChangedAt()).willReturn(TEST_CREATE_AT.minusDays(1));
 
             // when
             ResultActions result = mockMvc.perform(get("/" + testPost.getIdx()));
 
             // then
             verify(postService).getPost(anyLong());
-            verify(categoryService).getAllCategoriesWithPostsCount(eq(TEST_VISIBLE));
+            verify(categoryService).getCategoryTree();
             result.andExpect(matchAll(
                 status().isOk(),
                 handler().handlerType(PageViewController.class),
@@ -271,7 +304,81 @@ public class PageViewControllerTest {
                 model().attribute("selectedCategory", samePropertyValuesAs(testPostResult.getCategory())),
                 model().attribute("totalPostsCount", equalTo(totalPostsCount)),
                 model().attribute("postsCountList", samePropertyValuesAs(testPostsCountListResult)),
-                model().attribute("pageType", equalTo(PageType.POST_DETAIL))
+                model().attribute("pageType", equalTo(PageType.POST_DETAIL)),
+                header().exists(HttpHeaders.ETAG),
+                header().string(HttpHeaders.LAST_MODIFIED, httpDate(TEST_CREATE_AT))
+            ));
+        }
+
+        @Test
+        @DisplayName("성공: 포스트 수정 이후 카테고리 등이 바뀌었으면 If-Modified-Since가 포스트 수정 시간 이후여도 200")
+        void Success_ChangedAfterIfModifiedSince_200() throws Exception {
+            // given
+            given(postService.getPostLastModified(anyLong())).willReturn(
+                new Post.LastModified(testPost.getIdx(), TEST_CREATE_AT, null, TEST_VISIBLE)
+            );
+            given(postService.getPost(anyLong())).willReturn(testPost);
+            given(categoryService.getCategoryTree()).willReturn(testCategoryTree);
+            given(contentVersion.getTag()).willReturn("1");
+            given(contentVersion.getChangedAt()).willReturn(TEST_CREATE_AT.plusDays(2));
+
+            // when
+            ResultActions result = mockMvc.perform(
+                get("/" + testPost.getIdx()).header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(TEST_CREATE_AT.plusDays(1)))
+            );
+
+            // then
+            verify(postService).getPost(anyLong());
+            verify(postService, never()).increaseHit(anyLong());
+            result.andExpect(matchAll(
+                status().isOk(),
+                header().string(HttpHeaders.LAST_MODIFIED, httpDate(TEST_CREATE_AT.plusDays(2)))
+            ));
+        }
+
+        @Test
+        @DisplayName("성공: If-Modified-Since 이후 변경이 없으면 포스트를 조회하지 않고 304, 조회수는 증가")
+        void Success_NotModifiedSince_304() throws Exception {
+            // given
+            given(postService.getPostLastModified(anyLong())).willReturn(
+                new Post.LastModified(testPost.getIdx(), TEST_CREATE_AT, TEST_CREATE_AT.plusDays(1), TEST_VISIBLE)
+            );
+            given(contentVersion.getTag()).willReturn("1");
+            given(contentVersion.getChangedAt()).willReturn(TEST_CREATE_AT);
+
+            // when
+            ResultActions result = mockMvc.perform(
+                get("/" + testPost.getIdx()).header(HttpHeaders.IF_MODIFIED_SINCE, httpDate(TEST_CREATE_AT.plusDays(1)))
+            );
+
+            // then
+            verify(postService, never()).getPost(anyLong());
+            verify(postService).increaseHit(testPost.getIdx());
+            result.andExpect(status().isNotModified());
+        }
+
+        @Test
+        @DisplayName("성공: ETag가 같으면 포스트를 조회하지 않고 304, 조회수는 증가")
+        void Success_NotModified_304() throws Exception {
+            // given
+            given(postService.getPostLastModified(anyLong())).willReturn(
+                new Post.LastModified(testPost.getIdx(), TEST_CREATE_AT, null, TEST_VISIBLE)
+            );
+            given(contentVersion.getTag()).willReturn("1");
+            given(contentVersion.getChangedAt()).willReturn(TEST_CREATE_AT.minusDays(1));
+            String etag = "\"" + ConditionalRequests.versionEtag(
+                ConditionalRequests.postEtag(testPost.getIdx(), TEST_CREATE_AT), "1"
+            ) + "\"";
+
+            // when
+            ResultActions result = mockMvc.perform(get("/" + testPost.getIdx()).header(HttpHeaders.IF_NONE_MATCH, etag));
+
+            // then
+            verify(postService, never()).getPost(anyLong());
+            verify(postService).increaseHit(testPost.getIdx());
+            result.andExpect(matchAll(
+                status().isNotModified(),
+                header().string(HttpHeaders.ETAG, etag)
             ));
         }
 
@@ -281,6 +388,9 @@ public class PageViewControllerTest {
             // given
             Post post = MAPPER.readValue(MAPPER.writeValueAsString(testPost), Post.class);
             ReflectionTestUtils.setField(post, "visible", false);
+            given(postService.getPostLastModified(anyLong())).willReturn(
+                new Post.LastModified(post.getIdx(), TEST_CREATE_AT, null, false)
+            );
             given(postService.getPost(anyLong())).willReturn(post);
 
             // when
@@ -301,7 +411,7 @@ public class PageViewControllerTest {
         @DisplayName("실패: 포스트 없음 - forward 404 에러 페이지")
         void Fail_NonExistentPost_Forward404Page() throws Exception {
             // given
-            given(postService.getPost(anyLong())).willThrow(
+            given(postService.getPostLastModified(anyLong())).willThrow(
                 new ApiException(ErrorMessage.NON_EXISTENT, "포스트")
             );
 
@@ -309,7 +419,8 @@ public class PageViewControllerTest {
             ResultActions result = mockMvc.perform(get("/99999")); // not existent
 
             // then
-            verify(postService).getPost(anyLong());
+            verify(postService).getPostLastModified(anyLong());
+            verify(postService, never()).getPost(anyLong());
             result.andExpect(matchAll(
                 status().isNotFound(),
                 handler().handlerType(PageViewController.class),
@@ -347,14 +458,14 @@ public class PageViewControllerTest {
             // given
             given(postService.getPostsByVisibleAndCategory(eq(TEST_VISIBLE), any(CategoryDto.NameReq.class), any(Pageable.class)))
                 .willReturn(testPostList);
-            given(categoryService.getAllCategoriesWithPostsCount(eq(TEST_VISIBLE))).willReturn(testPostsCountList);
+            given(categoryService.getCategoryTree()).willReturn(testCategoryTree);
 
             // when
             ResultActions result = mockMvc.perform(get("/category/" + testParentCategory.getName()));
 
             // then
             verify(postService).getPostsByVisibleAndCategory(eq(TEST_VISIBLE), any(CategoryDto.NameReq.class), any(Pageable.class));
-            verify(categoryService).getAllCategoriesWithPostsCount(eq(TEST_VISIBLE));
+            verify(categoryService).getCategoryTree();
             result.andExpect(matchAll(
                 status().isOk(),
                 handler().handlerType(PageViewController.class),
@@ -444,7 +555,7 @@ public class PageViewControllerTest {
             // given
             given(postService.getPostsByVisibleAndCategory(eq(TEST_VISIBLE), any(CategoryDto.NameReq.class), any(Pageable.class)))
                 .willReturn(testChildCategoryPostList);
-            given(categoryService.getAllCategoriesWithPostsCount(eq(TEST_VISIBLE))).willReturn(testPostsCountList);
+            given(categoryService.getCategoryTree()).willReturn(testCategoryTree);
             String parent = testParentCategory.getName();
             String child = testChildCategory.getName();
 
@@ -453,7 +564,7 @@ public class PageViewControllerTest {
 
             // then
             verify(postService).getPostsByVisibleAndCategory(eq(TEST_VISIBLE), any(CategoryDto.NameReq.class), any(Pageable.class));
-            verify(categoryService).getAllCategoriesWithPostsCount(eq(TEST_VISIBLE));
+            verify(categoryService).getCategoryTree();
             result.andExpect(matchAll(
                 status().isOk(),
                 handler().handlerType(PageViewController.class),
@@ -533,4 +644,76 @@ public class PageViewControllerTest {
             ));
         }
     }
+
+    @Nested
+    @DisplayName("GET /category/**")
+    class Test_Get_PostListPageOfDeepCategory {
+        @Test
+        @DisplayName("성공: 세 단계 이상의 카테고리에 속한 게시글 페이지 요청")
+        void Success_DeepCategoryPage_ReturnModelAndView() throws Exception {
+            // given
+            Category top = EntityCreator.category(98l, "top", null);
+            Category parent = EntityCreator.category(99l, "parent", top);
+            Category child = EntityCreator.category(100l, "child", parent);
+            CategoryTree categoryTree = CategoryTree.of(1l,
+                List.of(top, parent, child),
+                List.of(EntityCreator.categoryPostCount(child.getIdx(), TEST_VISIBLE, 4l))
+            );
+            List<String> path = List.of("top", "parent", "child");
+            given(postService.getPostsByVisibleAndCategory(
+                eq(TEST_VISIBLE), argThat(dto -> path.equals(dto.getPath())), any(Pageable.class))
+            ).willReturn(testPostList.subList(0, 4));
+            given(categoryService.getCategoryTree()).willReturn(categoryTree);
+            CategoryDto.Res selectedCategory = CategoryDto.Res.builder()
+                .name("child")
+                .parent("parent")
+                .path(path)
+                .build();
+
+            // when
+            ResultActions result = mockMvc.perform(get("/category/top/parent/child"));
+
+            // then
+            verify(postService).getPostsByVisibleAndCategory(
+                eq(TEST_VISIBLE), argThat(dto -> path.equals(dto.getPath())), any(Pageable.class));
+            verify(categoryService).getCategoryTree();
+            result.andExpect(matchAll(
+                status().isOk(),
+                handler().handlerType(PageViewController.class),
+                handler().methodName("pageCategory"),
+                content().contentType(HTML_CONTENT_TYPE),
+                view().name(ViewName.INDEX),
+                model().attribute("selectedCategory", samePropertyValuesAs(selectedCategory)),
+                model().attribute("postList", everyItem(hasProperty("category", hasProperty("path", equalTo(path))))),
+                model().attribute("totalPostsCount", equalTo(4l)),
+                model().attribute("pagination", samePropertyValuesAs(testPostsPagination)),
+                model().attribute("pageType", equalTo(PageType.POST_LIST))
+            ));
+        }
+
+        @Test
+        @DisplayName("실패: 카테고리 이름이 없는 주소 - 404 에러 페이지")
+        void Fail_EmptyCategoryPath_Forward404Page() throws Exception {
+            // given
+
+            // when
+            ResultActions result = mockMvc.perform(get("/category/"));
+
+            // then
+            verify(postService, never()).getPostsByVisibleAndCategory(anyBoolean(), any(CategoryDto.NameReq.class), any(Pageable.class));
+            result.andExpect(matchAll(
+                status().isNotFound(),
+                handler().handlerType(PageViewController.class),
+                handler().methodName("pageCategory"),
+                content().contentType(HTML_CONTENT_TYPE),
+                view().name(ViewName.ERROR_404)
+            ));
+        }
+    }
+
+    private static String httpDate(LocalDateTime dateTime) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setDate(HttpHeaders.LAST_MODIFIED, dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        return headers.getFirst(HttpHeaders.LAST_MODIFIED);
+    }
 }
@@ -1,5 +1,6 @@
 package com.personalproject.homepage.controller;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
@@ -10,7 +11,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.ResultMatcher.matchAll;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -19,9 +22,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.handler;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
@@ -33,6 +38,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -41,6 +47,8 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.personalproject.homepage.config.CustomUnitTestSecurityConfig;
+import com.personalproject.homepage.dto.CursorPageable;
+import com.personalproject.homepage.dto.CursorSlice;
 import com.personalproject.homepage.dto.PostDto;
 import com.personalproject.homepage.entity.Category;
 import com.personalproject.homepage.entity.Post;
@@ -48,7 +56,10 @@ import com.personalproject.homepage.error.ApiException;
 import com.personalproject.homepage.error.ErrorMessage;
 import com.personalproject.homepage.helper.DtoCreator;
 import com.personalproject.homepage.helper.EntityCreator;
+import com.personalproject.homepage.service.CategoryService;
+import com.personalproject.homepage.service.CategoryTree;
 import com.personalproject.homepage.service.PostService;
+import com.personalproject.homepage.util.ConditionalRequests;
 
 @WebMvcTest(PostRestController.class)
 @CustomUnitTestSecurityConfig
@@ -62,22 +73,27 @@ public class PostRestControllerTest {
     private static final String QUERY_STRING_VISIBLE = "visible";
 
     private static final int TEST_SIZE = 8;
+    private static final LocalDateTime TEST_CREATE_AT = LocalDateTime.of(2021, 7, 1, 12, 0);
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
     private static final Category testCategory = EntityCreator.category(100l, "name",
         EntityCreator.category(99l, "parent", null)
     );
-    private static final List<Post> testPostList = LongStream.rangeClosed(1, TEST_SIZE)
+    private static final List<Post.Summary> testPostList = LongStream.rangeClosed(1, TEST_SIZE)
         .mapToObj(id -> EntityCreator.post(id, testCategory, "title", "content", "desc", id % 2 == 0))
+        .map(EntityCreator::postSummary)
         .collect(Collectors.toList());
-    private static final List<Post> testVisiblePostList = LongStream.rangeClosed(1, TEST_SIZE)
+    private static final List<Post.Summary> testVisiblePostList = LongStream.rangeClosed(1, TEST_SIZE)
         .mapToObj(id -> EntityCreator.post(id, testCategory, "title", "content", "desc", true))
+        .map(EntityCreator::postSummary)
         .collect(Collectors.toList());
 
     @Autowired MockMvc mockMvc;
 
     @MockBean PostService postService;
 
+    @MockBean CategoryService categoryService;
+
     @Nested
     @DisplayName("GET /api/posts")
     class Test_Get_Posts {
@@ -101,7 +117,32 @@ public class PostRestControllerTest {
                 jsonPath("$.error", is(nullValue())),
                 jsonPath("$.response", is(not(empty()))),
                 jsonPath("$.response.length()", lessThanOrEqualTo(TEST_SIZE)),
-                jsonPath("$.response[?(@.id == null)]", is(empty()))
+                jsonPath("$.response[?(@.id == null)]", is(empty())),
+                jsonPath("$.response[0].content").doesNotExist()
+            ));
+        }
+
+        @Test
+        @DisplayName("성공: 포스트의 카테고리 path를 카테고리 snapshot에서 최상위부터 채운다.")
+        void Success_GetPostsOfDeepCategory_ReturnCategoryPath() throws Exception {
+            // given
+            Category top = EntityCreator.category(98l, "top", null);
+            Category parent = EntityCreator.category(99l, "parent", top);
+            Category name = EntityCreator.category(100l, "name", parent);
+            CategoryTree categoryTree = CategoryTree.of(1l, List.of(top, parent, name), List.of());
+            given(postService.getPosts(any(Pageable.class))).willReturn(testPostList);
+            given(categoryService.getCategoryTree()).willReturn(categoryTree);
+
+            // when
+            ResultActions result = mockMvc.perform(get(ROOT));
+
+            // then
+            verify(categoryService).getCategoryTree();
+            result.andExpect(matchAll(
+                status().isOk(),
+                jsonPath("$.response[0].category.name", is("name")),
+                jsonPath("$.response[0].category.parent", is("parent")),
+                jsonPath("$.response[0].category.path", contains("top", "parent", "name"))
             ));
         }
 
@@ -228,6 +269,63 @@ public class PostRestControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/posts?after=, ?before=")
+    class Test_Get_Posts_By_Cursor {
+        @Test
+        @DisplayName("성공: 빈 after 커서 - 최신 포스트부터 반환한다.")
+        void Success_GetPostsFirstCursor_ReturnApiResultOfCursorDto() throws Exception {
+            // given
+            given(postService.getPostsByCursor(isNull(), isNull(Long.class), any(CursorPageable.class)))
+                .willReturn(new CursorSlice<>(testPostList, false, false));
+
+            // when
+            ResultActions result = mockMvc.perform(get(ROOT)
+                .param("after", "")
+            );
+
+            // then
+            verify(postService).getPostsByCursor(isNull(), isNull(Long.class), any(CursorPageable.class));
+            result.andExpect(matchAll(
+                status().isOk(),
+                handler().handlerType(PostRestController.class),
+                handler().methodName("getPostsAfter"),
+                content().contentType(JSON_CONTENT_TYPE),
+                jsonPath("$.success", is(true)),
+                jsonPath("$.error", is(nullValue())),
+                jsonPath("$.response.postList.length()", lessThanOrEqualTo(TEST_SIZE)),
+                jsonPath("$.response.after", is(nullValue())),
+                jsonPath("$.response.before", is(nullValue()))
+            ));
+        }
+
+        @Test
+        @DisplayName("실패: 유효하지 않은 before 커서")
+        void Fail_InvalidBeforeCursor_ReturnApiResultOfException() throws Exception {
+            // given
+            ErrorMessage errorMessage = ErrorMessage.INVALID_PARAM;
+            String message = errorMessage.getMessage("before");
+            int status = errorMessage.getStatus().value();
+
+            // when
+            ResultActions result = mockMvc.perform(get(ROOT)
+                .param("before", "invalid cursor")
+            );
+
+            // then
+            result.andExpect(matchAll(
+                status().isBadRequest(),
+                handler().handlerType(PostRestController.class),
+                handler().methodName("getPostsBefore"),
+                content().contentType(JSON_CONTENT_TYPE),
+                jsonPath("$.success", is(false)),
+                jsonPath("$.response", is(nullValue())),
+                jsonPath("$.error.message", is(message)),
+                jsonPath("$.error.status", is(status))
+            ));
+        }
+    }
+
     @Nested
     @DisplayName("POST /api/posts")
     class Test_Post_Post {
@@ -275,6 +373,9 @@ public class PostRestControllerTest {
         void Success_GetPost_ReturnApiResultOfDto() throws Exception {
             // given
             Post returnEntity = EntityCreator.post(1l, testCategory, "title", "content", "desc", true);
+            given(postService.getPostLastModified(anyLong())).willReturn(
+                new Post.LastModified(1l, TEST_CREATE_AT, null, true)
+            );
             given(postService.getPost(anyLong())).willReturn(returnEntity);
 
             // when
@@ -296,7 +397,32 @@ public class PostRestControllerTest {
                 jsonPath("$.response.title", is(returnEntity.getTitle())),
                 jsonPath("$.response.content", is(returnEntity.getContent())),
                 jsonPath("$.response.desc", is(returnEntity.getDesc())),
-                jsonPath("$.response.visible", is(returnEntity.getVisible()))
+                jsonPath("$.response.visible", is(returnEntity.getVisible())),
+                header().exists(HttpHeaders.ETAG),
+                header().exists(HttpHeaders.LAST_MODIFIED)
+            ));
+        }
+
+        @Test
+        @DisplayName("성공: ETag가 같으면 포스트를 조회하지 않고 304를 반환한다.")
+        void Success_NotModified_Return304() throws Exception {
+            // given
+            given(postService.getPostLastModified(anyLong())).willReturn(
+                new Post.LastModified(1l, TEST_CREATE_AT, null, true)
+            );
+            // 관리자 응답의 ETag에는 -admin이 붙는다.
+            String etag = "\"" + ConditionalRequests.postEtag(1l, TEST_CREATE_AT) + "-admin\"";
+
+            // when
+            ResultActions result = mockMvc.perform(get(ROOT + "/1").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+            // then
+            verify(postService, never()).getPost(anyLong());
+            verify(postService).increaseHit(1l);
+            result.andExpect(matchAll(
+                status().isNotModified(),
+                handler().methodName("getPost"),
+                header().string(HttpHeaders.ETAG, etag)
             ));
         }
 
@@ -307,7 +433,7 @@ public class PostRestControllerTest {
             ErrorMessage errorMessage = ErrorMessage.NON_EXISTENT;
             String message = errorMessage.getMessage("포스트");
             int status = errorMessage.getStatus().value();
-            given(postService.getPost(anyLong())).willThrow(
+            given(postService.getPostLastModified(anyLong())).willThrow(
                 new ApiException(errorMessage, "포스트")
             );
 
@@ -315,7 +441,7 @@ public class PostRestControllerTest {
             ResultActions result = mockMvc.perform(get(ROOT + "/1"));
 
             // then
-            verify(postService).getPost(anyLong());
+            verify(postService).getPostLastModified(anyLong());
             result.andExpect(matchAll(
                 status().isBadRequest(),
                 handler().handlerType(PostRestController.class),
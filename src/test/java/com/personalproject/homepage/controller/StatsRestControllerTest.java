@@ -0,0 +1,70 @@
+package com.personalproject.homepage.controller;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.ResultMatcher.matchAll;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.handler;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.personalproject.homepage.config.CustomUnitTestSecurityConfig;
+import com.personalproject.homepage.config.web.CompressionStats;
+import com.personalproject.homepage.dto.CompressionStatsDto;
+
+@WebMvcTest(StatsRestController.class)
+@CustomUnitTestSecurityConfig
+@WithMockUser(roles = "ADMIN")
+@ActiveProfiles("test")
+public class StatsRestControllerTest {
+
+    private static final String JSON_CONTENT_TYPE = "application/json;charset=utf8";
+
+    @Autowired MockMvc mockMvc;
+
+    @MockBean CompressionStats compressionStats;
+
+    @Nested
+    @DisplayName("GET /api/stats/compression")
+    class Test_Compression_Stats {
+        @Test
+        @DisplayName("성공: 경로별 압축 통계를 반환한다.")
+        void Success_Stats_ReturnApiResultOfDtos() throws Exception {
+            // given
+            given(compressionStats.getStats()).willReturn(List.of(
+                new CompressionStatsDto("/{postId}", 2, 2, 10_000, 3_000, 7_000)
+            ));
+
+            // when
+            ResultActions result = mockMvc.perform(get("/api/stats/compression"));
+
+            // then
+            result.andExpect(matchAll(
+                status().isOk(),
+                handler().handlerType(StatsRestController.class),
+                handler().methodName("getCompressionStats"),
+                content().contentType(JSON_CONTENT_TYPE),
+                jsonPath("$.success", is(true)),
+                jsonPath("$.error", is(nullValue())),
+                jsonPath("$.response[0].route", is("/{postId}")),
+                jsonPath("$.response[0].compressedResponses", is(2)),
+                jsonPath("$.response[0].savedBytes", is(7_000))
+            ));
+        }
+    }
+}
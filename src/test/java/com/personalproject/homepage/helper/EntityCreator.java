@@ -1,8 +1,10 @@
 package com.personalproject.homepage.helper;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.personalproject.homepage.entity.Category;
+import com.personalproject.homepage.entity.CategoryPostCount;
 import com.personalproject.homepage.entity.Post;
 
 /**
@@ -47,4 +49,44 @@ public class EntityCreator {
         if (idx != null) ReflectionTestUtils.setField(entity, "idx", idx);
         return entity;
     }
+
+    /**
+     * 포스트 Entity를 목록 조회 결과로 변환한다.
+     * @param post
+     * @return {@link Post.Summary}
+     */
+    public static Post.Summary postSummary(Post post) {
+        Category category = post.getCategory();
+        Category parentCategory = category == null ? null : category.getParentCategory();
+        return new Post.Summary(
+            post.getIdx(),
+            post.getTitle(),
+            post.getDesc(),
+            post.getExcerpt(),
+            post.getReadingMinutes(),
+            post.getThumbnail(),
+            post.getHit(),
+            post.getVisible(),
+            post.getCreateAt(),
+            post.getUpdateAt(),
+            category == null ? null : category.getIdx(),
+            category == null ? null : category.getName(),
+            parentCategory == null ? null : parentCategory.getName()
+        );
+    }
+
+    /**
+     * 카테고리별 포스트 수 counter Entity를 생성한다.
+     * @param categoryIdx
+     * @param visible
+     * @param postsCount
+     * @return {@link CategoryPostCount}
+     */
+    public static CategoryPostCount categoryPostCount(Long categoryIdx, Boolean visible, Long postsCount) {
+        CategoryPostCount entity = BeanUtils.instantiateClass(CategoryPostCount.class);
+        ReflectionTestUtils.setField(entity, "categoryIdx", categoryIdx);
+        ReflectionTestUtils.setField(entity, "visible", visible);
+        ReflectionTestUtils.setField(entity, "postsCount", postsCount);
+        return entity;
+    }
 }
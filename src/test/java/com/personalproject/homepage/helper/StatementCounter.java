@@ -0,0 +1,52 @@
+package com.personalproject.homepage.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * 테스트 환경에서 실행된 SQL statement 수를 세는 클래스.
+ * Hibernate Statistics의 prepared statement 수를 사용한다.
+ * 측정 전 {@link #clear()}로 persistence context를 비워야 지연 로딩으로 인한 조회까지 센다.
+ */
+public class StatementCounter {
+
+    private final EntityManager entityManager;
+
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * 변경 내용을 DB에 반영하고 persistence context와 statement 수를 비운다.
+     */
+    public void clear() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    /**
+     * @return 마지막 {@link #clear()} 이후 실행된 statement 수
+     */
+    public long count() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * 마지막 {@link #clear()} 이후 실행된 statement 수가 expected와 다르면 실패한다.
+     * @param expected 기대하는 statement 수
+     */
+    public void assertCount(long expected) {
+        assertThat(count())
+            .as("실행된 SQL statement 수")
+            .isEqualTo(expected);
+    }
+}
@@ -0,0 +1,150 @@
+package com.personalproject.homepage.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.entity.Category;
+import com.personalproject.homepage.helper.EntityCreator;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class CategoryClosureRepositoryTest {
+
+    private final CategoryClosureRepository categoryClosureRepository;
+
+    private final CategoryRepository categoryRepository;
+
+    private final PostRepository postRepository;
+
+    private Category savedRoot;
+    private Category savedChild;
+    private Category savedGrandChild;
+    private Category savedOtherRoot;
+
+    @Autowired
+    public CategoryClosureRepositoryTest(
+        CategoryClosureRepository categoryClosureRepository,
+        CategoryRepository categoryRepository,
+        PostRepository postRepository
+    ) {
+        this.categoryClosureRepository = categoryClosureRepository;
+        this.categoryRepository = categoryRepository;
+        this.postRepository = postRepository;
+    }
+
+    @BeforeEach
+    void resetPersist() {
+        // root
+        //  └ child
+        //     └ grandChild
+        // otherRoot
+        savedRoot = save(EntityCreator.category(null, "root", null));
+        savedChild = save(EntityCreator.category(null, "child", savedRoot));
+        savedGrandChild = save(EntityCreator.category(null, "grandChild", savedChild));
+        savedOtherRoot = save(EntityCreator.category(null, "otherRoot", null));
+    }
+
+    // CategoryService.createCategory와 같이 closure row를 추가한다.
+    private Category save(Category category) {
+        categoryRepository.save(category);
+        categoryClosureRepository.insertSelf(category.getIdx());
+        if (category.getParentCategory() != null) {
+            categoryClosureRepository.insertSubtreeUnder(category.getIdx(), category.getParentCategory().getIdx());
+        }
+        return category;
+    }
+
+    @Nested
+    @DisplayName("Create")
+    class Test_Create_Closure {
+        @Test
+        @DisplayName("성공: 새 카테고리는 자기 자신과 모든 조상에 연결된다.")
+        void Success_NewCategory_LinkedToAllAncestors() {
+            // then
+            assertThat(categoryClosureRepository.findDescendantIdxList(savedRoot.getIdx()))
+                .containsExactlyInAnyOrder(savedRoot.getIdx(), savedChild.getIdx(), savedGrandChild.getIdx());
+            assertThat(categoryClosureRepository.existsByAncestorIdxAndDescendantIdx(savedRoot.getIdx(), savedGrandChild.getIdx()))
+                .isTrue();
+            assertThat(categoryClosureRepository.existsByAncestorIdxAndDescendantIdx(savedGrandChild.getIdx(), savedRoot.getIdx()))
+                .isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Read")
+    class Test_Read_Closure {
+        @Test
+        @DisplayName("성공: 하위 트리 전체의 포스트 수를 반환한다.")
+        void Success_CountPostsInSubtree_ReturnCount() {
+            // given
+            postRepository.save(EntityCreator.post(null, savedChild, "title", "content", "desc", true));
+            postRepository.save(EntityCreator.post(null, savedGrandChild, "title", "content", "desc", false));
+
+            // when
+            long rootCount = categoryClosureRepository.countPostsInSubtree(savedRoot.getIdx());
+            long grandChildCount = categoryClosureRepository.countPostsInSubtree(savedGrandChild.getIdx());
+            long otherRootCount = categoryClosureRepository.countPostsInSubtree(savedOtherRoot.getIdx());
+
+            // then
+            assertThat(rootCount).isEqualTo(2);
+            assertThat(grandChildCount).isEqualTo(1);
+            assertThat(otherRootCount).isEqualTo(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Update")
+    class Test_Update_Closure {
+        @Test
+        @DisplayName("성공: 하위 트리를 다른 카테고리 아래로 옮긴다.")
+        void Success_MoveSubtree_Update() {
+            // given - child와 grandChild를 otherRoot 아래로 옮긴다.
+            List<Long> subtreeIdxList = categoryClosureRepository.findDescendantIdxList(savedChild.getIdx());
+
+            // when
+            categoryClosureRepository.deleteSubtreeFromAncestors(subtreeIdxList);
+            categoryClosureRepository.insertSubtreeUnder(savedChild.getIdx(), savedOtherRoot.getIdx());
+
+            // then
+            assertThat(categoryClosureRepository.findDescendantIdxList(savedRoot.getIdx()))
+                .containsExactly(savedRoot.getIdx());
+            assertThat(categoryClosureRepository.findDescendantIdxList(savedOtherRoot.getIdx()))
+                .containsExactlyInAnyOrder(savedOtherRoot.getIdx(), savedChild.getIdx(), savedGrandChild.getIdx());
+            assertThat(categoryClosureRepository.existsByAncestorIdxAndDescendantIdx(savedChild.getIdx(), savedGrandChild.getIdx()))
+                .isTrue();
+        }
+
+        @Test
+        @DisplayName("성공: category 테이블로 closure를 다시 만들면 유지되던 closure와 같다.")
+        void Success_RebuildFromCategory_SameClosure() {
+            // given
+            List<Long> rootSubtree = categoryClosureRepository.findDescendantIdxList(savedRoot.getIdx());
+
+            // when
+            categoryClosureRepository.deleteAllClosure();
+            int rows = categoryClosureRepository.insertSelfFromCategory();
+            for (int depth = 0; ; ++depth) {
+                int inserted = categoryClosureRepository.insertNextDepthFromCategory(depth);
+                if (inserted == 0) break;
+                rows += inserted;
+            }
+
+            // then - self 4 + (root, child), (child, grandChild) + (root, grandChild)
+            assertThat(rows).isEqualTo(7);
+            assertThat(categoryClosureRepository.findDescendantIdxList(savedRoot.getIdx()))
+                .containsExactlyInAnyOrderElementsOf(rootSubtree);
+        }
+    }
+}
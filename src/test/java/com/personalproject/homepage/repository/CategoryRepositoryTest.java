@@ -15,11 +15,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.personalproject.homepage.dto.CategoryDto;
 import com.personalproject.homepage.entity.Category;
 import com.personalproject.homepage.entity.Post;
 import com.personalproject.homepage.helper.EntityCreator;
+import com.personalproject.homepage.helper.StatementCounter;
+import com.personalproject.homepage.mapper.CategoryMapper;
+import com.personalproject.homepage.service.CategoryTree;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -34,10 +39,21 @@ public class CategoryRepositoryTest {
 
     private final PostRepository postRepository;
 
+    private final CategoryPostCountRepository categoryPostCountRepository;
+
+    private final StatementCounter statementCounter;
+
     @Autowired
-    public CategoryRepositoryTest(CategoryRepository categoryRepository, PostRepository postRepository) {
+    public CategoryRepositoryTest(
+        CategoryRepository categoryRepository,
+        PostRepository postRepository,
+        CategoryPostCountRepository categoryPostCountRepository,
+        TestEntityManager testEntityManager
+    ) {
         this.categoryRepository = categoryRepository;
         this.postRepository = postRepository;
+        this.categoryPostCountRepository = categoryPostCountRepository;
+        this.statementCounter = new StatementCounter(testEntityManager.getEntityManager());
     }
 
     @BeforeEach
@@ -193,6 +209,8 @@ public class CategoryRepositoryTest {
                     Post p = EntityCreator.post(null, i % 2 == 0 ? savedChildCategory : savedParentCategory1, "title", "content", "desc", true);
                     postRepository.save(p);
                 });
+            // counter는 service에서 관리하므로 post 테이블 기준으로 집계한다.
+            categoryPostCountRepository.upsertPostsCountFromPost();
 
             // when
             List<Category.WithPostsCount> categoryPostsCountList = categoryRepository.allCategoriesWithPostsCount(null);
@@ -216,6 +234,8 @@ public class CategoryRepositoryTest {
                     Post p = EntityCreator.post(null, i % 2 == 0 ? savedChildCategory : savedParentCategory1, "title", "content", "desc", true);
                     postRepository.save(p);
                 });
+            // counter는 service에서 관리하므로 post 테이블 기준으로 집계한다.
+            categoryPostCountRepository.upsertPostsCountFromPost();
 
             // when
             List<Category.WithPostsCount> categoryPostsCountList = categoryRepository.allCategoriesWithPostsCount(true);
@@ -229,6 +249,84 @@ public class CategoryRepositoryTest {
                 .extracting("postsCount")
                 .containsExactly(5l, 0l, 5l);
         }
+
+        @Test
+        @DisplayName("성공: 증감된 counter를 포스트 개수로 반환한다.")
+        void Success_AddPostsCount_ReturnObjectList() {
+            // given
+            categoryPostCountRepository.addPostsCount(savedChildCategory.getIdx(), true, 1);
+            categoryPostCountRepository.addPostsCount(savedChildCategory.getIdx(), true, 1);
+            categoryPostCountRepository.addPostsCount(savedChildCategory.getIdx(), false, 1);
+            categoryPostCountRepository.addPostsCount(savedChildCategory.getIdx(), true, -1);
+
+            // when
+            List<Category.WithPostsCount> visibleList = categoryRepository.allCategoriesWithPostsCount(true);
+            List<Category.WithPostsCount> allList = categoryRepository.allCategoriesWithPostsCount(null);
+
+            // then
+            assertThat(visibleList)
+                .extracting("postsCount")
+                .containsExactly(0l, 0l, 1l);
+            assertThat(allList)
+                .extracting("postsCount")
+                .containsExactly(0l, 0l, 2l);
+        }
+
+        @Test
+        @DisplayName("성공: 재집계하면 어긋난 counter를 덮어쓰고 포스트가 없는 counter를 삭제한다.")
+        void Success_ReconcilePostsCount_ReturnObjectList() {
+            // given
+            IntStream.rangeClosed(1, 2)
+                .forEach(i -> postRepository.save(EntityCreator.post(null, savedChildCategory, "title", "content", "desc", true)));
+            categoryPostCountRepository.addPostsCount(savedChildCategory.getIdx(), true, 5);
+            categoryPostCountRepository.addPostsCount(savedParentCategory2.getIdx(), false, 3);
+
+            // when
+            categoryPostCountRepository.deleteEmptyPostsCount();
+            categoryPostCountRepository.upsertPostsCountFromPost();
+
+            // then
+            assertThat(categoryPostCountRepository.findAll())
+                .hasSize(1);
+            assertThat(categoryRepository.allCategoriesWithPostsCount(null))
+                .extracting("postsCount")
+                .containsExactly(0l, 0l, 2l);
+        }
+    }
+
+    @Nested
+    @DisplayName("Statement count")
+    class Test_Statement_Count {
+        @BeforeEach
+        void clearPersistenceContext() {
+            statementCounter.clear();
+        }
+
+        @Test
+        @DisplayName("성공: GET /api/categories - 카테고리 snapshot을 카테고리 수와 상관없이 2번의 쿼리로 만든다.")
+        void Success_CategoryTreeToResDto_TwoStatements() {
+            // when
+            CategoryTree tree = CategoryTree.of(1l, categoryRepository.findAll(), categoryPostCountRepository.findAll());
+            List<CategoryDto.ResWithPostsCount> dtoList = CategoryMapper.treeToResDtoWithPostsCountList(tree, null);
+
+            // then
+            statementCounter.assertCount(2);
+            assertThat(dtoList)
+                .hasSize(2);
+        }
+
+        @Test
+        @DisplayName("성공: PATCH /api/categories/{id} - 카테고리와 상위 카테고리를 1번의 쿼리로 읽는다.")
+        void Success_OneCategoryToResDto_OneStatement() {
+            // when
+            CategoryDto.Res dto = CategoryMapper.entityToResDto(categoryRepository.findById(savedChildCategory.getIdx()).get());
+
+            // then
+            statementCounter.assertCount(1);
+            assertThat(dto)
+                .extracting("name", "parent")
+                .containsExactly(savedChildCategory.getName(), savedParentCategory1.getName());
+        }
     }
 
     @Nested
@@ -1,10 +1,13 @@
 package com.personalproject.homepage.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static com.personalproject.homepage.repository.PostRepository.FIRST_CURSOR_CREATE_AT;
+import static com.personalproject.homepage.repository.PostRepository.FIRST_CURSOR_IDX;
 
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,16 +17,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.personalproject.homepage.dto.PostDto;
 import com.personalproject.homepage.entity.Category;
 import com.personalproject.homepage.entity.Post;
 // import com.personalproject.homepage.helper.MockEntity;
 import com.personalproject.homepage.helper.EntityCreator;
+import com.personalproject.homepage.helper.StatementCounter;
+import com.personalproject.homepage.mapper.PostMapper;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -34,10 +41,12 @@ public class PostRepositoryTest {
     private final static int TEST_SIZE = 8;
     private final static Sort testSort = Sort.by(Direction.DESC, "createAt");
     private final static Pageable testPageable = PageRequest.of(TEST_PAGE, TEST_SIZE, testSort);
-    private final static Comparator<Post> createAtDescComp = (p1, p2) -> p1.getCreateAt().isAfter(p2.getCreateAt()) ? -1 : 1;
+    private final static Comparator<Post.Summary> createAtDescComp = (p1, p2) -> p1.getCreateAt().isAfter(p2.getCreateAt()) ? -1 : 1;
 
     private final PostRepository postRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final StatementCounter statementCounter;
 
     private Category savedParentCategory;
     private Category savedChildCategory;
@@ -45,9 +54,16 @@ public class PostRepositoryTest {
     private Post savedPost;
 
     @Autowired
-    public PostRepositoryTest(PostRepository postRepository, CategoryRepository categoryRepository) {
+    public PostRepositoryTest(
+        PostRepository postRepository,
+        CategoryRepository categoryRepository,
+        CategoryClosureRepository categoryClosureRepository,
+        TestEntityManager testEntityManager
+    ) {
         this.postRepository = postRepository;
         this.categoryRepository = categoryRepository;
+        this.categoryClosureRepository = categoryClosureRepository;
+        this.statementCounter = new StatementCounter(testEntityManager.getEntityManager());
     }
 
     @BeforeEach
@@ -64,10 +80,22 @@ public class PostRepositoryTest {
         savedChildCategory2 = EntityCreator.category(null, "child2", savedParentCategory);
         categoryRepository.save(savedChildCategory2);
 
+        saveClosure(savedParentCategory);
+        saveClosure(savedChildCategory);
+        saveClosure(savedChildCategory2);
+
         savedPost = EntityCreator.post(null, savedChildCategory, "title", "content", "desc", true);
         postRepository.save(savedPost);
     }
 
+    // CategoryService.createCategory와 같이 closure row를 추가한다.
+    private void saveClosure(Category category) {
+        categoryClosureRepository.insertSelf(category.getIdx());
+        if (category.getParentCategory() != null) {
+            categoryClosureRepository.insertSubtreeUnder(category.getIdx(), category.getParentCategory().getIdx());
+        }
+    }
+
     @Nested
     @DisplayName("Create")
     class Test_Create_Post {
@@ -109,7 +137,7 @@ public class PostRepositoryTest {
         }
 
         @Test
-        @DisplayName("성공: 페이지에 맞는 List<Post>를 반환한다.")
+        @DisplayName("성공: 페이지에 맞는 List<Post.Summary>를 반환한다.")
         void Success_PostsPerPage_ReturnPostList() {
             // given - total 11 posts including savedPost
             for (int i = 0; i < 10; ++i) {
@@ -121,7 +149,7 @@ public class PostRepositoryTest {
             }
 
             // when
-            List<Post> postList = postRepository.findAll(testPageable);
+            List<Post.Summary> postList = postRepository.findAllSummary(testPageable);
 
             // then
             assertThat(postList)
@@ -132,7 +160,7 @@ public class PostRepositoryTest {
         }
 
         @Test
-        @DisplayName("성공: 페이지에 맞는 visible == true인 List<Post>를 반환한다.")
+        @DisplayName("성공: 페이지에 맞는 visible == true인 List<Post.Summary>를 반환한다.")
         void Success_PostsIsVisiblePerPage_ReturnPostList() {
             // given - total 11 posts but 6 are visible including savedPost
             Boolean visible = true;
@@ -145,7 +173,7 @@ public class PostRepositoryTest {
             }
 
             // when
-            List<Post> postList = postRepository.findAllByVisible(visible, testPageable);
+            List<Post.Summary> postList = postRepository.findAllSummaryByVisible(visible, testPageable);
 
             // then
             assertThat(postList)
@@ -157,11 +185,11 @@ public class PostRepositoryTest {
         }
 
         @Test
-        @DisplayName("성공: 카테고리, 페이지에 맞는 List<Post>를 반환한다.")
-        void Success_PostsByCategoryPerPage_ReturnPostList() {
-            // given - total 11 posts including savedPost in same category
+        @DisplayName("성공: 상위 카테고리에 속한 포스트 리스트를 반환한다.")
+        void Success_PostsByParentCategoryPerPage_ReturnPostList() {
+            // given - total 11 posts including savedPost in categories of parent category
             for (int i = 0; i < 10; ++i) {
-                Post p = EntityCreator.post(null, savedChildCategory, "title" + i, "content" + i, "desc" + i, true);
+                Post p = EntityCreator.post(null, i % 2 == 0 ? savedChildCategory : savedChildCategory2, "title" + i, "content" + i, "desc" + i, true);
                 postRepository.save(p);
                 try {
                     Thread.sleep(30);
@@ -169,11 +197,11 @@ public class PostRepositoryTest {
             }
 
             // when
-            List<Post> postList = postRepository.findAllByCategory(savedChildCategory, testPageable);
+            List<Post.Summary> postList = postRepository.findAllIncludeChildCategory(savedParentCategory.getIdx(), testPageable);
 
             // then
             assertThat(postList)
-                .allMatch(p -> p.getCategory().equals(savedChildCategory))
+                .allMatch(p -> p.getParentCategoryName().equals(savedParentCategory.getName()))
                 .isSortedAccordingTo(createAtDescComp)
                 .hasSizeBetween(0, TEST_SIZE)
                 .size()
@@ -181,12 +209,12 @@ public class PostRepositoryTest {
         }
 
         @Test
-        @DisplayName("성공: 카테고리, 페이지에 맞는 visible == true인 List<Post>를 반환한다.")
-        void Success_PostsIsVisibleByCategoryPerPage_ReturnPostList() {
-            // given - total 10 posts but 6 are visible in savedChildCategory
+        @DisplayName("성공: 상위 카테고리에 속한 visible 포스트 리스트를 반환한다.")
+        void Success_PostsIsVisibleByParentCategoryPerPage_ReturnPostList() {
+            // given - total 6 visible posts including savedPost in categories of parent category
             Boolean visible = true;
             for (int i = 0; i < 10; ++i) {
-                Post p = EntityCreator.post(null, savedChildCategory, "title" + i, "content" + i, "desc" + i, i % 2 == 0);
+                Post p = EntityCreator.post(null, i % 2 == 0 ? savedChildCategory : savedChildCategory2, "title" + i, "content" + i, "desc" + i, i % 2 == 0);
                 postRepository.save(p);
                 try {
                     Thread.sleep(30);
@@ -194,11 +222,11 @@ public class PostRepositoryTest {
             }
 
             // when
-            List<Post> postList = postRepository.findAllByVisibleAndCategory(visible, savedChildCategory, testPageable);
+            List<Post.Summary> postList = postRepository.findAllVisibleIncludeChildCategory(visible, savedParentCategory.getIdx(), testPageable);
 
             // then
             assertThat(postList)
-                .allMatch(p -> p.getCategory().equals(savedChildCategory) && p.getVisible())
+                .allMatch(p -> p.getParentCategoryName().equals(savedParentCategory.getName()) && p.getVisible())
                 .isSortedAccordingTo(createAtDescComp)
                 .hasSizeBetween(0, TEST_SIZE)
                 .size()
@@ -206,52 +234,180 @@ public class PostRepositoryTest {
         }
 
         @Test
-        @DisplayName("성공: 상위 카테고리에 속한 포스트 리스트를 반환한다.")
-        void Success_PostsByParentCategoryPerPage_ReturnPostList() {
-            // given - total 11 posts including savedPost in categories of parent category
+        @DisplayName("성공: 깊이에 상관없이 모든 하위 카테고리의 포스트 리스트를 반환한다.")
+        void Success_PostsByDeepSubtreePerPage_ReturnPostList() {
+            // given
+            // parent
+            //  └ child
+            //     └ grandChild
+            //        └ greatGrandChild
+            Category grandChild = categoryRepository.save(EntityCreator.category(null, "grandChild", savedChildCategory));
+            saveClosure(grandChild);
+            Category greatGrandChild = categoryRepository.save(EntityCreator.category(null, "greatGrandChild", grandChild));
+            saveClosure(greatGrandChild);
+
+            postRepository.save(EntityCreator.post(null, grandChild, "title", "content", "desc", true));
+            postRepository.save(EntityCreator.post(null, greatGrandChild, "title", "content", "desc", false));
+
+            // when
+            List<Post.Summary> parentPostList = postRepository.findAllIncludeChildCategory(savedParentCategory.getIdx(), testPageable);
+            List<Post.Summary> childPostList = postRepository.findAllVisibleIncludeChildCategory(true, savedChildCategory.getIdx(), testPageable);
+            List<Post.Summary> grandChildPostList = postRepository.findAllIncludeChildCategory(grandChild.getIdx(), testPageable);
+            List<Post.Summary> cursorPostList = postRepository.findAllAfterCursorIncludeChildCategory(null, grandChild.getIdx(), FIRST_CURSOR_CREATE_AT, FIRST_CURSOR_IDX, testPageable);
+
+            // then
+            assertThat(parentPostList).hasSize(3);
+            assertThat(childPostList).hasSize(2).allMatch(p -> p.getVisible());
+            assertThat(grandChildPostList)
+                .hasSize(2)
+                .extracting("categoryName")
+                .containsExactlyInAnyOrder("grandChild", "greatGrandChild");
+            assertThat(cursorPostList).hasSize(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Read by cursor")
+    class Test_Read_Post_By_Cursor {
+        private final Pageable limit = PageRequest.of(0, TEST_SIZE);
+
+        @Test
+        @DisplayName("성공: 커서보다 오래된 포스트를 최신순으로 반환한다.")
+        void Success_PostsAfterCursor_ReturnPostList() {
+            // given - total 11 posts including savedPost
             for (int i = 0; i < 10; ++i) {
-                Post p = EntityCreator.post(null, i % 2 == 0 ? savedChildCategory : savedChildCategory2, "title" + i, "content" + i, "desc" + i, true);
+                Post p = EntityCreator.post(null, savedChildCategory, "title" + i, "content" + i, "desc" + i, true);
                 postRepository.save(p);
-                try {
-                    Thread.sleep(30);
-                } catch (Exception e) {/** empty */}
             }
+            List<Post.Summary> firstPage = postRepository.findAllAfterCursor(null, FIRST_CURSOR_CREATE_AT, FIRST_CURSOR_IDX, limit);
+            Post.Summary cursor = firstPage.get(firstPage.size() - 1);
 
             // when
-            List<Post> postList = postRepository.findAllIncludeChildCategory(savedParentCategory, testPageable);
+            List<Post.Summary> postList = postRepository.findAllAfterCursor(null, cursor.getCreateAt(), cursor.getIdx(), limit);
 
             // then
+            assertThat(firstPage)
+                .hasSize(TEST_SIZE);
             assertThat(postList)
-                .allMatch(p -> p.getCategory().getParentCategory().equals(savedParentCategory))
-                .isSortedAccordingTo(createAtDescComp)
-                .hasSizeBetween(0, TEST_SIZE)
-                .size()
-                .isEqualTo(TEST_SIZE);
+                .hasSize(3)
+                .extracting("idx")
+                .doesNotContainAnyElementsOf(firstPage.stream().map(Post.Summary::getIdx).collect(Collectors.toList()));
+            assertThat(postList)
+                .allMatch(p -> p.getCreateAt().isBefore(cursor.getCreateAt())
+                    || (p.getCreateAt().isEqual(cursor.getCreateAt()) && p.getIdx() < cursor.getIdx()));
         }
 
         @Test
-        @DisplayName("성공: 상위 카테고리에 속한 visible 포스트 리스트를 반환한다.")
-        void Success_PostsIsVisibleByParentCategoryPerPage_ReturnPostList() {
-            // given - total 6 visible posts including savedPost in categories of parent category
-            Boolean visible = true;
+        @DisplayName("성공: 커서보다 최신 포스트를 오래된 순으로 반환한다.")
+        void Success_PostsBeforeCursor_ReturnPostList() {
+            // given - total 11 posts including savedPost in categories of parent category
             for (int i = 0; i < 10; ++i) {
-                Post p = EntityCreator.post(null, i % 2 == 0 ? savedChildCategory : savedChildCategory2, "title" + i, "content" + i, "desc" + i, i % 2 == 0);
+                Post p = EntityCreator.post(null, i % 2 == 0 ? savedChildCategory : savedChildCategory2, "title" + i, "content" + i, "desc" + i, true);
                 postRepository.save(p);
-                try {
-                    Thread.sleep(30);
-                } catch (Exception e) {/** empty */}
             }
+            List<Post.Summary> allPosts = postRepository.findAllAfterCursorIncludeChildCategory(true, savedParentCategory.getIdx(), FIRST_CURSOR_CREATE_AT, FIRST_CURSOR_IDX, PageRequest.of(0, 11));
+            Post.Summary cursor = allPosts.get(5);
 
             // when
-            List<Post> postList = postRepository.findAllVisibleIncludeChildCategory(visible, savedParentCategory, testPageable);
+            List<Post.Summary> postList = postRepository.findAllBeforeCursorIncludeChildCategory(true, savedParentCategory.getIdx(), cursor.getCreateAt(), cursor.getIdx(), limit);
 
             // then
+            assertThat(allPosts)
+                .hasSize(11);
             assertThat(postList)
-                .allMatch(p -> p.getCategory().getParentCategory().equals(savedParentCategory) && p.getVisible())
-                .isSortedAccordingTo(createAtDescComp)
-                .hasSizeBetween(0, TEST_SIZE)
-                .size()
-                .isEqualTo(6);
+                .extracting("idx")
+                .containsExactly(
+                    allPosts.get(4).getIdx(),
+                    allPosts.get(3).getIdx(),
+                    allPosts.get(2).getIdx(),
+                    allPosts.get(1).getIdx(),
+                    allPosts.get(0).getIdx()
+                );
+        }
+    }
+
+    @Nested
+    @DisplayName("Statement count")
+    class Test_Statement_Count {
+        @BeforeEach
+        void savePosts() {
+            // 두 하위 카테고리에 포스트 8개, persistence context를 비워 지연 로딩까지 센다.
+            for (int i = 0; i < 8; ++i) {
+                Post p = EntityCreator.post(null, i % 2 == 0 ? savedChildCategory : savedChildCategory2, "title" + i, "content" + i, "desc" + i, true);
+                postRepository.save(p);
+            }
+            statementCounter.clear();
+        }
+
+        @Test
+        @DisplayName("성공: GET /{postId} - 포스트와 카테고리, 상위 카테고리를 1번의 쿼리로 읽는다.")
+        void Success_OnePostToResDto_OneStatement() {
+            // when
+            PostDto.Res dto = PostMapper.entityToResDto(postRepository.findById(savedPost.getIdx()).get());
+
+            // then
+            statementCounter.assertCount(1);
+            assertThat(dto.getCategory())
+                .extracting("name", "parent")
+                .containsExactly(savedChildCategory.getName(), savedParentCategory.getName());
+        }
+
+        @Test
+        @DisplayName("성공: 조건부 GET - 본문, 카테고리 없이 수정 시간만 1번의 쿼리로 읽는다.")
+        void Success_LastModified_OneStatement() {
+            // when
+            Post.LastModified lastModified = postRepository.findLastModifiedById(savedPost.getIdx()).get();
+
+            // then
+            statementCounter.assertCount(1);
+            assertThat(lastModified.getIdx()).isEqualTo(savedPost.getIdx());
+            assertThat(lastModified.getLastModifiedAt()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("성공: GET /api/posts - 포스트 수와 상관없이 1번의 쿼리로 읽는다.")
+        void Success_PostsToSummaryDto_OneStatement() {
+            // when
+            List<PostDto.Summary> dtoList = postRepository.findAllSummary(testPageable)
+                .stream()
+                .map(PostMapper::summaryToSummaryDto)
+                .collect(Collectors.toList());
+
+            // then
+            statementCounter.assertCount(1);
+            assertThat(dtoList)
+                .hasSize(TEST_SIZE)
+                .allMatch(dto -> dto.getCategory().getParent().equals(savedParentCategory.getName()));
+        }
+
+        @Test
+        @DisplayName("성공: GET /api/posts?categoryid= - 하위 카테고리 포스트를 1번의 쿼리로 읽는다.")
+        void Success_PostsIncludeChildCategoryToSummaryDto_OneStatement() {
+            // when
+            List<PostDto.Summary> dtoList = postRepository.findAllIncludeChildCategory(savedParentCategory.getIdx(), testPageable)
+                .stream()
+                .map(PostMapper::summaryToSummaryDto)
+                .collect(Collectors.toList());
+
+            // then
+            statementCounter.assertCount(1);
+            assertThat(dtoList)
+                .hasSize(TEST_SIZE);
+        }
+
+        @Test
+        @DisplayName("성공: GET /api/posts?after= - 커서 조회를 1번의 쿼리로 읽는다.")
+        void Success_PostsAfterCursorToSummaryDto_OneStatement() {
+            // when
+            List<PostDto.Summary> dtoList = postRepository.findAllAfterCursorIncludeChildCategory(true, savedParentCategory.getIdx(), FIRST_CURSOR_CREATE_AT, FIRST_CURSOR_IDX, PageRequest.of(0, TEST_SIZE + 1))
+                .stream()
+                .map(PostMapper::summaryToSummaryDto)
+                .collect(Collectors.toList());
+
+            // then
+            statementCounter.assertCount(1);
+            assertThat(dtoList)
+                .hasSize(TEST_SIZE + 1);
         }
     }
 
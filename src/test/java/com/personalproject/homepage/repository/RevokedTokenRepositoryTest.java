@@ -0,0 +1,64 @@
+package com.personalproject.homepage.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.entity.RevokedToken;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class RevokedTokenRepositoryTest {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private LocalDateTime now;
+
+    @Autowired
+    public RevokedTokenRepositoryTest(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    @BeforeEach
+    void resetPersist() {
+        now = LocalDateTime.now();
+        revokedTokenRepository.save(new RevokedToken("expired", now.minusMinutes(1)));
+        revokedTokenRepository.save(new RevokedToken("revoked", now.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("성공: 만료되지 않은 폐기 토큰만 조회한다.")
+    void Success_FindUnexpired_ReturnList() {
+        // when
+        List<RevokedToken> revokedTokens = revokedTokenRepository.findAllByExpireAtAfter(now);
+
+        // then
+        assertThat(revokedTokens)
+            .extracting("jti")
+            .containsExactly("revoked");
+    }
+
+    @Test
+    @DisplayName("성공: 만료된 폐기 토큰을 삭제한다.")
+    void Success_DeleteExpired_ReturnDeletedCount() {
+        // when
+        int deleted = revokedTokenRepository.deleteExpired(now);
+
+        // then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(revokedTokenRepository.findAllByExpireAtAfter(now.minusDays(1)))
+            .extracting("jti")
+            .containsExactly("revoked");
+    }
+}
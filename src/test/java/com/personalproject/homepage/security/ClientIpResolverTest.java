@@ -0,0 +1,79 @@
+package com.personalproject.homepage.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+public class ClientIpResolverTest {
+
+    private final ClientIpResolver clientIpResolver = new ClientIpResolver("127\\.0\\.0\\.1|10\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}");
+
+    private MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+
+    @Test
+    @DisplayName("성공: 신뢰하는 proxy가 보낸 X-Forwarded-For에서 proxy가 아닌 가장 오른쪽 주소")
+    void Success_TrustedProxy_RightmostUntrusted() {
+        // given
+        MockHttpServletRequest request = request("127.0.0.1", "9.9.9.9, 1.1.1.1, 10.0.0.2");
+
+        // when
+        String clientIp = clientIpResolver.resolve(request);
+
+        // then
+        assertThat(clientIp).isEqualTo("1.1.1.1");
+    }
+
+    @Test
+    @DisplayName("성공: 신뢰하지 않는 주소, X-Forwarded-For가 없는 요청은 remote address")
+    void Success_UntrustedOrNoHeader_RemoteAddr() {
+        // given
+        MockHttpServletRequest spoofed = request("1.1.1.1", "9.9.9.9");
+        MockHttpServletRequest direct = request("127.0.0.1", null);
+
+        // when
+        String spoofedIp = clientIpResolver.resolve(spoofed);
+        String directIp = clientIpResolver.resolve(direct);
+
+        // then
+        assertThat(spoofedIp).isEqualTo("1.1.1.1");
+        assertThat(directIp).isEqualTo("127.0.0.1");
+    }
+
+    @Test
+    @DisplayName("성공: X-Forwarded-For가 모두 proxy면 가장 왼쪽 주소")
+    void Success_AllTrusted_Leftmost() {
+        // given
+        MockHttpServletRequest request = request("127.0.0.1", "10.0.0.1, 10.0.0.2");
+
+        // when
+        String clientIp = clientIpResolver.resolve(request);
+
+        // then
+        assertThat(clientIp).isEqualTo("10.0.0.1");
+    }
+
+    @Test
+    @DisplayName("성공: 로그인 details의 remote address는 client IP")
+    void Success_BuildDetails_ClientIp() {
+        // given
+        MockHttpServletRequest request = request("127.0.0.1", "1.1.1.1");
+
+        // when
+        WebAuthenticationDetails details = clientIpResolver.buildDetails(request);
+
+        // then
+        assertThat(details.getRemoteAddress()).isEqualTo("1.1.1.1");
+    }
+}
@@ -0,0 +1,92 @@
+package com.personalproject.homepage.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.error.ApiException;
+
+@ActiveProfiles("test")
+public class LoginAttemptLimiterTest {
+
+    private static final int TEST_MAX_FAILURES = 3;
+
+    private static final String TEST_IP = "127.0.0.1";
+
+    private static final String TEST_ID = "admin";
+
+    private LoginAttemptLimiter loginAttemptLimiter;
+
+    @BeforeEach
+    void setUp() {
+        loginAttemptLimiter = new LoginAttemptLimiter(TEST_MAX_FAILURES, 60, 600, 3_600);
+    }
+
+    private void fail(String ip, String id, int times) {
+        for (int i = 0; i < times; ++i) {
+            loginAttemptLimiter.recordFailure(ip, id);
+        }
+    }
+
+    @Test
+    @DisplayName("성공: 허용 횟수보다 적게 실패하면 로그인할 수 있다.")
+    void Success_FewerFailures_Allowed() {
+        // given
+        fail(TEST_IP, TEST_ID, TEST_MAX_FAILURES - 1);
+
+        // when
+        Throwable thrown = catchThrowable(() -> loginAttemptLimiter.checkAllowed(TEST_IP, TEST_ID));
+
+        // then
+        assertThat(thrown).isNull();
+    }
+
+    @Test
+    @DisplayName("실패: 허용 횟수만큼 실패한 IP는 다른 아이디로도 429")
+    void Fail_LockedIp_Throw429() {
+        // given
+        fail(TEST_IP, TEST_ID, TEST_MAX_FAILURES);
+
+        // when
+        Throwable thrown = catchThrowable(() -> loginAttemptLimiter.checkAllowed(TEST_IP, "other"));
+
+        // then
+        assertThat(thrown)
+            .isInstanceOf(ApiException.class)
+            .extracting("status")
+            .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("실패: 허용 횟수만큼 실패한 아이디는 다른 IP에서도 429")
+    void Fail_LockedId_Throw429() {
+        // given
+        fail(TEST_IP, TEST_ID, TEST_MAX_FAILURES);
+
+        // when
+        Throwable thrown = catchThrowable(() -> loginAttemptLimiter.checkAllowed("10.0.0.1", TEST_ID));
+
+        // then
+        assertThat(thrown).isInstanceOf(ApiException.class);
+    }
+
+    @Test
+    @DisplayName("성공: 로그인에 성공하면 실패 기록을 제거한다.")
+    void Success_LoginSucceeded_ResetFailures() {
+        // given
+        fail(TEST_IP, TEST_ID, TEST_MAX_FAILURES - 1);
+        loginAttemptLimiter.recordSuccess(TEST_IP, TEST_ID);
+        fail(TEST_IP, TEST_ID, TEST_MAX_FAILURES - 1);
+
+        // when
+        Throwable thrown = catchThrowable(() -> loginAttemptLimiter.checkAllowed(TEST_IP, TEST_ID));
+
+        // then
+        assertThat(thrown).isNull();
+    }
+}
@@ -0,0 +1,136 @@
+package com.personalproject.homepage.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.config.web.RateLimitConfig;
+import com.personalproject.homepage.error.ApiException;
+
+@ActiveProfiles("test")
+public class RateLimitFilterTest {
+
+    private static final int TEST_CAPACITY = 2;
+
+    private static final String TEST_PROXY_IP = "127.0.0.1";
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig.Policy policy = new RateLimitConfig.Policy();
+        policy.setName("post-page");
+        policy.setPatterns(List.of("/{postId:\\d+}"));
+        policy.setCapacity(TEST_CAPACITY);
+        policy.setRefillPerSecond(0.001);
+
+        RateLimitConfig rateLimitConfig = new RateLimitConfig();
+        rateLimitConfig.setEnabled(true);
+        rateLimitConfig.setIdleSeconds(600);
+        rateLimitConfig.setMaxClients(100);
+        rateLimitConfig.setPolicies(List.of(policy));
+        rateLimitFilter = new RateLimitFilter(rateLimitConfig, new ClientIpResolver("127\\.0\\.0\\.1"));
+    }
+
+    private MockHttpServletResponse get(String uri, String ip) throws Exception {
+        return get(uri, ip, null);
+    }
+
+    private MockHttpServletResponse get(String uri, String ip, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(ip);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("실패: capacity를 넘은 요청은 Retry-After와 함께 429")
+    void Fail_ExceedCapacity_Throw429() throws Exception {
+        // given
+        for (int i = 0; i < TEST_CAPACITY; ++i) {
+            get("/1", "1.1.1.1");
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/1");
+        request.setRemoteAddr("1.1.1.1");
+
+        // when
+        Throwable thrown = catchThrowable(() -> rateLimitFilter.doFilter(request, response, new MockFilterChain()));
+
+        // then
+        assertThat(thrown)
+            .isInstanceOf(ApiException.class)
+            .extracting("status")
+            .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("성공: 다른 IP, 일치하는 policy가 없는 경로는 제한하지 않는다.")
+    void Success_OtherIpOrUnmatchedPath_NotLimited() throws Exception {
+        // given
+        for (int i = 0; i < TEST_CAPACITY; ++i) {
+            get("/1", "1.1.1.1");
+        }
+
+        // when
+        Throwable otherIp = catchThrowable(() -> get("/1", "2.2.2.2"));
+        Throwable unmatchedPath = catchThrowable(() -> {
+            for (int i = 0; i < TEST_CAPACITY * 2; ++i) get("/category", "1.1.1.1");
+        });
+
+        // then
+        assertThat(otherIp).isNull();
+        assertThat(unmatchedPath).isNull();
+    }
+
+    @Test
+    @DisplayName("성공: proxy를 거친 요청은 X-Forwarded-For의 client IP별로 제한한다.")
+    void Success_BehindProxy_LimitByClientIp() throws Exception {
+        // given
+        for (int i = 0; i < TEST_CAPACITY; ++i) {
+            get("/1", TEST_PROXY_IP, "1.1.1.1");
+        }
+
+        // when
+        Throwable sameClient = catchThrowable(() -> get("/1", TEST_PROXY_IP, "1.1.1.1"));
+        Throwable otherClient = catchThrowable(() -> get("/1", TEST_PROXY_IP, "2.2.2.2"));
+
+        // then
+        assertThat(sameClient).isInstanceOf(ApiException.class);
+        assertThat(otherClient).isNull();
+    }
+
+    @Test
+    @DisplayName("실패: proxy가 아닌 주소가 보낸 X-Forwarded-For는 무시한다.")
+    void Fail_SpoofedForwardedFor_Throw429() throws Exception {
+        // given
+        for (int i = 0; i < TEST_CAPACITY; ++i) {
+            get("/1", "1.1.1.1", "3.3.3." + i);
+        }
+
+        // when
+        Throwable thrown = catchThrowable(() -> get("/1", "1.1.1.1", "4.4.4.4"));
+
+        // then
+        assertThat(thrown)
+            .isInstanceOf(ApiException.class)
+            .extracting("status")
+            .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,58 @@
+package com.personalproject.homepage.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+public class TokenBucketTest {
+
+    // 테스트 중 충전되지 않을 만큼 느린 충전 속도
+    private static final double NO_REFILL = 0.001;
+
+    @Test
+    @DisplayName("성공: capacity만큼 꺼낸 뒤에는 남은 시간을 반환한다.")
+    void Success_Exhausted_ReturnWaitNanos() {
+        // given
+        TokenBucket tokenBucket = new TokenBucket(3, NO_REFILL);
+
+        // when
+        long first = tokenBucket.tryAcquire();
+        tokenBucket.tryAcquire();
+        tokenBucket.tryAcquire();
+        long fourth = tokenBucket.tryAcquire();
+
+        // then
+        assertThat(first).isZero();
+        assertThat(fourth).isPositive();
+    }
+
+    @Test
+    @DisplayName("성공: 동시에 꺼내도 capacity보다 많이 허용하지 않는다.")
+    void Success_ConcurrentAcquire_NeverExceedCapacity() throws Exception {
+        // given
+        int capacity = 1_000;
+        TokenBucket tokenBucket = new TokenBucket(capacity, NO_REFILL);
+        AtomicInteger acquired = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int i = 0; i < capacity * 10; i++) {
+            executor.execute(() -> {
+                if (tokenBucket.tryAcquire() == 0) acquired.incrementAndGet();
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(acquired.get()).isEqualTo(capacity);
+    }
+}
@@ -0,0 +1,69 @@
+package com.personalproject.homepage.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+public class JwtAuthenticationCacheTest {
+
+    private static final String TEST_TOKEN = "header.payload.signature";
+
+    private static final long ONE_HOUR_MILLIS = 60 * 60 * 1000l;
+
+    private JwtAuthenticationCache jwtAuthenticationCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtAuthenticationCache = new JwtAuthenticationCache(10, 600);
+    }
+
+    @Test
+    @DisplayName("성공: 저장된 토큰은 검증 없이 아이디, 권한 목록을 반환한다.")
+    void Success_CachedToken_ReturnVerifiedToken() {
+        // given
+        jwtAuthenticationCache.put(TEST_TOKEN, "admin", AuthorityUtils.createAuthorityList("ROLE_ADMIN"), "jti",
+            System.currentTimeMillis() + ONE_HOUR_MILLIS);
+
+        // when
+        JwtAuthenticationCache.VerifiedToken verifiedToken = jwtAuthenticationCache.get(TEST_TOKEN);
+
+        // then
+        assertThat(verifiedToken.getPrincipal()).isEqualTo("admin");
+        assertThat(AuthorityUtils.authorityListToSet(verifiedToken.getAuthorities())).isEqualTo(Set.of("ROLE_ADMIN"));
+        assertThat(jwtAuthenticationCache.get("other." + TEST_TOKEN)).isNull();
+    }
+
+    @Test
+    @DisplayName("성공: 토큰의 만료 시간이 지나면 저장된 값을 사용하지 않는다.")
+    void Success_ExpiredToken_ReturnNull() {
+        // given
+        jwtAuthenticationCache.put(TEST_TOKEN, "admin", List.of(), "jti", System.currentTimeMillis() - 1);
+
+        // when
+        JwtAuthenticationCache.VerifiedToken verifiedToken = jwtAuthenticationCache.get(TEST_TOKEN);
+
+        // then
+        assertThat(verifiedToken).isNull();
+    }
+
+    @Test
+    @DisplayName("성공: 로그아웃한 토큰은 제거되어 다시 검증된다.")
+    void Success_EvictedToken_ReturnNull() {
+        // given
+        jwtAuthenticationCache.put(TEST_TOKEN, "admin", List.of(), "jti", System.currentTimeMillis() + ONE_HOUR_MILLIS);
+
+        // when
+        jwtAuthenticationCache.evict(TEST_TOKEN);
+
+        // then
+        assertThat(jwtAuthenticationCache.get(TEST_TOKEN)).isNull();
+    }
+}
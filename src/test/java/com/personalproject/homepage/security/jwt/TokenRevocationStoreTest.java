@@ -0,0 +1,49 @@
+package com.personalproject.homepage.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+public class TokenRevocationStoreTest {
+
+    private static final long ONE_HOUR_MILLIS = 60 * 60 * 1000l;
+
+    private TokenRevocationStore tokenRevocationStore;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationStore = new TokenRevocationStore(100);
+    }
+
+    @Test
+    @DisplayName("성공: 폐기한 jti만 폐기된 것으로 확인한다.")
+    void Success_RevokedJti_ReturnTrue() {
+        // given
+        tokenRevocationStore.revoke("revoked", System.currentTimeMillis() + ONE_HOUR_MILLIS);
+
+        // when, then
+        assertThat(tokenRevocationStore.isRevoked("revoked")).isTrue();
+        assertThat(tokenRevocationStore.isRevoked("not-revoked")).isFalse();
+        assertThat(tokenRevocationStore.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공: 만료된 jti를 제거하고 남은 jti는 계속 폐기된 것으로 확인한다.")
+    void Success_RemoveExpired_KeepUnexpired() {
+        // given
+        tokenRevocationStore.revoke("expired", System.currentTimeMillis() - 1);
+        tokenRevocationStore.revoke("revoked", System.currentTimeMillis() + ONE_HOUR_MILLIS);
+
+        // when
+        int remaining = tokenRevocationStore.removeExpired();
+
+        // then
+        assertThat(remaining).isEqualTo(1);
+        assertThat(tokenRevocationStore.isRevoked("expired")).isFalse();
+        assertThat(tokenRevocationStore.isRevoked("revoked")).isTrue();
+    }
+}
@@ -10,7 +10,6 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,11 +25,12 @@ import org.springframework.test.context.ActiveProfiles;
 
 import com.personalproject.homepage.dto.CategoryDto;
 import com.personalproject.homepage.entity.Category;
-import com.personalproject.homepage.entity.Post;
 import com.personalproject.homepage.error.ApiException;
 import com.personalproject.homepage.error.ErrorMessage;
 import com.personalproject.homepage.helper.DtoCreator;
 import com.personalproject.homepage.helper.EntityCreator;
+import com.personalproject.homepage.repository.CategoryClosureRepository;
+import com.personalproject.homepage.repository.CategoryPostCountRepository;
 import com.personalproject.homepage.repository.CategoryRepository;
 
 /********************************************************************************
@@ -48,6 +48,10 @@ import com.personalproject.homepage.repository.CategoryRepository;
 public class CategoryServiceTest {
 
     @Mock private CategoryRepository categoryRepository;
+    @Mock private CategoryPostCountRepository categoryPostCountRepository;
+    @Mock private CategoryClosureRepository categoryClosureRepository;
+    @Mock private CategoryTreeHolder categoryTreeHolder;
+    @Mock private ContentVersion contentVersion;
     private CategoryService categoryService;
 
     private Category testParentCategoryEntity;
@@ -60,7 +64,7 @@ public class CategoryServiceTest {
             mapper 또한 repository를 의존하므로 실제 객체를 사용한다.
         ********************************************************************************/
         MockitoAnnotations.openMocks(this);
-        categoryService = new CategoryService(categoryRepository);
+        categoryService = new CategoryService(categoryRepository, categoryPostCountRepository, categoryClosureRepository, categoryTreeHolder, contentVersion);
 
         testParentCategoryEntity = EntityCreator.category(99l, "testParent", null);
         testChildCategoryEntity = EntityCreator.category(100l, "testChild", testParentCategoryEntity);
@@ -85,6 +89,10 @@ public class CategoryServiceTest {
             // then
             verify(categoryRepository).existsByNameAndParentCategory(name, null);
             verify(categoryRepository).save(any(Category.class));
+            verify(categoryClosureRepository).insertSelf(eq(entity.getIdx()));
+            verify(categoryClosureRepository, times(0)).insertSubtreeUnder(any(), any());
+            verify(categoryTreeHolder).refreshAfterCommit();
+            verify(contentVersion).increaseAfterCommit();
             assertThat(returnEntity)
                 .extracting("name", "parentCategory")
                 .containsExactly(name, null);
@@ -147,6 +155,8 @@ public class CategoryServiceTest {
             verify(categoryRepository).findById(parentId);
             verify(categoryRepository).existsByNameAndParentCategory(name, parentEntity);
             verify(categoryRepository).save(any(Category.class));
+            verify(categoryClosureRepository).insertSelf(eq(entity.getIdx()));
+            verify(categoryClosureRepository).insertSubtreeUnder(eq(entity.getIdx()), eq(parentId));
             assertThat(returnEntity)
                 .extracting("name", "parentCategory.idx")
                 .containsExactly(name, parentId);
@@ -177,6 +187,32 @@ public class CategoryServiceTest {
                 .hasMessage(ErrorMessage.ALREADY_EXISTENT.getMessage("카테고리"));
         }
 
+        @Test
+        @DisplayName("성공: 하위 카테고리 아래에 카테고리를 추가하고 entity를 반환한다.")
+        void Success_NewCategoryUnderSubCategory_ReturnEntity() {
+            // given - testParentCategoryEntity > testChildCategoryEntity > grandChild
+            Category parentEntity = testChildCategoryEntity;
+            Category entity = EntityCreator.category(300l, "grandChild", parentEntity);
+            Long parentId = parentEntity.getIdx();
+            String name = entity.getName();
+            CategoryDto.Req inputDto = DtoCreator.categoryReqDto(name, parentId);
+
+            given(categoryRepository.findById(parentId)).willReturn(Optional.of(parentEntity));
+            given(categoryRepository.existsByNameAndParentCategory(name, parentEntity)).willReturn(false);
+            given(categoryRepository.save(any(Category.class))).willReturn(entity);
+
+            // when
+            Category returnEntity = categoryService.createCategory(inputDto);
+
+            // then
+            verify(categoryRepository).save(any(Category.class));
+            verify(categoryClosureRepository).insertSelf(eq(entity.getIdx()));
+            verify(categoryClosureRepository).insertSubtreeUnder(eq(entity.getIdx()), eq(parentId));
+            assertThat(returnEntity)
+                .extracting("name", "parentCategory.idx")
+                .containsExactly(name, parentId);
+        }
+
         @Test
         @DisplayName("실패: 존재하지 않는 카테고리에 하위 카테고리 추가 시 예외를 던진다")
         void Fail_SubCategoryOfNonExistentCategory_ThrowException() {
@@ -201,84 +237,106 @@ public class CategoryServiceTest {
     @Nested
     @DisplayName("Read")
     class Test_Read_Category {
+        private CategoryTree testTree;
+
+        @BeforeEach
+        void setUp() {
+            Category topLevelCategory = EntityCreator.category(101l, "topLevel", null);
+            testTree = CategoryTree.of(1l,
+                List.of(testParentCategoryEntity, testChildCategoryEntity, topLevelCategory),
+                List.of(
+                    EntityCreator.categoryPostCount(99l, true, 3l),
+                    EntityCreator.categoryPostCount(100l, true, 5l),
+                    EntityCreator.categoryPostCount(100l, false, 2l)
+                )
+            );
+            given(categoryTreeHolder.get()).willReturn(testTree);
+        }
+
         @Test
-        @DisplayName("성공: 모든 카테고리를 List로 반환한다.")
-        void Success_AllCategory_ReturnEntityList() {
-            // given - testParentCategoryEntity
-            int size = 8;
-            List<Category> foundList = new ArrayList<>();
-            Category parentCategory = testParentCategoryEntity;
-            foundList.add(parentCategory);
-            for (Long i = 1L; i <= 5L; ++i) {
-                Category category = EntityCreator.category(null, "topLevel" + 1, null);
-                foundList.add(category);
-            }
-            for (Long i = 6L; i <= size; ++i) {
-                Category category = EntityCreator.category(null, "child" + 1, parentCategory);
-                foundList.add(category);
-            }
-            given(categoryRepository.findAll()).willReturn(foundList);
+        @DisplayName("성공: 모든 카테고리를 snapshot에서 List로 반환한다.")
+        void Success_AllCategory_ReturnNodeList() {
+            // when
+            List<CategoryTree.Node> returnNodeList = categoryService.getAllCategories();
 
+            // then
+            verify(categoryTreeHolder).get();
+            verify(categoryRepository, times(0)).findAll();
+            assertThat(returnNodeList)
+                .extracting("idx", "name", "parentName")
+                .containsExactly(
+                    tuple(99l, "testParent", null),
+                    tuple(100l, "testChild", "testParent"),
+                    tuple(101l, "topLevel", null)
+                );
+        }
+
+        @Test
+        @DisplayName("성공: 이름 목록으로 카테고리를 snapshot에서 찾아 반환한다.")
+        void Success_CategoryByPath_ReturnNode() {
             // when
-            List<Category> returnEntityList = categoryService.getAllCategories();
+            CategoryTree.Node node = categoryService.getCategory(List.of("testParent", "testChild"));
 
             // then
-            verify(categoryRepository).findAll();
-            assertThat(returnEntityList)
-                .size()
-                .isEqualTo(size + 1);
-            assertThat(returnEntityList)
-                .filteredOn(c -> c.getParentCategory() == null)
-                .size()
-                .isEqualTo(6);
+            verify(categoryRepository, times(0)).findByNameAndParentCategory(any(), any());
+            assertThat(node.getIdx()).isEqualTo(100l);
+            assertThat(node.isTopLevel()).isFalse();
         }
 
         @Test
-        @DisplayName("성공: 카테고리별 포스트 개수와 함깨 entity list로 반환한다.")
-        void Success_AllCategoriesWithPostsCount_ReturnEntityList() {
-            // given
-            Boolean visible = null;
-            given(categoryRepository.allCategoriesWithPostsCount(eq(visible))).willReturn(List.of(
-                new Category.WithPostsCount(testParentCategoryEntity, 3l),
-                new Category.WithPostsCount(testChildCategoryEntity, 5l)
-            ));
+        @DisplayName("성공: 세 단계 이상의 카테고리를 이름 목록으로 snapshot에서 찾아 반환한다.")
+        void Success_DeepCategoryByPath_ReturnNode() {
+            // given - testParent > testChild > grandChild
+            Category grandChild = EntityCreator.category(300l, "grandChild", testChildCategoryEntity);
+            given(categoryTreeHolder.get()).willReturn(CategoryTree.of(2l,
+                List.of(testParentCategoryEntity, testChildCategoryEntity, grandChild), List.of()));
 
             // when
-            List<Category.WithPostsCount> postsCountList = categoryService.getAllCategoriesWithPostsCount(visible);
+            CategoryTree.Node node = categoryService.getCategory(List.of("testParent", "testChild", "grandChild"));
 
             // then
-            verify(categoryRepository).allCategoriesWithPostsCount(eq(visible));
-            assertThat(postsCountList).size().isEqualTo(2);
-            assertThat(postsCountList)
-                .extracting("category", "postsCount")
-                .containsExactly(
-                    tuple(testParentCategoryEntity, 3l),
-                    tuple(testChildCategoryEntity, 5l)
-                );
+            assertThat(node.getIdx()).isEqualTo(300l);
+            assertThat(node.getParentName()).isEqualTo("testChild");
+            assertThat(node.getPath()).containsExactly("testParent", "testChild", "grandChild");
         }
 
         @Test
-        @DisplayName("성공: 카테고리별 visible 포스트 개수와 함께 entity list로 반환한다.")
-        void Success_AllCategoriesWithVisiblePostsCount_ReturnEntityList() {
-            // given
-            Boolean visible = true;
-            given(categoryRepository.allCategoriesWithPostsCount(eq(visible))).willReturn(List.of(
-                new Category.WithPostsCount(testParentCategoryEntity, 3l),
-                new Category.WithPostsCount(testChildCategoryEntity, 5l)
-            ));
+        @DisplayName("실패: 존재하지 않는 상위 카테고리의 이름으로 찾을 경우 예외를 던진다.")
+        void Fail_CategoryOfNonExistentParent_ThrowException() {
+            // when
+            Throwable thrown = catchThrowable(() -> categoryService.getCategory(List.of("nonExistent", "testChild")));
+
+            // then
+            assertThat(thrown)
+                .isInstanceOf(ApiException.class)
+                .hasMessage(ErrorMessage.NON_EXISTENT.getMessage("상위 카테고리"));
+        }
 
+        @Test
+        @DisplayName("실패: 존재하지 않는 카테고리의 이름으로 찾을 경우 예외를 던진다.")
+        void Fail_NonExistentCategory_ThrowException() {
             // when
-            List<Category.WithPostsCount> postsCountList = categoryService.getAllCategoriesWithPostsCount(visible);
+            Throwable thrown = catchThrowable(() -> categoryService.getCategory(List.of("testChild")));
 
             // then
-            verify(categoryRepository).allCategoriesWithPostsCount(eq(visible));
-            assertThat(postsCountList).size().isEqualTo(2);
-            assertThat(postsCountList)
-                .extracting("category", "postsCount")
-                .containsExactly(
-                    tuple(testParentCategoryEntity, 3l),
-                    tuple(testChildCategoryEntity, 5l)
-                );
+            assertThat(thrown)
+                .isInstanceOf(ApiException.class)
+                .hasMessage(ErrorMessage.NON_EXISTENT.getMessage("카테고리"));
+        }
+
+        @Test
+        @DisplayName("성공: 카테고리별 포스트 개수를 공개 여부에 따라 snapshot에서 반환한다.")
+        void Success_CategoryTreeWithPostsCount_ReturnTree() {
+            // when
+            CategoryTree tree = categoryService.getCategoryTree();
+
+            // then
+            verify(categoryRepository, times(0)).allCategoriesWithPostsCount(any());
+            assertThat(tree.getNode(100l).getPostsCount(null)).isEqualTo(7l);
+            assertThat(tree.getNode(100l).getPostsCount(true)).isEqualTo(5l);
+            assertThat(tree.getNode(100l).getPostsCount(false)).isEqualTo(2l);
+            assertThat(tree.getNode(101l).getPostsCount(null)).isEqualTo(0l);
+            assertThat(tree.getNode(99l).getChildIdxList()).containsExactly(100l);
         }
     }
 
@@ -304,6 +362,7 @@ public class CategoryServiceTest {
             // then
             verify(categoryRepository).findById(categoryId);
             verify(categoryRepository).existsByNameAndParentCategory(after, null);
+            verify(categoryTreeHolder).refreshAfterCommit();
             assertThat(updatedEntity)
                 .extracting("name")
                 .isEqualTo(after);
@@ -345,8 +404,11 @@ public class CategoryServiceTest {
             String name = entity.getName();
             CategoryDto.Req inputAfterDto = DtoCreator.categoryReqDto(null, null);
 
+            List<Long> subtreeIdxList = List.of(categoryId);
+
             given(categoryRepository.findById(categoryId)).willReturn(Optional.of(entity));
             given(categoryRepository.existsByNameAndParentCategory(name, null)).willReturn(false);
+            given(categoryClosureRepository.findDescendantIdxList(categoryId)).willReturn(subtreeIdxList);
 
             // when
             Category updatedEntity = categoryService.updateCategory(categoryId, inputAfterDto);
@@ -354,11 +416,120 @@ public class CategoryServiceTest {
             // then
             verify(categoryRepository).findById(categoryId);
             verify(categoryRepository).existsByNameAndParentCategory(name, null);
+            verify(categoryClosureRepository).deleteSubtreeFromAncestors(eq(subtreeIdxList));
+            verify(categoryClosureRepository, times(0)).insertSubtreeUnder(any(), any());
             assertThat(updatedEntity)
                 .extracting("name", "parentCategory")
                 .containsExactly(name, null);
         }
 
+        @Test
+        @DisplayName("성공: 하위 트리를 다른 카테고리 아래로 옮긴다.")
+        void Success_MoveSubtreeUnderOtherCategory_ReturnEntity() {
+            // given - testParentCategoryEntity 아래의 testChildCategoryEntity를 otherParent 아래로 옮긴다.
+            Category entity = testChildCategoryEntity;
+            Long categoryId = entity.getIdx();
+            Category otherParent = EntityCreator.category(200l, "otherParent", null);
+            Long otherParentId = otherParent.getIdx();
+            List<Long> subtreeIdxList = List.of(categoryId);
+            CategoryDto.Req inputDto = DtoCreator.categoryReqDto(null, otherParentId);
+
+            given(categoryRepository.findById(categoryId)).willReturn(Optional.of(entity));
+            given(categoryRepository.findById(otherParentId)).willReturn(Optional.of(otherParent));
+            given(categoryClosureRepository.existsByAncestorIdxAndDescendantIdx(categoryId, otherParentId)).willReturn(false);
+            given(categoryRepository.existsByNameAndParentCategory(entity.getName(), otherParent)).willReturn(false);
+            given(categoryClosureRepository.findDescendantIdxList(categoryId)).willReturn(subtreeIdxList);
+
+            // when
+            Category updatedEntity = categoryService.updateCategory(categoryId, inputDto);
+
+            // then
+            verify(categoryClosureRepository).deleteSubtreeFromAncestors(eq(subtreeIdxList));
+            verify(categoryClosureRepository).insertSubtreeUnder(eq(categoryId), eq(otherParentId));
+            assertThat(updatedEntity)
+                .extracting("parentCategory.idx")
+                .isEqualTo(otherParentId);
+        }
+
+        @Test
+        @DisplayName("실패: 하위 카테고리 아래로 옮길 경우 예외를 던진다.")
+        void Fail_MoveUnderDescendant_ThrowException() {
+            // given - testParentCategoryEntity를 testChildCategoryEntity 아래로 옮긴다.
+            Category entity = testParentCategoryEntity;
+            Long categoryId = entity.getIdx();
+            Long descendantId = testChildCategoryEntity.getIdx();
+            CategoryDto.Req inputDto = DtoCreator.categoryReqDto(null, descendantId);
+
+            given(categoryRepository.findById(categoryId)).willReturn(Optional.of(entity));
+            given(categoryRepository.findById(descendantId)).willReturn(Optional.of(testChildCategoryEntity));
+            given(categoryClosureRepository.existsByAncestorIdxAndDescendantIdx(categoryId, descendantId)).willReturn(true);
+
+            // when
+            Throwable thrown = catchThrowable(() -> categoryService.updateCategory(categoryId, inputDto));
+
+            // then
+            verify(categoryClosureRepository, times(0)).deleteSubtreeFromAncestors(any());
+            assertThat(entity.getParentCategory()).isNull();
+            assertThat(thrown)
+                .isInstanceOf(ApiException.class)
+                .hasMessage(ErrorMessage.NOT_ALLOWED_DESCENDANT_PARENT.getMessage());
+        }
+
+        @Test
+        @DisplayName("성공: 하위 카테고리가 있는 카테고리를 다른 카테고리 아래로 옮긴다.")
+        void Success_MoveCategoryWithChildrenUnderCategory_ReturnEntity() {
+            // given - 하위 카테고리(100)가 있는 최상위 카테고리를 otherParent 아래로 옮긴다.
+            Category entity = testParentCategoryEntity;
+            Long categoryId = entity.getIdx();
+            Category otherParent = EntityCreator.category(200l, "otherParent", null);
+            Long otherParentId = otherParent.getIdx();
+            List<Long> subtreeIdxList = List.of(categoryId, testChildCategoryEntity.getIdx());
+            CategoryDto.Req inputDto = DtoCreator.categoryReqDto(null, otherParentId);
+
+            given(categoryRepository.findById(categoryId)).willReturn(Optional.of(entity));
+            given(categoryRepository.findById(otherParentId)).willReturn(Optional.of(otherParent));
+            given(categoryClosureRepository.existsByAncestorIdxAndDescendantIdx(categoryId, otherParentId)).willReturn(false);
+            given(categoryRepository.existsByNameAndParentCategory(entity.getName(), otherParent)).willReturn(false);
+            given(categoryClosureRepository.findDescendantIdxList(categoryId)).willReturn(subtreeIdxList);
+
+            // when
+            Category updatedEntity = categoryService.updateCategory(categoryId, inputDto);
+
+            // then
+            verify(categoryClosureRepository).deleteSubtreeFromAncestors(eq(subtreeIdxList));
+            verify(categoryClosureRepository).insertSubtreeUnder(eq(categoryId), eq(otherParentId));
+            assertThat(updatedEntity)
+                .extracting("parentCategory.idx")
+                .isEqualTo(otherParentId);
+        }
+
+        @Test
+        @DisplayName("성공: 하위 카테고리 아래로 옮긴다.")
+        void Success_MoveUnderSubCategory_ReturnEntity() {
+            // given - 다른 최상위 카테고리를 testChildCategoryEntity 아래로 옮긴다.
+            Category entity = EntityCreator.category(200l, "other", null);
+            Long categoryId = entity.getIdx();
+            Long childId = testChildCategoryEntity.getIdx();
+            List<Long> subtreeIdxList = List.of(categoryId);
+            CategoryDto.Req inputDto = DtoCreator.categoryReqDto(null, childId);
+
+            given(categoryRepository.findById(categoryId)).willReturn(Optional.of(entity));
+            given(categoryRepository.findById(childId)).willReturn(Optional.of(testChildCategoryEntity));
+            given(categoryClosureRepository.existsByAncestorIdxAndDescendantIdx(categoryId, childId)).willReturn(false);
+            given(categoryRepository.existsByNameAndParentCategory(entity.getName(), testChildCategoryEntity)).willReturn(false);
+            given(categoryClosureRepository.findDescendantIdxList(categoryId)).willReturn(subtreeIdxList);
+
+            // when
+            Category updatedEntity = categoryService.updateCategory(categoryId, inputDto);
+
+            // then
+            verify(categoryClosureRepository).deleteSubtreeFromAncestors(eq(subtreeIdxList));
+            verify(categoryClosureRepository).insertSubtreeUnder(eq(categoryId), eq(childId));
+            assertThat(updatedEntity)
+                .extracting("parentCategory.idx")
+                .isEqualTo(childId);
+        }
+
         @Test
         @DisplayName("실패: 중복되는 카테고리로 변경 시 예외를 던진다.")
         void Fail_DuplicatedCategory_ThrowException() {
@@ -423,6 +594,7 @@ public class CategoryServiceTest {
             // then
             verify(categoryRepository).findById(anyLong());
             verify(categoryRepository).delete(testChildCategoryEntity);
+            verify(categoryTreeHolder).refreshAfterCommit();
             assertThat(isDeleted)
                 .isTrue();
         }
@@ -447,13 +619,12 @@ public class CategoryServiceTest {
         }
 
         @Test
-        @DisplayName("실패: 포스트의 카테고리로 참조되는 카테고리 제거 시 예외를 던진다.")
+        @DisplayName("실패: 하위 트리에 포스트가 있는 카테고리 제거 시 예외를 던진다.")
         void Fail_CategoryOfPosts_ThrowException() {
-            // given - testParentCategoryEntity
+            // given - testParentCategoryEntity의 하위 카테고리에 포스트가 있다.
             Category category = testParentCategoryEntity;
-            Post post = EntityCreator.post(null, category, "title", "content", "desc", true);
-            post.updateInfo(category, null, null, null, null);
             given(categoryRepository.findById(anyLong())).willReturn(Optional.of(category));
+            given(categoryClosureRepository.countPostsInSubtree(eq(category.getIdx()))).willReturn(1l);
 
             // when
             Throwable thrown = catchThrowable(() -> categoryService.deleteCategory(anyLong()));
@@ -0,0 +1,122 @@
+package com.personalproject.homepage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.personalproject.homepage.dto.FileBatchResultDto;
+import com.personalproject.homepage.dto.FileResponseDto;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class FileBatchUploaderTest {
+
+    private static final int TEST_MAX_FILES = 3;
+
+    private static final long TEST_MAX_BATCH_BYTES = 4 * 1024;
+
+    @Mock private FileService fileService;
+
+    private FileBatchUploader fileBatchUploader;
+
+    @BeforeEach
+    void setUp() {
+        fileBatchUploader = new FileBatchUploader(
+            fileService, TEST_MAX_FILES, TEST_MAX_BATCH_BYTES, TEST_MAX_BATCH_BYTES, 0, 2, 10
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        fileBatchUploader.shutdown();
+    }
+
+    @Test
+    @DisplayName("성공: 파일들을 저장하고 실패한 파일을 포함하여 요청 순서대로 반환한다.")
+    void Success_Files_ReturnResultsInOrder() {
+        // given
+        given(fileService.save(any(MultipartFile.class))).willAnswer(invocation -> {
+            MultipartFile file = invocation.getArgument(0);
+            if (file.getOriginalFilename().endsWith(".txt")) {
+                throw new IllegalArgumentException("이미지 파일만 업로드 할 수 있습니다.");
+            }
+            return new FileResponseDto(file.getOriginalFilename(), "/static/uploadfile/" + file.getOriginalFilename());
+        });
+
+        // when
+        List<FileBatchResultDto> results = fileBatchUploader.saveAll(List.of(
+            file("first.png", 10), file("second.txt", 10), file("third.png", 10)
+        ));
+
+        // then
+        assertThat(results)
+            .extracting(FileBatchResultDto::isSuccess, FileBatchResultDto::getSavedName, FileBatchResultDto::getError)
+            .containsExactly(
+                tuple(true, "first.png", null),
+                tuple(false, null, "이미지 파일만 업로드 할 수 있습니다."),
+                tuple(true, "third.png", null)
+            );
+    }
+
+    @Test
+    @DisplayName("실패: 최대 파일 수나 크기 합을 넘으면 저장하지 않는다.")
+    void Fail_OverLimit_IllegalArgumentException() {
+        // when, then
+        assertThatThrownBy(() -> fileBatchUploader.saveAll(List.of(
+            file("1.png", 1), file("2.png", 1), file("3.png", 1), file("4.png", 1)
+        ))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fileBatchUploader.saveAll(List.of(file("big.png", (int) TEST_MAX_BATCH_BYTES + 1))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("실패: 저장 중인 batch가 크기 예산을 모두 사용하면 429로 응답한다.")
+    void Fail_BudgetExhausted_TooManyRequests() throws Exception {
+        // given
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(fileService.save(any(MultipartFile.class))).willAnswer(invocation -> {
+            saving.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new FileResponseDto("saved.png", "/static/uploadfile/saved.png");
+        });
+        CompletableFuture<List<FileBatchResultDto>> first = CompletableFuture.supplyAsync(
+            () -> fileBatchUploader.saveAll(List.of(file("first.png", (int) TEST_MAX_BATCH_BYTES)))
+        );
+        assertThat(saving.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when, then
+        try {
+            assertThatThrownBy(() -> fileBatchUploader.saveAll(List.of(file("second.png", 10))))
+                .isInstanceOf(ApiException.class)
+                .hasMessage(ErrorMessage.TOO_MANY_REQUESTS.getMessage());
+        } finally {
+            release.countDown();
+        }
+        assertThat(first.get(5, TimeUnit.SECONDS)).hasSize(1);
+    }
+
+    private MockMultipartFile file(String name, int size) {
+        return new MockMultipartFile("files", name, "image/png", new byte[size]);
+    }
+}
@@ -0,0 +1,184 @@
+package com.personalproject.homepage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.google.common.hash.Hashing;
+import com.personalproject.homepage.config.web.UploadFileLayout;
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.dto.FileResponseDto;
+import com.personalproject.homepage.error.ApiException;
+import com.personalproject.homepage.error.ErrorMessage;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class FileServiceTest {
+
+    private static final byte[] PNG = new byte[] {
+        (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D, 'I', 'H', 'D', 'R'
+    };
+
+    @TempDir Path uploadDir;
+
+    @Mock private UploadFilePathResolver uploadFilePathResolver;
+
+    @Mock private ImageOptimizer imageOptimizer;
+
+    @Mock private ImageMetadataIndex imageMetadataIndex;
+
+    @Mock private ImageDerivativeService imageDerivativeService;
+
+    @Mock private UploadGarbageCollector uploadGarbageCollector;
+
+    private FileService fileService;
+
+    @BeforeEach
+    void setUp() {
+        given(uploadFilePathResolver.getUploadPath()).willReturn(uploadDir.toString());
+        fileService = fileService();
+    }
+
+    private FileService fileService() {
+        return new FileService(
+            uploadFilePathResolver, imageOptimizer, imageMetadataIndex, imageDerivativeService, uploadGarbageCollector
+        );
+    }
+
+    @Test
+    @DisplayName("성공: 내용의 SHA-256으로 이름 지어 바로 저장하고 최적화는 기다리지 않는다.")
+    void Success_Image_SaveAsContentHash() throws Exception {
+        // given - Content-Type과 다른 실제 타입
+        MockMultipartFile file = new MockMultipartFile("file", "file.jpg", "image/jpeg", PNG);
+        String hash = Hashing.sha256().hashBytes(PNG).toString();
+
+        // when
+        FileResponseDto result = fileService.save(file);
+
+        // then
+        assertThat(result.getSavedName()).isEqualTo(hash + ".png");
+        assertThat(result.getUrl()).isEqualTo("/static/uploadfile/" + hash + ".png");
+        assertThat(Files.readAllBytes(uploadDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash + ".png")))
+            .isEqualTo(PNG);
+        verify(imageMetadataIndex).refresh(hash + ".png");
+        verify(imageDerivativeService).generateAsync(hash + ".png");
+        verify(imageOptimizer).optimizeAsync(hash + ".png");
+    }
+
+    @Test
+    @DisplayName("성공: 같은 내용을 다시 업로드하면 쓰지 않고 기존 url을 반환하며 수정 시간을 갱신한다.")
+    void Success_DuplicateImage_ReturnExistingUrl() throws Exception {
+        // given
+        FileResponseDto first = fileService.save(new MockMultipartFile("file", "a.png", "image/png", PNG));
+        Path saved = new UploadFileLayout(uploadDir).pathOf(first.getSavedName());
+        long modifiedAt = System.currentTimeMillis() - 60_000;
+        Files.setLastModifiedTime(saved, FileTime.fromMillis(modifiedAt));
+
+        // when
+        FileResponseDto second = fileService.save(new MockMultipartFile("file", "b.png", "image/png", PNG));
+
+        // then
+        assertThat(second.getUrl()).isEqualTo(first.getUrl());
+        verify(imageDerivativeService, times(1)).generateAsync(first.getSavedName());
+        assertThat(Files.getLastModifiedTime(saved).toMillis()).isGreaterThan(modifiedAt);
+        assertThat(Files.readAllBytes(saved)).isEqualTo(PNG);
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(saved);
+        }
+    }
+
+    @Test
+    @DisplayName("성공: 최적화가 끝난 이미지를 다시 업로드하면 저장하지 않고 최적화한 파일 이름을 반환한다.")
+    void Success_OptimizedImage_ReturnOptimizedName() throws Exception {
+        // given
+        String uploadedName = Hashing.sha256().hashBytes(PNG) + ".png";
+        String optimizedName = Hashing.sha256().hashBytes(new byte[] {1}) + ".jpeg";
+        Path optimized = new UploadFileLayout(uploadDir).pathOf(optimizedName);
+        Files.createDirectories(optimized.getParent());
+        Files.write(optimized, new byte[] {1});
+        given(imageOptimizer.optimizedNameOf(uploadedName)).willReturn(Optional.of(optimizedName));
+
+        // when
+        FileResponseDto result = fileService.save(new MockMultipartFile("file", "a.png", "image/png", PNG));
+
+        // then
+        assertThat(result.getSavedName()).isEqualTo(optimizedName);
+        assertThat(new UploadFileLayout(uploadDir).find(uploadedName)).isEmpty();
+        verify(imageOptimizer, never()).optimizeAsync(any());
+    }
+
+    @Test
+    @DisplayName("실패: Content-Type이 이미지여도 내용이 이미지가 아니면 저장하지 않는다.")
+    void Fail_NotImageContent_ThrowException() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("file", "file.png", "image/png", "<script>".getBytes());
+
+        // when, then
+        assertThatThrownBy(() -> fileService.save(file))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("이미지 파일만 업로드 할 수 있습니다.");
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("성공: 포스트가 참조하지 않는 파일을 삭제한다.")
+    void Success_UnreferencedFile_Delete() throws Exception {
+        // given
+        Path saved = Files.write(uploadDir.resolve("orphan.png"), PNG);
+        given(uploadGarbageCollector.isReferenced("orphan.png")).willReturn(false);
+
+        // when
+        fileService.delete("orphan.png");
+
+        // then
+        assertThat(saved).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("실패: 포스트가 참조하는 파일은 삭제하지 않는다.")
+    void Fail_ReferencedFile_ThrowException() throws Exception {
+        // given
+        Path saved = Files.write(uploadDir.resolve("shared.png"), PNG);
+        given(uploadGarbageCollector.isReferenced("shared.png")).willReturn(true);
+
+        // when, then
+        assertThatThrownBy(() -> fileService.delete("shared.png"))
+            .isInstanceOf(ApiException.class)
+            .hasMessage(ErrorMessage.NOT_REMOVEABLE_FILE.getMessage());
+        assertThat(saved).exists();
+    }
+
+    @Test
+    @DisplayName("실패: 업로드 디렉토리를 만들 수 없으면 시작하지 않는다.")
+    void Fail_CannotCreateUploadDir_ThrowException() throws Exception {
+        // given - 파일 아래에는 디렉토리를 만들 수 없다.
+        Path file = Files.write(uploadDir.resolve("file"), PNG);
+        given(uploadFilePathResolver.getUploadPath()).willReturn(file.resolve("upload").toString());
+
+        // when, then
+        assertThatThrownBy(this::fileService)
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,143 @@
+package com.personalproject.homepage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class ImageDerivativeServiceTest {
+
+    private static final int[] TEST_WIDTHS = {640, 320};
+
+    private static final long TEST_MAX_PIXELS = 1_000_000;
+
+    @TempDir Path uploadDir;
+
+    @Mock private UploadFilePathResolver uploadFilePathResolver;
+
+    private ImageDerivativeService imageDerivativeService;
+
+    @BeforeEach
+    void setUp() {
+        given(uploadFilePathResolver.getUploadPath()).willReturn(uploadDir.toString());
+        imageDerivativeService = new ImageDerivativeService(uploadFilePathResolver, TEST_WIDTHS, TEST_MAX_PIXELS, 1, 10, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageDerivativeService.shutdown();
+    }
+
+    @Test
+    @DisplayName("성공: 비율을 유지하여 설정된 너비로 줄이고 원본과 같은 디렉토리 구조로 저장한다.")
+    void Success_WideImage_ResizeAndStore() throws Exception {
+        // given
+        writeImage("wide.png", 1000, 500);
+
+        // when
+        Optional<Path> result = imageDerivativeService.derivative(320, "wide.png");
+
+        // then
+        Path expected = uploadDir.resolve("w320/wi/de/wide.png");
+        assertThat(result).contains(expected);
+        BufferedImage resized = ImageIO.read(expected.toFile());
+        assertThat(resized.getWidth()).isEqualTo(320);
+        assertThat(resized.getHeight()).isEqualTo(160);
+    }
+
+    @Test
+    @DisplayName("성공: 원본이 요청한 너비보다 좁으면 원본을 사용한다.")
+    void Success_NarrowImage_ReturnOriginal() throws Exception {
+        // given
+        writeImage("narrow.png", 100, 100);
+
+        // when
+        Optional<Path> result = imageDerivativeService.derivative(320, "narrow.png");
+
+        // then
+        assertThat(result).contains(uploadDir.resolve("narrow.png"));
+        assertThat(Files.exists(uploadDir.resolve("w320"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공: pixel 수가 max-pixels를 넘는 원본은 decode 하지 않고 원본을 사용한다.")
+    void Success_ExceedMaxPixels_ReturnOriginal() throws Exception {
+        // given
+        writeImage("large.png", 2000, 600);
+
+        // when
+        Optional<Path> result = imageDerivativeService.derivative(320, "large.png");
+
+        // then
+        assertThat(result).contains(uploadDir.resolve("large.png"));
+        assertThat(Files.exists(uploadDir.resolve("w320"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공: 같은 축소본에 대한 동시 요청은 같은 파일을 반환한다.")
+    void Success_ConcurrentMiss_RenderOnce() throws Exception {
+        // given
+        writeImage("concurrent.png", 1000, 500);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Optional<Path>>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(() -> imageDerivativeService.derivative(640, "concurrent.png"));
+        }
+
+        // when
+        List<Future<Optional<Path>>> results = executor.invokeAll(tasks);
+        executor.shutdown();
+
+        // then
+        Path expected = uploadDir.resolve("w640/co/nc/concurrent.png");
+        for (Future<Optional<Path>> result : results) {
+            assertThat(result.get()).contains(expected);
+        }
+        try (Stream<Path> files = Files.list(expected.getParent())) {
+            assertThat(files).containsExactly(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("실패: 설정되지 않은 너비나 잘못된 파일 이름은 조회하지 않는다.")
+    void Fail_InvalidRequest_ReturnEmpty() throws Exception {
+        // given
+        writeImage("image.png", 1000, 500);
+
+        // when, then
+        assertThat(imageDerivativeService.derivative(100, "image.png")).isEmpty();
+        assertThat(imageDerivativeService.derivative(320, "../image.png")).isEmpty();
+        assertThat(imageDerivativeService.derivative(320, "nonexistent.png")).isEmpty();
+    }
+
+    private void writeImage(String fileName, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ImageIO.write(image, "png", uploadDir.resolve(fileName).toFile());
+    }
+}
@@ -0,0 +1,122 @@
+package com.personalproject.homepage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.service.ImageMetadataIndex.ImageMetadata;
+import com.personalproject.homepage.util.ImageType;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class ImageMetadataIndexTest {
+
+    @TempDir Path uploadDir;
+
+    @Mock private UploadFilePathResolver uploadFilePathResolver;
+
+    private ImageMetadataIndex imageMetadataIndex;
+
+    @BeforeEach
+    void setUp() {
+        given(uploadFilePathResolver.getUploadPath()).willReturn(uploadDir.toString());
+        imageMetadataIndex = new ImageMetadataIndex(uploadFilePathResolver, 100);
+    }
+
+    @Test
+    @DisplayName("성공: 나누어진 위치의 이미지 header로 타입과 크기를 찾는다.")
+    void Success_ShardedPng_TypeAndSize() throws Exception {
+        // given
+        Path path = uploadDir.resolve("im/ag/image.png");
+        Files.createDirectories(path.getParent());
+        Files.write(path, image("png", 300, 200));
+
+        // when, then
+        assertThat(imageMetadataIndex.find("image.png"))
+            .get()
+            .extracting(ImageMetadata::getType, ImageMetadata::getWidth, ImageMetadata::getHeight)
+            .containsExactly(ImageType.PNG, 300, 200);
+    }
+
+    @Test
+    @DisplayName("성공: EXIF 방향이 90도 회전이면 가로, 세로를 바꾸어 기록한다.")
+    void Success_RotatedJpeg_Transposed() throws Exception {
+        // given - orientation 6: 시계 방향 90도
+        Files.write(uploadDir.resolve("rotated.jpg"), withOrientation(image("jpeg", 300, 200), 6));
+
+        // when, then
+        assertThat(imageMetadataIndex.find("rotated.jpg"))
+            .get()
+            .extracting(ImageMetadata::getType, ImageMetadata::getWidth, ImageMetadata::getHeight)
+            .containsExactly(ImageType.JPEG, 200, 300);
+    }
+
+    @Test
+    @DisplayName("성공: 기록된 크기를 사용하고 refresh하면 바뀐 파일로 다시 기록한다.")
+    void Success_Refresh_ReadAgain() throws Exception {
+        // given
+        Path path = Files.write(uploadDir.resolve("image.png"), image("png", 300, 200));
+        imageMetadataIndex.find("image.png");
+        Files.write(path, image("png", 100, 50));
+
+        // when, then
+        assertThat(imageMetadataIndex.find("image.png")).get().extracting(ImageMetadata::getWidth).isEqualTo(300);
+        assertThat(imageMetadataIndex.refresh("image.png")).get().extracting(ImageMetadata::getWidth).isEqualTo(100);
+        assertThat(imageMetadataIndex.find("image.png")).get().extracting(ImageMetadata::getWidth).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("실패: 없는 파일, 이미지가 아닌 파일, 잘못된 이름은 찾지 않는다.")
+    void Fail_NotImage_Empty() throws Exception {
+        // given
+        Files.write(uploadDir.resolve("text.txt"), "text".getBytes(StandardCharsets.UTF_8));
+
+        // when, then
+        assertThat(imageMetadataIndex.find("nonexistent.png")).isEmpty();
+        assertThat(imageMetadataIndex.find("text.txt")).isEmpty();
+        assertThat(imageMetadataIndex.find("../image.png")).isEmpty();
+    }
+
+    private byte[] image(String format, int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, out);
+        return out.toByteArray();
+    }
+
+    // APP0(JFIF) 다음에 orientation만 있는 APP1 Exif segment를 넣는다.
+    private byte[] withOrientation(byte[] jpeg, int orientation) {
+        int app0End = 4 + ((jpeg[4] & 0xFF) << 8 | (jpeg[5] & 0xFF));
+        ByteBuffer exif = ByteBuffer.allocate(2 + 2 + 6 + 26)
+            .put((byte) 0xFF).put((byte) 0xE1).putShort((short) (2 + 6 + 26))
+            .put("Exif\0\0".getBytes(StandardCharsets.US_ASCII))
+            // TIFF header: big endian, IFD0 offset 8
+            .put("MM".getBytes(StandardCharsets.US_ASCII)).putShort((short) 0x2A).putInt(8)
+            // IFD0: orientation(0x0112), SHORT, 1개
+            .putShort((short) 1)
+            .putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0)
+            .putInt(0);
+        return ByteBuffer.allocate(jpeg.length + exif.capacity())
+            .put(jpeg, 0, app0End)
+            .put(exif.array())
+            .put(jpeg, app0End, jpeg.length - app0End)
+            .array();
+    }
+}
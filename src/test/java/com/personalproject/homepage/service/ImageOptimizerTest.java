@@ -0,0 +1,244 @@
+package com.personalproject.homepage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.google.common.hash.Hashing;
+import com.personalproject.homepage.config.web.UploadFileLayout;
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.dto.ImageOptimizeStatsDto;
+import com.personalproject.homepage.util.ImageType;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class ImageOptimizerTest {
+
+    @TempDir Path uploadDir;
+
+    @Mock private UploadFilePathResolver uploadFilePathResolver;
+
+    @Mock private ImageMetadataIndex imageMetadataIndex;
+
+    @Mock private ImageDerivativeService imageDerivativeService;
+
+    private ImageOptimizer imageOptimizer;
+
+    @BeforeEach
+    void setUp() {
+        given(uploadFilePathResolver.getUploadPath()).willReturn(uploadDir.toString());
+        imageOptimizer = optimizer(true, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageOptimizer.shutdown();
+    }
+
+    private ImageOptimizer optimizer(boolean enabled, int queueSize) {
+        return new ImageOptimizer(
+            uploadFilePathResolver, imageMetadataIndex, imageDerivativeService, enabled, 0.85f, 0.05, 40_000_000, 1, queueSize, 100
+        );
+    }
+
+    @Test
+    @DisplayName("성공: 사진인 PNG는 더 작은 JPEG로 바꿔 새 해시 이름으로 저장하고 업로드 파일은 그대로 둔다.")
+    void Success_PhotographicPng_ConvertToJpeg() throws Exception {
+        // given
+        byte[] original = png(photo(200));
+        Path path = store("photo.png", original);
+
+        // when
+        imageOptimizer.optimize("photo.png");
+
+        // then
+        String optimizedName = imageOptimizer.optimizedNameOf("photo.png").orElseThrow();
+        byte[] optimized = Files.readAllBytes(new UploadFileLayout(uploadDir).find(optimizedName).orElseThrow());
+        assertThat(optimizedName).isEqualTo(Hashing.sha256().hashBytes(optimized) + ".jpeg");
+        assertThat(ImageType.detect(optimized, optimized.length)).contains(ImageType.JPEG);
+        assertThat(optimized.length).isLessThan(original.length);
+        assertThat(Files.readAllBytes(path)).isEqualTo(original);
+        verify(imageMetadataIndex).refresh(optimizedName);
+        verify(imageDerivativeService).generateAsync(optimizedName);
+        assertThat(imageOptimizer.getStats())
+            .extracting(ImageOptimizeStatsDto::getOptimized, ImageOptimizeStatsDto::getOriginalBytes)
+            .containsExactly(1L, (long) original.length);
+    }
+
+    @Test
+    @DisplayName("성공: 스크린샷 PNG는 PNG로 두고 메타데이터 chunk만 제거한다.")
+    void Success_ScreenshotPng_StripMetadata() throws Exception {
+        // given
+        BufferedImage screenshot = new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = screenshot.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, 200, 200);
+        g.setColor(Color.BLACK);
+        g.fillRect(20, 20, 100, 10);
+        g.dispose();
+        byte[] clean = png(screenshot);
+        store("shot.png", withTextChunk(clean, "Comment", "x".repeat(2_000)));
+
+        // when
+        imageOptimizer.optimize("shot.png");
+
+        // then
+        String optimizedName = Hashing.sha256().hashBytes(clean) + ".png";
+        assertThat(imageOptimizer.optimizedNameOf("shot.png")).contains(optimizedName);
+        assertThat(Files.readAllBytes(new UploadFileLayout(uploadDir).find(optimizedName).orElseThrow())).isEqualTo(clean);
+    }
+
+    @Test
+    @DisplayName("성공: 줄어들지 않으면 업로드 파일 이름을 기록하고 새로 저장하지 않는다.")
+    void Success_NoSaving_Skip() throws Exception {
+        // given
+        store("alpha.png", png(new BufferedImage(50, 50, BufferedImage.TYPE_INT_ARGB)));
+
+        // when
+        imageOptimizer.optimize("alpha.png");
+
+        // then
+        assertThat(imageOptimizer.optimizedNameOf("alpha.png")).contains("alpha.png");
+        assertThat(imageOptimizer.getStats().getSkipped()).isEqualTo(1);
+        verify(imageDerivativeService, never()).generateAsync(any());
+    }
+
+    @Test
+    @DisplayName("성공: 최적화한 파일 이름은 재시작한 뒤에도 조회된다.")
+    void Success_OptimizedName_SurviveRestart() throws Exception {
+        // given
+        store("photo.png", png(photo(200)));
+        imageOptimizer.optimize("photo.png");
+        String optimizedName = imageOptimizer.optimizedNameOf("photo.png").orElseThrow();
+
+        // when
+        ImageOptimizer restarted = optimizer(true, 10);
+
+        // then
+        assertThat(restarted.optimizedNameOf("photo.png")).contains(optimizedName);
+        restarted.shutdown();
+    }
+
+    @Test
+    @DisplayName("성공: 대기열이 가득 차면 버리지 않고 다시 넣어 모두 최적화한다.")
+    void Success_QueueFull_Retry() throws Exception {
+        // given - thread 1개, 대기열 1개
+        ImageOptimizer small = optimizer(true, 1);
+        List<String> fileNames = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            fileNames.add("photo" + i + ".png");
+            store(fileNames.get(i), png(photo(600 + i)));
+        }
+
+        // when
+        fileNames.forEach(small::optimizeAsync);
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!fileNames.stream().allMatch(fileName -> small.optimizedNameOf(fileName).isPresent())
+                && System.currentTimeMillis() < deadline) {
+            small.retryRejected();
+            Thread.sleep(50);
+        }
+
+        // then
+        assertThat(small.getStats().getRejected()).isPositive();
+        assertThat(fileNames).allMatch(fileName -> small.optimizedNameOf(fileName).isPresent());
+        small.shutdown();
+    }
+
+    @Test
+    @DisplayName("성공: 최적화를 사용하지 않으면 최적화하지 않는다.")
+    void Success_Disabled_Ignore() throws Exception {
+        // given
+        ImageOptimizer disabled = optimizer(false, 10);
+        store("photo.png", png(photo(200)));
+
+        // when
+        disabled.optimizeAsync("photo.png");
+        disabled.shutdown();
+
+        // then
+        assertThat(disabled.optimizedNameOf("photo.png")).isEmpty();
+        assertThat(disabled.getStats().getSkipped()).isZero();
+    }
+
+    @Test
+    @DisplayName("성공: 원본은 originals 아래에 최적화한 파일 이름으로 보관한다.")
+    void Success_KeepOriginal_UnderOptimizedName() throws Exception {
+        // given
+        byte[] original = png(photo(200));
+        store("photo.png", original);
+
+        // when
+        imageOptimizer.optimize("photo.png");
+
+        // then
+        String optimizedName = imageOptimizer.optimizedNameOf("photo.png").orElseThrow();
+        Path kept = new UploadFileLayout(uploadDir.resolve("originals")).pathOf(optimizedName);
+        assertThat(Files.readAllBytes(kept)).isEqualTo(original);
+    }
+
+    private Path store(String fileName, byte[] content) throws Exception {
+        Path path = new UploadFileLayout(uploadDir).pathOf(fileName);
+        Files.createDirectories(path.getParent());
+        return Files.write(path, content);
+    }
+
+    private BufferedImage photo(int size) {
+        BufferedImage photo = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(size);
+        for (int y = 0; y < photo.getHeight(); y++) {
+            for (int x = 0; x < photo.getWidth(); x++) {
+                photo.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        return photo;
+    }
+
+    private byte[] png(BufferedImage image) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    // IHDR 다음에 tEXt chunk를 넣는다.
+    private byte[] withTextChunk(byte[] png, String keyword, String text) {
+        byte[] data = (keyword + "\0" + text).getBytes(StandardCharsets.ISO_8859_1);
+        byte[] type = "tEXt".getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(data);
+        int ihdrEnd = 8 + 12 + 13;
+        return ByteBuffer.allocate(png.length + 12 + data.length)
+            .put(png, 0, ihdrEnd)
+            .putInt(data.length).put(type).put(data).putInt((int) crc.getValue())
+            .put(png, ihdrEnd, png.length - ihdrEnd)
+            .array();
+    }
+}
@@ -0,0 +1,237 @@
+package com.personalproject.homepage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.Optional;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.entity.Post;
+import com.personalproject.homepage.service.ImageMetadataIndex.ImageMetadata;
+import com.personalproject.homepage.util.ImageType;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class PostContentProcessorTest {
+
+    private static final int[] TEST_WIDTHS = {640, 320, 1280};
+
+    private static final int TEST_THUMBNAIL_WIDTH = 320;
+
+    @Mock private ImageMetadataIndex imageMetadataIndex;
+
+    @Mock private ImageOptimizer imageOptimizer;
+
+    private PostContentProcessor postContentProcessor;
+
+    @BeforeEach
+    void setUp() {
+        postContentProcessor = new PostContentProcessor(imageMetadataIndex, imageOptimizer, TEST_WIDTHS, TEST_THUMBNAIL_WIDTH);
+    }
+
+    @Test
+    @DisplayName("성공: 허용되지 않은 태그, 속성, 프로토콜을 제거한다.")
+    void Success_UnsafeHtml_Sanitized() {
+        // given
+        String html = "<p onclick=\"alert(1)\">text</p>"
+            + "<script>alert(1)</script>"
+            + "<a href=\"javascript:alert(1)\">link</a>"
+            + "<pre><code class=\"language-java\">int a;</code></pre>";
+
+        // when
+        Post.Content content = postContentProcessor.process(html);
+
+        // then
+        assertThat(content.getHtml())
+            .isEqualTo("<p>text</p><a>link</a><pre><code class=\"language-java\">int a;</code></pre>");
+    }
+
+    @Test
+    @DisplayName("성공: 북마크를 위한 h3, h4의 id를 유지한다.")
+    void Success_HeadingId_Keep() {
+        // given
+        String html = "<h3 id=\"시작하기\">시작하기</h3><h4 id=\"설치\">설치</h4><p id=\"p\">text</p>";
+
+        // when
+        Post.Content content = postContentProcessor.process(html);
+
+        // then
+        assertThat(content.getHtml())
+            .isEqualTo("<h3 id=\"시작하기\">시작하기</h3><h4 id=\"설치\">설치</h4><p>text</p>");
+    }
+
+    @Test
+    @DisplayName("성공: 에디터의 style 중 허용한 속성만 유지하고 새 창 링크에 rel을 넣는다.")
+    void Success_EditorAttributes_Filtered() {
+        // given
+        String html = "<p style=\"text-align: center; position: fixed; color: rgb(255, 0, 0)\">"
+            + "<span style=\"background-image: url(https://example.com/a.png)\">text</span></p>"
+            + "<span style=\"font-family: 'Noto Sans KR'; width: expression(alert(1))\">font</span>"
+            + "<a href=\"https://example.com\" target=\"_blank\">new</a>"
+            + "<a href=\"https://example.com\" target=\"frame\">frame</a>";
+
+        // when
+        Post.Content content = postContentProcessor.process(html);
+
+        // then
+        assertThat(content.getHtml()).isEqualTo(
+            "<p style=\"text-align: center; color: rgb(255, 0, 0);\"><span>text</span></p>"
+            + "<span style=\"font-family: 'Noto Sans KR';\">font</span>"
+            + "<a href=\"https://example.com\" target=\"_blank\" rel=\"noopener noreferrer\">new</a>"
+            + "<a href=\"https://example.com\">frame</a>"
+        );
+    }
+
+    @Test
+    @DisplayName("성공: 업로드한 이미지의 상대 경로를 유지하고 첫 번째 이미지로 저장한다.")
+    void Success_RelativeImage_KeepAsFirstImage() {
+        // given
+        String html = "<p>text</p><img src=\"/static/uploadfile/a.png\"><img src=\"https://example.com/b.png\">";
+
+        // when
+        Post.Content content = postContentProcessor.process(html);
+
+        // then
+        assertThat(content.getHtml()).contains("src=\"/static/uploadfile/a.png\"", "src=\"https://example.com/b.png\"");
+        assertThat(content.getFirstImage()).isEqualTo("/static/uploadfile/a.png");
+    }
+
+    @Test
+    @DisplayName("성공: 긴 본문은 단어 단위로 잘라 요약하고 읽는 시간을 올림하여 계산한다.")
+    void Success_LongText_ExcerptAndReadingMinutes() {
+        // given - 5글자 단어 401개
+        String html = "<p>" + "word ".repeat(PostContentProcessor.WORDS_PER_MINUTE * 2 + 1) + "</p>";
+
+        // when
+        Post.Content content = postContentProcessor.process(html);
+
+        // then
+        assertThat(content.getWordCount()).isEqualTo(PostContentProcessor.WORDS_PER_MINUTE * 2 + 1);
+        assertThat(content.getReadingMinutes()).isEqualTo(3);
+        assertThat(content.getExcerpt())
+            .endsWith("word...")
+            .hasSizeLessThanOrEqualTo(PostContentProcessor.EXCERPT_LENGTH + 3);
+        assertThat(content.getFirstImage()).isNull();
+    }
+
+    @Test
+    @DisplayName("성공: 텍스트가 없는 본문은 단어 수와 읽는 시간이 0이다.")
+    void Success_EmptyText_Zero() {
+        // when
+        Post.Content content = postContentProcessor.process("<p></p>");
+
+        // then
+        assertThat(content)
+            .extracting("excerpt", "wordCount", "readingMinutes")
+            .containsExactly("", 0, 0);
+    }
+
+    @Test
+    @DisplayName("성공: 업로드한 첫 번째 이미지의 축소본을 썸네일로 저장한다.")
+    void Success_UploadedImage_Thumbnail() {
+        // given - 외부 이미지는 썸네일로 사용하지 않는다.
+        String html = "<img src=\"https://example.com/a.png\"><img src=\"/static/uploadfile/b.png\"><img src=\"/static/uploadfile/c.png\">";
+
+        // when
+        Post.Content content = postContentProcessor.process(html);
+
+        // then
+        assertThat(content.getFirstImage()).isEqualTo("https://example.com/a.png");
+        assertThat(content.getThumbnail()).isEqualTo("/static/uploadfile/w320/b.png");
+    }
+
+    @Test
+    @DisplayName("성공: 업로드한 이미지에 크기와 원본보다 좁은 축소본의 srcset을 넣고 두 번째 이미지부터 lazy loading 한다.")
+    void Success_UploadedImage_SizeAndSrcset() {
+        // given
+        given(imageMetadataIndex.find("a.png")).willReturn(Optional.of(new ImageMetadata(ImageType.PNG, 1000, 500)));
+        String html = "<img src=\"/static/uploadfile/a.png\"><img src=\"https://example.com/b.png\">";
+
+        // when
+        Post.Content content = postContentProcessor.process(html);
+
+        // then
+        Elements images = Jsoup.parseBodyFragment(content.getHtml()).select("img");
+        Element uploaded = images.get(0);
+        assertThat(uploaded.attr("width")).isEqualTo("1000");
+        assertThat(uploaded.attr("height")).isEqualTo("500");
+        assertThat(uploaded.attr("srcset")).isEqualTo(
+            "/static/uploadfile/w320/a.png 320w, /static/uploadfile/w640/a.png 640w, /static/uploadfile/a.png 1000w"
+        );
+        assertThat(uploaded.attr("sizes")).isEqualTo("(max-width: 1000px) 100vw, 1000px");
+        assertThat(uploaded.attr("decoding")).isEqualTo("async");
+        assertThat(uploaded.hasAttr("loading")).isFalse();
+
+        Element external = images.get(1);
+        assertThat(external.attr("loading")).isEqualTo("lazy");
+        assertThat(external.attr("decoding")).isEqualTo("async");
+        assertThat(external.hasAttr("width")).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공: 작성자가 정한 너비는 유지하고 높이를 비율로 계산하며 축소본이 없는 타입은 srcset을 넣지 않는다.")
+    void Success_AuthorWidth_KeepAndScale() {
+        // given
+        given(imageMetadataIndex.find("a.gif")).willReturn(Optional.of(new ImageMetadata(ImageType.GIF, 800, 600)));
+        given(imageMetadataIndex.find("b.png")).willReturn(Optional.of(new ImageMetadata(ImageType.PNG, 800, 600)));
+        String html = "<img src=\"/static/uploadfile/a.gif\" width=\"400\">"
+            + "<img src=\"/static/uploadfile/b.png\" width=\"50%\">";
+
+        // when
+        Post.Content content = postContentProcessor.process(html);
+
+        // then
+        Elements images = Jsoup.parseBodyFragment(content.getHtml()).select("img");
+        assertThat(images.get(0).attr("width")).isEqualTo("400");
+        assertThat(images.get(0).attr("height")).isEqualTo("300");
+        assertThat(images.get(0).hasAttr("srcset")).isFalse();
+        assertThat(images.get(1).attr("width")).isEqualTo("50%");
+        assertThat(images.get(1).hasAttr("height")).isFalse();
+        assertThat(images.get(1).hasAttr("srcset")).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공: 다시 저장할 때 허용되지 않은 srcset은 제거하고 다시 계산한다.")
+    void Success_SavedAgain_Recalculate() {
+        // given
+        given(imageMetadataIndex.find("a.png")).willReturn(Optional.of(new ImageMetadata(ImageType.PNG, 500, 250)));
+        String html = "<img src=\"/static/uploadfile/a.png\" srcset=\"https://example.com/x.png 1w\" loading=\"eager\">";
+
+        // when
+        Post.Content content = postContentProcessor.process(html);
+
+        // then
+        Element image = Jsoup.parseBodyFragment(content.getHtml()).selectFirst("img");
+        assertThat(image.attr("srcset")).isEqualTo("/static/uploadfile/w320/a.png 320w, /static/uploadfile/a.png 500w");
+        assertThat(image.hasAttr("loading")).isFalse();
+    }
+
+    @Test
+    @DisplayName("성공: 최적화가 끝난 업로드 이미지는 최적화한 파일 주소로 바꾸고 그 크기로 srcset을 넣는다.")
+    void Success_OptimizedImage_UseOptimizedName() {
+        // given
+        given(imageOptimizer.optimizedNameOf("upload.png")).willReturn(Optional.of("optimized.jpeg"));
+        given(imageMetadataIndex.find("optimized.jpeg")).willReturn(Optional.of(new ImageMetadata(ImageType.JPEG, 500, 250)));
+        String html = "<img src=\"/static/uploadfile/upload.png\"><img src=\"/static/uploadfile/pending.png\">";
+
+        // when
+        Post.Content content = postContentProcessor.process(html);
+
+        // then
+        Elements images = Jsoup.parseBodyFragment(content.getHtml()).select("img");
+        assertThat(images.get(0).attr("src")).isEqualTo("/static/uploadfile/optimized.jpeg");
+        assertThat(images.get(0).attr("srcset")).isEqualTo("/static/uploadfile/w320/optimized.jpeg 320w, /static/uploadfile/optimized.jpeg 500w");
+        assertThat(images.get(1).attr("src")).isEqualTo("/static/uploadfile/pending.png");
+        assertThat(content.getThumbnail()).isEqualTo("/static/uploadfile/w320/optimized.jpeg");
+    }
+}
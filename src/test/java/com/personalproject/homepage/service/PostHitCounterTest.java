@@ -0,0 +1,162 @@
+package com.personalproject.homepage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.repository.PostHitRepository;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class PostHitCounterTest {
+
+    private static final int TEST_MAX_BUFFER_SIZE = 1_000;
+
+    @Mock private PostHitRepository postHitRepository;
+
+    private PostHitCounter postHitCounter;
+
+    @BeforeEach
+    void setUp() {
+        postHitCounter = new PostHitCounter(postHitRepository, TEST_MAX_BUFFER_SIZE);
+    }
+
+    @Test
+    @DisplayName("성공: 동시에 증가한 조회수를 유실 없이 한 번에 반영한다.")
+    @SuppressWarnings("unchecked")
+    void Success_ConcurrentIncrement_FlushAll() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            long postId = i % 2 + 1;
+            executor.execute(() -> postHitCounter.increment(postId));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // when
+        postHitCounter.flush();
+
+        // then
+        ArgumentCaptor<Map<Long, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(postHitRepository).addHits(captor.capture());
+        assertThat(captor.getValue())
+            .containsEntry(1L, 5_000L)
+            .containsEntry(2L, 5_000L);
+        assertThat(postHitCounter.pendingHits(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("성공: flush 중에 증가한 조회수도 유실 없이 이번 또는 다음 flush에 반영한다.")
+    @SuppressWarnings("unchecked")
+    void Success_IncrementDuringFlush_NoLostHits() throws Exception {
+        // given
+        LongAdder flushed = new LongAdder();
+        willAnswer(invocation -> {
+            ((Map<Long, Long>) invocation.getArgument(0)).values().forEach(flushed::add);
+            return null;
+        }).given(postHitRepository).addHits(anyMap());
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (running.get()) {
+                postHitCounter.flush();
+            }
+        });
+        flusher.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    postHitCounter.increment(1L);
+                }
+                done.countDown();
+            });
+        }
+        done.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        running.set(false);
+        flusher.join();
+
+        // when
+        postHitCounter.flush();
+
+        // then
+        assertThat(flushed.sum()).isEqualTo(80_000L);
+    }
+
+    @Test
+    @DisplayName("성공: 대기중인 포스트 수가 넘으면 한 번만 즉시 반영한다.")
+    void Success_ExceedBufferSize_FlushOnce() throws Exception {
+        // given
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            flushing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).given(postHitRepository).addHits(anyMap());
+        PostHitCounter counter = new PostHitCounter(postHitRepository, 1);
+
+        // when - 첫 즉시 flush가 DB 작업 중일 때 예약은 하나만 쌓인다.
+        counter.increment(1L);
+        counter.increment(2L);
+        flushing.await(10, TimeUnit.SECONDS);
+        for (long postId = 3; postId < 100; postId++) {
+            counter.increment(postId);
+        }
+        release.countDown();
+        counter.flushOnShutdown();
+
+        // then - 실행중이던 flush와 대기하던 flush 하나. 종료 시에는 남은 조회수가 없다.
+        verify(postHitRepository, times(2)).addHits(anyMap());
+    }
+
+    @Test
+    @DisplayName("성공: 반영할 조회수가 없으면 DB에 접근하지 않는다.")
+    void Success_EmptyBuffer_NoUpdate() {
+        // when
+        postHitCounter.flush();
+
+        // then
+        verify(postHitRepository, never()).addHits(anyMap());
+    }
+
+    @Test
+    @DisplayName("실패: 반영에 실패한 조회수는 버퍼에 남긴다.")
+    void Fail_UpdateError_KeepHits() {
+        // given
+        postHitCounter.increment(1L);
+        postHitCounter.increment(1L);
+        willThrow(new RuntimeException()).given(postHitRepository).addHits(anyMap());
+
+        // when
+        postHitCounter.flush();
+
+        // then
+        assertThat(postHitCounter.pendingHits(1L)).isEqualTo(2L);
+    }
+}
@@ -27,13 +27,14 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.personalproject.homepage.dto.CategoryDto;
 import com.personalproject.homepage.dto.PostDto;
 import com.personalproject.homepage.entity.Category;
 import com.personalproject.homepage.entity.Post;
-import com.personalproject.homepage.error.ApiException;
 import com.personalproject.homepage.error.ErrorMessage;
 import com.personalproject.homepage.helper.DtoCreator;
 import com.personalproject.homepage.helper.EntityCreator;
+import com.personalproject.homepage.repository.CategoryPostCountRepository;
 import com.personalproject.homepage.repository.CategoryRepository;
 import com.personalproject.homepage.repository.PostRepository;
 
@@ -46,22 +47,37 @@ public class PostServiceTest {
     private static final Sort testSort = Sort.by(Direction.DESC, "createAt");
     private static final Pageable testPageable = PageRequest.of(TEST_PAGE, TEST_SIZE, testSort);
 
+    private static final int[] TEST_WIDTHS = {320, 640};
+
+    private static final int TEST_THUMBNAIL_WIDTH = 320;
+
     private static final Category testParentCategoryEntity = EntityCreator.category(99l, "parent", null);
 
     @Mock private PostRepository postRepository;
     @Mock private CategoryRepository categoryRepository;
+    @Mock private PostHitCounter postHitCounter;
+    @Mock private CategoryPostCountRepository categoryPostCountRepository;
+    @Mock private CategoryTreeHolder categoryTreeHolder;
+    @Mock private ContentVersion contentVersion;
+    @Mock private ImageMetadataIndex imageMetadataIndex;
+
+    @Mock private ImageOptimizer imageOptimizer;
 
     private PostService postService;
     private Category testCategoryEntity;
     private Post testPostEntity;
+    private Post.Summary testPostSummary;
+    private CategoryTree testCategoryTree;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        postService = new PostService(postRepository, categoryRepository);
+        postService = new PostService(postRepository, categoryRepository, postHitCounter, categoryPostCountRepository, categoryTreeHolder, contentVersion, new PostContentProcessor(imageMetadataIndex, imageOptimizer, TEST_WIDTHS, TEST_THUMBNAIL_WIDTH));
 
         testCategoryEntity = EntityCreator.category(100l, "category", testParentCategoryEntity);
         testPostEntity = EntityCreator.post(99l, testCategoryEntity, "title", "content", "desc", true);
+        testPostSummary = EntityCreator.postSummary(testPostEntity);
+        testCategoryTree = CategoryTree.of(1l, List.of(testParentCategoryEntity, testCategoryEntity), List.of());
     }
 
     @Nested
@@ -89,10 +105,36 @@ public class PostServiceTest {
             // then
             verify(categoryRepository).findById(eq(categoryId));
             verify(postRepository).save(any(Post.class));
+            verify(categoryPostCountRepository).addPostsCount(eq(categoryId), eq(entity.getVisible()), eq(1L));
+            verify(contentVersion).increaseAfterCommit();
             assertThat(createdEntity)
                 .extracting("idx")
                 .isNotNull();
         }
+
+        @Test
+        @DisplayName("성공: 본문을 정리하고 파생 값과 함께 저장한다.")
+        void Success_NewPost_SaveSanitizedContent() {
+            // given - testCategoryEntity
+            Long categoryId = testCategoryEntity.getIdx();
+            PostDto.Req inputDto = DtoCreator.postReqDto(
+                categoryId,
+                "title",
+                "<p onclick=\"alert(1)\">hello world</p><script>alert(1)</script><img src=\"/static/uploadfile/a.png\">",
+                "desc",
+                true
+            );
+            given(categoryRepository.findById(eq(categoryId))).willReturn(Optional.of(testCategoryEntity));
+            given(postRepository.save(any(Post.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+            // when
+            Post createdEntity = postService.createPost(inputDto);
+
+            // then
+            assertThat(createdEntity)
+                .extracting("content", "excerpt", "wordCount", "readingMinutes", "firstImage", "thumbnail")
+                .containsExactly("<p>hello world</p><img src=\"/static/uploadfile/a.png\" decoding=\"async\">", "hello world", 2, 1, "/static/uploadfile/a.png", "/static/uploadfile/w320/a.png");
+        }
     }
 
     @Nested
@@ -110,6 +152,7 @@ public class PostServiceTest {
 
             // then
             verify(postRepository).findById(eq(id));
+            verify(postHitCounter).increment(eq(id));
             assertThat(returnEntity)
                 .extracting("idx")
                 .isNotNull();
@@ -133,43 +176,43 @@ public class PostServiceTest {
         }
 
         @Test
-        @DisplayName("성공: 페이지에 맞는 포스트를 entity list로 반환한다.")
+        @DisplayName("성공: 페이지에 맞는 포스트를 summary list로 반환한다.")
         void Success_PostsByAnyCategoryPerPage_ReturnEntityList() {
             // given - testPostEntity
-            List<Post> postEntityList = new ArrayList<>();
-            postEntityList.add(testPostEntity);
-            given(postRepository.findAll(eq(testPageable))).willReturn(postEntityList);
+            List<Post.Summary> postSummaryList = new ArrayList<>();
+            postSummaryList.add(testPostSummary);
+            given(postRepository.findAllSummary(eq(testPageable))).willReturn(postSummaryList);
 
             // when
-            List<Post> returnEntityList = postService.getPosts(testPageable);
+            List<Post.Summary> returnSummaryList = postService.getPosts(testPageable);
 
             // then
             verify(postRepository).findAll(eq(testPageable));
-            assertThat(returnEntityList)
+            assertThat(returnSummaryList)
                 .size()
                 .isBetween(0, TEST_SIZE);
         }
 
         @Test
-        @DisplayName("성공: 카테고리, 페이지에 맞는 포스트를 entity list로 반환한다.")
+        @DisplayName("성공: 카테고리, 페이지에 맞는 포스트를 summary list로 반환한다.")
         void Success_PostsByOneCategoryPerPage_ReturnEntityList() {
             // given - testCategoryEntity, testPostEntity
-            List<Post> postEntityList = new ArrayList<>();
-            postEntityList.add(testPostEntity);
+            List<Post.Summary> postSummaryList = new ArrayList<>();
+            postSummaryList.add(testPostSummary);
             Long categoryId = testCategoryEntity.getIdx();
-            given(categoryRepository.findById(eq(categoryId))).willReturn(Optional.of(testCategoryEntity));
-            given(postRepository.findAllByCategory(eq(testCategoryEntity), eq(testPageable))).willReturn(postEntityList);
+            given(categoryTreeHolder.get()).willReturn(testCategoryTree);
+            given(postRepository.findAllIncludeChildCategory(eq(categoryId), eq(testPageable))).willReturn(postSummaryList);
 
             // when
-            List<Post> returnEntityList = postService.getPostsByCategory(categoryId, testPageable);
+            List<Post.Summary> returnSummaryList = postService.getPostsByCategory(categoryId, testPageable);
 
             // then
-            verify(categoryRepository).findById(eq(categoryId));
-            verify(postRepository).findAllByCategory(eq(testCategoryEntity), eq(testPageable));
-            assertThat(returnEntityList)
+            verify(categoryTreeHolder).get();
+            verify(postRepository).findAllIncludeChildCategory(eq(categoryId), eq(testPageable));
+            assertThat(returnSummaryList)
                 .allSatisfy(p -> assertThat(p)
-                    .extracting("category")
-                    .isEqualTo(testCategoryEntity))
+                    .extracting("categoryName")
+                    .isEqualTo(testCategoryEntity.getName()))
                 .size()
                 .isBetween(0, TEST_SIZE);
         }
@@ -179,60 +222,58 @@ public class PostServiceTest {
         void Fail_PostsByInvalidCategoryPerPage_ThrowException() {
             // given
             Long invalidCategoryId = -1l;
-            given(categoryRepository.findById(eq(invalidCategoryId))).willThrow(
-                new ApiException(ErrorMessage.NON_EXISTENT, "카테고리")
-            );
+            given(categoryTreeHolder.get()).willReturn(testCategoryTree);
             // when
             Throwable thrown = catchThrowable(() -> postService.getPostsByCategory(invalidCategoryId, testPageable));
 
             // then
-            verify(categoryRepository).findById(eq(invalidCategoryId));
+            verify(categoryTreeHolder).get();
             assertThat(thrown)
                 .isInstanceOf(Exception.class)
                 .hasMessage(ErrorMessage.NON_EXISTENT.getMessage("카테고리"));
         }
 
         @Test
-        @DisplayName("성공: 페이지에 맞는 visible인 포스트를 entity list로 반환한다.")
+        @DisplayName("성공: 페이지에 맞는 visible인 포스트를 summary list로 반환한다.")
         void Success_VisiblePostsByAnyCategoryPerPage_ReturnEntityList() {
             // given - testPostEntity
-            List<Post> postEntityList = new ArrayList<>();
-            postEntityList.add(testPostEntity);
+            List<Post.Summary> postSummaryList = new ArrayList<>();
+            postSummaryList.add(testPostSummary);
             Boolean visible = true;
-            given(postRepository.findAllByVisible(eq(visible), eq(testPageable))).willReturn(postEntityList);
+            given(postRepository.findAllSummaryByVisible(eq(visible), eq(testPageable))).willReturn(postSummaryList);
 
             // when
-            List<Post> returnEntityList = postService.getPostsByVisible(true, testPageable);
+            List<Post.Summary> returnSummaryList = postService.getPostsByVisible(true, testPageable);
 
             // then
             verify(postRepository).findAllByVisible(eq(visible), eq(testPageable));
-            assertThat(returnEntityList)
+            assertThat(returnSummaryList)
                 .allMatch(p -> p.getVisible())
                 .size()
                 .isBetween(0, TEST_SIZE);
         }
 
         @Test
-        @DisplayName("성공: 카테고리, 페이지에 맞는 visible인 포스트를 entity list로 반환한다.")
+        @DisplayName("성공: 카테고리, 페이지에 맞는 visible인 포스트를 summary list로 반환한다.")
         void Success_VisiblePostsByOneCategoryPerPage_ReturnEntityList() {
             // given - testCategoryEntity, testPostEntity
             boolean visible = true;
             Long categoryId = testCategoryEntity.getIdx();
-            List<Post> postEntityList = new ArrayList<>();
-            postEntityList.add(testPostEntity);
-            given(categoryRepository.findById(eq(categoryId))).willReturn(Optional.of(testCategoryEntity));
-            given(postRepository.findAllByVisibleAndCategory(eq(visible), eq(testCategoryEntity), eq(testPageable))).willReturn(postEntityList);
+            List<Post.Summary> postSummaryList = new ArrayList<>();
+            postSummaryList.add(testPostSummary);
+            given(categoryTreeHolder.get()).willReturn(testCategoryTree);
+            given(postRepository.findAllVisibleIncludeChildCategory(eq(visible), eq(categoryId), eq(testPageable))).willReturn(postSummaryList);
 
             // when
-            List<Post> returnEntityList = postService.getPostsByVisibleAndCategory(visible, categoryId, testPageable);
+            List<Post.Summary> returnSummaryList = postService.getPostsByVisibleAndCategory(visible, categoryId, testPageable);
 
             // then
-            verify(categoryRepository).findById(eq(categoryId));
-            verify(postRepository).findAllByVisibleAndCategory(eq(visible), eq(testCategoryEntity), eq(testPageable));
-            assertThat(returnEntityList)
+            verify(categoryTreeHolder).get();
+            verify(postRepository).findAllVisibleIncludeChildCategory(eq(visible), eq(categoryId), eq(testPageable));
+            assertThat(returnSummaryList)
                 .allSatisfy(p -> assertThat(p)
-                    .extracting("visible", "category")
-                    .containsExactly(visible, testCategoryEntity))
+                    .extracting("visible", "categoryName")
+                    .containsExactly(visible, testCategoryEntity.getName()))
                 .size()
                 .isBetween(0, TEST_SIZE);
         }
@@ -242,14 +283,12 @@ public class PostServiceTest {
         void Fail_VisiblePostsByInvalidCategoryPerPage_ThrowException() {
             // given
             Long invalidCategoryId = -1l;
-            given(categoryRepository.findById(eq(invalidCategoryId))).willThrow(
-                new ApiException(ErrorMessage.NON_EXISTENT, "카테고리")
-            );
+            given(categoryTreeHolder.get()).willReturn(testCategoryTree);
             // when
             Throwable thrown = catchThrowable(() -> postService.getPostsByVisibleAndCategory(true, invalidCategoryId, testPageable));
 
             // then
-            verify(categoryRepository).findById(eq(invalidCategoryId));
+            verify(categoryTreeHolder).get();
             assertThat(thrown)
                 .isInstanceOf(Exception.class)
                 .hasMessage(ErrorMessage.NON_EXISTENT.getMessage("카테고리"));
@@ -262,22 +301,22 @@ public class PostServiceTest {
             Category parentCategory = testParentCategoryEntity;
             Category childCategory = testCategoryEntity;
             Long categoryId = parentCategory.getIdx();
-            List<Post> postEntityList = new ArrayList<>();
-            postEntityList.add(testPostEntity);
+            List<Post.Summary> postSummaryList = new ArrayList<>();
+            postSummaryList.add(testPostSummary);
 
-            given(categoryRepository.findById(eq(categoryId))).willReturn(Optional.of(parentCategory));
-            given(postRepository.findAllIncludeChildCategory(eq(parentCategory), eq(testPageable))).willReturn(postEntityList);
+            given(categoryTreeHolder.get()).willReturn(testCategoryTree);
+            given(postRepository.findAllIncludeChildCategory(eq(categoryId), eq(testPageable))).willReturn(postSummaryList);
 
             // when
-            List<Post> returnEntityList = postService.getPostsByCategory(categoryId, testPageable);
+            List<Post.Summary> returnSummaryList = postService.getPostsByCategory(categoryId, testPageable);
 
             // then
-            verify(categoryRepository).findById(eq(categoryId));
-            verify(postRepository).findAllIncludeChildCategory(eq(parentCategory), eq(testPageable));
-            assertThat(returnEntityList)
+            verify(categoryTreeHolder).get();
+            verify(postRepository).findAllIncludeChildCategory(eq(categoryId), eq(testPageable));
+            assertThat(returnSummaryList)
                 .allSatisfy(p -> assertThat(p)
-                    .extracting("category")
-                    .isEqualTo(childCategory))
+                    .extracting("categoryName")
+                    .isEqualTo(childCategory.getName()))
                 .size()
                 .isBetween(0, TEST_SIZE);
         }
@@ -287,15 +326,13 @@ public class PostServiceTest {
         void Fail_PostsByCategoriesOfInvalidParentCategoryPerPage_ThrowException() {
             // given
             Long invalidCategoryId = -1l;
-            given(categoryRepository.findById(eq(invalidCategoryId))).willThrow(
-                new ApiException(ErrorMessage.NON_EXISTENT, "카테고리")
-            );
+            given(categoryTreeHolder.get()).willReturn(testCategoryTree);
 
             // when
             Throwable thrown = catchThrowable(() -> postService.getPostsByCategory(invalidCategoryId, testPageable));
 
             // then
-            verify(categoryRepository).findById(eq(invalidCategoryId));
+            verify(categoryTreeHolder).get();
             assertThat(thrown)
                 .isInstanceOf(Exception.class)
                 .hasMessage(ErrorMessage.NON_EXISTENT.getMessage("카테고리"));
@@ -308,27 +345,51 @@ public class PostServiceTest {
             Category parentCategory = testParentCategoryEntity;
             Long categoryId = parentCategory.getIdx();
             Category childCategory = testCategoryEntity;
-            List<Post> postEntityList = new ArrayList<>();
-            postEntityList.add(testPostEntity);
+            List<Post.Summary> postSummaryList = new ArrayList<>();
+            postSummaryList.add(testPostSummary);
             boolean visible = true;
 
-            given(categoryRepository.findById(eq(categoryId))).willReturn(Optional.of(parentCategory));
-            given(postRepository.findAllVisibleIncludeChildCategory(eq(visible), eq(parentCategory), eq(testPageable)))
-                .willReturn(postEntityList);
+            given(categoryTreeHolder.get()).willReturn(testCategoryTree);
+            given(postRepository.findAllVisibleIncludeChildCategory(eq(visible), eq(categoryId), eq(testPageable)))
+                .willReturn(postSummaryList);
 
             // when
-            List<Post> returnEntityList = postService.getPostsByVisibleAndCategory(visible, categoryId, testPageable);
+            List<Post.Summary> returnSummaryList = postService.getPostsByVisibleAndCategory(visible, categoryId, testPageable);
 
             // then
-            verify(categoryRepository).findById(eq(categoryId));
-            verify(postRepository).findAllVisibleIncludeChildCategory(eq(visible), eq(parentCategory), eq(testPageable));
-            assertThat(returnEntityList)
+            verify(categoryTreeHolder).get();
+            verify(postRepository).findAllVisibleIncludeChildCategory(eq(visible), eq(categoryId), eq(testPageable));
+            assertThat(returnSummaryList)
                 .allSatisfy(p -> assertThat(p)
-                    .extracting("visible", "category")
-                    .containsExactly(visible, childCategory))
+                    .extracting("visible", "categoryName")
+                    .containsExactly(visible, childCategory.getName()))
                 .size()
                 .isBetween(0, TEST_SIZE);
         }
+
+        @Test
+        @DisplayName("성공: 이름으로 찾은 카테고리의 visible 포스트 리스트를 DB의 카테고리 조회 없이 반환한다.")
+        void Success_VisiblePostsByCategoryName_ReturnEntityList() {
+            // given
+            boolean visible = true;
+            Long categoryId = testCategoryEntity.getIdx();
+            CategoryDto.NameReq categoryDto = CategoryDto.NameReq.builder()
+                .path(List.of(testParentCategoryEntity.getName(), testCategoryEntity.getName()))
+                .build();
+            List<Post.Summary> postSummaryList = new ArrayList<>();
+            postSummaryList.add(testPostSummary);
+
+            given(categoryTreeHolder.get()).willReturn(testCategoryTree);
+            given(postRepository.findAllVisibleIncludeChildCategory(eq(visible), eq(categoryId), eq(testPageable))).willReturn(postSummaryList);
+
+            // when
+            List<Post.Summary> returnSummaryList = postService.getPostsByVisibleAndCategory(visible, categoryDto, testPageable);
+
+            // then
+            verify(categoryRepository, times(0)).findByNameAndParentCategory(any(), any());
+            verify(postRepository).findAllVisibleIncludeChildCategory(eq(visible), eq(categoryId), eq(testPageable));
+            assertThat(returnSummaryList).containsExactly(testPostSummary);
+        }
     }
 
     @Nested
@@ -420,4 +481,40 @@ public class PostServiceTest {
                 .hasMessage(ErrorMessage.NON_EXISTENT.getMessage("포스트"));
         }
     }
+
+    @Nested
+    @DisplayName("Fill Thumbnails")
+    class Test_Fill_Thumbnails {
+        @Test
+        @DisplayName("성공: 저장된 본문의 첫 번째 업로드 이미지로 썸네일을 채우고 마지막 아이디를 반환한다.")
+        void Success_PostsWithoutThumbnail_ReturnLastIdx() {
+            // given
+            Post uploaded = EntityCreator.post(1L, testCategoryEntity, "title", "<img src=\"https://example.com/a.png\"><img src=\"/static/uploadfile/b.png\">", "desc", true);
+            Post notUploaded = EntityCreator.post(2L, testCategoryEntity, "title", "<p>/static/uploadfile/c.png</p>", "desc", true);
+            given(postRepository.findAllWithoutThumbnail(eq(0L), any(Pageable.class))).willReturn(List.of(uploaded, notUploaded));
+
+            // when
+            Long lastIdx = postService.fillThumbnails(0L, 100);
+
+            // then
+            verify(contentVersion).increaseAfterCommit();
+            assertThat(lastIdx).isEqualTo(2L);
+            assertThat(uploaded.getThumbnail()).isEqualTo("/static/uploadfile/w320/b.png");
+            assertThat(notUploaded.getThumbnail()).isNull();
+        }
+
+        @Test
+        @DisplayName("성공: 채울 포스트가 없으면 null을 반환한다.")
+        void Success_NoPosts_ReturnNull() {
+            // given
+            given(postRepository.findAllWithoutThumbnail(eq(99L), any(Pageable.class))).willReturn(List.of());
+
+            // when
+            Long lastIdx = postService.fillThumbnails(99L, 100);
+
+            // then
+            verify(contentVersion, times(0)).increaseAfterCommit();
+            assertThat(lastIdx).isNull();
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package com.personalproject.homepage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class UploadFileMigrationTest {
+
+    @TempDir Path uploadDir;
+
+    @Mock private UploadFilePathResolver uploadFilePathResolver;
+
+    private UploadFileMigration uploadFileMigration;
+
+    @BeforeEach
+    void setUp() {
+        given(uploadFilePathResolver.getUploadPath()).willReturn(uploadDir.toString());
+        uploadFileMigration = new UploadFileMigration(uploadFilePathResolver, 1, 0);
+    }
+
+    @Test
+    @DisplayName("성공: 이전 위치의 원본과 축소본을 나누어진 디렉토리로 옮긴다.")
+    void Success_FlatFiles_MoveToShardedDirectory() throws Exception {
+        // given
+        write(uploadDir.resolve("abcdef.png"));
+        Files.createDirectories(uploadDir.resolve("w320"));
+        write(uploadDir.resolve("w320/abcdef.png"));
+
+        // when
+        int moved = uploadFileMigration.migrate();
+
+        // then
+        assertThat(moved).isEqualTo(2);
+        assertThat(uploadDir.resolve("ab/cd/abcdef.png")).exists();
+        assertThat(uploadDir.resolve("w320/ab/cd/abcdef.png")).exists();
+        assertThat(uploadDir.resolve("abcdef.png")).doesNotExist();
+        assertThat(uploadDir.resolve("w320/abcdef.png")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("성공: 이미 옮겨진 파일이 있으면 이전 위치의 파일을 지운다.")
+    void Success_AlreadySharded_RemoveFlatFile() throws Exception {
+        // given
+        write(uploadDir.resolve("abcdef.png"));
+        Files.createDirectories(uploadDir.resolve("ab/cd"));
+        write(uploadDir.resolve("ab/cd/abcdef.png"));
+
+        // when
+        uploadFileMigration.migrate();
+
+        // then
+        assertThat(uploadDir.resolve("ab/cd/abcdef.png")).exists();
+        assertThat(uploadDir.resolve("abcdef.png")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("성공: 임시 파일과 업로드 파일 이름이 아닌 파일은 옮기지 않는다.")
+    void Success_HiddenOrInvalidName_Skip() throws Exception {
+        // given
+        write(uploadDir.resolve(".upload-123"));
+        write(uploadDir.resolve("a.png"));
+
+        // when
+        int moved = uploadFileMigration.migrate();
+
+        // then
+        assertThat(moved).isZero();
+        assertThat(uploadDir.resolve(".upload-123")).exists();
+        assertThat(uploadDir.resolve("a.png")).exists();
+    }
+
+    private void write(Path path) throws Exception {
+        Files.write(path, "content".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,125 @@
+package com.personalproject.homepage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.dto.UploadGcReportDto;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class UploadGarbageCollectorTest {
+
+    private static final long TEST_GRACE_HOURS = 24;
+
+    private static final List<String> TEST_CONTENTS = List.of(
+        "<img src=\"/static/uploadfile/used.png\">",
+        "<img src=\"/static/uploadfile/w320/thumb.png\">"
+    );
+
+    @TempDir Path uploadDir;
+
+    @Mock private PostService postService;
+    @Mock private UploadFilePathResolver uploadFilePathResolver;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        given(uploadFilePathResolver.getUploadPath()).willReturn(uploadDir.toString());
+        willAnswer(invocation -> {
+            TEST_CONTENTS.forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).given(postService).forEachContent(any());
+
+        long old = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(TEST_GRACE_HOURS + 1);
+        writeFile("used.png", old);
+        writeFile("thumb.png", old);
+        writeFile("orphan.png", old);
+        writeFile("w320/orphan.png", old);
+        writeFile("recent.png", System.currentTimeMillis());
+        writeFile(".upload-temp", old);
+    }
+
+    private UploadGarbageCollector collector(boolean quarantine) {
+        return new UploadGarbageCollector(postService, uploadFilePathResolver, TEST_GRACE_HOURS, quarantine, 2, 0, 1_000);
+    }
+
+    private void writeFile(String relativePath, long modifiedAt) throws Exception {
+        Path file = uploadDir.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[] {1, 2, 3});
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedAt));
+    }
+
+    @Test
+    @DisplayName("성공: dry run은 참조되지 않고 유예 기간이 지난 파일을 조회만 한다.")
+    void Success_DryRun_ReportOnly() {
+        // when
+        UploadGcReportDto report = collector(false).collect(true);
+
+        // then
+        assertThat(report.getScannedFiles()).isEqualTo(5);
+        assertThat(report.getOrphans()).containsExactlyInAnyOrder("orphan.png", "w320/orphan.png");
+        assertThat(report.getOrphanBytes()).isEqualTo(6L);
+        assertThat(Files.exists(uploadDir.resolve("orphan.png"))).isTrue();
+        assertThat(Files.exists(uploadDir.resolve("w320/orphan.png"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("성공: 참조되지 않는 원본과 축소본을 삭제한다.")
+    void Success_Collect_DeleteOrphans() {
+        // when
+        UploadGcReportDto report = collector(false).collect(false);
+
+        // then
+        assertThat(report.getOrphanFiles()).isEqualTo(2);
+        assertThat(Files.exists(uploadDir.resolve("orphan.png"))).isFalse();
+        assertThat(Files.exists(uploadDir.resolve("w320/orphan.png"))).isFalse();
+        assertThat(uploadDir.resolve("used.png")).exists();
+        assertThat(uploadDir.resolve("thumb.png")).exists();
+        assertThat(uploadDir.resolve("recent.png")).exists();
+        assertThat(uploadDir.resolve(".upload-temp")).exists();
+    }
+
+    @Test
+    @DisplayName("성공: quarantine이면 삭제하지 않고 .trash로 옮긴다.")
+    void Success_Quarantine_MoveToTrash() {
+        // when
+        collector(true).collect(false);
+
+        // then
+        assertThat(Files.exists(uploadDir.resolve("orphan.png"))).isFalse();
+        assertThat(uploadDir.resolve(".trash/orphan.png")).exists();
+        assertThat(uploadDir.resolve(".trash/w320/orphan.png")).exists();
+    }
+
+    @Test
+    @DisplayName("성공: 원본, 축소본으로 참조하는 파일만 참조된 것으로 본다.")
+    void Success_IsReferenced() {
+        // given
+        UploadGarbageCollector collector = collector(false);
+
+        // when, then
+        assertThat(collector.isReferenced("used.png")).isTrue();
+        assertThat(collector.isReferenced("thumb.png")).isTrue();
+        assertThat(collector.isReferenced("orphan.png")).isFalse();
+    }
+}
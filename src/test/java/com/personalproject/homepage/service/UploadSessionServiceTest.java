@@ -0,0 +1,145 @@
+package com.personalproject.homepage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.io.BaseEncoding;
+import com.personalproject.homepage.config.web.UploadFilePathResolver;
+import com.personalproject.homepage.dto.FileResponseDto;
+import com.personalproject.homepage.dto.UploadSessionDto;
+import com.personalproject.homepage.error.ApiException;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles("test")
+public class UploadSessionServiceTest {
+
+    private static final byte[] TEST_CONTENT = "0123456789abcdefghij".getBytes();
+
+    @TempDir Path uploadDir;
+
+    @Mock private FileService fileService;
+    @Mock private UploadFilePathResolver uploadFilePathResolver;
+
+    private UploadSessionService uploadSessionService;
+
+    @BeforeEach
+    void setUp() {
+        given(uploadFilePathResolver.getUploadPath()).willReturn(uploadDir.toString());
+        uploadSessionService = new UploadSessionService(fileService, uploadFilePathResolver, 1024, 2, 60);
+    }
+
+    private UploadSessionDto.Req req(long size, String sha256) {
+        UploadSessionDto.Req req = new UploadSessionDto.Req();
+        ReflectionTestUtils.setField(req, "size", size);
+        ReflectionTestUtils.setField(req, "sha256", sha256);
+        return req;
+    }
+
+    private UploadSessionDto.Res write(String id, long offset, int from, int to) {
+        return uploadSessionService.write(id, offset, new ByteArrayInputStream(Arrays.copyOfRange(TEST_CONTENT, from, to)));
+    }
+
+    @Test
+    @DisplayName("성공: 조각을 이어 쓰고 sha256이 일치하면 업로드 파일로 저장한다.")
+    void Success_Chunks_CompleteAndStore() throws Exception {
+        // given
+        String hash = sha256(TEST_CONTENT);
+        UploadSessionDto.Res session = uploadSessionService.create(req(TEST_CONTENT.length, hash));
+        given(fileService.store(any(Path.class), eq(hash))).willAnswer(invocation -> {
+            assertThat(Files.readAllBytes(invocation.getArgument(0))).isEqualTo(TEST_CONTENT);
+            return new FileResponseDto(hash + ".png", "/static/uploadfile/" + hash + ".png");
+        });
+
+        // when
+        write(session.getId(), 0, 0, 8);
+        UploadSessionDto.Res written = write(session.getId(), 8, 8, TEST_CONTENT.length);
+        FileResponseDto file = uploadSessionService.complete(session.getId());
+
+        // then
+        assertThat(written.getReceived()).isEqualTo(TEST_CONTENT.length);
+        assertThat(file.getSavedName()).isEqualTo(hash + ".png");
+        assertThat(sessionFiles()).isZero();
+        assertThatThrownBy(() -> uploadSessionService.get(session.getId())).isInstanceOf(ApiException.class);
+    }
+
+    @Test
+    @DisplayName("성공: 중간에 끊긴 조각은 쓴 만큼 받은 크기에 반영한다.")
+    void Success_DroppedChunk_KeepWrittenBytes() throws Exception {
+        // given
+        UploadSessionDto.Res session = uploadSessionService.create(req(TEST_CONTENT.length, sha256(TEST_CONTENT)));
+        InputStream dropped = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position == 5) {
+                    throw new IOException("connection reset");
+                }
+                return TEST_CONTENT[position++];
+            }
+        };
+
+        // when
+        assertThatThrownBy(() -> uploadSessionService.write(session.getId(), 0, dropped))
+            .isInstanceOf(ApiException.class);
+
+        // then
+        assertThat(uploadSessionService.get(session.getId()).getReceived()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("실패: 받은 크기보다 뒤의 offset은 쓰지 않는다.")
+    void Fail_GapOffset_IllegalArgumentException() throws Exception {
+        // given
+        UploadSessionDto.Res session = uploadSessionService.create(req(TEST_CONTENT.length, sha256(TEST_CONTENT)));
+
+        // when, then
+        assertThatThrownBy(() -> write(session.getId(), 3, 3, 6)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(uploadSessionService.get(session.getId()).getReceived()).isZero();
+    }
+
+    @Test
+    @DisplayName("실패: sha256이 일치하지 않으면 저장하지 않고 세션을 지운다.")
+    void Fail_ChecksumMismatch_RemoveSession() throws Exception {
+        // given
+        UploadSessionDto.Res session = uploadSessionService.create(req(TEST_CONTENT.length, "0".repeat(64)));
+        write(session.getId(), 0, 0, TEST_CONTENT.length);
+
+        // when, then
+        assertThatThrownBy(() -> uploadSessionService.complete(session.getId()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(sessionFiles()).isZero();
+    }
+
+    private long sessionFiles() throws IOException {
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            return files.count();
+        }
+    }
+
+    private String sha256(byte[] content) throws Exception {
+        return BaseEncoding.base16().lowerCase().encode(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}